@@ -0,0 +1,57 @@
+package edu.icet.ecom;
+
+import edu.icet.ecom.bootstrap.AppBootstrap;
+import edu.icet.ecom.util.AppConfig;
+import edu.icet.ecom.util.HibernateUtil;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.control.Alert;
+import javafx.stage.Stage;
+
+import java.util.concurrent.CompletionException;
+
+/**
+ * JavaFX entry point. Shows the login view as soon as it is loaded, without
+ * waiting for the database; a failed database start is reported once the
+ * window is up.
+ */
+public class ClothifyApp extends Application {
+
+    private final AppBootstrap bootstrap = AppBootstrap.getInstance();
+
+    @Override
+    public void init() {
+        bootstrap.start();
+        bootstrap.toolkitStarted();
+    }
+
+    @Override
+    public void start(Stage primaryStage) {
+        primaryStage.setTitle(AppConfig.get("APP_TITLE", "Clothify Store"));
+        bootstrap.loginView().whenComplete((view, error) -> Platform.runLater(() -> {
+            Parent root = view != null ? view :
+                    AppBootstrap.placeholder("The login view failed to load: " + rootCause(error).getMessage());
+            primaryStage.setScene(new Scene(root));
+            primaryStage.show();
+            bootstrap.getTimeline().mark("login-shown");
+
+            bootstrap.sessionFactory().whenComplete((sessionFactory, dbError) -> {
+                if (dbError != null) {
+                    Platform.runLater(() -> new Alert(Alert.AlertType.ERROR,
+                            "Cannot connect to the database: " + rootCause(dbError).getMessage()).show());
+                }
+            });
+        }));
+    }
+
+    @Override
+    public void stop() {
+        HibernateUtil.shutdown();
+    }
+
+    private static Throwable rootCause(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+}
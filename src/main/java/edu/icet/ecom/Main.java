@@ -1,17 +1,16 @@
 package edu.icet.ecom;
 
-//TIP To <b>Run</b> code, press <shortcut actionId="Run"/> or
-// click the <icon src="AllIcons.Actions.Execute"/> icon in the gutter.
+import edu.icet.ecom.bootstrap.AppBootstrap;
+import edu.icet.ecom.util.sequence.OrderNumberGenerator;
+import javafx.application.Application;
+
+// Launcher kept separate from the Application subclass so the shaded jar starts without the module path
 public class Main {
     public static void main(String[] args) {
-        //TIP Press <shortcut actionId="ShowIntentionActions"/> with your caret at the highlighted text
-        // to see how IntelliJ IDEA suggests fixing it.
-        System.out.printf("Hello and welcome!");
-
-        for (int i = 1; i <= 5; i++) {
-            //TIP Press <shortcut actionId="Debug"/> to start debugging your code. We have set one <icon src="AllIcons.Debugger.Db_set_breakpoint"/> breakpoint
-            // for you, but you can always add more by pressing <shortcut actionId="ToggleLineBreakpoint"/>.
-            System.out.println("i = " + i);
-        }
+        // Refuse to start a till that would share order numbers with another one
+        OrderNumberGenerator.getDefault();
+        // Start Hibernate, Guice and font loading before the JavaFX toolkit so they overlap
+        AppBootstrap.getInstance().start();
+        Application.launch(ClothifyApp.class, args);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,263 @@
+package edu.icet.ecom.analytics;
+
+import edu.icet.ecom.event.OrderEvent;
+import edu.icet.ecom.event.OrderEventBus;
+import edu.icet.ecom.event.OrderEventListener;
+import edu.icet.ecom.model.dto.EmployeeSalesDto;
+import edu.icet.ecom.model.entity.OrderEntity;
+import edu.icet.ecom.util.Money;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Running sales totals per employee: lifetime, month to date and today.
+ * <p>
+ * Totals are built once with a grouped query and then kept current from
+ * committed {@link OrderEvent}s, so employee screens never load the orders
+ * collection. A completed order adds its total, a cancelled or refunded sale
+ * subtracts it again from every period the order falls in. Month and day
+ * buckets roll over lazily the first time they are touched in a new period.
+ */
+public final class EmployeeSalesTracker implements OrderEventListener {
+
+    public enum Period {
+        TODAY, MONTH_TO_DATE, LIFETIME
+    }
+
+    private static final String WARM_UP_QUERY =
+            "select o.employee.employeeId, sum(o.totalAmount), count(o), " +
+                    "sum(case when o.createdAt >= :monthStart then o.totalAmount else 0 end), " +
+                    "sum(case when o.createdAt >= :monthStart then 1 else 0 end), " +
+                    "sum(case when o.createdAt >= :dayStart then o.totalAmount else 0 end), " +
+                    "sum(case when o.createdAt >= :dayStart then 1 else 0 end) " +
+                    "from OrderEntity o " +
+                    "where o.orderStatus = :completed and o.isReturn = false " +
+                    "group by o.employee.employeeId";
+
+    private static final String LOADED_SALES_QUERY =
+            "select o.orderId from OrderEntity o " +
+                    "where o.orderId in :ids and o.orderStatus = :completed and o.isReturn = false";
+
+    private static final EmployeeSalesTracker INSTANCE = new EmployeeSalesTracker();
+
+    static {
+        OrderEventBus.getInstance().addListener(INSTANCE);
+    }
+
+    private volatile ConcurrentMap<Long, Tally> tallies = new ConcurrentHashMap<>();
+    private List<OrderEvent> pendingDuringWarmUp; // guarded by this
+
+    private EmployeeSalesTracker() {
+    }
+
+    public static EmployeeSalesTracker getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public synchronized void onOrderEvent(OrderEvent event) {
+        if (pendingDuringWarmUp != null) {
+            pendingDuringWarmUp.add(event);
+        }
+        apply(tallies, event);
+    }
+
+    public BigDecimal getTotalSales(Long employeeId, Period period) {
+        Tally tally = employeeId != null ? tallies.get(employeeId) : null;
+        return Money.toBigDecimal(tally != null ? tally.cents(period, LocalDate.now()) : 0L);
+    }
+
+    public long getTotalOrders(Long employeeId, Period period) {
+        Tally tally = employeeId != null ? tallies.get(employeeId) : null;
+        return tally != null ? tally.orders(period, LocalDate.now()) : 0L;
+    }
+
+    // Top employees by sales for the period, highest first
+    public List<EmployeeSalesDto> getLeaderboard(Period period, int limit) {
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+        LocalDate today = LocalDate.now();
+        Comparator<long[]> bySales = Comparator.comparingLong(entry -> entry[1]);
+        PriorityQueue<long[]> top = new PriorityQueue<>(limit + 1, bySales);
+        tallies.forEach((employeeId, tally) -> {
+            long cents = tally.cents(period, today);
+            long orders = tally.orders(period, today);
+            if (orders > 0 || cents != 0) {
+                top.offer(new long[]{employeeId, cents, orders});
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+        });
+
+        List<long[]> ranked = new ArrayList<>(top);
+        ranked.sort(bySales.reversed());
+        List<EmployeeSalesDto> leaderboard = new ArrayList<>(ranked.size());
+        for (int i = 0; i < ranked.size(); i++) {
+            long[] entry = ranked.get(i);
+            leaderboard.add(new EmployeeSalesDto(i + 1, entry[0], Money.toBigDecimal(entry[1]), entry[2]));
+        }
+        return leaderboard;
+    }
+
+    /**
+     * Load all totals with one grouped query. Events that arrive meanwhile are
+     * buffered and replayed unless the query already saw their commit, however
+     * old their order is. An event is published only after its commit, so it
+     * can arrive after the query started and still be part of its snapshot;
+     * which buffered orders the totals counted as sales is therefore asked in
+     * the same snapshot, just before the swap.
+     */
+    public void warmUp(SessionFactory sessionFactory) {
+        LocalDate today = LocalDate.now();
+        synchronized (this) {
+            pendingDuringWarmUp = new ArrayList<>();
+        }
+
+        ConcurrentMap<Long, Tally> loaded = new ConcurrentHashMap<>();
+        try (SalesReplay.Snapshot snapshot = new SalesReplay.Snapshot(sessionFactory)) {
+            StatelessSession session = snapshot.getSession();
+            List<Object[]> rows = session.createSelectionQuery(WARM_UP_QUERY, Object[].class)
+                    .setParameter("monthStart", today.withDayOfMonth(1).atStartOfDay())
+                    .setParameter("dayStart", today.atStartOfDay())
+                    .setParameter("completed", OrderEntity.OrderStatus.COMPLETED)
+                    .getResultList();
+            for (Object[] row : rows) {
+                if (row[0] == null) {
+                    continue;
+                }
+                Tally tally = new Tally(today);
+                tally.lifetimeCents = Money.toCents((BigDecimal) row[1]);
+                tally.lifetimeOrders = ((Number) row[2]).longValue();
+                tally.monthCents = Money.toCents((BigDecimal) row[3]);
+                tally.monthOrders = ((Number) row[4]).longValue();
+                tally.dayCents = Money.toCents((BigDecimal) row[5]);
+                tally.dayOrders = ((Number) row[6]).longValue();
+                loaded.put((Long) row[0], tally);
+            }
+
+            // Events published from here on wait for the swap and then update the loaded totals directly
+            synchronized (this) {
+                Collection<OrderEvent> changes = SalesReplay.netChanges(pendingDuringWarmUp);
+                Set<Long> loadedSales = loadedSales(session, changes);
+                for (OrderEvent change : changes) {
+                    if (SalesReplay.isMissing(change, loadedSales.contains(change.getOrderId()))) {
+                        apply(loaded, change);
+                    }
+                }
+                pendingDuringWarmUp = null;
+                tallies = loaded;
+            }
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                pendingDuringWarmUp = null;
+            }
+            throw e;
+        }
+    }
+
+    private static Set<Long> loadedSales(StatelessSession session, Collection<OrderEvent> changes) {
+        if (changes.isEmpty()) {
+            return Set.of();
+        }
+        List<Long> ids = new ArrayList<>(changes.size());
+        for (OrderEvent change : changes) {
+            ids.add(change.getOrderId());
+        }
+        return new HashSet<>(session.createSelectionQuery(LOADED_SALES_QUERY, Long.class)
+                .setParameter("ids", ids)
+                .setParameter("completed", OrderEntity.OrderStatus.COMPLETED)
+                .getResultList());
+    }
+
+    private static void apply(ConcurrentMap<Long, Tally> target, OrderEvent event) {
+        int sign = event.getSalesSign();
+        if (sign == 0 || event.getEmployeeId() == null) {
+            return;
+        }
+        target.computeIfAbsent(event.getEmployeeId(), id -> new Tally(LocalDate.now()))
+                .add(event.getCreatedAt().toLocalDate(), sign * event.getTotalCents(), sign);
+    }
+
+    private static final class Tally {
+        private long lifetimeCents;
+        private long lifetimeOrders;
+        private long monthKey;
+        private long monthCents;
+        private long monthOrders;
+        private long dayKey;
+        private long dayCents;
+        private long dayOrders;
+
+        private Tally(LocalDate today) {
+            this.monthKey = monthKey(today);
+            this.dayKey = today.toEpochDay();
+        }
+
+        private synchronized void add(LocalDate orderDay, long cents, long orders) {
+            lifetimeCents += cents;
+            lifetimeOrders += orders;
+
+            long orderMonth = monthKey(orderDay);
+            if (orderMonth > monthKey) {
+                monthKey = orderMonth;
+                monthCents = 0;
+                monthOrders = 0;
+            }
+            if (orderMonth == monthKey) {
+                monthCents += cents;
+                monthOrders += orders;
+            }
+
+            long orderEpochDay = orderDay.toEpochDay();
+            if (orderEpochDay > dayKey) {
+                dayKey = orderEpochDay;
+                dayCents = 0;
+                dayOrders = 0;
+            }
+            if (orderEpochDay == dayKey) {
+                dayCents += cents;
+                dayOrders += orders;
+            }
+        }
+
+        private synchronized long cents(Period period, LocalDate today) {
+            switch (period) {
+                case TODAY:
+                    return dayKey == today.toEpochDay() ? dayCents : 0L;
+                case MONTH_TO_DATE:
+                    return monthKey == monthKey(today) ? monthCents : 0L;
+                default:
+                    return lifetimeCents;
+            }
+        }
+
+        private synchronized long orders(Period period, LocalDate today) {
+            switch (period) {
+                case TODAY:
+                    return dayKey == today.toEpochDay() ? dayOrders : 0L;
+                case MONTH_TO_DATE:
+                    return monthKey == monthKey(today) ? monthOrders : 0L;
+                default:
+                    return lifetimeOrders;
+            }
+        }
+
+        private static long monthKey(LocalDate day) {
+            return day.getYear() * 12L + day.getMonthValue() - 1;
+        }
+    }
+}
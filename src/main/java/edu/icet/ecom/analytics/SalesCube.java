@@ -0,0 +1,351 @@
+package edu.icet.ecom.analytics;
+
+import edu.icet.ecom.event.OrderEvent;
+import edu.icet.ecom.event.OrderEventBus;
+import edu.icet.ecom.event.OrderEventListener;
+import edu.icet.ecom.model.entity.OrderEntity;
+import edu.icet.ecom.util.AppConfig;
+import edu.icet.ecom.util.Money;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * In-memory sales aggregates for the dashboard, keyed by
+ * day x hour x category x employee x payment method.
+ * <p>
+ * Each day holds two cell maps: line cells (with category) carry line
+ * subtotals and units, order cells (without category) carry order totals
+ * and order counts. Category figures are therefore net of tax, while the
+ * employee, payment method and hour figures are order totals. A sale falls on
+ * the day and hour it completed, and a cancellation or refund takes it off
+ * the same cell. Cells are updated from committed {@link OrderEvent}s and
+ * rebuilt from history with grouped queries per day, run in parallel.
+ */
+public final class SalesCube implements OrderEventListener {
+
+    // Sales count on the day they completed; orders completed before that was stored fall back to creation
+    private static final String SALES_TIME = "coalesce(o.completedAt, o.createdAt)";
+
+    private static final String LINE_QUERY =
+            "select extract(hour from " + SALES_TIME + "), p.category.categoryId, o.employee.employeeId, " +
+                    "o.paymentMethod, sum(i.subtotal), sum(i.quantity), count(i) " +
+                    "from OrderItemEntity i join i.order o join i.product p " +
+                    "where o.orderStatus = :completed and o.isReturn = false " +
+                    "and " + SALES_TIME + " >= :from and " + SALES_TIME + " < :to " +
+                    "group by extract(hour from " + SALES_TIME + "), p.category.categoryId, o.employee.employeeId, " +
+                    "o.paymentMethod";
+
+    private static final String ORDER_QUERY =
+            "select extract(hour from " + SALES_TIME + "), o.employee.employeeId, o.paymentMethod, " +
+                    "sum(o.totalAmount), count(o) " +
+                    "from OrderEntity o " +
+                    "where o.orderStatus = :completed and o.isReturn = false " +
+                    "and " + SALES_TIME + " >= :from and " + SALES_TIME + " < :to " +
+                    "group by extract(hour from " + SALES_TIME + "), o.employee.employeeId, o.paymentMethod";
+
+    private static final String ORDER_ID_QUERY =
+            "select o.orderId from OrderEntity o " +
+                    "where o.orderStatus = :completed and o.isReturn = false " +
+                    "and " + SALES_TIME + " >= :from and " + SALES_TIME + " < :to";
+
+    private static final SalesCube INSTANCE = new SalesCube();
+
+    static {
+        OrderEventBus.getInstance().addListener(INSTANCE);
+    }
+
+    private volatile ConcurrentMap<Long, DaySlice> days = new ConcurrentHashMap<>();
+    private List<OrderEvent> pendingDuringRebuild; // guarded by this
+
+    private SalesCube() {
+    }
+
+    public static SalesCube getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public synchronized void onOrderEvent(OrderEvent event) {
+        if (pendingDuringRebuild != null) {
+            pendingDuringRebuild.add(event);
+        }
+        apply(days, event);
+    }
+
+    // Queries; all ranges are inclusive calendar days
+
+    public BigDecimal getRevenue(LocalDate from, LocalDate to) {
+        long cents = 0;
+        for (DaySlice slice : slices(from, to)) {
+            for (Cell cell : slice.orderCells.values()) {
+                cents += cell.amountCents.get();
+            }
+        }
+        return Money.toBigDecimal(cents);
+    }
+
+    public long getOrderCount(LocalDate from, LocalDate to) {
+        long count = 0;
+        for (DaySlice slice : slices(from, to)) {
+            for (Cell cell : slice.orderCells.values()) {
+                count += cell.count.get();
+            }
+        }
+        return count;
+    }
+
+    public Map<Long, BigDecimal> getRevenueByCategory(LocalDate from, LocalDate to) {
+        return toAmounts(sumBy(from, to, true, key -> key.categoryId));
+    }
+
+    public Map<Long, Long> getUnitsByCategory(LocalDate from, LocalDate to) {
+        Map<Long, Long> units = new HashMap<>();
+        for (DaySlice slice : slices(from, to)) {
+            slice.lineCells.forEach((key, cell) -> units.merge(key.categoryId, cell.units.get(), Long::sum));
+        }
+        return units;
+    }
+
+    public Map<Long, BigDecimal> getRevenueByEmployee(LocalDate from, LocalDate to) {
+        return toAmounts(sumBy(from, to, false, key -> key.employeeId));
+    }
+
+    public Map<OrderEntity.PaymentMethod, BigDecimal> getRevenueByPaymentMethod(LocalDate from, LocalDate to) {
+        Map<OrderEntity.PaymentMethod, BigDecimal> amounts = new EnumMap<>(OrderEntity.PaymentMethod.class);
+        sumBy(from, to, false, key -> key.paymentMethod).forEach((method, cents) -> {
+            if (method != null) {
+                amounts.put(method, Money.toBigDecimal(cents));
+            }
+        });
+        return amounts;
+    }
+
+    // Order totals per hour of the day, index 0..23
+    public BigDecimal[] getRevenueByHour(LocalDate day) {
+        long[] cents = new long[24];
+        DaySlice slice = days.get(day.toEpochDay());
+        if (slice != null) {
+            slice.orderCells.forEach((key, cell) -> cents[key.hour] += cell.amountCents.get());
+        }
+        BigDecimal[] amounts = new BigDecimal[24];
+        for (int hour = 0; hour < 24; hour++) {
+            amounts[hour] = Money.toBigDecimal(cents[hour]);
+        }
+        return amounts;
+    }
+
+    public void rebuild(SessionFactory sessionFactory) {
+        rebuild(sessionFactory, AppConfig.getInt("SALES_CUBE_DAYS", 90));
+    }
+
+    /**
+     * Rebuild the last {@code dayCount} days from the database, one task per day.
+     * Events that arrive meanwhile keep updating the live cube and are buffered.
+     * Each day is read from one snapshot that also lists the orders it counted
+     * as sales, and a buffered event is replayed onto the rebuilt day only if
+     * that day's load did not see it yet. An event can be published after the
+     * load started although its commit was already part of the snapshot, so
+     * when it arrived says nothing about whether the load saw it. That covers
+     * completions, cancellations and refunds alike.
+     */
+    public void rebuild(SessionFactory sessionFactory, int dayCount) {
+        LocalDate today = LocalDate.now();
+        synchronized (this) {
+            pendingDuringRebuild = new ArrayList<>();
+        }
+
+        ConcurrentMap<Long, DaySlice> rebuilt = new ConcurrentHashMap<>();
+        ConcurrentMap<Long, Set<Long>> loadedSales = new ConcurrentHashMap<>();
+        int threads = Math.max(1, Math.min(dayCount, Runtime.getRuntime().availableProcessors()));
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "sales-cube-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<CompletableFuture<Void>> tasks = new ArrayList<>();
+            for (int offset = 0; offset < Math.max(1, dayCount); offset++) {
+                LocalDate day = today.minusDays(offset);
+                tasks.add(CompletableFuture.runAsync(() -> loadedSales.put(day.toEpochDay(),
+                        loadDay(sessionFactory, rebuilt, day, day.plusDays(1).atStartOfDay())), executor));
+            }
+            CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0])).join();
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                pendingDuringRebuild = null;
+            }
+            throw e;
+        } finally {
+            executor.shutdown();
+        }
+
+        synchronized (this) {
+            for (OrderEvent change : SalesReplay.netChanges(pendingDuringRebuild)) {
+                Set<Long> loaded = loadedSales.get(change.getSalesTime().toLocalDate().toEpochDay());
+                if (loaded != null && SalesReplay.isMissing(change, loaded.contains(change.getOrderId()))) {
+                    apply(rebuilt, change);
+                }
+            }
+            pendingDuringRebuild = null;
+            days = rebuilt;
+        }
+    }
+
+    public void clear() {
+        days = new ConcurrentHashMap<>();
+    }
+
+    // Load one day's cells and return the ids of the orders they count
+    private Set<Long> loadDay(SessionFactory sessionFactory, ConcurrentMap<Long, DaySlice> target,
+                              LocalDate day, LocalDateTime to) {
+        DaySlice slice = target.computeIfAbsent(day.toEpochDay(), key -> new DaySlice());
+        try (SalesReplay.Snapshot snapshot = new SalesReplay.Snapshot(sessionFactory)) {
+            StatelessSession session = snapshot.getSession();
+            Set<Long> orderIds = new HashSet<>(session.createSelectionQuery(ORDER_ID_QUERY, Long.class)
+                    .setParameter("completed", OrderEntity.OrderStatus.COMPLETED)
+                    .setParameter("from", day.atStartOfDay())
+                    .setParameter("to", to)
+                    .getResultList());
+
+            List<Object[]> lines = session.createSelectionQuery(LINE_QUERY, Object[].class)
+                    .setParameter("completed", OrderEntity.OrderStatus.COMPLETED)
+                    .setParameter("from", day.atStartOfDay())
+                    .setParameter("to", to)
+                    .getResultList();
+            for (Object[] row : lines) {
+                CellKey key = new CellKey(((Number) row[0]).intValue(), (Long) row[1], (Long) row[2],
+                        (OrderEntity.PaymentMethod) row[3]);
+                slice.lineCells.computeIfAbsent(key, k -> new Cell())
+                        .add(Money.toCents((BigDecimal) row[4]), ((Number) row[5]).longValue(),
+                                ((Number) row[6]).longValue());
+            }
+
+            List<Object[]> orders = session.createSelectionQuery(ORDER_QUERY, Object[].class)
+                    .setParameter("completed", OrderEntity.OrderStatus.COMPLETED)
+                    .setParameter("from", day.atStartOfDay())
+                    .setParameter("to", to)
+                    .getResultList();
+            for (Object[] row : orders) {
+                CellKey key = new CellKey(((Number) row[0]).intValue(), null, (Long) row[1],
+                        (OrderEntity.PaymentMethod) row[2]);
+                slice.orderCells.computeIfAbsent(key, k -> new Cell())
+                        .add(Money.toCents((BigDecimal) row[3]), 0L, ((Number) row[4]).longValue());
+            }
+            return orderIds;
+        }
+    }
+
+    private static void apply(ConcurrentMap<Long, DaySlice> target, OrderEvent event) {
+        int sign = event.getSalesSign();
+        if (sign == 0) {
+            return;
+        }
+        LocalDateTime salesTime = event.getSalesTime();
+        int hour = salesTime.getHour();
+        DaySlice slice = target.computeIfAbsent(salesTime.toLocalDate().toEpochDay(), key -> new DaySlice());
+        for (OrderEvent.Line line : event.getLines()) {
+            CellKey key = new CellKey(hour, line.getCategoryId(), event.getEmployeeId(), event.getPaymentMethod());
+            slice.lineCells.computeIfAbsent(key, k -> new Cell())
+                    .add(sign * line.getSubtotalCents(), (long) sign * line.getQuantity(), sign);
+        }
+        CellKey orderKey = new CellKey(hour, null, event.getEmployeeId(), event.getPaymentMethod());
+        slice.orderCells.computeIfAbsent(orderKey, k -> new Cell()).add(sign * event.getTotalCents(), 0L, sign);
+    }
+
+    private List<DaySlice> slices(LocalDate from, LocalDate to) {
+        ConcurrentMap<Long, DaySlice> current = days;
+        List<DaySlice> slices = new ArrayList<>();
+        for (long day = from.toEpochDay(); day <= to.toEpochDay(); day++) {
+            DaySlice slice = current.get(day);
+            if (slice != null) {
+                slices.add(slice);
+            }
+        }
+        return slices;
+    }
+
+    private <K> Map<K, Long> sumBy(LocalDate from, LocalDate to, boolean lineCells, Function<CellKey, K> dimension) {
+        Map<K, Long> sums = new HashMap<>();
+        for (DaySlice slice : slices(from, to)) {
+            (lineCells ? slice.lineCells : slice.orderCells)
+                    .forEach((key, cell) -> sums.merge(dimension.apply(key), cell.amountCents.get(), Long::sum));
+        }
+        return sums;
+    }
+
+    private static <K> Map<K, BigDecimal> toAmounts(Map<K, Long> cents) {
+        Map<K, BigDecimal> amounts = new HashMap<>();
+        cents.forEach((key, value) -> amounts.put(key, Money.toBigDecimal(value)));
+        return amounts;
+    }
+
+    private static final class DaySlice {
+        private final ConcurrentMap<CellKey, Cell> lineCells = new ConcurrentHashMap<>();
+        private final ConcurrentMap<CellKey, Cell> orderCells = new ConcurrentHashMap<>();
+    }
+
+    private static final class Cell {
+        private final AtomicLong amountCents = new AtomicLong();
+        private final AtomicLong units = new AtomicLong();
+        private final AtomicLong count = new AtomicLong();
+
+        private void add(long cents, long unitDelta, long countDelta) {
+            amountCents.addAndGet(cents);
+            units.addAndGet(unitDelta);
+            count.addAndGet(countDelta);
+        }
+    }
+
+    private static final class CellKey {
+        private final int hour;
+        private final Long categoryId;
+        private final Long employeeId;
+        private final OrderEntity.PaymentMethod paymentMethod;
+        private final int hash;
+
+        private CellKey(int hour, Long categoryId, Long employeeId, OrderEntity.PaymentMethod paymentMethod) {
+            this.hour = hour;
+            this.categoryId = categoryId;
+            this.employeeId = employeeId;
+            this.paymentMethod = paymentMethod;
+            this.hash = Objects.hash(hour, categoryId, employeeId, paymentMethod);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CellKey)) {
+                return false;
+            }
+            CellKey other = (CellKey) o;
+            return hour == other.hour && Objects.equals(categoryId, other.categoryId)
+                    && Objects.equals(employeeId, other.employeeId) && paymentMethod == other.paymentMethod;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
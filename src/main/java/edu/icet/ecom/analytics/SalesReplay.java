@@ -0,0 +1,84 @@
+package edu.icet.ecom.analytics;
+
+import edu.icet.ecom.event.OrderEvent;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+
+import java.sql.Connection;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replay of order events buffered while a sales aggregate was loaded.
+ * <p>
+ * Events are published after their transaction commits, and stock is
+ * reconciled in between, so a load can already include a change whose event
+ * only arrives after the load started. A load therefore reads inside one
+ * repeatable-read {@link Snapshot} and tells which orders it counted as sales;
+ * a buffered change is replayed only when it moves an order into or out of
+ * that set. An order is completed at most once and a cancellation or refund
+ * is final, so its net change does not depend on the order events arrive in.
+ */
+final class SalesReplay {
+
+    private SalesReplay() {
+    }
+
+    // One change per order: its cancellation or refund if any, otherwise its completion
+    static Collection<OrderEvent> netChanges(List<OrderEvent> events) {
+        Map<Long, OrderEvent> changes = new LinkedHashMap<>();
+        for (OrderEvent event : events) {
+            if (event.getSalesSign() != 0) {
+                changes.merge(event.getOrderId(), event, (first, next) -> first.getSalesSign() < 0 ? first : next);
+            }
+        }
+        return changes.values();
+    }
+
+    // Whether the load still lacks the change, given whether it counted the order as a sale
+    static boolean isMissing(OrderEvent change, boolean loadedAsSale) {
+        return change.getSalesSign() > 0 != loadedAsSale;
+    }
+
+    /**
+     * Stateless session whose reads all see the database as of the first one.
+     * Only reads are expected; closing rolls back and restores the pooled
+     * connection's isolation level.
+     */
+    static final class Snapshot implements AutoCloseable {
+        private final StatelessSession session;
+        private final int previousIsolation;
+
+        Snapshot(SessionFactory sessionFactory) {
+            session = sessionFactory.openStatelessSession();
+            try {
+                previousIsolation = session.doReturningWork(Connection::getTransactionIsolation);
+                session.doWork(connection -> connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ));
+                session.beginTransaction();
+            } catch (RuntimeException e) {
+                session.close();
+                throw e;
+            }
+        }
+
+        StatelessSession getSession() {
+            return session;
+        }
+
+        @Override
+        public void close() {
+            try {
+                // Restored while the connection is still ours; ending the transaction hands it back to the pool
+                session.doWork(connection -> {
+                    connection.rollback();
+                    connection.setTransactionIsolation(previousIsolation);
+                });
+                session.getTransaction().rollback();
+            } finally {
+                session.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package edu.icet.ecom.bootstrap;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import edu.icet.ecom.analytics.EmployeeSalesTracker;
+import edu.icet.ecom.analytics.SalesCube;
+import edu.icet.ecom.inventory.InventoryRollups;
+import edu.icet.ecom.inventory.ProductLookupIndex;
+import edu.icet.ecom.inventory.ProductSearchIndex;
+import edu.icet.ecom.inventory.StockLevelMonitor;
+import edu.icet.ecom.util.AppConfig;
+import edu.icet.ecom.util.HibernateUtil;
+import javafx.fxml.FXMLLoader;
+import javafx.geometry.Pos;
+import javafx.scene.Parent;
+import javafx.scene.control.Label;
+import javafx.scene.layout.VBox;
+import net.sf.jasperreports.engine.DefaultJasperReportsContext;
+import net.sf.jasperreports.engine.fonts.FontUtil;
+import org.hibernate.SessionFactory;
+
+import java.awt.GraphicsEnvironment;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Application startup as a stage graph. The SessionFactory, the Guice
+ * injector, Jasper's font registry and the login view are built in parallel;
+ * the login view needs only the injector and the JavaFX toolkit, so it is
+ * shown while Hibernate is still connecting. The in-memory indexes and
+ * analytics warm up once the SessionFactory exists. The timeline is logged at
+ * debug level when every stage has settled and, if
+ * {@code STARTUP_TIMELINE_FILE} is set, written to that file.
+ */
+public final class AppBootstrap {
+
+    private static final System.Logger LOG = System.getLogger(AppBootstrap.class.getName());
+
+    public static final String LOGIN_VIEW = "/view/login_form.fxml";
+
+    private static final AppBootstrap INSTANCE = new AppBootstrap();
+
+    private final BootstrapOrchestrator orchestrator =
+            new BootstrapOrchestrator(AppConfig.getInt("BOOTSTRAP_THREADS", 4));
+    private final CompletableFuture<Void> toolkitReady = new CompletableFuture<>();
+    private final CompletableFuture<SessionFactory> sessionFactory;
+    private final CompletableFuture<Injector> injector;
+    private final CompletableFuture<Parent> loginView;
+    private CompletableFuture<StartupTimeline> finished;
+
+    private AppBootstrap() {
+        sessionFactory = orchestrator.supply("hibernate", HibernateUtil::getSessionFactory);
+        injector = orchestrator.supply("injector", () -> Guice.createInjector(new AppModule()));
+        orchestrator.run("jasper-fonts", AppBootstrap::loadFonts);
+        orchestrator.await("javafx-toolkit", toolkitReady);
+        loginView = orchestrator.supply("login-view", this::loadLoginView, "injector", "javafx-toolkit");
+
+        orchestrator.run("lookup-index", () -> ProductLookupIndex.getInstance().warmUp(sessionFactory.join()), "hibernate");
+        orchestrator.run("search-index", () -> ProductSearchIndex.getInstance().warmUp(sessionFactory.join()), "hibernate");
+        orchestrator.run("stock-levels", () -> StockLevelMonitor.getInstance().warmUp(sessionFactory.join()), "hibernate");
+        orchestrator.run("inventory-rollups",
+                () -> InventoryRollups.getInstance().startReconciliation(sessionFactory.join()), "hibernate");
+        orchestrator.run("sales-cube", () -> SalesCube.getInstance().rebuild(sessionFactory.join()), "hibernate");
+        orchestrator.run("employee-sales",
+                () -> EmployeeSalesTracker.getInstance().warmUp(sessionFactory.join()), "hibernate");
+    }
+
+    public static AppBootstrap getInstance() {
+        return INSTANCE;
+    }
+
+    // Start every stage; completes with the timeline once all have settled
+    public synchronized CompletableFuture<StartupTimeline> start() {
+        if (finished == null) {
+            finished = orchestrator.start().thenApply(timeline -> {
+                report(timeline);
+                return timeline;
+            });
+        }
+        return finished;
+    }
+
+    // Called from Application.init(), once JavaFX controls may be created
+    public void toolkitStarted() {
+        toolkitReady.complete(null);
+    }
+
+    public CompletableFuture<SessionFactory> sessionFactory() {
+        return sessionFactory;
+    }
+
+    public CompletableFuture<Injector> injector() {
+        return injector;
+    }
+
+    public CompletableFuture<Parent> loginView() {
+        return loginView;
+    }
+
+    public CompletableFuture<?> whenDone(String stage) {
+        return orchestrator.whenDone(stage);
+    }
+
+    public StartupTimeline getTimeline() {
+        return orchestrator.getTimeline();
+    }
+
+    // Scene graphs may be built off the JavaFX thread until they are shown
+    private Parent loadLoginView() throws IOException {
+        URL resource = AppBootstrap.class.getResource(LOGIN_VIEW);
+        if (resource == null) {
+            return placeholder("Login view " + LOGIN_VIEW + " is not available");
+        }
+        FXMLLoader loader = new FXMLLoader(resource);
+        loader.setControllerFactory(injector.join()::getInstance);
+        return loader.load();
+    }
+
+    public static Parent placeholder(String message) {
+        Label title = new Label(AppConfig.get("APP_TITLE", "Clothify Store"));
+        title.setStyle("-fx-font-size: 20px; -fx-font-weight: bold;");
+        VBox box = new VBox(12, title, new Label(message));
+        box.setAlignment(Pos.CENTER);
+        box.setPrefSize(480, 320);
+        return box;
+    }
+
+    // Scans the system fonts and Jasper's font extensions once, ahead of the first report
+    private static void loadFonts() {
+        GraphicsEnvironment.getLocalGraphicsEnvironment().getAvailableFontFamilyNames();
+        FontUtil.getInstance(DefaultJasperReportsContext.getInstance()).getFontFamilyNames();
+    }
+
+    private static void report(StartupTimeline timeline) {
+        String text = timeline.format();
+        LOG.log(System.Logger.Level.DEBUG, text);
+        String file = AppConfig.get("STARTUP_TIMELINE_FILE", null);
+        if (file != null) {
+            try {
+                Files.writeString(Path.of(file), text, StandardCharsets.UTF_8);
+            } catch (IOException | UncheckedIOException e) {
+                LOG.log(System.Logger.Level.WARNING, "Failed to write startup timeline to " + file, e);
+            }
+        }
+    }
+}
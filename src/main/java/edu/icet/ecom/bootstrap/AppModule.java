@@ -0,0 +1,107 @@
+package edu.icet.ecom.bootstrap;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Provides;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import edu.icet.ecom.repository.AsyncRepository;
+import edu.icet.ecom.repository.OrderRepository;
+import edu.icet.ecom.repository.impl.AsyncRepositoryImpl;
+import edu.icet.ecom.repository.impl.OrderRepositoryImpl;
+import edu.icet.ecom.service.AuthService;
+import edu.icet.ecom.service.ExportService;
+import edu.icet.ecom.service.OrderService;
+import edu.icet.ecom.service.ProductImportService;
+import edu.icet.ecom.service.ReorderSuggestionService;
+import edu.icet.ecom.service.ReportService;
+import edu.icet.ecom.service.StockService;
+import edu.icet.ecom.service.impl.AuthServiceImpl;
+import edu.icet.ecom.service.impl.ExportServiceImpl;
+import edu.icet.ecom.service.impl.OrderServiceImpl;
+import edu.icet.ecom.service.impl.ProductImportServiceImpl;
+import edu.icet.ecom.service.impl.ReorderSuggestionServiceImpl;
+import edu.icet.ecom.service.impl.ReportServiceImpl;
+import edu.icet.ecom.service.impl.StockServiceImpl;
+import edu.icet.ecom.util.HibernateUtil;
+import org.hibernate.SessionFactory;
+
+/**
+ * Guice bindings for services and repositories. Everything is a lazy
+ * singleton built on the shared SessionFactory (reports and exports on the
+ * one named {@value #REPORTING}), so creating the injector does not wait for
+ * Hibernate; the first service lookup does. Controllers that are created
+ * before the database is up (the login form) should inject a
+ * {@code Provider} of the service instead of the service itself.
+ */
+public class AppModule extends AbstractModule {
+
+    // Binding name of the cursor-fetch SessionFactory that reports and exports stream from
+    public static final String REPORTING = "reporting";
+
+    @Provides
+    @Singleton
+    SessionFactory sessionFactory() {
+        return HibernateUtil.getSessionFactory();
+    }
+
+    @Provides
+    @Singleton
+    @Named(REPORTING)
+    SessionFactory reportingSessionFactory() {
+        return HibernateUtil.getReportingSessionFactory();
+    }
+
+    @Provides
+    @Singleton
+    AuthService authService(SessionFactory sessionFactory) {
+        return new AuthServiceImpl(sessionFactory);
+    }
+
+    @Provides
+    @Singleton
+    StockService stockService(SessionFactory sessionFactory) {
+        return new StockServiceImpl(sessionFactory);
+    }
+
+    @Provides
+    @Singleton
+    OrderService orderService(SessionFactory sessionFactory, StockService stockService) {
+        return new OrderServiceImpl(sessionFactory, stockService);
+    }
+
+    @Provides
+    @Singleton
+    ReportService reportService(@Named(REPORTING) SessionFactory reportingSessionFactory) {
+        return new ReportServiceImpl(reportingSessionFactory);
+    }
+
+    @Provides
+    @Singleton
+    ExportService exportService(@Named(REPORTING) SessionFactory reportingSessionFactory) {
+        return new ExportServiceImpl(reportingSessionFactory);
+    }
+
+    @Provides
+    @Singleton
+    ProductImportService productImportService(SessionFactory sessionFactory) {
+        return new ProductImportServiceImpl(sessionFactory);
+    }
+
+    @Provides
+    @Singleton
+    ReorderSuggestionService reorderSuggestionService(SessionFactory sessionFactory) {
+        return new ReorderSuggestionServiceImpl(sessionFactory);
+    }
+
+    @Provides
+    @Singleton
+    OrderRepository orderRepository(SessionFactory sessionFactory) {
+        return new OrderRepositoryImpl(sessionFactory);
+    }
+
+    @Provides
+    @Singleton
+    AsyncRepository asyncRepository(SessionFactory sessionFactory) {
+        return new AsyncRepositoryImpl(sessionFactory);
+    }
+}
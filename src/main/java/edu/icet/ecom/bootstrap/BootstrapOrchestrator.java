@@ -0,0 +1,197 @@
+package edu.icet.ecom.bootstrap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs named initialisation stages as a dependency graph: a stage starts on
+ * the bootstrap pool as soon as every stage it names has completed, so
+ * independent stages overlap. A failed stage fails its future and every stage
+ * downstream of it is skipped; unrelated stages still run. Each stage is
+ * recorded in a {@link StartupTimeline}. Stages added with {@link #await}
+ * complete with an outside future and never occupy a pool thread.
+ */
+public final class BootstrapOrchestrator {
+
+    private static final System.Logger LOG = System.getLogger(BootstrapOrchestrator.class.getName());
+
+    private final Map<String, Stage<?>> stages = new LinkedHashMap<>();
+    private final StartupTimeline timeline = new StartupTimeline();
+    private final int threads;
+    private CompletableFuture<StartupTimeline> finished;
+
+    public BootstrapOrchestrator(int threads) {
+        this.threads = Math.max(1, threads);
+    }
+
+    // Stage producing a value; the returned future completes with it
+    public synchronized <T> CompletableFuture<T> supply(String name, Callable<T> action, String... dependsOn) {
+        return add(new Stage<>(name, action, null, Arrays.asList(dependsOn)));
+    }
+
+    // Stage completed from outside, e.g. by the JavaFX launcher; dependents wait without holding a pool thread
+    public synchronized <T> CompletableFuture<T> await(String name, CompletableFuture<T> signal) {
+        return add(new Stage<>(name, null, signal, List.of()));
+    }
+
+    private <T> CompletableFuture<T> add(Stage<T> stage) {
+        if (finished != null) {
+            throw new IllegalStateException("Bootstrap already started");
+        }
+        if (stages.containsKey(stage.name)) {
+            throw new IllegalArgumentException("Duplicate stage: " + stage.name);
+        }
+        stages.put(stage.name, stage);
+        return stage.result;
+    }
+
+    public CompletableFuture<Void> run(String name, Runnable action, String... dependsOn) {
+        return supply(name, () -> {
+            action.run();
+            return null;
+        }, dependsOn);
+    }
+
+    // Completes with the timeline once every stage has completed, failed or been skipped
+    public synchronized CompletableFuture<StartupTimeline> start() {
+        if (finished != null) {
+            return finished;
+        }
+        List<Stage<?>> order = topologicalOrder();
+        AtomicInteger count = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(threads, Math.max(1, order.size())), runnable -> {
+            Thread thread = new Thread(runnable, "bootstrap-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        List<CompletableFuture<?>> all = new ArrayList<>(order.size());
+        for (Stage<?> stage : order) {
+            if (stage.signal != null) {
+                stage.await();
+                all.add(stage.result);
+                continue;
+            }
+            CompletableFuture<?>[] dependencies = stage.dependsOn.stream()
+                    .map(dependency -> stages.get(dependency).result)
+                    .toArray(CompletableFuture<?>[]::new);
+            CompletableFuture.allOf(dependencies).whenComplete((ignored, error) -> {
+                if (error != null) {
+                    stage.skip(error);
+                } else {
+                    pool.execute(stage::execute);
+                }
+            });
+            all.add(stage.result);
+        }
+
+        finished = CompletableFuture.allOf(all.toArray(new CompletableFuture<?>[0]))
+                .handle((ignored, error) -> {
+                    pool.shutdown();
+                    return timeline;
+                });
+        return finished;
+    }
+
+    public synchronized CompletableFuture<?> whenDone(String name) {
+        Stage<?> stage = stages.get(name);
+        if (stage == null) {
+            throw new IllegalArgumentException("Unknown stage: " + name);
+        }
+        return stage.result;
+    }
+
+    public StartupTimeline getTimeline() {
+        return timeline;
+    }
+
+    // Dependencies before dependents; rejects unknown names and cycles before anything runs
+    private List<Stage<?>> topologicalOrder() {
+        List<Stage<?>> order = new ArrayList<>(stages.size());
+        Set<String> done = new HashSet<>();
+        Map<String, Boolean> visiting = new HashMap<>();
+        for (String name : stages.keySet()) {
+            visit(name, done, visiting, order);
+        }
+        return order;
+    }
+
+    private void visit(String name, Set<String> done, Map<String, Boolean> visiting, List<Stage<?>> order) {
+        if (done.contains(name)) {
+            return;
+        }
+        if (visiting.put(name, Boolean.TRUE) != null) {
+            throw new IllegalStateException("Bootstrap stages form a cycle at: " + name);
+        }
+        Stage<?> stage = stages.get(name);
+        for (String dependency : stage.dependsOn) {
+            if (!stages.containsKey(dependency)) {
+                throw new IllegalStateException("Stage " + name + " depends on unknown stage " + dependency);
+            }
+            visit(dependency, done, visiting, order);
+        }
+        visiting.remove(name);
+        done.add(name);
+        order.add(stage);
+    }
+
+    private final class Stage<T> {
+        private final String name;
+        private final Callable<T> action;
+        private final CompletableFuture<T> signal;
+        private final List<String> dependsOn;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        private Stage(String name, Callable<T> action, CompletableFuture<T> signal, List<String> dependsOn) {
+            this.name = name;
+            this.action = action;
+            this.signal = signal;
+            this.dependsOn = dependsOn;
+        }
+
+        private void await() {
+            long start = timeline.now();
+            signal.whenComplete((value, error) -> {
+                if (error != null) {
+                    timeline.record(name, start, timeline.now(), StartupTimeline.Status.FAILED, String.valueOf(error));
+                    result.completeExceptionally(error);
+                } else {
+                    timeline.record(name, start, timeline.now(), StartupTimeline.Status.COMPLETED, null);
+                    result.complete(value);
+                }
+            });
+        }
+
+        private void execute() {
+            long start = timeline.now();
+            try {
+                T value = action.call();
+                timeline.record(name, start, timeline.now(), StartupTimeline.Status.COMPLETED, null);
+                result.complete(value);
+            } catch (Throwable e) {
+                timeline.record(name, start, timeline.now(), StartupTimeline.Status.FAILED, String.valueOf(e));
+                LOG.log(System.Logger.Level.WARNING, "Startup stage " + name + " failed", e);
+                result.completeExceptionally(e);
+            }
+        }
+
+        private void skip(Throwable cause) {
+            long at = timeline.now();
+            Throwable root = cause instanceof CompletionException && cause.getCause() != null ? cause.getCause() : cause;
+            timeline.record(name, at, at, StartupTimeline.Status.SKIPPED, "dependency failed");
+            result.completeExceptionally(root);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package edu.icet.ecom.bootstrap;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Start offset, duration and thread of every bootstrap stage, plus named
+ * milestones such as the first scene being shown. Offsets are measured from
+ * the creation of the timeline.
+ */
+public final class StartupTimeline {
+
+    public enum Status {
+        COMPLETED, FAILED, SKIPPED, MILESTONE
+    }
+
+    private final long originNanos = System.nanoTime();
+    private final List<Entry> entries = new ArrayList<>();
+
+    long now() {
+        return System.nanoTime();
+    }
+
+    synchronized void record(String name, long startNanos, long endNanos, Status status, String detail) {
+        entries.add(new Entry(name, Thread.currentThread().getName(),
+                TimeUnit.NANOSECONDS.toMillis(startNanos - originNanos),
+                TimeUnit.NANOSECONDS.toMillis(endNanos - startNanos), status, detail));
+    }
+
+    // Instant event, e.g. "login-shown"
+    public void mark(String name) {
+        long at = now();
+        record(name, at, at, Status.MILESTONE, null);
+    }
+
+    public synchronized List<Entry> getEntries() {
+        List<Entry> sorted = new ArrayList<>(entries);
+        sorted.sort(Comparator.comparingLong(Entry::getStartMillis));
+        return sorted;
+    }
+
+    // Time from the origin until the last stage or milestone ended
+    public synchronized long getTotalMillis() {
+        long total = 0L;
+        for (Entry entry : entries) {
+            total = Math.max(total, entry.getEndMillis());
+        }
+        return total;
+    }
+
+    public String format() {
+        List<Entry> sorted = getEntries();
+        StringBuilder text = new StringBuilder("Startup timeline (")
+                .append(getTotalMillis()).append(" ms)").append(System.lineSeparator());
+        for (Entry entry : sorted) {
+            text.append(String.format("  %-20s +%6d ms %7d ms  %-12s %s%s%n",
+                    entry.getStage(), entry.getStartMillis(), entry.getDurationMillis(), entry.getThread(),
+                    entry.getStatus(), entry.getDetail() != null ? " " + entry.getDetail() : ""));
+        }
+        return text.toString();
+    }
+
+    @Override
+    public String toString() {
+        return format();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    @ToString
+    public static final class Entry {
+        private final String stage;
+        private final String thread;
+        private final long startMillis;
+        private final long durationMillis;
+        private final Status status;
+        private final String detail;
+
+        public long getEndMillis() {
+            return startMillis + durationMillis;
+        }
+    }
+}
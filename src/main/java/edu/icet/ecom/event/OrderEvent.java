@@ -0,0 +1,94 @@
+package edu.icet.ecom.event;
+
+import edu.icet.ecom.model.entity.OrderEntity;
+import edu.icet.ecom.model.entity.OrderItemEntity;
+import edu.icet.ecom.model.entity.ProductEntity;
+import edu.icet.ecom.util.Money;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable snapshot of a committed order status change. It carries the ids
+ * and amounts listeners need, so they never touch lazy associations of a
+ * closed session.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public final class OrderEvent {
+
+    public enum Type {
+        COMPLETED, CANCELLED, REFUNDED
+    }
+
+    private final Type type;
+    private final long orderId;
+    private final OrderEntity.OrderStatus previousStatus;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime completedAt; // null until the order has been completed
+    private final Long employeeId;
+    private final OrderEntity.PaymentMethod paymentMethod;
+    private final boolean isReturn;
+    private final long totalCents;
+    private final List<Line> lines;
+
+    @Getter
+    @AllArgsConstructor
+    @ToString
+    public static final class Line {
+        private final Long productId;
+        private final Long categoryId;
+        private final int quantity;
+        private final long subtotalCents;
+    }
+
+    // Snapshot an order whose items are loaded in the current session
+    public static OrderEvent of(Type type, OrderEntity order, OrderEntity.OrderStatus previousStatus) {
+        List<Line> lines = new ArrayList<>();
+        if (order.getOrderItems() != null) {
+            for (OrderItemEntity item : order.getOrderItems()) {
+                ProductEntity product = item.getProduct();
+                Long categoryId = product != null && product.getCategory() != null
+                        ? product.getCategory().getCategoryId() : null;
+                lines.add(new Line(product != null ? product.getProductId() : null, categoryId,
+                        item.getQuantity() != null ? item.getQuantity() : 0, item.getSubtotalCents()));
+            }
+        }
+        return new OrderEvent(type, order.getOrderId(), previousStatus,
+                order.getCreatedAt() != null ? order.getCreatedAt() : LocalDateTime.now(), order.getCompletedAt(),
+                order.getEmployee() != null ? order.getEmployee().getEmployeeId() : null,
+                order.getPaymentMethod(), Boolean.TRUE.equals(order.getIsReturn()),
+                Money.toCents(order.getTotalAmount()), Collections.unmodifiableList(lines));
+    }
+
+    // +1 when the order becomes a sale, -1 when a completed sale is reversed, 0 otherwise
+    public int getSalesSign() {
+        if (isReturn) {
+            return 0;
+        }
+        boolean wasSale = previousStatus == OrderEntity.OrderStatus.COMPLETED;
+        if (type == Type.COMPLETED) {
+            return wasSale ? 0 : 1;
+        }
+        return wasSale ? -1 : 0;
+    }
+
+    // When the sale counts in reports: its completion, or its creation for orders completed before that was stored
+    public LocalDateTime getSalesTime() {
+        return completedAt != null ? completedAt : createdAt;
+    }
+
+    public int getTotalItems() {
+        int total = 0;
+        for (Line line : lines) {
+            total += line.quantity;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,45 @@
+package edu.icet.ecom.event;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Delivers committed order events to in-memory aggregates. Listeners run on
+ * the committing thread and must stay cheap; a failing listener does not
+ * stop the others.
+ */
+public final class OrderEventBus {
+
+    private static final System.Logger LOG = System.getLogger(OrderEventBus.class.getName());
+
+    private static final OrderEventBus INSTANCE = new OrderEventBus();
+
+    private final List<OrderEventListener> listeners = new CopyOnWriteArrayList<>();
+
+    private OrderEventBus() {
+    }
+
+    public static OrderEventBus getInstance() {
+        return INSTANCE;
+    }
+
+    public void addListener(OrderEventListener listener) {
+        if (listener != null && !listeners.contains(listener)) {
+            listeners.add(listener);
+        }
+    }
+
+    public void removeListener(OrderEventListener listener) {
+        listeners.remove(listener);
+    }
+
+    public void publish(OrderEvent event) {
+        for (OrderEventListener listener : listeners) {
+            try {
+                listener.onOrderEvent(event);
+            } catch (RuntimeException e) {
+                LOG.log(System.Logger.Level.WARNING, "Order event listener failed", e);
+            }
+        }
+    }
+}
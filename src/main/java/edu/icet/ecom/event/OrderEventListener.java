@@ -0,0 +1,8 @@
+package edu.icet.ecom.event;
+
+// Notified by OrderEventBus after an order status change has been committed
+@FunctionalInterface
+public interface OrderEventListener {
+
+    void onOrderEvent(OrderEvent event);
+}
@@ -0,0 +1,78 @@
+package edu.icet.ecom.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RFC 4180 style CSV reader: comma separated, fields optionally quoted with
+ * double quotes, quotes escaped by doubling, quoted fields may span lines.
+ */
+public class CsvRowSource implements RowSource {
+
+    private final Path file;
+
+    public CsvRowSource(Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public void read(RowHandler handler) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            List<String> cells = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            int rowNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (rowNumber == 0 && !line.isEmpty() && line.charAt(0) == '\uFEFF') {
+                    line = line.substring(1); // byte order mark
+                }
+                for (int i = 0; i < line.length(); i++) {
+                    char c = line.charAt(i);
+                    if (quoted) {
+                        if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                            field.append('"');
+                            i++;
+                        } else if (c == '"') {
+                            quoted = false;
+                        } else {
+                            field.append(c);
+                        }
+                    } else if (c == '"') {
+                        quoted = true;
+                    } else if (c == ',') {
+                        cells.add(field.toString());
+                        field.setLength(0);
+                    } else {
+                        field.append(c);
+                    }
+                }
+                if (quoted) {
+                    field.append('\n'); // quoted field continues on the next line
+                    continue;
+                }
+                cells.add(field.toString());
+                field.setLength(0);
+                rowNumber++;
+                if (!isBlank(cells)) {
+                    handler.row(rowNumber, cells);
+                }
+                cells = new ArrayList<>(cells.size());
+            }
+        }
+    }
+
+    private static boolean isBlank(List<String> cells) {
+        for (String cell : cells) {
+            if (!cell.trim().isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
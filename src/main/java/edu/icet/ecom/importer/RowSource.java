@@ -0,0 +1,18 @@
+package edu.icet.ecom.importer;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Streams the rows of a spreadsheet-like file one at a time. The first row
+ * delivered is the header row. Row numbers are 1-based, as users see them.
+ */
+public interface RowSource {
+
+    void read(RowHandler handler) throws IOException;
+
+    @FunctionalInterface
+    interface RowHandler {
+        void row(int rowNumber, List<String> cells);
+    }
+}
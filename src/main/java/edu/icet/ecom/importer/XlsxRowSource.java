@@ -0,0 +1,92 @@
+package edu.icet.ecom.importer;
+
+import org.apache.poi.UnsupportedFileFormatException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Reads the first sheet of an .xlsx file with the SAX event API, so only the
+ * current row is held in memory. Cells come through as their formatted text;
+ * gaps left by empty cells are filled with empty strings.
+ */
+public class XlsxRowSource implements RowSource {
+
+    private final Path file;
+
+    public XlsxRowSource(Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public void read(RowHandler handler) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(file.toFile(), PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                return;
+            }
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new XSSFSheetXMLHandler(reader.getStylesTable(), null, strings,
+                        new RowCollector(handler), new DataFormatter(), false));
+                parser.parse(new InputSource(sheet));
+            }
+        } catch (OpenXML4JException | UnsupportedFileFormatException | SAXException | ParserConfigurationException e) {
+            throw new IOException("Cannot read spreadsheet " + file.getFileName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static final class RowCollector implements XSSFSheetXMLHandler.SheetContentsHandler {
+        private final RowHandler handler;
+        private List<String> cells = new ArrayList<>();
+        private boolean hasValue;
+
+        private RowCollector(RowHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void startRow(int rowIndex) {
+            cells = new ArrayList<>(cells.size());
+            hasValue = false;
+        }
+
+        @Override
+        public void endRow(int rowIndex) {
+            if (hasValue) {
+                handler.row(rowIndex + 1, cells);
+            }
+        }
+
+        @Override
+        public void cell(String reference, String formattedValue, XSSFComment comment) {
+            int column = reference != null ? new CellReference(reference).getCol() : cells.size();
+            while (cells.size() < column) {
+                cells.add("");
+            }
+            String value = formattedValue != null ? formattedValue : "";
+            cells.add(value);
+            hasValue |= !value.trim().isEmpty();
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package edu.icet.ecom.inventory;
+
+import edu.icet.ecom.model.dto.InventoryRollupDto;
+import edu.icet.ecom.model.entity.ProductEntity;
+import edu.icet.ecom.util.AppConfig;
+import edu.icet.ecom.util.Money;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Product count, units on hand, retail value and cost value per category and
+ * per supplier, maintained from product saves and stock readbacks.
+ * <p>
+ * The last seen state of every product is kept as a small snapshot, so each
+ * change is applied as a delta: the old snapshot is subtracted and the new one
+ * added. A scheduled job rebuilds everything from one streamed projection
+ * query to correct any drift from writes that bypass the listeners; changes
+ * made while the query streams are replayed onto the rebuilt state before it
+ * is swapped in.
+ */
+public final class InventoryRollups {
+
+    private static final System.Logger LOG = System.getLogger(InventoryRollups.class.getName());
+
+    private static final String RECONCILE_QUERY =
+            "select p.productId, p.category.categoryId, p.supplier.supplierId, p.quantityOnHand, " +
+                    "p.price, p.costPrice from ProductEntity p";
+
+    private static final InventoryRollups INSTANCE = new InventoryRollups();
+
+    private volatile State state = new State();
+    private List<Consumer<State>> pendingDuringReconcile; // guarded by this
+    private final Object reconcileLock = new Object();
+    private ScheduledFuture<?> reconciliation; // guarded by this
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "inventory-rollups");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private InventoryRollups() {
+    }
+
+    public static InventoryRollups getInstance() {
+        return INSTANCE;
+    }
+
+    public void update(ProductEntity product) {
+        if (product == null || product.getProductId() == null) {
+            return;
+        }
+        Snapshot snapshot = new Snapshot(
+                product.getCategory() != null ? product.getCategory().getCategoryId() : null,
+                product.getSupplier() != null ? product.getSupplier().getSupplierId() : null,
+                product.getQuantityOnHand() != null ? product.getQuantityOnHand() : 0,
+                Money.toCents(product.getPrice()), Money.toCents(product.getCostPrice()));
+        Long productId = product.getProductId();
+        change(target -> target.put(productId, snapshot));
+    }
+
+    // Quantity read back after a stock update; category, supplier and prices are unchanged
+    public void updateQuantity(Long productId, Integer quantityOnHand) {
+        if (productId == null) {
+            return;
+        }
+        int units = quantityOnHand != null ? quantityOnHand : 0;
+        change(target -> target.putUnits(productId, units));
+    }
+
+    public void remove(Long productId) {
+        if (productId == null) {
+            return;
+        }
+        change(target -> target.remove(productId));
+    }
+
+    private synchronized void change(Consumer<State> change) {
+        if (pendingDuringReconcile != null) {
+            pendingDuringReconcile.add(change);
+        }
+        change.accept(state);
+    }
+
+    public int getCategoryProductCount(Long categoryId) {
+        Rollup rollup = categoryId != null ? state.byCategory.get(categoryId) : null;
+        return rollup != null ? (int) rollup.productCount.get() : 0;
+    }
+
+    public int getSupplierProductCount(Long supplierId) {
+        Rollup rollup = supplierId != null ? state.bySupplier.get(supplierId) : null;
+        return rollup != null ? (int) rollup.productCount.get() : 0;
+    }
+
+    public InventoryRollupDto getCategoryRollup(Long categoryId) {
+        return toDto(categoryId, categoryId != null ? state.byCategory.get(categoryId) : null);
+    }
+
+    public InventoryRollupDto getSupplierRollup(Long supplierId) {
+        return toDto(supplierId, supplierId != null ? state.bySupplier.get(supplierId) : null);
+    }
+
+    public Map<Long, InventoryRollupDto> getCategoryRollups() {
+        return toDtos(state.byCategory);
+    }
+
+    public Map<Long, InventoryRollupDto> getSupplierRollups() {
+        return toDtos(state.bySupplier);
+    }
+
+    // Rebuild now, then every INVENTORY_RECONCILE_MINUTES (default 60)
+    public synchronized void startReconciliation(SessionFactory sessionFactory) {
+        if (reconciliation != null) {
+            return;
+        }
+        long minutes = Math.max(1, AppConfig.getLong("INVENTORY_RECONCILE_MINUTES", 60));
+        reconcile(sessionFactory);
+        reconciliation = scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                reconcile(sessionFactory);
+            } catch (RuntimeException e) {
+                LOG.log(System.Logger.Level.WARNING, "Inventory rollup reconciliation failed", e);
+            }
+        }, minutes, minutes, TimeUnit.MINUTES);
+    }
+
+    // Rebuild all rollups from the products table and swap them in
+    public void reconcile(SessionFactory sessionFactory) {
+        synchronized (reconcileLock) {
+            synchronized (this) {
+                pendingDuringReconcile = new ArrayList<>();
+            }
+            try {
+                State rebuilt = load(sessionFactory);
+                synchronized (this) {
+                    pendingDuringReconcile.forEach(change -> change.accept(rebuilt));
+                    state = rebuilt;
+                }
+            } finally {
+                synchronized (this) {
+                    pendingDuringReconcile = null;
+                }
+            }
+        }
+    }
+
+    private static State load(SessionFactory sessionFactory) {
+        State rebuilt = new State();
+        try (StatelessSession session = sessionFactory.openStatelessSession();
+             Stream<Object[]> rows = session.createSelectionQuery(RECONCILE_QUERY, Object[].class)
+                     .setFetchSize(1000)
+                     .getResultStream()) {
+            rows.forEach(row -> {
+                Snapshot snapshot = new Snapshot((Long) row[1], (Long) row[2],
+                        row[3] != null ? (Integer) row[3] : 0,
+                        Money.toCents((BigDecimal) row[4]), Money.toCents((BigDecimal) row[5]));
+                rebuilt.snapshots.put((Long) row[0], snapshot);
+                rebuilt.apply(snapshot, 1);
+            });
+        }
+        return rebuilt;
+    }
+
+    private static InventoryRollupDto toDto(Long groupId, Rollup rollup) {
+        if (rollup == null) {
+            return new InventoryRollupDto(groupId, 0, 0L, Money.toBigDecimal(0L), Money.toBigDecimal(0L));
+        }
+        return new InventoryRollupDto(groupId, (int) rollup.productCount.get(), rollup.units.get(),
+                Money.toBigDecimal(rollup.retailCents.get()), Money.toBigDecimal(rollup.costCents.get()));
+    }
+
+    private static Map<Long, InventoryRollupDto> toDtos(ConcurrentMap<Long, Rollup> rollups) {
+        Map<Long, InventoryRollupDto> dtos = new HashMap<>();
+        rollups.forEach((id, rollup) -> dtos.put(id, toDto(id, rollup)));
+        return dtos;
+    }
+
+    private static final class State {
+        private final ConcurrentMap<Long, Snapshot> snapshots = new ConcurrentHashMap<>();
+        private final ConcurrentMap<Long, Rollup> byCategory = new ConcurrentHashMap<>();
+        private final ConcurrentMap<Long, Rollup> bySupplier = new ConcurrentHashMap<>();
+
+        private void put(Long productId, Snapshot snapshot) {
+            snapshots.compute(productId, (id, previous) -> {
+                apply(previous, -1);
+                apply(snapshot, 1);
+                return snapshot;
+            });
+        }
+
+        private void putUnits(Long productId, int units) {
+            snapshots.computeIfPresent(productId, (id, previous) -> {
+                Snapshot snapshot = previous.withUnits(units);
+                apply(previous, -1);
+                apply(snapshot, 1);
+                return snapshot;
+            });
+        }
+
+        private void remove(Long productId) {
+            snapshots.computeIfPresent(productId, (id, previous) -> {
+                apply(previous, -1);
+                return null;
+            });
+        }
+
+        private void apply(Snapshot snapshot, int sign) {
+            if (snapshot == null) {
+                return;
+            }
+            if (snapshot.categoryId != null) {
+                byCategory.computeIfAbsent(snapshot.categoryId, id -> new Rollup()).add(snapshot, sign);
+            }
+            if (snapshot.supplierId != null) {
+                bySupplier.computeIfAbsent(snapshot.supplierId, id -> new Rollup()).add(snapshot, sign);
+            }
+        }
+    }
+
+    private static final class Rollup {
+        private final AtomicLong productCount = new AtomicLong();
+        private final AtomicLong units = new AtomicLong();
+        private final AtomicLong retailCents = new AtomicLong();
+        private final AtomicLong costCents = new AtomicLong();
+
+        private void add(Snapshot snapshot, int sign) {
+            productCount.addAndGet(sign);
+            units.addAndGet((long) sign * snapshot.units);
+            retailCents.addAndGet(sign * Money.multiply(snapshot.priceCents, snapshot.units));
+            costCents.addAndGet(sign * Money.multiply(snapshot.costCents, snapshot.units));
+        }
+    }
+
+    private static final class Snapshot {
+        private final Long categoryId;
+        private final Long supplierId;
+        private final int units;
+        private final long priceCents;
+        private final long costCents;
+
+        private Snapshot(Long categoryId, Long supplierId, int units, long priceCents, long costCents) {
+            this.categoryId = categoryId;
+            this.supplierId = supplierId;
+            this.units = units;
+            this.priceCents = priceCents;
+            this.costCents = costCents;
+        }
+
+        private Snapshot withUnits(int newUnits) {
+            return new Snapshot(categoryId, supplierId, newUnits, priceCents, costCents);
+        }
+    }
+}
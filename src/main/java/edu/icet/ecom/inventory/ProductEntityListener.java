@@ -0,0 +1,89 @@
+package edu.icet.ecom.inventory;
+
+import edu.icet.ecom.model.entity.ProductEntity;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+
+import java.util.List;
+
+/**
+ * Keeps the in-memory product indexes and stock monitor current after products are written
+ * through a Hibernate session. It listens to Hibernate's post-commit events, registered by
+ * {@link InventoryIntegrator}, so a rolled-back write is never published. Writers that bypass
+ * entity events (stateless sessions, bulk SQL) call {@link #saved} / {@link #removed} directly
+ * once their transaction has committed.
+ */
+public class ProductEntityListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.getMappedClass() == ProductEntity.class;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof ProductEntity product) {
+            saved(product);
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof ProductEntity product) {
+            saved(product);
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof ProductEntity product) {
+            removed(product.getProductId());
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    public static void saved(ProductEntity product) {
+        ProductLookupIndex.getInstance().update(product);
+        ProductSearchIndex.getInstance().update(product);
+        StockLevelMonitor.getInstance().record(product);
+        InventoryRollups.getInstance().update(product);
+        StockReservationLedger.getInstance().reconcile(product.getProductId(),
+                product.getQuantityOnHand() != null ? product.getQuantityOnHand() : 0);
+    }
+
+    // Bulk form of saved for products inserted together, such as one import chunk
+    public static void savedAll(List<ProductEntity> products) {
+        ProductSearchIndex.getInstance().updateAll(products);
+        for (ProductEntity product : products) {
+            ProductLookupIndex.getInstance().update(product);
+            StockLevelMonitor.getInstance().record(product);
+            InventoryRollups.getInstance().update(product);
+            StockReservationLedger.getInstance().reconcile(product.getProductId(),
+                    product.getQuantityOnHand() != null ? product.getQuantityOnHand() : 0);
+        }
+    }
+
+    public static void removed(Long productId) {
+        ProductLookupIndex.getInstance().remove(productId);
+        ProductSearchIndex.getInstance().remove(productId);
+        StockLevelMonitor.getInstance().remove(productId);
+        InventoryRollups.getInstance().remove(productId);
+    }
+}
@@ -0,0 +1,198 @@
+package edu.icet.ecom.inventory;
+
+import edu.icet.ecom.model.entity.ProductEntity;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+
+/**
+ * In-memory barcode and product-code index for the checkout scan path.
+ * Reads are plain {@link ConcurrentHashMap} lookups of immutable records and
+ * never block. The index is warmed at startup and kept current by
+ * {@link ProductEntityListener}; inactive products are not indexed. A warm-up
+ * builds a new index off to the side and swaps it in, so scans keep working on
+ * the old one and changes saved meanwhile are not overwritten by older rows.
+ */
+public final class ProductLookupIndex {
+
+    private static final ProductLookupIndex INSTANCE = new ProductLookupIndex();
+
+    private static final String WARM_UP_QUERY =
+            "select p.productId, p.productCode, p.barcode, p.productName, p.size, p.color, p.price " +
+                    "from ProductEntity p where p.isActive = true";
+
+    private volatile Index index = new Index();
+    private List<Change> pendingChanges; // guarded by this; non-null while a warm-up runs
+    private final Object warmUpLock = new Object();
+
+    private ProductLookupIndex() {
+    }
+
+    public static ProductLookupIndex getInstance() {
+        return INSTANCE;
+    }
+
+    public ProductLookupRecord findByBarcode(String barcode) {
+        return barcode != null ? index.byBarcode.get(barcode.trim()) : null;
+    }
+
+    public ProductLookupRecord findByProductCode(String productCode) {
+        return productCode != null ? index.byCode.get(normalizeCode(productCode)) : null;
+    }
+
+    // Scanner input may be either a barcode or a product code
+    public ProductLookupRecord findByScan(String scanned) {
+        ProductLookupRecord record = findByBarcode(scanned);
+        return record != null ? record : findByProductCode(scanned);
+    }
+
+    public int size() {
+        return index.byId.size();
+    }
+
+    // Rebuild the whole index with one streamed projection query; changes saved meanwhile are
+    // replayed on the new index before it replaces the current one
+    public void warmUp(SessionFactory sessionFactory) {
+        synchronized (warmUpLock) {
+            synchronized (this) {
+                pendingChanges = new ArrayList<>();
+            }
+            try {
+                Index built = load(sessionFactory);
+                synchronized (this) {
+                    pendingChanges.forEach(built::apply);
+                    index = built;
+                }
+            } finally {
+                synchronized (this) {
+                    pendingChanges = null;
+                }
+            }
+        }
+    }
+
+    private static Index load(SessionFactory sessionFactory) {
+        Index built = new Index();
+        try (StatelessSession session = sessionFactory.openStatelessSession();
+             Stream<Object[]> rows = session.createSelectionQuery(WARM_UP_QUERY, Object[].class)
+                     .setFetchSize(1000)
+                     .getResultStream()) {
+            rows.forEach(row -> built.index(new ProductLookupRecord(
+                    (Long) row[0],
+                    (String) row[1],
+                    (String) row[2],
+                    displayName((String) row[3], (String) row[4], (String) row[5]),
+                    (BigDecimal) row[6])));
+        }
+        return built;
+    }
+
+    // Add, refresh or drop a product after it was saved
+    public synchronized void update(ProductEntity product) {
+        if (product == null || product.getProductId() == null) {
+            return;
+        }
+        if (product.getIsActive() == null || !product.getIsActive()) {
+            remove(product.getProductId());
+            return;
+        }
+        apply(new Change(product.getProductId(), new ProductLookupRecord(product.getProductId(),
+                product.getProductCode(), product.getBarcode(),
+                displayName(product.getProductName(), product.getSize(), product.getColor()), product.getPrice())));
+    }
+
+    public synchronized void remove(Long productId) {
+        if (productId != null) {
+            apply(new Change(productId, null));
+        }
+    }
+
+    public synchronized void clear() {
+        index = new Index();
+        if (pendingChanges != null) {
+            pendingChanges.clear();
+        }
+    }
+
+    // Caller holds the monitor
+    private void apply(Change change) {
+        index.apply(change);
+        if (pendingChanges != null) {
+            pendingChanges.add(change);
+        }
+    }
+
+    private static String normalizeCode(String productCode) {
+        return productCode.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static String displayName(String productName, String size, String color) {
+        StringBuilder displayName = new StringBuilder(productName != null ? productName : "");
+        if (size != null && !size.isEmpty()) {
+            displayName.append(" - ").append(size);
+        }
+        if (color != null && !color.isEmpty()) {
+            displayName.append(" (").append(color).append(")");
+        }
+        return displayName.toString();
+    }
+
+    // The three maps of one generation of the index
+    private static final class Index {
+        private final ConcurrentMap<String, ProductLookupRecord> byBarcode = new ConcurrentHashMap<>();
+        private final ConcurrentMap<String, ProductLookupRecord> byCode = new ConcurrentHashMap<>();
+        private final ConcurrentMap<Long, ProductLookupRecord> byId = new ConcurrentHashMap<>();
+
+        private void apply(Change change) {
+            if (change.record != null) {
+                index(change.record);
+            } else {
+                ProductLookupRecord previous = byId.remove(change.productId);
+                if (previous != null) {
+                    unindexKeys(previous);
+                }
+            }
+        }
+
+        private void index(ProductLookupRecord record) {
+            ProductLookupRecord previous = byId.put(record.getProductId(), record);
+            if (record.getBarcode() != null && !record.getBarcode().trim().isEmpty()) {
+                byBarcode.put(record.getBarcode().trim(), record);
+            }
+            if (record.getProductCode() != null && !record.getProductCode().trim().isEmpty()) {
+                byCode.put(normalizeCode(record.getProductCode()), record);
+            }
+            // Drop keys the product no longer has; keys it still has now map to the new record
+            if (previous != null) {
+                unindexKeys(previous);
+            }
+        }
+
+        private void unindexKeys(ProductLookupRecord record) {
+            if (record.getBarcode() != null) {
+                byBarcode.remove(record.getBarcode().trim(), record);
+            }
+            if (record.getProductCode() != null) {
+                byCode.remove(normalizeCode(record.getProductCode()), record);
+            }
+        }
+    }
+
+    // A saved product's new record, or null when it was removed or deactivated
+    private static final class Change {
+        private final Long productId;
+        private final ProductLookupRecord record;
+
+        private Change(Long productId, ProductLookupRecord record) {
+            this.productId = productId;
+            this.record = record;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package edu.icet.ecom.inventory;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+
+/**
+ * Immutable, compact view of a product for the scan path.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public final class ProductLookupRecord {
+
+    private final long productId;
+    private final String productCode;
+    private final String barcode;
+    private final String displayName;
+    private final BigDecimal price;
+}
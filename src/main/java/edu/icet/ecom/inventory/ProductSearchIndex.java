@@ -0,0 +1,593 @@
+package edu.icet.ecom.inventory;
+
+import edu.icet.ecom.model.entity.ProductEntity;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+/**
+ * Typeahead search over product name, colour, size, description and code.
+ * <p>
+ * Terms live in a sorted map so every query word is matched as a prefix
+ * ("sl" finds "slim"). Each term points to an immutable posting list of
+ * internal document ids with a bit mask of the fields the term came from.
+ * All query words must match; results are ranked by field weight, with a
+ * bonus for whole-word matches. Writers copy the affected posting lists, so
+ * readers never lock. {@link #searchAsync} drops work for superseded
+ * keystrokes. A warm-up builds a new index off to the side and swaps it in,
+ * so searches keep working on the old one while it runs.
+ */
+public final class ProductSearchIndex {
+
+    private static final int FIELD_NAME = 1;
+    private static final int FIELD_COLOR = 2;
+    private static final int FIELD_SIZE = 4;
+    private static final int FIELD_CODE = 8;
+    private static final int FIELD_DESCRIPTION = 16;
+
+    private static final int CANCEL_CHECK_INTERVAL = 1024;
+
+    private static final String WARM_UP_QUERY =
+            "select p.productId, p.productCode, p.productName, p.size, p.color, p.description " +
+                    "from ProductEntity p where p.isActive = true";
+
+    private static final ProductSearchIndex INSTANCE = new ProductSearchIndex();
+
+    private volatile Index index = new Index(new ConcurrentSkipListMap<>(), new ConcurrentHashMap<>(), new Doc[1024], 0);
+    private List<Change> pendingChanges; // guarded by this; non-null while a warm-up runs
+    private final Object warmUpLock = new Object();
+
+    private final AtomicLong latestRequest = new AtomicLong();
+    private final ExecutorService searchExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "product-search");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ThreadLocal<ScoreBoard> scoreBoards = ThreadLocal.withInitial(ScoreBoard::new);
+
+    private ProductSearchIndex() {
+    }
+
+    public static ProductSearchIndex getInstance() {
+        return INSTANCE;
+    }
+
+    // Search for the latest keystroke; earlier pending searches are cancelled
+    public CompletableFuture<List<ProductSearchResult>> searchAsync(String query, int limit) {
+        long request = latestRequest.incrementAndGet();
+        BooleanSupplier superseded = () -> latestRequest.get() != request;
+        CompletableFuture<List<ProductSearchResult>> future = new CompletableFuture<>();
+        searchExecutor.execute(() -> {
+            try {
+                List<ProductSearchResult> results = superseded.getAsBoolean()
+                        ? Collections.emptyList()
+                        : search(query, limit, superseded);
+                if (superseded.getAsBoolean()) {
+                    future.cancel(false);
+                } else {
+                    future.complete(results);
+                }
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    public List<ProductSearchResult> search(String query, int limit) {
+        return search(query, limit, () -> false);
+    }
+
+    public List<ProductSearchResult> search(String query, int limit, BooleanSupplier cancelled) {
+        List<String> words = new ArrayList<>(tokenize(query, 0).keySet());
+        if (words.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        // Resolve each word to its prefix range; evaluate the most selective word first
+        Index current = index;
+        List<WordMatch> matches = new ArrayList<>(words.size());
+        for (String word : words) {
+            NavigableMap<String, PostingList> range =
+                    current.postings.subMap(word, true, word + Character.MAX_VALUE, false);
+            long size = 0;
+            for (PostingList list : range.values()) {
+                size += list.docs.length;
+            }
+            if (size == 0) {
+                return Collections.emptyList();
+            }
+            matches.add(new WordMatch(word, range, size));
+        }
+        matches.sort(Comparator.comparingLong(match -> match.size));
+
+        Doc[] snapshot = current.docs;
+        ScoreBoard board = scoreBoards.get();
+        board.ensureCapacity(snapshot.length);
+        try {
+            int operations = 0;
+            for (int wordIndex = 0; wordIndex < matches.size(); wordIndex++) {
+                WordMatch match = matches.get(wordIndex);
+                for (Map.Entry<String, PostingList> entry : match.range.entrySet()) {
+                    boolean exact = entry.getKey().equals(match.word);
+                    PostingList list = entry.getValue();
+                    for (int i = 0; i < list.docs.length; i++) {
+                        if (++operations % CANCEL_CHECK_INTERVAL == 0 && cancelled.getAsBoolean()) {
+                            return Collections.emptyList();
+                        }
+                        int doc = list.docs[i];
+                        if (doc >= snapshot.length) {
+                            continue; // added after this search started
+                        }
+                        float weight = weight(list.masks[i]) * (exact ? 2f : 1f);
+                        int matchedWords = board.matchedWords[doc];
+                        if (matchedWords == wordIndex) {
+                            if (wordIndex == 0) {
+                                board.touch(doc);
+                            }
+                            board.matchedWords[doc] = wordIndex + 1;
+                            board.scores[doc] += weight;
+                        } else if (matchedWords == wordIndex + 1) {
+                            board.scores[doc] += weight * 0.25f; // several terms share the prefix
+                        }
+                    }
+                }
+            }
+            return topResults(board, snapshot, matches.size(), limit);
+        } finally {
+            board.reset();
+        }
+    }
+
+    public int size() {
+        return index.docIds.size();
+    }
+
+    // Rebuild the whole index with one streamed projection query; changes saved meanwhile are
+    // replayed on the new index before it replaces the current one
+    public void warmUp(SessionFactory sessionFactory) {
+        synchronized (warmUpLock) {
+            synchronized (this) {
+                pendingChanges = new ArrayList<>();
+            }
+            try {
+                Index built = load(sessionFactory);
+                synchronized (this) {
+                    pendingChanges.forEach(built::apply);
+                    index = built;
+                }
+            } finally {
+                synchronized (this) {
+                    pendingChanges = null;
+                }
+            }
+        }
+    }
+
+    private static Index load(SessionFactory sessionFactory) {
+        Map<String, PostingBuilder> builders = new HashMap<>();
+        Map<Long, Integer> docIds = new HashMap<>();
+        List<Doc> loaded = new ArrayList<>();
+        try (StatelessSession session = sessionFactory.openStatelessSession();
+             Stream<Object[]> rows = session.createSelectionQuery(WARM_UP_QUERY, Object[].class)
+                     .setFetchSize(1000)
+                     .getResultStream()) {
+            rows.forEach(row -> {
+                Map<String, Integer> terms = terms((String) row[2], (String) row[3], (String) row[4],
+                        (String) row[5], (String) row[1]);
+                int docId = loaded.size();
+                Long productId = (Long) row[0];
+                loaded.add(new Doc(productId, (String) row[1], displayName((String) row[2], (String) row[3],
+                        (String) row[4]), terms.keySet().toArray(new String[0])));
+                docIds.put(productId, docId);
+                for (Map.Entry<String, Integer> term : terms.entrySet()) {
+                    builders.computeIfAbsent(term.getKey(), key -> new PostingBuilder())
+                            .add(docId, term.getValue());
+                }
+            });
+        }
+        ConcurrentSkipListMap<String, PostingList> postings = new ConcurrentSkipListMap<>();
+        for (Map.Entry<String, PostingBuilder> entry : builders.entrySet()) {
+            postings.put(entry.getKey(), entry.getValue().build());
+        }
+        return new Index(postings, new ConcurrentHashMap<>(docIds),
+                loaded.toArray(new Doc[Math.max(loaded.size() * 2, 1024)]), loaded.size());
+    }
+
+    // Add, refresh or drop one product after it was saved
+    public synchronized void update(ProductEntity product) {
+        Change change = change(product);
+        if (change != null) {
+            apply(change);
+        }
+    }
+
+    // Same as update for each product, but merges the postings of new products once per term
+    // instead of copying every shared posting list once per product
+    public synchronized void updateAll(Collection<ProductEntity> products) {
+        List<Change> changes = new ArrayList<>(products.size());
+        for (ProductEntity product : products) {
+            Change change = change(product);
+            if (change != null) {
+                changes.add(change);
+            }
+        }
+        index.applyAll(changes);
+        if (pendingChanges != null) {
+            pendingChanges.addAll(changes);
+        }
+    }
+
+    private static Change change(ProductEntity product) {
+        if (product == null || product.getProductId() == null) {
+            return null;
+        }
+        if (product.getIsActive() == null || !product.getIsActive()) {
+            return new Change(product.getProductId(), null, null);
+        }
+        Map<String, Integer> terms = terms(product.getProductName(), product.getSize(), product.getColor(),
+                product.getDescription(), product.getProductCode());
+        Doc doc = new Doc(product.getProductId(), product.getProductCode(),
+                displayName(product.getProductName(), product.getSize(), product.getColor()),
+                terms.keySet().toArray(new String[0]));
+        return new Change(product.getProductId(), doc, terms);
+    }
+
+    public synchronized void remove(Long productId) {
+        if (productId != null) {
+            apply(new Change(productId, null, null));
+        }
+    }
+
+    // Caller holds the monitor
+    private void apply(Change change) {
+        index.apply(change);
+        if (pendingChanges != null) {
+            pendingChanges.add(change);
+        }
+    }
+
+    private static List<ProductSearchResult> topResults(ScoreBoard board, Doc[] snapshot, int wordCount, int limit) {
+        Comparator<ProductSearchResult> ranking = Comparator
+                .comparingDouble((ProductSearchResult result) -> result.getScore())
+                .thenComparing(result -> -result.getDisplayName().length());
+        PriorityQueue<ProductSearchResult> top = new PriorityQueue<>(limit + 1, ranking);
+        for (int i = 0; i < board.touchedCount; i++) {
+            int doc = board.touched[i];
+            Doc entry = snapshot[doc];
+            if (board.matchedWords[doc] != wordCount || entry == null) {
+                continue;
+            }
+            // Broad prefixes match most of the catalog; only allocate for documents that make the cut
+            if (top.size() == limit) {
+                ProductSearchResult lowest = top.peek();
+                float score = board.scores[doc];
+                if (score < lowest.getScore() || score == lowest.getScore()
+                        && entry.nameLength >= lowest.getDisplayName().length()) {
+                    continue;
+                }
+            }
+            top.offer(new ProductSearchResult(entry.productId, entry.productCode, entry.displayName,
+                    board.scores[doc]));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+        List<ProductSearchResult> results = new ArrayList<>(top);
+        results.sort(ranking.reversed());
+        return results;
+    }
+
+    private static float weight(int fieldMask) {
+        float weight = 0f;
+        if ((fieldMask & FIELD_NAME) != 0) weight += 4f;
+        if ((fieldMask & FIELD_CODE) != 0) weight += 4f;
+        if ((fieldMask & FIELD_COLOR) != 0) weight += 3f;
+        if ((fieldMask & FIELD_SIZE) != 0) weight += 3f;
+        if ((fieldMask & FIELD_DESCRIPTION) != 0) weight += 1f;
+        return weight;
+    }
+
+    private static Map<String, Integer> terms(String name, String size, String color, String description,
+                                              String code) {
+        Map<String, Integer> terms = tokenize(name, FIELD_NAME);
+        tokenize(size, FIELD_SIZE, terms);
+        tokenize(color, FIELD_COLOR, terms);
+        tokenize(code, FIELD_CODE, terms);
+        tokenize(description, FIELD_DESCRIPTION, terms);
+        return terms;
+    }
+
+    private static Map<String, Integer> tokenize(String text, int field) {
+        Map<String, Integer> terms = new LinkedHashMap<>();
+        tokenize(text, field, terms);
+        return terms;
+    }
+
+    // Lower-cased runs of letters and digits, merged into term -> field mask
+    private static void tokenize(String text, int field, Map<String, Integer> terms) {
+        if (text == null) {
+            return;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                terms.merge(text.substring(start, i).toLowerCase(Locale.ROOT), field, (a, b) -> a | b);
+                start = -1;
+            }
+        }
+    }
+
+    private static String displayName(String productName, String size, String color) {
+        StringBuilder displayName = new StringBuilder(productName != null ? productName : "");
+        if (size != null && !size.isEmpty()) {
+            displayName.append(" - ").append(size);
+        }
+        if (color != null && !color.isEmpty()) {
+            displayName.append(" (").append(color).append(")");
+        }
+        return displayName.toString();
+    }
+
+    private static final class Doc {
+        private final long productId;
+        private final String productCode;
+        private final String displayName;
+        private final int nameLength; // ranking tie-break, kept here to spare a String load per match
+        private final String[] terms;
+
+        private Doc(long productId, String productCode, String displayName, String[] terms) {
+            this.productId = productId;
+            this.productCode = productCode;
+            this.displayName = displayName;
+            this.nameLength = displayName.length();
+            this.terms = terms;
+        }
+    }
+
+    // Terms, postings and documents of one generation of the index; mutated under the outer monitor
+    private static final class Index {
+        private final ConcurrentSkipListMap<String, PostingList> postings;
+        private final ConcurrentMap<Long, Integer> docIds;
+        private volatile Doc[] docs;
+        private int nextDocId;
+
+        private Index(ConcurrentSkipListMap<String, PostingList> postings, ConcurrentMap<Long, Integer> docIds,
+                      Doc[] docs, int nextDocId) {
+            this.postings = postings;
+            this.docIds = docIds;
+            this.docs = docs;
+            this.nextDocId = nextDocId;
+        }
+
+        private void apply(Change change) {
+            if (change.doc == null) {
+                Integer docId = docIds.remove(change.productId);
+                if (docId != null) {
+                    removePostings(docId);
+                    publish(docId, null);
+                }
+                return;
+            }
+            Integer existing = docIds.get(change.productId);
+            int docId;
+            if (existing != null) {
+                docId = existing;
+                removePostings(docId);
+            } else {
+                docId = nextDocId++;
+            }
+            publish(docId, change.doc);
+            for (Map.Entry<String, Integer> term : change.terms.entrySet()) {
+                postings.compute(term.getKey(), (key, list) -> list == null
+                        ? new PostingList(new int[]{docId}, new byte[]{term.getValue().byteValue()})
+                        : list.with(docId, term.getValue()));
+            }
+            docIds.put(change.productId, docId);
+        }
+
+        // New documents get ids above every id already posted, so their postings are appended
+        // per term in one copy; removals and refreshes go through apply after the appends so far
+        private void applyAll(List<Change> changes) {
+            Map<String, PostingBuilder> appended = new HashMap<>();
+            for (Change change : changes) {
+                if (change.doc == null || docIds.containsKey(change.productId)) {
+                    append(appended);
+                    apply(change);
+                    continue;
+                }
+                int docId = nextDocId++;
+                publish(docId, change.doc);
+                for (Map.Entry<String, Integer> term : change.terms.entrySet()) {
+                    appended.computeIfAbsent(term.getKey(), key -> new PostingBuilder())
+                            .add(docId, term.getValue());
+                }
+                docIds.put(change.productId, docId);
+            }
+            append(appended);
+        }
+
+        private void append(Map<String, PostingBuilder> appended) {
+            for (Map.Entry<String, PostingBuilder> entry : appended.entrySet()) {
+                postings.compute(entry.getKey(), (key, list) -> list == null
+                        ? entry.getValue().build()
+                        : list.append(entry.getValue()));
+            }
+            appended.clear();
+        }
+
+        private void removePostings(int docId) {
+            Doc doc = docs[docId];
+            if (doc == null) {
+                return;
+            }
+            for (String term : doc.terms) {
+                postings.computeIfPresent(term, (key, list) -> list.without(docId));
+            }
+        }
+
+        private void publish(int docId, Doc doc) {
+            Doc[] current = docs;
+            if (docId >= current.length) {
+                current = Arrays.copyOf(current, Math.max(current.length * 2, docId + 1));
+            }
+            current[docId] = doc;
+            docs = current; // volatile write publishes the slot to readers
+        }
+    }
+
+    // A saved or removed product; doc and terms are null for a removal
+    private static final class Change {
+        private final long productId;
+        private final Doc doc;
+        private final Map<String, Integer> terms;
+
+        private Change(long productId, Doc doc, Map<String, Integer> terms) {
+            this.productId = productId;
+            this.doc = doc;
+            this.terms = terms;
+        }
+    }
+
+    private static final class WordMatch {
+        private final String word;
+        private final NavigableMap<String, PostingList> range;
+        private final long size;
+
+        private WordMatch(String word, NavigableMap<String, PostingList> range, long size) {
+            this.word = word;
+            this.range = range;
+            this.size = size;
+        }
+    }
+
+    // Immutable, sorted by document id
+    private static final class PostingList {
+        private final int[] docs;
+        private final byte[] masks;
+
+        private PostingList(int[] docs, byte[] masks) {
+            this.docs = docs;
+            this.masks = masks;
+        }
+
+        private PostingList with(int doc, int mask) {
+            int index = Arrays.binarySearch(docs, doc);
+            if (index >= 0) {
+                byte[] updatedMasks = masks.clone();
+                updatedMasks[index] = (byte) mask;
+                return new PostingList(docs, updatedMasks);
+            }
+            int insertAt = -index - 1;
+            int[] updatedDocs = new int[docs.length + 1];
+            byte[] updatedMasks = new byte[masks.length + 1];
+            System.arraycopy(docs, 0, updatedDocs, 0, insertAt);
+            System.arraycopy(masks, 0, updatedMasks, 0, insertAt);
+            updatedDocs[insertAt] = doc;
+            updatedMasks[insertAt] = (byte) mask;
+            System.arraycopy(docs, insertAt, updatedDocs, insertAt + 1, docs.length - insertAt);
+            System.arraycopy(masks, insertAt, updatedMasks, insertAt + 1, masks.length - insertAt);
+            return new PostingList(updatedDocs, updatedMasks);
+        }
+
+        // Every document in added sorts after the documents already in this list
+        private PostingList append(PostingBuilder added) {
+            int[] updatedDocs = Arrays.copyOf(docs, docs.length + added.size);
+            byte[] updatedMasks = Arrays.copyOf(masks, masks.length + added.size);
+            System.arraycopy(added.docs, 0, updatedDocs, docs.length, added.size);
+            System.arraycopy(added.masks, 0, updatedMasks, masks.length, added.size);
+            return new PostingList(updatedDocs, updatedMasks);
+        }
+
+        // Returns null when the list becomes empty so the term is dropped
+        private PostingList without(int doc) {
+            int index = Arrays.binarySearch(docs, doc);
+            if (index < 0) {
+                return this;
+            }
+            if (docs.length == 1) {
+                return null;
+            }
+            int[] updatedDocs = new int[docs.length - 1];
+            byte[] updatedMasks = new byte[masks.length - 1];
+            System.arraycopy(docs, 0, updatedDocs, 0, index);
+            System.arraycopy(masks, 0, updatedMasks, 0, index);
+            System.arraycopy(docs, index + 1, updatedDocs, index, docs.length - index - 1);
+            System.arraycopy(masks, index + 1, updatedMasks, index, masks.length - index - 1);
+            return new PostingList(updatedDocs, updatedMasks);
+        }
+    }
+
+    // Appends in increasing document order during warm-up
+    private static final class PostingBuilder {
+        private int[] docs = new int[4];
+        private byte[] masks = new byte[4];
+        private int size;
+
+        private void add(int doc, int mask) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                masks = Arrays.copyOf(masks, size * 2);
+            }
+            docs[size] = doc;
+            masks[size] = (byte) mask;
+            size++;
+        }
+
+        private PostingList build() {
+            return new PostingList(Arrays.copyOf(docs, size), Arrays.copyOf(masks, size));
+        }
+    }
+
+    // Per-thread scratch arrays reused across searches
+    private static final class ScoreBoard {
+        private int[] matchedWords = new int[0];
+        private float[] scores = new float[0];
+        private int[] touched = new int[0];
+        private int touchedCount;
+
+        private void ensureCapacity(int capacity) {
+            if (matchedWords.length < capacity) {
+                matchedWords = new int[capacity];
+                scores = new float[capacity];
+                touched = new int[capacity];
+            }
+        }
+
+        private void touch(int doc) {
+            touched[touchedCount++] = doc;
+        }
+
+        private void reset() {
+            for (int i = 0; i < touchedCount; i++) {
+                matchedWords[touched[i]] = 0;
+                scores[touched[i]] = 0f;
+            }
+            touchedCount = 0;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package edu.icet.ecom.inventory;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@AllArgsConstructor
+@ToString
+public final class ProductSearchResult {
+
+    private final long productId;
+    private final String productCode;
+    private final String displayName;
+    private final float score;
+}
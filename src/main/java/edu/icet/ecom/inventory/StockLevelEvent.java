@@ -0,0 +1,29 @@
+package edu.icet.ecom.inventory;
+
+import edu.icet.ecom.model.entity.ProductEntity.ProductStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@AllArgsConstructor
+@ToString
+public final class StockLevelEvent {
+
+    private final long productId;
+    private final ProductStatus previousStatus;
+    private final ProductStatus currentStatus;
+    private final int quantityOnHand;
+    private final Integer reorderLevel;
+
+    // True when the product crossed down into low stock or ran out
+    public boolean isDrop() {
+        return currentStatus == ProductStatus.OUT_OF_STOCK ||
+                (currentStatus == ProductStatus.LOW_STOCK && previousStatus == ProductStatus.AVAILABLE);
+    }
+
+    // True when the product is back above its reorder level
+    public boolean isRecovered() {
+        return currentStatus == ProductStatus.AVAILABLE;
+    }
+}
@@ -0,0 +1,8 @@
+package edu.icet.ecom.inventory;
+
+// Receives stock threshold crossings from StockLevelMonitor on its notifier thread
+@FunctionalInterface
+public interface StockLevelListener {
+
+    void onStockLevelChanged(StockLevelEvent event);
+}
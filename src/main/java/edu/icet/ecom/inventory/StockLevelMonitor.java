@@ -0,0 +1,246 @@
+package edu.icet.ecom.inventory;
+
+import edu.icet.ecom.model.entity.ProductEntity;
+import edu.icet.ecom.model.entity.ProductEntity.ProductStatus;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Set of active products at or below their reorder level, kept current from
+ * stock changes instead of scanning the products table.
+ * <p>
+ * Products that are {@link ProductStatus#AVAILABLE} are not stored, so the map
+ * only ever holds the low-stock and out-of-stock SKUs. Every status change is
+ * published to the registered {@link StockLevelListener}s on a single notifier
+ * thread, in the order the changes were recorded. A warm-up loads a new set
+ * from the indexed status column and swaps it in; changes recorded meanwhile
+ * are replayed onto it first.
+ */
+public final class StockLevelMonitor {
+
+    private static final System.Logger LOG = System.getLogger(StockLevelMonitor.class.getName());
+
+    // Served by idx_products_status; comparing two columns would need a full table scan
+    private static final String WARM_UP_QUERY =
+            "select p.productId, p.quantityOnHand, p.reorderLevel, p.status from ProductEntity p " +
+                    "where p.status in (:flagged) and p.isActive = true";
+
+    private static final StockLevelMonitor INSTANCE = new StockLevelMonitor();
+
+    private volatile ConcurrentMap<Long, ProductStatus> flagged = new ConcurrentHashMap<>();
+    private List<Change> pendingDuringWarmUp; // guarded by this
+    private final List<StockLevelListener> listeners = new CopyOnWriteArrayList<>();
+    private final ExecutorService notifier = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "stock-level-events");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private StockLevelMonitor() {
+    }
+
+    public static StockLevelMonitor getInstance() {
+        return INSTANCE;
+    }
+
+    public void addListener(StockLevelListener listener) {
+        if (listener != null) {
+            listeners.add(listener);
+        }
+    }
+
+    public void removeListener(StockLevelListener listener) {
+        listeners.remove(listener);
+    }
+
+    // Same rule as ProductEntity.updateStatus()
+    public static ProductStatus statusFor(Integer quantityOnHand, Integer reorderLevel) {
+        if (quantityOnHand == null || quantityOnHand <= 0) {
+            return ProductStatus.OUT_OF_STOCK;
+        }
+        if (reorderLevel != null && quantityOnHand <= reorderLevel) {
+            return ProductStatus.LOW_STOCK;
+        }
+        return ProductStatus.AVAILABLE;
+    }
+
+    public void record(ProductEntity product) {
+        if (product == null || product.getProductId() == null) {
+            return;
+        }
+        if (product.getIsActive() == null || !product.getIsActive()
+                || product.getStatus() == ProductStatus.DISCONTINUED) {
+            remove(product.getProductId());
+            return;
+        }
+        record(product.getProductId(), product.getQuantityOnHand(), product.getReorderLevel());
+    }
+
+    // Record a committed quantity; publishes an event when the product crosses a threshold
+    public synchronized void record(Long productId, Integer quantityOnHand, Integer reorderLevel) {
+        if (productId == null) {
+            return;
+        }
+        if (pendingDuringWarmUp != null) {
+            pendingDuringWarmUp.add(new Change(productId, statusFor(quantityOnHand, reorderLevel)));
+        }
+        ProductStatus current = statusFor(quantityOnHand, reorderLevel);
+        ProductStatus previous = apply(flagged, productId, current);
+        if (previous != current) {
+            publish(new StockLevelEvent(productId, previous, current,
+                    quantityOnHand != null ? quantityOnHand : 0, reorderLevel));
+        }
+    }
+
+    // Deleted, deactivated or discontinued products leave the set without an event
+    public synchronized void remove(Long productId) {
+        if (productId != null) {
+            if (pendingDuringWarmUp != null) {
+                pendingDuringWarmUp.add(new Change(productId, ProductStatus.AVAILABLE));
+            }
+            flagged.remove(productId);
+        }
+    }
+
+    // Returns the previous status
+    private static ProductStatus apply(Map<Long, ProductStatus> target, Long productId, ProductStatus status) {
+        ProductStatus previous = status == ProductStatus.AVAILABLE
+                ? target.remove(productId)
+                : target.put(productId, status);
+        return previous != null ? previous : ProductStatus.AVAILABLE;
+    }
+
+    public boolean needsReorder(Long productId) {
+        return productId != null && flagged.containsKey(productId);
+    }
+
+    public ProductStatus getStatus(Long productId) {
+        ProductStatus status = productId != null ? flagged.get(productId) : null;
+        return status != null ? status : ProductStatus.AVAILABLE;
+    }
+
+    public Set<Long> getReorderProductIds() {
+        return Set.copyOf(flagged.keySet());
+    }
+
+    public Set<Long> getProductIds(ProductStatus status) {
+        Set<Long> ids = new HashSet<>();
+        flagged.forEach((id, flaggedStatus) -> {
+            if (flaggedStatus == status) {
+                ids.add(id);
+            }
+        });
+        return ids;
+    }
+
+    public int size() {
+        return flagged.size();
+    }
+
+    /**
+     * Load the flagged set with one indexed query over the rows whose stored status
+     * is LOW_STOCK or OUT_OF_STOCK, and correct any of them that the quantity no
+     * longer supports. The stored status is kept in step by every stock write
+     * (StockServiceImpl's guarded UPDATEs, the import, and ProductEntity's flush
+     * callbacks), so products it still calls AVAILABLE are not read. The new set replaces the old
+     * one only when it is complete; stock changes recorded meanwhile are replayed
+     * onto it first, without publishing their events a second time.
+     */
+    public void warmUp(SessionFactory sessionFactory) {
+        synchronized (this) {
+            pendingDuringWarmUp = new ArrayList<>();
+        }
+        try {
+            ConcurrentMap<Long, ProductStatus> loaded = load(sessionFactory);
+            synchronized (this) {
+                for (Change change : pendingDuringWarmUp) {
+                    apply(loaded, change.productId, change.status);
+                }
+                flagged = loaded;
+            }
+        } finally {
+            synchronized (this) {
+                pendingDuringWarmUp = null;
+            }
+        }
+    }
+
+    private static ConcurrentMap<Long, ProductStatus> load(SessionFactory sessionFactory) {
+        ConcurrentMap<Long, ProductStatus> loaded = new ConcurrentHashMap<>();
+        Map<ProductStatus, List<Long>> corrections = new EnumMap<>(ProductStatus.class);
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            List<Object[]> rows = session.createSelectionQuery(WARM_UP_QUERY, Object[].class)
+                    .setParameter("flagged", List.of(ProductStatus.LOW_STOCK, ProductStatus.OUT_OF_STOCK))
+                    .getResultList();
+            for (Object[] row : rows) {
+                ProductStatus stored = (ProductStatus) row[3];
+                ProductStatus actual = statusFor((Integer) row[1], (Integer) row[2]);
+                if (actual != ProductStatus.AVAILABLE) {
+                    loaded.put((Long) row[0], actual);
+                }
+                if (actual != stored) {
+                    corrections.computeIfAbsent(actual, status -> new ArrayList<>()).add((Long) row[0]);
+                }
+            }
+
+            if (!corrections.isEmpty()) {
+                Transaction transaction = session.beginTransaction();
+                try {
+                    for (Map.Entry<ProductStatus, List<Long>> entry : corrections.entrySet()) {
+                        session.createMutationQuery(
+                                        "update ProductEntity p set p.status = :status where p.productId in (:ids)")
+                                .setParameter("status", entry.getKey())
+                                .setParameter("ids", entry.getValue())
+                                .executeUpdate();
+                    }
+                    transaction.commit();
+                } catch (RuntimeException e) {
+                    if (transaction.isActive()) {
+                        transaction.rollback();
+                    }
+                    throw e;
+                }
+            }
+        }
+        return loaded;
+    }
+
+    private void publish(StockLevelEvent event) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        notifier.execute(() -> {
+            for (StockLevelListener listener : listeners) {
+                try {
+                    listener.onStockLevelChanged(event);
+                } catch (RuntimeException e) {
+                    LOG.log(System.Logger.Level.WARNING, "Stock level listener failed", e);
+                }
+            }
+        });
+    }
+
+    // A recorded status; removals are recorded as AVAILABLE, which drops the product from the set
+    private static final class Change {
+        private final Long productId;
+        private final ProductStatus status;
+
+        private Change(Long productId, ProductStatus status) {
+            this.productId = productId;
+            this.status = status;
+        }
+    }
+}
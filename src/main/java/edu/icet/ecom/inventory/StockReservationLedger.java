@@ -0,0 +1,264 @@
+package edu.icet.ecom.inventory;
+
+import edu.icet.ecom.util.AppConfig;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+/**
+ * In-process ledger of stock held by open carts.
+ * <p>
+ * Each product keeps its last known quantity on hand and the reserved quantity
+ * packed into one {@link AtomicLong}, so a reservation is a single CAS and two
+ * terminals can never both take the last unit. Holds are grouped per cart and
+ * expire after {@code RESERVATION_TTL_MINUTES} of inactivity. The known quantity
+ * is reconciled with {@code products.quantity_on_hand} whenever a product is
+ * saved or stock is read back after a checkout. A product is tracked only while
+ * some cart holds it: once its reserved quantity drops to zero the entry is
+ * retired, and the next reservation seeds it again from the caller's figure.
+ * A cart that was checked out or released stays closed until its TTL runs out,
+ * so a scan racing the checkout or cancel cannot open a new hold under its key.
+ */
+public final class StockReservationLedger {
+
+    // Marks an entry that was retired; never a live state because onHand is kept non-negative
+    private static final long RETIRED = -1L;
+
+    private static final StockReservationLedger INSTANCE = new StockReservationLedger(
+            TimeUnit.MINUTES.toMillis(AppConfig.getLong("RESERVATION_TTL_MINUTES", 15)));
+
+    private final long ttlMillis;
+    private final ConcurrentMap<Long, AtomicLong> stock = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, CartHold> holds = new ConcurrentHashMap<>();
+
+    private StockReservationLedger(long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+        ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stock-reservation-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(this::expireHolds, 30, 30, TimeUnit.SECONDS);
+    }
+
+    public static StockReservationLedger getInstance() {
+        return INSTANCE;
+    }
+
+    // Reserve stock for a cart; knownOnHand seeds the ledger the first time a product is seen
+    public boolean reserve(String cartKey, Long productId, Integer knownOnHand, int quantity) {
+        return reserve(cartKey, productId, () -> knownOnHand != null ? knownOnHand : 0, quantity);
+    }
+
+    // As above; onHandSource is asked only when the product is not tracked yet
+    public boolean reserve(String cartKey, Long productId, IntSupplier onHandSource, int quantity) {
+        if (cartKey == null || productId == null || quantity <= 0) {
+            return false;
+        }
+        AtomicLong state = track(productId, onHandSource);
+        while (true) {
+            long current = state.get();
+            if (current == RETIRED) {
+                // Lost a race with retire(); start over with a fresh entry
+                stock.remove(productId, state);
+                state = track(productId, onHandSource);
+                continue;
+            }
+            int onHand = onHand(current);
+            int reserved = reserved(current);
+            if ((long) reserved + quantity > onHand) {
+                if (reserved == 0) {
+                    retire(productId, state);
+                }
+                return false;
+            }
+            if (state.compareAndSet(current, pack(onHand, reserved + quantity))) {
+                break;
+            }
+        }
+        CartHold hold = holds.computeIfAbsent(cartKey, key -> new CartHold());
+        synchronized (hold) {
+            if (!hold.closed) {
+                hold.quantities.merge(productId, quantity, Integer::sum);
+                hold.touch(ttlMillis);
+                return true;
+            }
+        }
+        // The cart was checked out or released meanwhile; give the units back
+        adjust(productId, 0, -quantity);
+        return false;
+    }
+
+    // Release part of a cart's hold on one product
+    public void release(String cartKey, Long productId, int quantity) {
+        CartHold hold = cartKey != null ? holds.get(cartKey) : null;
+        if (hold == null || productId == null || quantity <= 0) {
+            return;
+        }
+        int released;
+        synchronized (hold) {
+            Integer held = hold.closed ? null : hold.quantities.get(productId);
+            if (held == null) {
+                return;
+            }
+            released = Math.min(held, quantity);
+            if (held > quantity) {
+                hold.quantities.put(productId, held - quantity);
+            } else {
+                hold.quantities.remove(productId);
+            }
+            hold.touch(ttlMillis);
+        }
+        adjust(productId, 0, -released);
+    }
+
+    // Release everything held by a cart, e.g. when the order is cancelled
+    public void releaseAll(String cartKey) {
+        if (cartKey != null) {
+            settle(cartKey).forEach((productId, quantity) -> adjust(productId, 0, -quantity));
+        }
+    }
+
+    // Convert a cart's holds into sold stock after a successful checkout
+    public void commit(String cartKey) {
+        if (cartKey != null) {
+            settle(cartKey).forEach((productId, quantity) -> adjust(productId, -quantity, -quantity));
+        }
+    }
+
+    // Align the known quantity on hand with the database value; untracked products are ignored
+    public void reconcile(Long productId, int actualOnHand) {
+        AtomicLong state = productId != null ? stock.get(productId) : null;
+        if (state == null) {
+            return;
+        }
+        while (true) {
+            long current = state.get();
+            if (current == RETIRED) {
+                return;
+            }
+            if (state.compareAndSet(current, pack(Math.max(actualOnHand, 0), reserved(current)))) {
+                return;
+            }
+        }
+    }
+
+    // Units not held by any cart, or -1 if the product is not tracked
+    public int getAvailable(Long productId) {
+        AtomicLong state = productId != null ? stock.get(productId) : null;
+        if (state == null) {
+            return -1;
+        }
+        long current = state.get();
+        return current != RETIRED ? Math.max(onHand(current) - reserved(current), 0) : -1;
+    }
+
+    public int getReserved(Long productId) {
+        AtomicLong state = productId != null ? stock.get(productId) : null;
+        long current = state != null ? state.get() : RETIRED;
+        return current != RETIRED ? reserved(current) : 0;
+    }
+
+    // Number of products currently tracked, i.e. held by at least one cart
+    public int getTrackedCount() {
+        return stock.size();
+    }
+
+    // Drop holds of carts that were abandoned, and settled carts whose TTL has run out
+    void expireHolds() {
+        long now = System.currentTimeMillis();
+        holds.forEach((cartKey, hold) -> {
+            if (hold.expiresAt < now && holds.remove(cartKey, hold)) {
+                close(hold).forEach((productId, quantity) -> adjust(productId, 0, -quantity));
+            }
+        });
+    }
+
+    // Close the cart's hold, creating a closed one if it has none yet, and return what it held
+    private Map<Long, Integer> settle(String cartKey) {
+        CartHold hold = holds.computeIfAbsent(cartKey, key -> new CartHold());
+        synchronized (hold) {
+            hold.touch(ttlMillis);
+            return close(hold);
+        }
+    }
+
+    // Stop further changes to a hold and return what it held; empty if it was already closed
+    private static Map<Long, Integer> close(CartHold hold) {
+        synchronized (hold) {
+            if (hold.closed) {
+                return Map.of();
+            }
+            hold.closed = true;
+            return hold.quantities;
+        }
+    }
+
+    // Tracked entry for the product, seeded from onHandSource outside the map's lock if it is new
+    private AtomicLong track(Long productId, IntSupplier onHandSource) {
+        AtomicLong state = stock.get(productId);
+        if (state != null) {
+            return state;
+        }
+        int onHand = Math.max(onHandSource.getAsInt(), 0);
+        return stock.computeIfAbsent(productId, id -> new AtomicLong(pack(onHand, 0)));
+    }
+
+    private void adjust(Long productId, int onHandDelta, int reservedDelta) {
+        AtomicLong state = stock.get(productId);
+        if (state == null) {
+            return;
+        }
+        while (true) {
+            long current = state.get();
+            if (current == RETIRED) {
+                return;
+            }
+            int onHand = Math.max(onHand(current) + onHandDelta, 0);
+            int reserved = Math.max(reserved(current) + reservedDelta, 0);
+            if (state.compareAndSet(current, pack(onHand, reserved))) {
+                if (reserved == 0) {
+                    retire(productId, state);
+                }
+                return;
+            }
+        }
+    }
+
+    // Stop tracking a product nobody holds, unless a reservation slipped in first
+    private void retire(Long productId, AtomicLong state) {
+        long current = state.get();
+        if (current != RETIRED && reserved(current) == 0 && state.compareAndSet(current, RETIRED)) {
+            stock.remove(productId, state);
+        }
+    }
+
+    private static long pack(int onHand, int reserved) {
+        return ((long) onHand << 32) | (reserved & 0xFFFFFFFFL);
+    }
+
+    private static int onHand(long state) {
+        return (int) (state >>> 32);
+    }
+
+    private static int reserved(long state) {
+        return (int) state;
+    }
+
+    private static final class CartHold {
+        private final Map<Long, Integer> quantities = new HashMap<>();
+        private volatile long expiresAt;
+        private boolean closed;
+
+        private void touch(long ttlMillis) {
+            expiresAt = System.currentTimeMillis() + ttlMillis;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package edu.icet.ecom.mapper;
+
+import edu.icet.ecom.model.dto.CategoryDto;
+import edu.icet.ecom.model.entity.CategoryEntity;
+
+public class CategoryMapper implements EntityMapper<CategoryEntity, CategoryDto> {
+
+    @Override
+    public CategoryDto toDto(CategoryEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        CategoryDto dto = new CategoryDto();
+        dto.setCategoryId(entity.getCategoryId());
+        dto.setCategoryName(entity.getCategoryName());
+        dto.setDescription(entity.getDescription());
+        dto.setIsActive(entity.getIsActive());
+        dto.setCreatedAt(entity.getCreatedAt());
+        dto.setUpdatedAt(entity.getUpdatedAt());
+        dto.setProductCount(entity.getProductCount());
+        return dto;
+    }
+
+    @Override
+    public CategoryEntity toEntity(CategoryDto dto) {
+        if (dto == null) {
+            return null;
+        }
+        CategoryEntity entity = new CategoryEntity();
+        entity.setCategoryId(dto.getCategoryId());
+        entity.setCategoryName(dto.getCategoryName());
+        entity.setDescription(dto.getDescription());
+        entity.setIsActive(dto.getIsActive() != null ? dto.getIsActive() : true);
+        entity.setCreatedAt(dto.getCreatedAt());
+        entity.setUpdatedAt(dto.getUpdatedAt());
+        return entity;
+    }
+}
@@ -0,0 +1,74 @@
+package edu.icet.ecom.mapper;
+
+import edu.icet.ecom.model.dto.EmployeeDto;
+import edu.icet.ecom.model.entity.EmployeeEntity;
+
+public class EmployeeMapper implements EntityMapper<EmployeeEntity, EmployeeDto> {
+
+    @Override
+    public EmployeeDto toDto(EmployeeEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        EmployeeDto dto = new EmployeeDto();
+        dto.setEmployeeId(entity.getEmployeeId());
+        dto.setEmployeeCode(entity.getEmployeeCode());
+        dto.setFirstName(entity.getFirstName());
+        dto.setLastName(entity.getLastName());
+        dto.setEmail(entity.getEmail());
+        dto.setPhone(entity.getPhone());
+        dto.setAddress(entity.getAddress());
+        dto.setDateOfBirth(entity.getDateOfBirth());
+        dto.setHireDate(entity.getHireDate());
+        dto.setSalary(entity.getSalary());
+        dto.setPosition(EntityMapper.toName(entity.getPosition()));
+        dto.setDepartment(EntityMapper.toName(entity.getDepartment()));
+        dto.setEmploymentStatus(EntityMapper.toName(entity.getEmploymentStatus()));
+        dto.setManagerId(entity.getManagerId());
+        dto.setEmergencyContact(entity.getEmergencyContact());
+        dto.setEmergencyPhone(entity.getEmergencyPhone());
+        dto.setNationalId(entity.getNationalId());
+        dto.setBankAccount(entity.getBankAccount());
+        dto.setNotes(entity.getNotes());
+        dto.setIsActive(entity.getIsActive());
+        dto.setCreatedAt(entity.getCreatedAt());
+        dto.setUpdatedAt(entity.getUpdatedAt());
+        dto.setYearsOfService(entity.getYearsOfService());
+        dto.setTotalOrders(entity.getTotalOrders());
+        dto.setTotalSales(entity.getTotalSales());
+        return dto;
+    }
+
+    @Override
+    public EmployeeEntity toEntity(EmployeeDto dto) {
+        if (dto == null) {
+            return null;
+        }
+        EmployeeEntity entity = new EmployeeEntity();
+        entity.setEmployeeId(dto.getEmployeeId());
+        entity.setEmployeeCode(dto.getEmployeeCode());
+        entity.setFirstName(dto.getFirstName());
+        entity.setLastName(dto.getLastName());
+        entity.setEmail(dto.getEmail());
+        entity.setPhone(dto.getPhone());
+        entity.setAddress(dto.getAddress());
+        entity.setDateOfBirth(dto.getDateOfBirth());
+        entity.setHireDate(dto.getHireDate());
+        entity.setSalary(dto.getSalary());
+        entity.setPosition(EntityMapper.toEnum(EmployeeEntity.Position.class, dto.getPosition()));
+        entity.setDepartment(EntityMapper.toEnum(EmployeeEntity.Department.class, dto.getDepartment()));
+        EmployeeEntity.EmploymentStatus status =
+                EntityMapper.toEnum(EmployeeEntity.EmploymentStatus.class, dto.getEmploymentStatus());
+        entity.setEmploymentStatus(status != null ? status : EmployeeEntity.EmploymentStatus.ACTIVE);
+        entity.setManagerId(dto.getManagerId());
+        entity.setEmergencyContact(dto.getEmergencyContact());
+        entity.setEmergencyPhone(dto.getEmergencyPhone());
+        entity.setNationalId(dto.getNationalId());
+        entity.setBankAccount(dto.getBankAccount());
+        entity.setNotes(dto.getNotes());
+        entity.setIsActive(dto.getIsActive() != null ? dto.getIsActive() : true);
+        entity.setCreatedAt(dto.getCreatedAt());
+        entity.setUpdatedAt(dto.getUpdatedAt());
+        return entity;
+    }
+}
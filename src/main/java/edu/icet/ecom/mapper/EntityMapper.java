@@ -0,0 +1,56 @@
+package edu.icet.ecom.mapper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Hand-written Entity/DTO conversion. Every field is copied explicitly so bulk
+ * conversions run without reflection. Lazy associations are only read when
+ * they are already initialised; relations on the way back to an entity are
+ * resolved by the calling service.
+ */
+public interface EntityMapper<E, D> {
+
+    D toDto(E entity);
+
+    E toEntity(D dto);
+
+    default List<D> toDtoList(List<E> entities) {
+        if (entities == null || entities.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<D> dtos = new ArrayList<>(entities.size());
+        for (E entity : entities) {
+            dtos.add(toDto(entity));
+        }
+        return dtos;
+    }
+
+    default List<E> toEntityList(List<D> dtos) {
+        if (dtos == null || dtos.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<E> entities = new ArrayList<>(dtos.size());
+        for (D dto : dtos) {
+            entities.add(toEntity(dto));
+        }
+        return entities;
+    }
+
+    // Enum name to constant, or null for unknown values
+    static <T extends Enum<T>> T toEnum(Class<T> type, String name) {
+        if (name == null || name.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, name.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    static String toName(Enum<?> value) {
+        return value != null ? value.name() : null;
+    }
+}
@@ -0,0 +1,66 @@
+package edu.icet.ecom.mapper;
+
+import edu.icet.ecom.model.dto.OrderItemDto;
+import edu.icet.ecom.model.entity.CategoryEntity;
+import edu.icet.ecom.model.entity.OrderEntity;
+import edu.icet.ecom.model.entity.OrderItemEntity;
+import edu.icet.ecom.model.entity.ProductEntity;
+import org.hibernate.Hibernate;
+
+public class OrderItemMapper implements EntityMapper<OrderItemEntity, OrderItemDto> {
+
+    @Override
+    public OrderItemDto toDto(OrderItemEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        OrderItemDto dto = new OrderItemDto();
+        dto.setOrderItemId(entity.getOrderItemId());
+        dto.setQuantity(entity.getQuantity());
+        dto.setUnitPrice(entity.getUnitPrice());
+        dto.setDiscountAmount(entity.getDiscountAmount());
+        dto.setSubtotal(entity.getSubtotal());
+        dto.setNotes(entity.getNotes());
+        dto.setCreatedAt(entity.getCreatedAt());
+        dto.setUpdatedAt(entity.getUpdatedAt());
+
+        OrderEntity order = entity.getOrder();
+        if (order != null) {
+            dto.setOrderId(order.getOrderId());
+            if (Hibernate.isInitialized(order)) {
+                dto.setOrderNumber(order.getOrderNumber());
+            }
+        }
+
+        ProductEntity product = entity.getProduct();
+        if (product != null) {
+            dto.setProductId(product.getProductId());
+            if (Hibernate.isInitialized(product)) {
+                dto.setProductName(product.getProductName());
+                dto.setProductCode(product.getProductCode());
+                dto.setSize(product.getSize());
+                dto.setColor(product.getColor());
+                CategoryEntity category = product.getCategory();
+                if (category != null && Hibernate.isInitialized(category)) {
+                    dto.setCategoryName(category.getCategoryName());
+                }
+            }
+        }
+        return dto;
+    }
+
+    // Order and product are left unset; the service attaches references by id
+    @Override
+    public OrderItemEntity toEntity(OrderItemDto dto) {
+        if (dto == null) {
+            return null;
+        }
+        OrderItemEntity entity = new OrderItemEntity(null, dto.getQuantity(), dto.getUnitPrice(),
+                dto.getDiscountAmount());
+        entity.setOrderItemId(dto.getOrderItemId());
+        entity.setNotes(dto.getNotes());
+        entity.setCreatedAt(dto.getCreatedAt());
+        entity.setUpdatedAt(dto.getUpdatedAt());
+        return entity;
+    }
+}
@@ -0,0 +1,100 @@
+package edu.icet.ecom.mapper;
+
+import edu.icet.ecom.model.dto.OrderDto;
+import edu.icet.ecom.model.dto.OrderItemDto;
+import edu.icet.ecom.model.entity.EmployeeEntity;
+import edu.icet.ecom.model.entity.OrderEntity;
+import org.hibernate.Hibernate;
+
+public class OrderMapper implements EntityMapper<OrderEntity, OrderDto> {
+
+    private final OrderItemMapper orderItemMapper;
+
+    public OrderMapper() {
+        this(new OrderItemMapper());
+    }
+
+    public OrderMapper(OrderItemMapper orderItemMapper) {
+        this.orderItemMapper = orderItemMapper;
+    }
+
+    @Override
+    public OrderDto toDto(OrderEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        OrderDto dto = new OrderDto();
+        dto.setOrderId(entity.getOrderId());
+        dto.setOrderNumber(entity.getOrderNumber());
+        dto.setCustomerName(entity.getCustomerName());
+        dto.setCustomerEmail(entity.getCustomerEmail());
+        dto.setCustomerPhone(entity.getCustomerPhone());
+        dto.setSubtotal(entity.getSubtotal());
+        dto.setTaxAmount(entity.getTaxAmount());
+        dto.setDiscountAmount(entity.getDiscountAmount());
+        dto.setTotalAmount(entity.getTotalAmount());
+        dto.setAmountPaid(entity.getAmountPaid());
+        dto.setChangeAmount(entity.getChangeAmount());
+        dto.setPaymentMethod(EntityMapper.toName(entity.getPaymentMethod()));
+        dto.setOrderStatus(EntityMapper.toName(entity.getOrderStatus()));
+        dto.setNotes(entity.getNotes());
+        dto.setReceiptSent(entity.getReceiptSent());
+        dto.setIsReturn(entity.getIsReturn());
+        dto.setOriginalOrderId(entity.getOriginalOrderId());
+        dto.setCreatedAt(entity.getCreatedAt());
+        dto.setUpdatedAt(entity.getUpdatedAt());
+
+        EmployeeEntity employee = entity.getEmployee();
+        if (employee != null) {
+            dto.setEmployeeId(employee.getEmployeeId());
+            if (Hibernate.isInitialized(employee)) {
+                dto.setEmployeeName(employee.getFullName());
+                dto.setEmployeeCode(employee.getEmployeeCode());
+            }
+        }
+
+        if (entity.getOrderItems() != null && Hibernate.isInitialized(entity.getOrderItems())) {
+            dto.setOrderItems(orderItemMapper.toDtoList(entity.getOrderItems()));
+            dto.setTotalItems(entity.getTotalItems());
+            dto.setUniqueProductsCount(entity.getUniqueProductsCount());
+        }
+        return dto;
+    }
+
+    // Employee and line products are left unset; the service attaches references by id
+    @Override
+    public OrderEntity toEntity(OrderDto dto) {
+        if (dto == null) {
+            return null;
+        }
+        OrderEntity entity = new OrderEntity();
+        entity.setOrderId(dto.getOrderId());
+        entity.setOrderNumber(dto.getOrderNumber());
+        entity.setCustomerName(dto.getCustomerName());
+        entity.setCustomerEmail(dto.getCustomerEmail());
+        entity.setCustomerPhone(dto.getCustomerPhone());
+        entity.setSubtotal(dto.getSubtotal());
+        entity.setTaxAmount(dto.getTaxAmount());
+        entity.setDiscountAmount(dto.getDiscountAmount());
+        entity.setTotalAmount(dto.getTotalAmount());
+        entity.setAmountPaid(dto.getAmountPaid());
+        entity.setChangeAmount(dto.getChangeAmount());
+        entity.setPaymentMethod(EntityMapper.toEnum(OrderEntity.PaymentMethod.class, dto.getPaymentMethod()));
+        OrderEntity.OrderStatus status = EntityMapper.toEnum(OrderEntity.OrderStatus.class, dto.getOrderStatus());
+        entity.setOrderStatus(status != null ? status : OrderEntity.OrderStatus.PENDING);
+        entity.setNotes(dto.getNotes());
+        entity.setReceiptSent(dto.getReceiptSent() != null ? dto.getReceiptSent() : false);
+        entity.setIsReturn(dto.getIsReturn() != null ? dto.getIsReturn() : false);
+        entity.setOriginalOrderId(dto.getOriginalOrderId());
+        entity.setCreatedAt(dto.getCreatedAt());
+        entity.setUpdatedAt(dto.getUpdatedAt());
+
+        // Adding the lines recalculates the order totals from them
+        if (dto.getOrderItems() != null) {
+            for (OrderItemDto itemDto : dto.getOrderItems()) {
+                entity.addOrderItem(orderItemMapper.toEntity(itemDto));
+            }
+        }
+        return entity;
+    }
+}
@@ -0,0 +1,81 @@
+package edu.icet.ecom.mapper;
+
+import edu.icet.ecom.model.dto.ProductDto;
+import edu.icet.ecom.model.entity.CategoryEntity;
+import edu.icet.ecom.model.entity.ProductEntity;
+import edu.icet.ecom.model.entity.SupplierEntity;
+import org.hibernate.Hibernate;
+
+public class ProductMapper implements EntityMapper<ProductEntity, ProductDto> {
+
+    @Override
+    public ProductDto toDto(ProductEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        ProductDto dto = new ProductDto();
+        dto.setProductId(entity.getProductId());
+        dto.setProductName(entity.getProductName());
+        dto.setDescription(entity.getDescription());
+        dto.setSize(entity.getSize());
+        dto.setColor(entity.getColor());
+        dto.setPrice(entity.getPrice());
+        dto.setCostPrice(entity.getCostPrice());
+        dto.setQuantityOnHand(entity.getQuantityOnHand());
+        dto.setReorderLevel(entity.getReorderLevel());
+        dto.setMaxStockLevel(entity.getMaxStockLevel());
+        dto.setProductCode(entity.getProductCode());
+        dto.setBarcode(entity.getBarcode());
+        dto.setImagePath(entity.getImagePath());
+        dto.setIsActive(entity.getIsActive());
+        dto.setStatus(EntityMapper.toName(entity.getStatus()));
+        dto.setCreatedAt(entity.getCreatedAt());
+        dto.setUpdatedAt(entity.getUpdatedAt());
+
+        CategoryEntity category = entity.getCategory();
+        if (category != null) {
+            dto.setCategoryId(category.getCategoryId());
+            if (Hibernate.isInitialized(category)) {
+                dto.setCategoryName(category.getCategoryName());
+            }
+        }
+
+        SupplierEntity supplier = entity.getSupplier();
+        if (supplier != null) {
+            dto.setSupplierId(supplier.getSupplierId());
+            if (Hibernate.isInitialized(supplier)) {
+                dto.setSupplierName(supplier.getSupplierName());
+                dto.setSupplierCompany(supplier.getCompany());
+            }
+        }
+        return dto;
+    }
+
+    // Category and supplier are left unset; the service attaches references by id
+    @Override
+    public ProductEntity toEntity(ProductDto dto) {
+        if (dto == null) {
+            return null;
+        }
+        ProductEntity entity = new ProductEntity();
+        entity.setProductId(dto.getProductId());
+        entity.setProductName(dto.getProductName());
+        entity.setDescription(dto.getDescription());
+        entity.setSize(dto.getSize());
+        entity.setColor(dto.getColor());
+        entity.setPrice(dto.getPrice());
+        entity.setCostPrice(dto.getCostPrice());
+        entity.setQuantityOnHand(dto.getQuantityOnHand() != null ? dto.getQuantityOnHand() : 0);
+        entity.setReorderLevel(dto.getReorderLevel() != null ? dto.getReorderLevel() : 10);
+        entity.setMaxStockLevel(dto.getMaxStockLevel() != null ? dto.getMaxStockLevel() : 100);
+        entity.setProductCode(dto.getProductCode());
+        entity.setBarcode(dto.getBarcode());
+        entity.setImagePath(dto.getImagePath());
+        entity.setIsActive(dto.getIsActive() != null ? dto.getIsActive() : true);
+        ProductEntity.ProductStatus status = EntityMapper.toEnum(ProductEntity.ProductStatus.class, dto.getStatus());
+        entity.setStatus(status != null ? status : ProductEntity.ProductStatus.AVAILABLE);
+        entity.setCreatedAt(dto.getCreatedAt());
+        entity.setUpdatedAt(dto.getUpdatedAt());
+        return entity;
+    }
+}
@@ -0,0 +1,50 @@
+package edu.icet.ecom.mapper;
+
+import edu.icet.ecom.model.dto.SupplierDto;
+import edu.icet.ecom.model.entity.SupplierEntity;
+
+public class SupplierMapper implements EntityMapper<SupplierEntity, SupplierDto> {
+
+    @Override
+    public SupplierDto toDto(SupplierEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        SupplierDto dto = new SupplierDto();
+        dto.setSupplierId(entity.getSupplierId());
+        dto.setSupplierName(entity.getSupplierName());
+        dto.setCompany(entity.getCompany());
+        dto.setEmail(entity.getEmail());
+        dto.setPhone(entity.getPhone());
+        dto.setAddress(entity.getAddress());
+        dto.setContactPerson(entity.getContactPerson());
+        dto.setTaxNumber(entity.getTaxNumber());
+        dto.setPaymentTerms(entity.getPaymentTerms());
+        dto.setIsActive(entity.getIsActive());
+        dto.setCreatedAt(entity.getCreatedAt());
+        dto.setUpdatedAt(entity.getUpdatedAt());
+        dto.setProductCount(entity.getProductCount());
+        return dto;
+    }
+
+    @Override
+    public SupplierEntity toEntity(SupplierDto dto) {
+        if (dto == null) {
+            return null;
+        }
+        SupplierEntity entity = new SupplierEntity();
+        entity.setSupplierId(dto.getSupplierId());
+        entity.setSupplierName(dto.getSupplierName());
+        entity.setCompany(dto.getCompany());
+        entity.setEmail(dto.getEmail());
+        entity.setPhone(dto.getPhone());
+        entity.setAddress(dto.getAddress());
+        entity.setContactPerson(dto.getContactPerson());
+        entity.setTaxNumber(dto.getTaxNumber());
+        entity.setPaymentTerms(dto.getPaymentTerms());
+        entity.setIsActive(dto.getIsActive() != null ? dto.getIsActive() : true);
+        entity.setCreatedAt(dto.getCreatedAt());
+        entity.setUpdatedAt(dto.getUpdatedAt());
+        return entity;
+    }
+}
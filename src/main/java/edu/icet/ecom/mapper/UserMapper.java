@@ -0,0 +1,55 @@
+package edu.icet.ecom.mapper;
+
+import edu.icet.ecom.model.dto.UserDTO;
+import edu.icet.ecom.model.entity.UserEntity;
+
+public class UserMapper implements EntityMapper<UserEntity, UserDTO> {
+
+    @Override
+    public UserDTO toDto(UserEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        UserDTO dto = new UserDTO();
+        dto.setUserId(entity.getUserId());
+        dto.setFirstName(entity.getFirstName());
+        dto.setLastName(entity.getLastName());
+        dto.setEmail(entity.getEmail());
+        dto.setPassword(entity.getPassword());
+        dto.setRole(EntityMapper.toName(entity.getRole()));
+        dto.setPhone(entity.getPhone());
+        dto.setAddress(entity.getAddress());
+        dto.setIsActive(entity.getIsActive());
+        dto.setLastLogin(entity.getLastLogin());
+        dto.setPasswordResetToken(entity.getPasswordResetToken());
+        dto.setPasswordResetExpires(entity.getPasswordResetExpires());
+        dto.setCreatedAt(entity.getCreatedAt());
+        dto.setUpdatedAt(entity.getUpdatedAt());
+        dto.setCreatedBy(entity.getCreatedBy());
+        return dto;
+    }
+
+    @Override
+    public UserEntity toEntity(UserDTO dto) {
+        if (dto == null) {
+            return null;
+        }
+        UserEntity entity = new UserEntity();
+        entity.setUserId(dto.getUserId());
+        entity.setFirstName(dto.getFirstName());
+        entity.setLastName(dto.getLastName());
+        entity.setEmail(dto.getEmail());
+        entity.setPassword(dto.getPassword());
+        entity.setRole(dto.getRoleAsEnum());
+        entity.setPhone(dto.getPhone());
+        entity.setAddress(dto.getAddress());
+        entity.setIsActive(dto.getIsActive() != null ? dto.getIsActive() : true);
+        entity.setLastLogin(dto.getLastLogin());
+        entity.setPasswordResetToken(dto.getPasswordResetToken());
+        entity.setPasswordResetExpires(dto.getPasswordResetExpires());
+        entity.setCreatedAt(dto.getCreatedAt());
+        entity.setUpdatedAt(dto.getUpdatedAt());
+        entity.setCreatedBy(dto.getCreatedBy());
+        return entity;
+    }
+}
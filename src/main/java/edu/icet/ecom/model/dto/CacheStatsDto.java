@@ -0,0 +1,27 @@
+package edu.icet.ecom.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class CacheStatsDto {
+
+    private String region;
+    private long hitCount;
+    private long missCount;
+    private long putCount;
+    private long evictionCount;
+    private long expirationCount;
+    private long elementCount;
+
+    // Hit ratio as a percentage of all lookups
+    public double getHitRatio() {
+        long lookups = hitCount + missCount;
+        return lookups > 0 ? (hitCount * 100.0) / lookups : 0.0;
+    }
+}
@@ -1,5 +1,6 @@
 package edu.icet.ecom.model.dto;
 
+import edu.icet.ecom.util.validation.DtoValidators;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -42,7 +43,7 @@ public class CategoryDto {
     }
 
     public boolean isValid() {
-        return categoryName != null && !categoryName.trim().isEmpty();
+        return DtoValidators.CATEGORY.isValid(this);
     }
 
     public String getStatus() {
@@ -1,6 +1,8 @@
 package edu.icet.ecom.model.dto;
 
 
+import edu.icet.ecom.util.validation.DtoValidators;
+import edu.icet.ecom.util.validation.Validators;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -116,27 +118,19 @@ public class EmployeeDto {
     }
 
     public boolean isValid() {
-        return firstName != null && !firstName.trim().isEmpty() &&
-                lastName != null && !lastName.trim().isEmpty() &&
-                email != null && !email.trim().isEmpty() && isValidEmail(email) &&
-                hireDate != null && position != null && !position.trim().isEmpty();
-    }
-
-    // Email validation
-    private boolean isValidEmail(String email) {
-        return email.matches("^[A-Za-z0-9+_.-]+@([A-Za-z0-9.-]+\\.[A-Za-z]{2,})$");
+        return DtoValidators.EMPLOYEE.isValid(this);
     }
 
     // Phone validation
     public boolean isValidPhone() {
-        if (phone == null || phone.trim().isEmpty()) return true; // Optional field
-        return phone.matches("^[+]?[0-9\\s\\-\\(\\)]{7,20}$");
+        if (!Validators.hasText(phone)) return true; // Optional field
+        return Validators.isPhone(phone);
     }
 
     // Emergency phone validation
     public boolean isValidEmergencyPhone() {
-        if (emergencyPhone == null || emergencyPhone.trim().isEmpty()) return true; // Optional field
-        return emergencyPhone.matches("^[+]?[0-9\\s\\-\\(\\)]{7,20}$");
+        if (!Validators.hasText(emergencyPhone)) return true; // Optional field
+        return Validators.isPhone(emergencyPhone);
     }
 
     public boolean isManager() {
@@ -250,13 +244,14 @@ public class EmployeeDto {
 
     // Validation methods
     public boolean isHireDateValid() {
-        return hireDate != null && !hireDate.isAfter(LocalDate.now());
+        return hireDate != null && !hireDate.isAfter(Validators.today());
     }
 
     public boolean isDateOfBirthValid() {
         if (dateOfBirth == null) return true; // Optional field
-        return !dateOfBirth.isAfter(LocalDate.now().minusYears(16)) &&
-                !dateOfBirth.isBefore(LocalDate.now().minusYears(80));
+        LocalDate today = Validators.today();
+        return !dateOfBirth.isAfter(today.minusYears(16)) &&
+                !dateOfBirth.isBefore(today.minusYears(80));
     }
 
     public boolean isSalaryValid() {
@@ -264,9 +259,9 @@ public class EmployeeDto {
     }
 
     public boolean isNationalIdValid() {
-        if (nationalId == null || nationalId.trim().isEmpty()) return true; // Optional field
+        if (!Validators.hasText(nationalId)) return true; // Optional field
         // Basic validation - can be customized based on country format
-        return nationalId.matches("^[A-Za-z0-9]{5,20}$");
+        return Validators.isNationalId(nationalId);
     }
 
     // Get years of service display
@@ -0,0 +1,20 @@
+package edu.icet.ecom.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class EmployeeSalesDto {
+
+    private Integer rank;
+    private Long employeeId;
+    private BigDecimal totalSales;
+    private Long totalOrders;
+}
@@ -0,0 +1,16 @@
+package edu.icet.ecom.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class ImportErrorDto {
+
+    private Integer rowNumber;
+    private String message;
+}
@@ -0,0 +1,36 @@
+package edu.icet.ecom.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class ImportReportDto {
+
+    private String fileName;
+    private int totalRows;
+    private int importedCount;
+    private long elapsedMillis;
+    private List<ImportErrorDto> errors = new ArrayList<>();
+
+    public int getRejectedCount() {
+        return errors.size();
+    }
+
+    public boolean hasErrors() {
+        return !errors.isEmpty();
+    }
+
+    // Short summary for the import dialog
+    public String getSummary() {
+        return importedCount + " of " + totalRows + " rows imported" +
+                (errors.isEmpty() ? "" : ", " + errors.size() + " rejected");
+    }
+}
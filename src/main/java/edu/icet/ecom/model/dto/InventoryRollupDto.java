@@ -0,0 +1,28 @@
+package edu.icet.ecom.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class InventoryRollupDto {
+
+    private Long groupId; // category or supplier id
+    private Integer productCount;
+    private Long unitsOnHand;
+    private BigDecimal retailValue;
+    private BigDecimal costValue;
+
+    // Potential gross profit of the stock on hand
+    public BigDecimal getPotentialProfit() {
+        BigDecimal retail = retailValue != null ? retailValue : BigDecimal.ZERO;
+        BigDecimal cost = costValue != null ? costValue : BigDecimal.ZERO;
+        return retail.subtract(cost);
+    }
+}
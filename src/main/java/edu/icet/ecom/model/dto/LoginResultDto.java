@@ -0,0 +1,25 @@
+package edu.icet.ecom.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString(exclude = "token")
+public class LoginResultDto {
+
+    private boolean success;
+    private String message;
+    private String token;
+    private LocalDateTime expiresAt;
+    private UserDTO user;
+
+    public static LoginResultDto failed(String message) {
+        return new LoginResultDto(false, message, null, null, null);
+    }
+}
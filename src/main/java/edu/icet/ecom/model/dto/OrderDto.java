@@ -1,11 +1,15 @@
 package edu.icet.ecom.model.dto;
 
+import edu.icet.ecom.util.Money;
+import edu.icet.ecom.util.validation.DtoValidators;
+import edu.icet.ecom.util.validation.Validators;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -84,11 +88,36 @@ public class OrderDto {
         this.changeAmount = BigDecimal.ZERO;
     }
 
+    // Constructor for list-screen projections; line items are not loaded
+    public OrderDto(Long orderId, String orderNumber, String customerName, String customerEmail,
+                    String customerPhone, BigDecimal subtotal, BigDecimal taxAmount,
+                    BigDecimal discountAmount, BigDecimal totalAmount,
+                    String paymentMethod, String orderStatus,
+                    Boolean isReturn, LocalDateTime createdAt, Long employeeId, String employeeFirstName,
+                    String employeeLastName, String employeeCode, Long totalItems, Long uniqueProductsCount) {
+        this.orderId = orderId;
+        this.orderNumber = orderNumber;
+        this.customerName = customerName;
+        this.customerEmail = customerEmail;
+        this.customerPhone = customerPhone;
+        this.subtotal = subtotal;
+        this.taxAmount = taxAmount;
+        this.discountAmount = discountAmount;
+        this.totalAmount = totalAmount;
+        this.paymentMethod = paymentMethod;
+        this.orderStatus = orderStatus;
+        this.isReturn = isReturn;
+        this.createdAt = createdAt;
+        this.employeeId = employeeId;
+        this.employeeName = employeeFirstName + " " + employeeLastName;
+        this.employeeCode = employeeCode;
+        this.totalItems = totalItems != null ? totalItems.intValue() : 0;
+        this.uniqueProductsCount = uniqueProductsCount != null ? uniqueProductsCount.intValue() : 0;
+    }
+
     // Utility methods
     public boolean isValid() {
-        return paymentMethod != null && !paymentMethod.trim().isEmpty() &&
-                employeeId != null && totalAmount != null &&
-                totalAmount.compareTo(BigDecimal.ZERO) >= 0;
+        return DtoValidators.ORDER.isValid(this);
     }
 
     public String getDisplayOrderNumber() {
@@ -145,27 +174,23 @@ public class OrderDto {
 
     // Financial calculations
     public void calculateTotals() {
-        if (orderItems != null && !orderItems.isEmpty()) {
-            subtotal = orderItems.stream()
-                    .map(OrderItemDto::getSubtotal)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-        } else {
-            subtotal = BigDecimal.ZERO;
+        long subtotalCents = 0L;
+        if (orderItems != null) {
+            for (OrderItemDto item : orderItems) {
+                subtotalCents = Money.add(subtotalCents, item.getSubtotalCents());
+            }
         }
 
-        // Calculate tax (assuming 8% tax rate)
-        taxAmount = subtotal.multiply(BigDecimal.valueOf(0.08)).setScale(2, BigDecimal.ROUND_HALF_UP);
+        // Calculate tax using the same rate as the entity
+        long taxCents = Money.applyRate(subtotalCents, Money.TAX_RATE_BASIS_POINTS, RoundingMode.HALF_UP);
 
         // Calculate total amount
-        totalAmount = subtotal.add(taxAmount);
-        if (discountAmount != null) {
-            totalAmount = totalAmount.subtract(discountAmount);
-        }
+        long totalCents = Money.subtract(Money.add(subtotalCents, taxCents), Money.toCents(discountAmount));
 
         // Ensure total is not negative
-        if (totalAmount.compareTo(BigDecimal.ZERO) < 0) {
-            totalAmount = BigDecimal.ZERO;
-        }
+        subtotal = Money.toBigDecimal(subtotalCents);
+        taxAmount = Money.toBigDecimal(taxCents);
+        totalAmount = Money.toBigDecimal(Math.max(totalCents, 0L));
     }
 
     public void calculateChange() {
@@ -235,13 +260,13 @@ public class OrderDto {
 
     // Validation methods
     public boolean isCustomerEmailValid() {
-        if (customerEmail == null || customerEmail.trim().isEmpty()) return true; // Optional
-        return customerEmail.matches("^[A-Za-z0-9+_.-]+@([A-Za-z0-9.-]+\\.[A-Za-z]{2,})$");
+        if (!Validators.hasText(customerEmail)) return true; // Optional
+        return Validators.isEmail(customerEmail);
     }
 
     public boolean isCustomerPhoneValid() {
-        if (customerPhone == null || customerPhone.trim().isEmpty()) return true; // Optional
-        return customerPhone.matches("^[+]?[0-9\\s\\-\\(\\)]{7,20}$");
+        if (!Validators.hasText(customerPhone)) return true; // Optional
+        return Validators.isPhone(customerPhone);
     }
 
     public boolean isAmountPaidValid() {
@@ -1,8 +1,11 @@
 package edu.icet.ecom.model.dto;
 
-import lombok.AllArgsConstructor;
+import edu.icet.ecom.util.Money;
+import edu.icet.ecom.util.validation.DtoValidators;
+import lombok.AccessLevel;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 import lombok.ToString;
 
 import java.math.BigDecimal;
@@ -10,8 +13,7 @@ import java.time.LocalDateTime;
 
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
-@ToString
+@ToString(exclude = {"unitPriceCents", "discountCents", "subtotalCents"})
 public class OrderItemDto {
 
     private Long orderItemId;
@@ -35,12 +37,44 @@ public class OrderItemDto {
     private String color;
     private String categoryName;
 
+    // Minor-unit (cents) mirrors of the money fields, converted once when a field is set
+    @Setter(AccessLevel.NONE)
+    private transient long unitPriceCents;
+
+    @Setter(AccessLevel.NONE)
+    private transient long discountCents;
+
+    @Setter(AccessLevel.NONE)
+    private transient long subtotalCents;
+
+    public OrderItemDto(Long orderItemId, Integer quantity, BigDecimal unitPrice, BigDecimal discountAmount,
+                        BigDecimal subtotal, String notes, LocalDateTime createdAt, LocalDateTime updatedAt,
+                        Long orderId, String orderNumber, Long productId, String productName, String productCode,
+                        String size, String color, String categoryName) {
+        this.orderItemId = orderItemId;
+        this.quantity = quantity;
+        setUnitPrice(unitPrice);
+        setDiscountAmount(discountAmount);
+        setSubtotal(subtotal);
+        this.notes = notes;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.orderId = orderId;
+        this.orderNumber = orderNumber;
+        this.productId = productId;
+        this.productName = productName;
+        this.productCode = productCode;
+        this.size = size;
+        this.color = color;
+        this.categoryName = categoryName;
+    }
+
     // Custom constructor for basic order item creation
     public OrderItemDto(Long productId, Integer quantity, BigDecimal unitPrice) {
         this.productId = productId;
         this.quantity = quantity;
-        this.unitPrice = unitPrice;
-        this.discountAmount = BigDecimal.ZERO;
+        setUnitPrice(unitPrice);
+        setDiscountAmount(BigDecimal.ZERO);
         calculateSubtotal();
     }
 
@@ -48,8 +82,8 @@ public class OrderItemDto {
     public OrderItemDto(Long productId, Integer quantity, BigDecimal unitPrice, BigDecimal discountAmount) {
         this.productId = productId;
         this.quantity = quantity;
-        this.unitPrice = unitPrice;
-        this.discountAmount = discountAmount != null ? discountAmount : BigDecimal.ZERO;
+        setUnitPrice(unitPrice);
+        setDiscountAmount(discountAmount != null ? discountAmount : BigDecimal.ZERO);
         calculateSubtotal();
     }
 
@@ -62,25 +96,39 @@ public class OrderItemDto {
         this.size = size;
         this.color = color;
         this.quantity = quantity;
-        this.unitPrice = unitPrice;
-        this.discountAmount = discountAmount != null ? discountAmount : BigDecimal.ZERO;
+        setUnitPrice(unitPrice);
+        setDiscountAmount(discountAmount != null ? discountAmount : BigDecimal.ZERO);
         calculateSubtotal();
     }
 
+    // Keep cents mirrors in sync with the money fields
+    public void setUnitPrice(BigDecimal unitPrice) {
+        this.unitPrice = unitPrice;
+        this.unitPriceCents = Money.toCents(unitPrice);
+    }
+
+    public void setDiscountAmount(BigDecimal discountAmount) {
+        this.discountAmount = discountAmount;
+        this.discountCents = Money.toCents(discountAmount);
+    }
+
+    public void setSubtotal(BigDecimal subtotal) {
+        this.subtotal = subtotal;
+        this.subtotalCents = Money.toCents(subtotal);
+    }
+
     // Utility methods
     public boolean isValid() {
-        return productId != null && quantity != null && quantity > 0 &&
-                unitPrice != null && unitPrice.compareTo(BigDecimal.ZERO) >= 0;
+        return DtoValidators.ORDER_ITEM.isValid(this);
     }
 
     public void calculateSubtotal() {
         if (quantity != null && unitPrice != null) {
-            BigDecimal total = unitPrice.multiply(BigDecimal.valueOf(quantity));
-            if (discountAmount != null) {
-                total = total.subtract(discountAmount);
-            }
-            this.subtotal = total.max(BigDecimal.ZERO); // Ensure subtotal is not negative
+            long total = Money.subtract(Money.multiply(unitPriceCents, quantity), discountCents);
+            this.subtotalCents = Math.max(total, 0L); // Ensure subtotal is not negative
+            this.subtotal = Money.toBigDecimal(subtotalCents);
         } else {
+            this.subtotalCents = 0L;
             this.subtotal = BigDecimal.ZERO;
         }
     }
@@ -88,7 +136,7 @@ public class OrderItemDto {
     // Get total before discount
     public BigDecimal getTotalBeforeDiscount() {
         if (quantity != null && unitPrice != null) {
-            return unitPrice.multiply(BigDecimal.valueOf(quantity));
+            return Money.toBigDecimal(Money.multiply(unitPriceCents, quantity));
         }
         return BigDecimal.ZERO;
     }
@@ -108,8 +156,8 @@ public class OrderItemDto {
         if (discountPercentage != null && discountPercentage.compareTo(BigDecimal.ZERO) >= 0 &&
                 discountPercentage.compareTo(BigDecimal.valueOf(100)) <= 0) {
             BigDecimal totalBeforeDiscount = getTotalBeforeDiscount();
-            this.discountAmount = totalBeforeDiscount.multiply(discountPercentage)
-                    .divide(BigDecimal.valueOf(100), 2, BigDecimal.ROUND_HALF_UP);
+            setDiscountAmount(totalBeforeDiscount.multiply(discountPercentage)
+                    .divide(BigDecimal.valueOf(100), 2, BigDecimal.ROUND_HALF_UP));
             calculateSubtotal();
         }
     }
@@ -118,7 +166,7 @@ public class OrderItemDto {
         if (discountAmount != null && discountAmount.compareTo(BigDecimal.ZERO) >= 0) {
             BigDecimal totalBeforeDiscount = getTotalBeforeDiscount();
             // Ensure discount doesn't exceed total
-            this.discountAmount = discountAmount.min(totalBeforeDiscount);
+            setDiscountAmount(discountAmount.min(totalBeforeDiscount));
             calculateSubtotal();
         }
     }
@@ -133,7 +181,7 @@ public class OrderItemDto {
 
     public void updateUnitPrice(BigDecimal newUnitPrice) {
         if (newUnitPrice != null && newUnitPrice.compareTo(BigDecimal.ZERO) >= 0) {
-            this.unitPrice = newUnitPrice;
+            setUnitPrice(newUnitPrice);
             calculateSubtotal();
         }
     }
@@ -236,9 +284,11 @@ public class OrderItemDto {
     // Calculate line total for multiple items
     public static BigDecimal calculateLineTotals(java.util.List<OrderItemDto> items) {
         if (items == null || items.isEmpty()) return BigDecimal.ZERO;
-        return items.stream()
-                .map(OrderItemDto::getSubtotal)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        long totalCents = 0L;
+        for (OrderItemDto item : items) {
+            totalCents = Money.add(totalCents, item.getSubtotalCents());
+        }
+        return Money.toBigDecimal(totalCents);
     }
 
     // Calculate total quantity for multiple items
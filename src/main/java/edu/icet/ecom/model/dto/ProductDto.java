@@ -1,5 +1,6 @@
 package edu.icet.ecom.model.dto;
 
+import edu.icet.ecom.util.validation.DtoValidators;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -75,6 +76,32 @@ public class ProductDto {
         this.isActive = true;
     }
 
+    // Constructor for grid projections, status as str(p.status); description and image path are not loaded
+    public ProductDto(Long productId, String productCode, String barcode, String productName,
+                      String size, String color, BigDecimal price, BigDecimal costPrice,
+                      Integer quantityOnHand, Integer reorderLevel, Integer maxStockLevel,
+                      String status, Boolean isActive, Long categoryId,
+                      String categoryName, Long supplierId, String supplierName, String supplierCompany) {
+        this.productId = productId;
+        this.productCode = productCode;
+        this.barcode = barcode;
+        this.productName = productName;
+        this.size = size;
+        this.color = color;
+        this.price = price;
+        this.costPrice = costPrice;
+        this.quantityOnHand = quantityOnHand;
+        this.reorderLevel = reorderLevel;
+        this.maxStockLevel = maxStockLevel;
+        this.status = status;
+        this.isActive = isActive;
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.supplierId = supplierId;
+        this.supplierName = supplierName;
+        this.supplierCompany = supplierCompany;
+    }
+
     // Utility methods
     public String getDisplayName() {
         StringBuilder displayName = new StringBuilder(productName);
@@ -92,10 +119,7 @@ public class ProductDto {
     }
 
     public boolean isValid() {
-        return productName != null && !productName.trim().isEmpty() &&
-                price != null && price.compareTo(BigDecimal.ZERO) > 0 &&
-                quantityOnHand != null && quantityOnHand >= 0 &&
-                categoryId != null && supplierId != null;
+        return DtoValidators.PRODUCT.isValid(this);
     }
 
     // Stock management methods
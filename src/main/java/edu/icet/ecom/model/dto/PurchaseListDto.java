@@ -0,0 +1,37 @@
+package edu.icet.ecom.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class PurchaseListDto {
+
+    private Long supplierId;
+    private String supplierName;
+    private LocalDateTime generatedAt;
+    private List<ReorderSuggestionDto> items = new ArrayList<>();
+
+    // Total units across all suggested lines
+    public int getTotalUnits() {
+        return items.stream()
+                .mapToInt(item -> item.getSuggestedQuantity() != null ? item.getSuggestedQuantity() : 0)
+                .sum();
+    }
+
+    // Estimated cost of the whole purchase list
+    public BigDecimal getTotalCost() {
+        return items.stream()
+                .map(ReorderSuggestionDto::getEstimatedCost)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+}
@@ -0,0 +1,34 @@
+package edu.icet.ecom.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class ReorderSuggestionDto {
+
+    private Long productId;
+    private String productCode;
+    private String productName;
+    private Integer quantityOnHand;
+    private Integer reorderLevel;
+    private Integer maxStockLevel;
+    private Long unitsSold;
+    private Double dailyVelocity; // units sold per day over the velocity window
+    private Integer suggestedQuantity;
+    private BigDecimal unitCost;
+
+    // Cost of the suggested quantity at the current cost price
+    public BigDecimal getEstimatedCost() {
+        if (unitCost == null || suggestedQuantity == null) {
+            return BigDecimal.ZERO;
+        }
+        return unitCost.multiply(BigDecimal.valueOf(suggestedQuantity));
+    }
+}
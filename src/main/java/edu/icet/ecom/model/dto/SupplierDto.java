@@ -1,6 +1,8 @@
 package edu.icet.ecom.model.dto;
 
 
+import edu.icet.ecom.util.validation.DtoValidators;
+import edu.icet.ecom.util.validation.Validators;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -74,20 +76,13 @@ public class SupplierDto {
     }
 
     public boolean isValid() {
-        return supplierName != null && !supplierName.trim().isEmpty() &&
-                company != null && !company.trim().isEmpty() &&
-                email != null && !email.trim().isEmpty() && isValidEmail(email);
-    }
-
-    // Email validation
-    private boolean isValidEmail(String email) {
-        return email.matches("^[A-Za-z0-9+_.-]+@([A-Za-z0-9.-]+\\.[A-Za-z]{2,})$");
+        return DtoValidators.SUPPLIER.isValid(this);
     }
 
     // Phone validation
     public boolean isValidPhone() {
-        if (phone == null || phone.trim().isEmpty()) return true; // Optional field
-        return phone.matches("^[+]?[0-9\\s\\-\\(\\)]{7,20}$");
+        if (!Validators.hasText(phone)) return true; // Optional field
+        return Validators.isPhone(phone);
     }
 
     public String getStatus() {
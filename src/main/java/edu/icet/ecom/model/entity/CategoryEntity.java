@@ -1,11 +1,15 @@
 package edu.icet.ecom.model.entity;
 
 
+import edu.icet.ecom.inventory.InventoryRollups;
+import edu.icet.ecom.util.cache.ReferenceDataCache;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -18,6 +22,8 @@ import java.util.List;
 @ToString(exclude = {"products"})
 @Entity
 @Table(name = "categories")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ReferenceDataCache.CATEGORY_REGION)
 public class CategoryEntity {
 
     @Id
@@ -53,8 +59,8 @@ public class CategoryEntity {
         this.isActive = true;
     }
 
-    // Utility method to count products in this category
+    // Utility method to count products in this category, read from the maintained rollups
     public int getProductCount() {
-        return products != null ? products.size() : 0;
+        return InventoryRollups.getInstance().getCategoryProductCount(categoryId);
     }
 }
\ No newline at end of file
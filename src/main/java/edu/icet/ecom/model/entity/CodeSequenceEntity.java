@@ -0,0 +1,23 @@
+package edu.icet.ecom.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@Entity
+@Table(name = "code_sequences")
+public class CodeSequenceEntity {
+
+    @Id
+    @Column(name = "prefix", length = 20)
+    private String prefix;
+
+    @Column(name = "next_value", nullable = false)
+    private Long nextValue;
+}
@@ -1,10 +1,15 @@
 package edu.icet.ecom.model.entity;
 
+import edu.icet.ecom.analytics.EmployeeSalesTracker;
+import edu.icet.ecom.util.sequence.CodeAllocator;
+import edu.icet.ecom.util.cache.ReferenceDataCache;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -19,6 +24,8 @@ import java.util.List;
 @ToString(exclude = {"orders"})
 @Entity
 @Table(name = "employees")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ReferenceDataCache.EMPLOYEE_REGION)
 public class EmployeeEntity {
 
     @Id
@@ -129,7 +136,8 @@ public class EmployeeEntity {
             String positionCode = position != null ?
                     position.name().substring(0, Math.min(3, position.name().length())) :
                     "EMP";
-            this.employeeCode = "E" + positionCode + "-" + String.format("%04d", System.currentTimeMillis() % 10000);
+            // Five digits so new codes cannot clash with older four-digit codes
+            this.employeeCode = CodeAllocator.getDefault().nextCode("E" + positionCode, 5);
         }
     }
 
@@ -153,17 +161,14 @@ public class EmployeeEntity {
         return 0;
     }
 
+    // Completed sales count, read from the running totals instead of the orders collection
     public int getTotalOrders() {
-        return orders != null ? orders.size() : 0;
+        return (int) EmployeeSalesTracker.getInstance()
+                .getTotalOrders(employeeId, EmployeeSalesTracker.Period.LIFETIME);
     }
 
-    // Calculate total sales amount for this employee
+    // Total completed sales amount for this employee
     public BigDecimal getTotalSales() {
-        if (orders != null && !orders.isEmpty()) {
-            return orders.stream()
-                    .map(OrderEntity::getTotalAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-        }
-        return BigDecimal.ZERO;
+        return EmployeeSalesTracker.getInstance().getTotalSales(employeeId, EmployeeSalesTracker.Period.LIFETIME);
     }
 }
\ No newline at end of file
@@ -2,29 +2,52 @@ package edu.icet.ecom.model.entity;
 
 
 
+import edu.icet.ecom.util.Money;
+import edu.icet.ecom.util.sequence.OrderNumberGenerator;
 import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 import lombok.ToString;
-import org.hibernate.annotations.CreationTimestamp;
-import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
-@ToString(exclude = {"orderItems"})
+@ToString(exclude = {"employee", "orderItems"})
+@EqualsAndHashCode(exclude = {"employee", "orderItems"})
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = @Index(name = "idx_orders_completed_at", columnList = "completed_at"))
+@NamedEntityGraph(name = OrderEntity.GRAPH_LIST,
+        attributeNodes = @NamedAttributeNode("employee"))
+@NamedEntityGraph(name = OrderEntity.GRAPH_RECEIPT,
+        attributeNodes = {
+                @NamedAttributeNode("employee"),
+                @NamedAttributeNode(value = "orderItems", subgraph = "items")
+        },
+        subgraphs = @NamedSubgraph(name = "items", attributeNodes = @NamedAttributeNode("product")))
+@NamedEntityGraph(name = OrderEntity.GRAPH_REFUND,
+        attributeNodes = @NamedAttributeNode(value = "orderItems", subgraph = "items"),
+        subgraphs = @NamedSubgraph(name = "items", attributeNodes = @NamedAttributeNode("product")))
 public class OrderEntity {
 
+    // Fetch plans per screen; associations are LAZY unless a graph asks for them
+    public static final String GRAPH_LIST = "Order.list";
+    public static final String GRAPH_RECEIPT = "Order.receipt";
+    public static final String GRAPH_REFUND = "Order.refund";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "orders_id_gen")
+    @TableGenerator(name = "orders_id_gen", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "orders", allocationSize = 50)
     @Column(name = "order_id")
     private Long orderId;
 
@@ -78,23 +101,46 @@ public class OrderEntity {
     @Column(name = "original_order_id")
     private Long originalOrderId;
 
-    @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
-    @UpdateTimestamp
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // When the sale completed; orders can be rung up long before they are paid
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
     // Many-to-one relationship with employee
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "employee_id", nullable = false)
     private EmployeeEntity employee;
 
     // One-to-many relationship with order items
-    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, fetch = FetchType.EAGER, orphanRemoval = true)
+    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
     private List<OrderItemEntity> orderItems = new ArrayList<>();
 
+    // Running aggregates over orderItems, maintained by deltas
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient long runningSubtotalCents;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient int runningItemCount;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient int runningLineCount;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient boolean aggregatesLoaded;
+
+    // Key of this cart's holds in the stock reservation ledger
+    @Setter(AccessLevel.NONE)
+    private transient String reservationKey;
+
     // Enums
     public enum PaymentMethod {
         CASH, CREDIT_CARD, DEBIT_CARD, MOBILE_PAYMENT, BANK_TRANSFER
@@ -104,6 +150,35 @@ public class OrderEntity {
         PENDING, COMPLETED, CANCELLED, REFUNDED, PARTIALLY_REFUNDED
     }
 
+    public OrderEntity(Long orderId, String orderNumber, String customerName, String customerEmail,
+                       String customerPhone, BigDecimal subtotal, BigDecimal taxAmount, BigDecimal discountAmount,
+                       BigDecimal totalAmount, BigDecimal amountPaid, BigDecimal changeAmount,
+                       PaymentMethod paymentMethod, OrderStatus orderStatus, String notes, Boolean receiptSent,
+                       Boolean isReturn, Long originalOrderId, LocalDateTime createdAt, LocalDateTime updatedAt,
+                       EmployeeEntity employee, List<OrderItemEntity> orderItems) {
+        this.orderId = orderId;
+        this.orderNumber = orderNumber;
+        this.customerName = customerName;
+        this.customerEmail = customerEmail;
+        this.customerPhone = customerPhone;
+        this.subtotal = subtotal;
+        this.taxAmount = taxAmount;
+        this.discountAmount = discountAmount;
+        this.totalAmount = totalAmount;
+        this.amountPaid = amountPaid;
+        this.changeAmount = changeAmount;
+        this.paymentMethod = paymentMethod;
+        this.orderStatus = orderStatus;
+        this.notes = notes;
+        this.receiptSent = receiptSent;
+        this.isReturn = isReturn;
+        this.originalOrderId = originalOrderId;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.employee = employee;
+        this.orderItems = orderItems;
+    }
+
     // Custom constructor for basic order creation
     public OrderEntity(String customerName, String customerEmail, PaymentMethod paymentMethod, EmployeeEntity employee) {
         this.customerName = customerName;
@@ -115,56 +190,146 @@ public class OrderEntity {
         this.receiptSent = false;
     }
 
-    // Generate order number automatically
+    // Timestamps are set here rather than by @CreationTimestamp/@UpdateTimestamp, which would
+    // disable JDBC insert batching for the entity
     @PrePersist
+    private void prePersist() {
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = createdAt;
+        generateOrderNumber();
+        verifyTotals();
+    }
+
+    @PreUpdate
+    private void preUpdate() {
+        this.updatedAt = LocalDateTime.now();
+        verifyTotals();
+    }
+
+    // Full recompute before commit; the running aggregates must agree with it
+    private void verifyTotals() {
+        if (!aggregatesLoaded) {
+            return;
+        }
+        long subtotalCents = runningSubtotalCents;
+        int itemCount = runningItemCount;
+        int lineCount = runningLineCount;
+        recalculateAggregates();
+        if (subtotalCents != runningSubtotalCents || itemCount != runningItemCount || lineCount != runningLineCount) {
+            throw new IllegalStateException("Running totals of order " + orderNumber + " do not match its items: " +
+                    "subtotal " + subtotalCents + " vs " + runningSubtotalCents + " cents, " +
+                    itemCount + " vs " + runningItemCount + " items, " + lineCount + " vs " + runningLineCount + " lines");
+        }
+        // Tax and total also pick up an order-level discount set through the plain setter
+        updateTotals();
+    }
+
+    // Generate order number automatically
     private void generateOrderNumber() {
         if (this.orderNumber == null || this.orderNumber.isEmpty()) {
-            String timestamp = String.valueOf(System.currentTimeMillis());
-            this.orderNumber = "ORD-" + timestamp.substring(timestamp.length() - 8);
+            this.orderNumber = OrderNumberGenerator.getDefault().nextOrderNumber();
         }
     }
 
+    // Replacing the whole list invalidates the running aggregates
+    public void setOrderItems(List<OrderItemEntity> orderItems) {
+        this.orderItems = orderItems;
+        this.aggregatesLoaded = false;
+    }
+
     // Add order item
     public void addOrderItem(OrderItemEntity orderItem) {
         if (orderItems == null) {
             orderItems = new ArrayList<>();
         }
+        ensureAggregates();
         orderItems.add(orderItem);
         orderItem.setOrder(this);
-        calculateTotals();
+        applyItemDelta(orderItem.getSubtotalCents(), quantityOf(orderItem), 1);
     }
 
     // Remove order item
     public void removeOrderItem(OrderItemEntity orderItem) {
         if (orderItems != null) {
-            orderItems.remove(orderItem);
+            ensureAggregates();
+            if (orderItems.remove(orderItem)) {
+                applyItemDelta(-orderItem.getSubtotalCents(), -quantityOf(orderItem), -1);
+            }
             orderItem.setOrder(null);
-            calculateTotals();
         }
     }
 
-    // Calculate totals
-    public void calculateTotals() {
-        if (orderItems != null && !orderItems.isEmpty()) {
-            subtotal = orderItems.stream()
-                    .map(OrderItemEntity::getSubtotal)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-        } else {
-            subtotal = BigDecimal.ZERO;
+    public String getReservationKey() {
+        if (reservationKey == null) {
+            reservationKey = UUID.randomUUID().toString();
         }
+        return reservationKey;
+    }
 
-        // Calculate tax (assuming 8% tax rate)
-        taxAmount = subtotal.multiply(BigDecimal.valueOf(0.08)).setScale(2, BigDecimal.ROUND_HALF_UP);
+    // Called by an attached order item after its subtotal or quantity changed
+    public void itemChanged(long subtotalCentsDelta, int quantityDelta) {
+        if (aggregatesLoaded) {
+            applyItemDelta(subtotalCentsDelta, quantityDelta, 0);
+        }
+    }
 
-        // Calculate total amount
-        totalAmount = subtotal.add(taxAmount).subtract(discountAmount);
+    private void applyItemDelta(long subtotalCentsDelta, int quantityDelta, int lineDelta) {
+        runningSubtotalCents = Money.add(runningSubtotalCents, subtotalCentsDelta);
+        runningItemCount += quantityDelta;
+        runningLineCount += lineDelta;
+        updateTotals();
+    }
 
-        // Ensure total is not negative
-        if (totalAmount.compareTo(BigDecimal.ZERO) < 0) {
-            totalAmount = BigDecimal.ZERO;
+    // Initialise the running aggregates with one pass over the items
+    private void ensureAggregates() {
+        if (!aggregatesLoaded) {
+            recalculateAggregates();
         }
     }
 
+    private void recalculateAggregates() {
+        long subtotalCents = 0L;
+        int itemCount = 0;
+        int lineCount = 0;
+        if (orderItems != null) {
+            for (OrderItemEntity item : orderItems) {
+                subtotalCents = Money.add(subtotalCents, item.getSubtotalCents());
+                itemCount += quantityOf(item);
+                lineCount++;
+            }
+        }
+        runningSubtotalCents = subtotalCents;
+        runningItemCount = itemCount;
+        runningLineCount = lineCount;
+        aggregatesLoaded = true;
+    }
+
+    private static int quantityOf(OrderItemEntity item) {
+        return item.getQuantity() != null ? item.getQuantity() : 0;
+    }
+
+    // Calculate totals from scratch
+    public void calculateTotals() {
+        recalculateAggregates();
+        updateTotals();
+    }
+
+    // Derive tax and total from the running subtotal
+    private void updateTotals() {
+        long subtotalCents = runningSubtotalCents;
+
+        // Calculate tax in cents
+        long taxCents = Money.applyRate(subtotalCents, Money.TAX_RATE_BASIS_POINTS, RoundingMode.HALF_UP);
+
+        // Calculate total amount
+        long totalCents = Money.subtract(Money.add(subtotalCents, taxCents), Money.toCents(discountAmount));
+
+        // Convert at the column boundary, ensuring total is not negative
+        subtotal = Money.toBigDecimal(subtotalCents);
+        taxAmount = Money.toBigDecimal(taxCents);
+        totalAmount = Money.toBigDecimal(Math.max(totalCents, 0L));
+    }
+
     // Calculate change
     public void calculateChange() {
         if (amountPaid != null && totalAmount != null) {
@@ -183,22 +348,20 @@ public class OrderEntity {
 
     // Get total items count
     public int getTotalItems() {
-        if (orderItems != null) {
-            return orderItems.stream()
-                    .mapToInt(OrderItemEntity::getQuantity)
-                    .sum();
-        }
-        return 0;
+        ensureAggregates();
+        return runningItemCount;
     }
 
     // Get unique products count
     public int getUniqueProductsCount() {
-        return orderItems != null ? orderItems.size() : 0;
+        ensureAggregates();
+        return runningLineCount;
     }
 
     // Mark as completed
     public void markAsCompleted() {
         this.orderStatus = OrderStatus.COMPLETED;
+        this.completedAt = LocalDateTime.now();
     }
 
     // Mark as cancelled
@@ -206,6 +369,11 @@ public class OrderEntity {
         this.orderStatus = OrderStatus.CANCELLED;
     }
 
+    // Mark as refunded
+    public void markAsRefunded() {
+        this.orderStatus = OrderStatus.REFUNDED;
+    }
+
     // Check if order can be returned
     public boolean canBeReturned() {
         return orderStatus == OrderStatus.COMPLETED && !isReturn &&
@@ -1,30 +1,35 @@
 package edu.icet.ecom.model.entity;
 
 
+import edu.icet.ecom.util.Money;
 import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 import lombok.ToString;
-import org.hibernate.annotations.CreationTimestamp;
-import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
-@ToString(exclude = {"order"})
+@ToString(exclude = {"order", "product"})
+@EqualsAndHashCode(exclude = {"order", "product"})
 @Entity
 @Table(name = "order_items")
 public class OrderItemEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "order_items_id_gen")
+    @TableGenerator(name = "order_items_id_gen", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "order_items", allocationSize = 50)
     @Column(name = "order_item_id")
     private Long orderItemId;
 
+    // Changed through updateQuantity so the owning order's running totals follow
+    @Setter(AccessLevel.NONE)
     @Column(name = "quantity", nullable = false)
     private Integer quantity;
 
@@ -40,11 +45,9 @@ public class OrderItemEntity {
     @Column(name = "notes", length = 500)
     private String notes;
 
-    @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
-    @UpdateTimestamp
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
@@ -54,16 +57,41 @@ public class OrderItemEntity {
     private OrderEntity order;
 
     // Many-to-one relationship with product
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "product_id", nullable = false)
     private ProductEntity product;
 
+    // Minor-unit (cents) mirrors of the money columns used for arithmetic
+    @Setter(AccessLevel.NONE)
+    private transient long unitPriceCents;
+
+    @Setter(AccessLevel.NONE)
+    private transient long discountCents;
+
+    @Setter(AccessLevel.NONE)
+    private transient long subtotalCents;
+
+    public OrderItemEntity(Long orderItemId, Integer quantity, BigDecimal unitPrice, BigDecimal discountAmount,
+                           BigDecimal subtotal, String notes, LocalDateTime createdAt, LocalDateTime updatedAt,
+                           OrderEntity order, ProductEntity product) {
+        this.orderItemId = orderItemId;
+        this.quantity = quantity;
+        setUnitPrice(unitPrice);
+        setDiscountAmount(discountAmount);
+        setSubtotal(subtotal);
+        this.notes = notes;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.order = order;
+        this.product = product;
+    }
+
     // Custom constructor for basic order item creation
     public OrderItemEntity(ProductEntity product, Integer quantity, BigDecimal unitPrice) {
         this.product = product;
         this.quantity = quantity;
-        this.unitPrice = unitPrice;
-        this.discountAmount = BigDecimal.ZERO;
+        setUnitPrice(unitPrice);
+        setDiscountAmount(BigDecimal.ZERO);
         calculateSubtotal();
     }
 
@@ -71,33 +99,81 @@ public class OrderItemEntity {
     public OrderItemEntity(ProductEntity product, Integer quantity, BigDecimal unitPrice, BigDecimal discountAmount) {
         this.product = product;
         this.quantity = quantity;
-        this.unitPrice = unitPrice;
-        this.discountAmount = discountAmount != null ? discountAmount : BigDecimal.ZERO;
+        setUnitPrice(unitPrice);
+        setDiscountAmount(discountAmount != null ? discountAmount : BigDecimal.ZERO);
         calculateSubtotal();
     }
 
-    // Calculate subtotal automatically
+    // Keep cents mirrors in sync with the money columns
+    public void setUnitPrice(BigDecimal unitPrice) {
+        this.unitPrice = unitPrice;
+        this.unitPriceCents = Money.toCents(unitPrice);
+    }
+
+    public void setDiscountAmount(BigDecimal discountAmount) {
+        this.discountAmount = discountAmount;
+        this.discountCents = Money.toCents(discountAmount);
+    }
+
+    public void setSubtotal(BigDecimal subtotal) {
+        this.subtotal = subtotal;
+        this.subtotalCents = Money.toCents(subtotal);
+    }
+
+    // Populate cents mirrors after Hibernate sets the columns directly
+    @PostLoad
+    private void loadMinorUnits() {
+        this.unitPriceCents = Money.toCents(unitPrice);
+        this.discountCents = Money.toCents(discountAmount);
+        this.subtotalCents = Money.toCents(subtotal);
+    }
+
+    // Timestamps are assigned here: @CreationTimestamp/@UpdateTimestamp count as insert-generated
+    // properties and make Hibernate insert the items of an order one statement at a time
     @PrePersist
+    private void prePersist() {
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = createdAt;
+        calculateSubtotal();
+    }
+
     @PreUpdate
+    private void preUpdate() {
+        this.updatedAt = LocalDateTime.now();
+        calculateSubtotal();
+    }
+
+    // Calculate subtotal automatically
     private void calculateSubtotal() {
         if (quantity != null && unitPrice != null) {
-            BigDecimal total = unitPrice.multiply(BigDecimal.valueOf(quantity));
-            if (discountAmount != null) {
-                total = total.subtract(discountAmount);
-            }
-            this.subtotal = total.max(BigDecimal.ZERO); // Ensure subtotal is not negative
+            long total = Money.subtract(Money.multiply(unitPriceCents, quantity), discountCents);
+            this.subtotalCents = Math.max(total, 0L); // Ensure subtotal is not negative
+            this.subtotal = Money.toBigDecimal(subtotalCents);
+        }
+    }
+
+    // Recalculate and push the subtotal and quantity deltas to the owning order
+    private void recalculateAndNotify(int previousQuantity) {
+        long previousSubtotalCents = subtotalCents;
+        calculateSubtotal();
+        if (order != null) {
+            order.itemChanged(subtotalCents - previousSubtotalCents, quantityOrZero() - previousQuantity);
         }
     }
 
+    private int quantityOrZero() {
+        return quantity != null ? quantity : 0;
+    }
+
     // Manual subtotal calculation
     public void updateSubtotal() {
-        calculateSubtotal();
+        recalculateAndNotify(quantityOrZero());
     }
 
     // Get total without discount
     public BigDecimal getTotalBeforeDiscount() {
         if (quantity != null && unitPrice != null) {
-            return unitPrice.multiply(BigDecimal.valueOf(quantity));
+            return Money.toBigDecimal(Money.multiply(unitPriceCents, quantity));
         }
         return BigDecimal.ZERO;
     }
@@ -117,9 +193,9 @@ public class OrderItemEntity {
         if (discountPercentage != null && discountPercentage.compareTo(BigDecimal.ZERO) >= 0 &&
                 discountPercentage.compareTo(BigDecimal.valueOf(100)) <= 100) {
             BigDecimal totalBeforeDiscount = getTotalBeforeDiscount();
-            this.discountAmount = totalBeforeDiscount.multiply(discountPercentage)
-                    .divide(BigDecimal.valueOf(100), 2, BigDecimal.ROUND_HALF_UP);
-            calculateSubtotal();
+            setDiscountAmount(totalBeforeDiscount.multiply(discountPercentage)
+                    .divide(BigDecimal.valueOf(100), 2, BigDecimal.ROUND_HALF_UP));
+            recalculateAndNotify(quantityOrZero());
         }
     }
 
@@ -128,24 +204,25 @@ public class OrderItemEntity {
         if (discountAmount != null && discountAmount.compareTo(BigDecimal.ZERO) >= 0) {
             BigDecimal totalBeforeDiscount = getTotalBeforeDiscount();
             // Ensure discount doesn't exceed total
-            this.discountAmount = discountAmount.min(totalBeforeDiscount);
-            calculateSubtotal();
+            setDiscountAmount(discountAmount.min(totalBeforeDiscount));
+            recalculateAndNotify(quantityOrZero());
         }
     }
 
     // Update quantity and recalculate
     public void updateQuantity(Integer newQuantity) {
         if (newQuantity != null && newQuantity > 0) {
+            int previousQuantity = quantityOrZero();
             this.quantity = newQuantity;
-            calculateSubtotal();
+            recalculateAndNotify(previousQuantity);
         }
     }
 
     // Update unit price and recalculate
     public void updateUnitPrice(BigDecimal newUnitPrice) {
         if (newUnitPrice != null && newUnitPrice.compareTo(BigDecimal.ZERO) >= 0) {
-            this.unitPrice = newUnitPrice;
-            calculateSubtotal();
+            setUnitPrice(newUnitPrice);
+            recalculateAndNotify(quantityOrZero());
         }
     }
 
@@ -1,11 +1,11 @@
 package edu.icet.ecom.model.entity;
+import edu.icet.ecom.util.sequence.CodeAllocator;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
-import org.hibernate.annotations.CreationTimestamp;
-import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -14,13 +14,20 @@ import java.util.List;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@ToString(exclude = {"orderItems"})
+@ToString(exclude = {"category", "supplier", "orderItems"})
+@EqualsAndHashCode(exclude = {"category", "supplier", "orderItems"})
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = @Index(name = "idx_products_status", columnList = "status"))
+@NamedEntityGraph(name = ProductEntity.GRAPH_DETAIL,
+        attributeNodes = {@NamedAttributeNode("category"), @NamedAttributeNode("supplier")})
 public class ProductEntity {
 
+    public static final String GRAPH_DETAIL = "Product.detail";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "products_id_gen")
+    @TableGenerator(name = "products_id_gen", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "products", allocationSize = 50)
     @Column(name = "product_id")
     private Long productId;
 
@@ -54,7 +61,7 @@ public class ProductEntity {
     @Column(name = "product_code", unique = true, length = 50)
     private String productCode;
 
-    @Column(name = "barcode", length = 100)
+    @Column(name = "barcode", unique = true, length = 100)
     private String barcode;
 
     @Column(name = "image_path", length = 500)
@@ -67,21 +74,19 @@ public class ProductEntity {
     @Column(name = "status")
     private ProductStatus status = ProductStatus.AVAILABLE;
 
-    @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
-    @UpdateTimestamp
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
     // Many-to-one relationship with category
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", nullable = false)
     private CategoryEntity category;
 
     // Many-to-one relationship with supplier
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "supplier_id", nullable = false)
     private SupplierEntity supplier;
 
@@ -110,17 +115,43 @@ public class ProductEntity {
         this.status = ProductStatus.AVAILABLE;
     }
 
-    // Generate product code automatically
+    // Set in callbacks rather than by @CreationTimestamp/@UpdateTimestamp so imports can batch inserts
     @PrePersist
+    private void prePersist() {
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = createdAt;
+        generateProductCode();
+        syncStatus();
+    }
+
+    @PreUpdate
+    private void preUpdate() {
+        this.updatedAt = LocalDateTime.now();
+        syncStatus();
+    }
+
+    // Plain setters for quantity or reorder level skip updateStatus(); the stored status must still follow them
+    private void syncStatus() {
+        if (status != ProductStatus.DISCONTINUED) {
+            updateStatus();
+        }
+    }
+
+    // Generate product code automatically
     private void generateProductCode() {
         if (this.productCode == null || this.productCode.isEmpty()) {
-            String categoryCode = category != null ?
-                    category.getCategoryName().substring(0, Math.min(3, category.getCategoryName().length())).toUpperCase() :
-                    "PRD";
-            this.productCode = categoryCode + "-" + System.currentTimeMillis();
+            this.productCode = CodeAllocator.getDefault()
+                    .nextCode(codePrefix(category != null ? category.getCategoryName() : null), 6);
         }
     }
 
+    // Product code prefix: first three letters of the category name, or PRD
+    public static String codePrefix(String categoryName) {
+        return categoryName != null && !categoryName.isEmpty() ?
+                categoryName.substring(0, Math.min(3, categoryName.length())).toUpperCase() :
+                "PRD";
+    }
+
     // Check if product needs reordering
     public boolean needsReorder() {
         return quantityOnHand != null && reorderLevel != null && quantityOnHand <= reorderLevel;
@@ -170,7 +201,7 @@ public class ProductEntity {
         }
     }
 
-    // Reduce stock
+    // Reduce stock on a loaded entity; checkouts use StockService for an atomic update
     public boolean reduceStock(Integer quantity) {
         if (quantity != null && quantity > 0 && this.quantityOnHand != null && this.quantityOnHand >= quantity) {
             this.quantityOnHand -= quantity;
@@ -1,10 +1,14 @@
 package edu.icet.ecom.model.entity;
 
+import edu.icet.ecom.inventory.InventoryRollups;
+import edu.icet.ecom.util.cache.ReferenceDataCache;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -17,6 +21,8 @@ import java.util.List;
 @ToString(exclude = {"products"})
 @Entity
 @Table(name = "suppliers")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ReferenceDataCache.SUPPLIER_REGION)
 public class SupplierEntity {
 
     @Id
@@ -86,8 +92,8 @@ public class SupplierEntity {
         return supplierName + " (" + company + ")";
     }
 
-    // Utility method to count supplied products
+    // Utility method to count supplied products, read from the maintained rollups
     public int getProductCount() {
-        return products != null ? products.size() : 0;
+        return InventoryRollups.getInstance().getSupplierProductCount(supplierId);
     }
 }
\ No newline at end of file
@@ -9,6 +9,7 @@ import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
+import java.util.Locale;
 
 @Data
 @NoArgsConstructor
@@ -83,6 +84,15 @@ public class UserEntity {
         this.isActive = true;
     }
 
+    // Emails are stored trimmed and lower-case so sign-in can compare them directly on the unique index
+    @PrePersist
+    @PreUpdate
+    private void normaliseEmail() {
+        if (email != null) {
+            email = email.trim().toLowerCase(Locale.ROOT);
+        }
+    }
+
     // Utility method to get full name
     public String getFullName() {
         return firstName + " " + lastName;
@@ -0,0 +1,107 @@
+package edu.icet.ecom.report;
+
+import net.sf.jasperreports.engine.JRDataSource;
+import net.sf.jasperreports.engine.JRException;
+import net.sf.jasperreports.engine.JRField;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.query.SelectionQuery;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Report data source over a forward-only scroll of an HQL projection.
+ * <p>
+ * Rows are pulled from the database {@code pageSize} at a time through the
+ * JDBC fetch size (on MySQL only over the cursor-fetch connections of
+ * {@code HibernateUtil.getReportingSessionFactory()}) and are never
+ * collected, so memory does not grow with the number of rows. A stateless
+ * session is used, so no persistence context fills up while the report runs.
+ * Field names map, in order, to the columns of the select clause; enum values
+ * are passed to the report as their names.
+ */
+public class ScrollableReportDataSource implements JRDataSource, AutoCloseable {
+
+    private final SessionFactory sessionFactory;
+    private final String query;
+    private final Map<String, Object> parameters;
+    private final Map<String, Integer> columns = new HashMap<>();
+    private final int pageSize;
+
+    private StatelessSession session;
+    private ScrollableResults<Object[]> results;
+    private Object[] current;
+    private long rowCount;
+
+    public ScrollableReportDataSource(SessionFactory sessionFactory, String query, Map<String, Object> parameters,
+                                      int pageSize, String... fieldNames) {
+        this.sessionFactory = sessionFactory;
+        this.query = query;
+        this.parameters = parameters != null ? parameters : Map.of();
+        this.pageSize = Math.max(1, pageSize);
+        for (int i = 0; i < fieldNames.length; i++) {
+            columns.put(fieldNames[i], i);
+        }
+    }
+
+    @Override
+    public boolean next() throws JRException {
+        try {
+            if (results == null) {
+                open();
+            }
+            if (results.next()) {
+                current = results.get();
+                rowCount++;
+                return true;
+            }
+        } catch (RuntimeException e) {
+            close();
+            throw new JRException("Failed to read report rows", e);
+        }
+        current = null;
+        close();
+        return false;
+    }
+
+    @Override
+    public Object getFieldValue(JRField field) throws JRException {
+        Integer column = columns.get(field.getName());
+        if (column == null) {
+            throw new JRException("Unknown report field: " + field.getName());
+        }
+        if (current == null) {
+            return null;
+        }
+        Object value = current[column];
+        return value instanceof Enum ? ((Enum<?>) value).name() : value;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public void close() {
+        if (results != null) {
+            results.close();
+        }
+        if (session != null) {
+            session.close();
+        }
+        results = null;
+        session = null;
+    }
+
+    private void open() {
+        session = sessionFactory.openStatelessSession();
+        SelectionQuery<Object[]> selection = session.createSelectionQuery(query, Object[].class)
+                .setFetchSize(pageSize)
+                .setReadOnly(true);
+        parameters.forEach(selection::setParameter);
+        results = selection.scroll(ScrollMode.FORWARD_ONLY);
+    }
+}
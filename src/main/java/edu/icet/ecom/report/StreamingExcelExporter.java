@@ -0,0 +1,184 @@
+package edu.icet.ecom.report;
+
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.query.SelectionQuery;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Writes the rows of an HQL projection to an .xlsx stream in constant memory.
+ * <p>
+ * A reader thread scrolls the query on a stateless session and hands rows to
+ * the writing thread through a bounded queue, ending with a marker row. The
+ * writer uses an {@link SXSSFWorkbook} that keeps only {@code rowWindow} rows
+ * in memory and flushes the rest to a compressed temp file. Sheets roll over
+ * when the Excel row limit is reached. The reader thread has finished, and its
+ * session is closed, by the time {@link #export} returns or throws.
+ */
+public class StreamingExcelExporter {
+
+    private static final Object[] END_OF_ROWS = new Object[0];
+    private static final int MAX_ROWS_PER_SHEET = SpreadsheetVersion.EXCEL2007.getMaxRows();
+
+    private final SessionFactory sessionFactory;
+    private final int rowWindow;
+    private final int fetchSize;
+    private final int queueCapacity;
+
+    public StreamingExcelExporter(SessionFactory sessionFactory, int rowWindow, int fetchSize, int queueCapacity) {
+        this.sessionFactory = sessionFactory;
+        this.rowWindow = Math.max(1, rowWindow);
+        this.fetchSize = Math.max(1, fetchSize);
+        this.queueCapacity = Math.max(1, queueCapacity);
+    }
+
+    // Returns the number of data rows written
+    public long export(String sheetName, String[] headers, String query, Map<String, Object> parameters,
+                       OutputStream out) throws IOException {
+        BlockingQueue<Object[]> queue = new ArrayBlockingQueue<>(queueCapacity);
+        AtomicReference<RuntimeException> readFailure = new AtomicReference<>();
+        Thread reader = new Thread(() -> read(query, parameters, queue, readFailure), "excel-export-reader");
+        reader.setDaemon(true);
+        reader.start();
+
+        SXSSFWorkbook workbook = new SXSSFWorkbook(rowWindow);
+        workbook.setCompressTempFiles(true);
+        try {
+            CellStyle headerStyle = workbook.createCellStyle();
+            Font bold = workbook.createFont();
+            bold.setBold(true);
+            headerStyle.setFont(bold);
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd hh:mm"));
+
+            int sheetCount = 1;
+            SXSSFSheet sheet = newSheet(workbook, sheetName, sheetCount, headers, headerStyle);
+            int rowIndex = 1;
+            long written = 0;
+            while (true) {
+                Object[] values = queue.take();
+                if (values == END_OF_ROWS) {
+                    break;
+                }
+                if (rowIndex == MAX_ROWS_PER_SHEET) {
+                    sheet = newSheet(workbook, sheetName, ++sheetCount, headers, headerStyle);
+                    rowIndex = 1;
+                }
+                Row row = sheet.createRow(rowIndex++);
+                for (int column = 0; column < values.length; column++) {
+                    writeCell(row.createCell(column), values[column], dateStyle);
+                }
+                written++;
+            }
+
+            if (readFailure.get() != null) {
+                throw readFailure.get();
+            }
+            workbook.write(out);
+            return written;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Excel export interrupted", e);
+        } finally {
+            reader.interrupt(); // stops the reader early if writing failed
+            workbook.close(); // also deletes the temp files
+            // The reader holds a session and a connection until it has seen the interrupt
+            awaitReader(reader);
+        }
+    }
+
+    private static void awaitReader(Thread reader) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                reader.join();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void read(String query, Map<String, Object> parameters, BlockingQueue<Object[]> queue,
+                      AtomicReference<RuntimeException> failure) {
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            SelectionQuery<Object[]> selection = session.createSelectionQuery(query, Object[].class)
+                    .setFetchSize(fetchSize)
+                    .setReadOnly(true);
+            if (parameters != null) {
+                parameters.forEach(selection::setParameter);
+            }
+            try (ScrollableResults<Object[]> results = selection.scroll(ScrollMode.FORWARD_ONLY)) {
+                while (results.next()) {
+                    queue.put(results.get());
+                }
+            }
+        } catch (InterruptedException e) {
+            return; // the writer gave up; nobody is waiting for the marker
+        } catch (RuntimeException e) {
+            failure.set(e);
+        }
+        try {
+            queue.put(END_OF_ROWS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static SXSSFSheet newSheet(SXSSFWorkbook workbook, String sheetName, int number, String[] headers,
+                                       CellStyle headerStyle) {
+        SXSSFSheet sheet = workbook.createSheet(number == 1 ? sheetName : sheetName + " (" + number + ")");
+        Row header = sheet.createRow(0);
+        for (int column = 0; column < headers.length; column++) {
+            Cell cell = header.createCell(column);
+            cell.setCellValue(headers[column]);
+            cell.setCellStyle(headerStyle);
+        }
+        return sheet;
+    }
+
+    private static void writeCell(Cell cell, Object value, CellStyle dateStyle) {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof BigDecimal) {
+            cell.setCellValue(((BigDecimal) value).doubleValue());
+        } else if (value instanceof Number) {
+            cell.setCellValue(((Number) value).doubleValue());
+        } else if (value instanceof LocalDateTime) {
+            cell.setCellValue((LocalDateTime) value);
+            cell.setCellStyle(dateStyle);
+        } else if (value instanceof LocalDate) {
+            cell.setCellValue((LocalDate) value);
+            cell.setCellStyle(dateStyle);
+        } else if (value instanceof Boolean) {
+            cell.setCellValue((Boolean) value);
+        } else if (value instanceof Enum) {
+            cell.setCellValue(((Enum<?>) value).name());
+        } else {
+            cell.setCellValue(value.toString());
+        }
+    }
+}
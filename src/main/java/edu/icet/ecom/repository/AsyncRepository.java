@@ -0,0 +1,28 @@
+package edu.icet.ecom.repository;
+
+import edu.icet.ecom.model.dto.EmployeeDto;
+import edu.icet.ecom.model.dto.OrderDto;
+import edu.icet.ecom.model.dto.ProductDto;
+import edu.icet.ecom.util.table.TableQuery;
+import org.hibernate.Session;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+public interface AsyncRepository {
+
+    // Any read on its own session; the function must not leak entities outside it
+    <T> CompletableFuture<T> read(Function<Session, T> work);
+
+    // First rows of the product grid in the given order and filter
+    CompletableFuture<List<ProductDto>> findProducts(TableQuery query, int limit);
+
+    CompletableFuture<List<OrderDto>> findOrderSummaries(LocalDateTime from, LocalDateTime to);
+
+    CompletableFuture<List<EmployeeDto>> findActiveEmployees();
+
+    // Products at or below their reorder level, lowest stock first
+    CompletableFuture<List<ProductDto>> findLowStockProducts();
+}
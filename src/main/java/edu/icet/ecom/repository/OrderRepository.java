@@ -0,0 +1,20 @@
+package edu.icet.ecom.repository;
+
+import edu.icet.ecom.model.dto.OrderDto;
+import edu.icet.ecom.model.entity.OrderEntity;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface OrderRepository {
+
+    // Order history list: one projection query, no entities or line items loaded
+    List<OrderDto> findOrderSummaries(LocalDateTime from, LocalDateTime to);
+
+    // Receipt view: order, employee and line items with their products
+    Optional<OrderEntity> findForReceipt(Long orderId);
+
+    // Refund view: order and line items with their products
+    Optional<OrderEntity> findForRefund(Long orderId);
+}
@@ -0,0 +1,102 @@
+package edu.icet.ecom.repository.impl;
+
+import edu.icet.ecom.inventory.StockLevelMonitor;
+import edu.icet.ecom.mapper.EmployeeMapper;
+import edu.icet.ecom.model.dto.EmployeeDto;
+import edu.icet.ecom.model.dto.OrderDto;
+import edu.icet.ecom.model.dto.ProductDto;
+import edu.icet.ecom.model.entity.EmployeeEntity;
+import edu.icet.ecom.repository.AsyncRepository;
+import edu.icet.ecom.repository.OrderRepository;
+import edu.icet.ecom.util.HibernateUtil;
+import edu.icet.ecom.util.concurrent.AsyncExecutors;
+import edu.icet.ecom.util.table.HqlPageSource;
+import edu.icet.ecom.util.table.PageSources;
+import edu.icet.ecom.util.table.TableQuery;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Non-blocking facade over the blocking data access. Every call runs on
+ * {@link AsyncExecutors} with its own session, so independent reads of one
+ * screen proceed in parallel up to the connection pool size.
+ */
+public class AsyncRepositoryImpl implements AsyncRepository {
+
+    private static final int IN_LIST_CHUNK = 1000;
+
+    private final SessionFactory sessionFactory;
+    private final OrderRepository orderRepository;
+    private final HqlPageSource<ProductDto> products;
+    private final EmployeeMapper employeeMapper = new EmployeeMapper();
+    private final StockLevelMonitor stockLevelMonitor = StockLevelMonitor.getInstance();
+
+    public AsyncRepositoryImpl() {
+        this(HibernateUtil.getSessionFactory());
+    }
+
+    public AsyncRepositoryImpl(SessionFactory sessionFactory) {
+        this.sessionFactory = sessionFactory;
+        this.orderRepository = new OrderRepositoryImpl(sessionFactory);
+        this.products = PageSources.products(sessionFactory);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> read(Function<Session, T> work) {
+        return AsyncExecutors.supply(() -> {
+            try (Session session = sessionFactory.openSession()) {
+                session.setDefaultReadOnly(true);
+                return work.apply(session);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<List<ProductDto>> findProducts(TableQuery query, int limit) {
+        return AsyncExecutors.supply(() -> products.fetch(query, null, 0, limit));
+    }
+
+    @Override
+    public CompletableFuture<List<OrderDto>> findOrderSummaries(LocalDateTime from, LocalDateTime to) {
+        return AsyncExecutors.supply(() -> orderRepository.findOrderSummaries(from, to));
+    }
+
+    @Override
+    public CompletableFuture<List<EmployeeDto>> findActiveEmployees() {
+        return read(session -> employeeMapper.toDtoList(session.createQuery(
+                        "from EmployeeEntity e where e.isActive = true order by e.firstName, e.lastName",
+                        EmployeeEntity.class)
+                .getResultList()));
+    }
+
+    // Candidates come from the stock level monitor, so only flagged rows are read
+    @Override
+    public CompletableFuture<List<ProductDto>> findLowStockProducts() {
+        Set<Long> flagged = stockLevelMonitor.getReorderProductIds();
+        if (flagged.isEmpty()) {
+            return CompletableFuture.completedFuture(new ArrayList<>());
+        }
+        List<Long> ids = new ArrayList<>(flagged);
+        return read(session -> {
+            List<ProductDto> rows = new ArrayList<>(ids.size());
+            for (int from = 0; from < ids.size(); from += IN_LIST_CHUNK) {
+                rows.addAll(session.createQuery(PageSources.PRODUCT_SELECT + " " + PageSources.PRODUCT_FROM +
+                                " where p.productId in (:ids) and p.isActive = true", ProductDto.class)
+                        .setParameter("ids", ids.subList(from, Math.min(ids.size(), from + IN_LIST_CHUNK)))
+                        .getResultList());
+            }
+            rows.sort(Comparator.comparing(ProductDto::getQuantityOnHand,
+                            Comparator.nullsFirst(Comparator.<Integer>naturalOrder()))
+                    .thenComparing(ProductDto::getProductName, Comparator.nullsLast(Comparator.<String>naturalOrder())));
+            return rows;
+        });
+    }
+}
@@ -0,0 +1,71 @@
+package edu.icet.ecom.repository.impl;
+
+import edu.icet.ecom.model.dto.OrderDto;
+import edu.icet.ecom.model.entity.OrderEntity;
+import edu.icet.ecom.repository.OrderRepository;
+import edu.icet.ecom.util.HibernateUtil;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public class OrderRepositoryImpl implements OrderRepository {
+
+    private static final String FETCH_GRAPH_HINT = "jakarta.persistence.fetchgraph";
+
+    private static final String ORDER_SUMMARY_QUERY =
+            "select new edu.icet.ecom.model.dto.OrderDto(" +
+                    "o.orderId, o.orderNumber, o.customerName, o.customerEmail, o.customerPhone, " +
+                    "o.subtotal, o.taxAmount, o.discountAmount, o.totalAmount, " +
+                    "str(o.paymentMethod), str(o.orderStatus), o.isReturn, o.createdAt, " +
+                    "e.employeeId, e.firstName, e.lastName, e.employeeCode, " +
+                    "(select coalesce(sum(i.quantity), 0L) from OrderItemEntity i where i.order = o), " +
+                    "(select count(i) from OrderItemEntity i where i.order = o)) " +
+                    "from OrderEntity o join o.employee e " +
+                    "where o.createdAt >= :from and o.createdAt < :to " +
+                    "order by o.createdAt desc";
+
+    private final SessionFactory sessionFactory;
+
+    public OrderRepositoryImpl() {
+        this(HibernateUtil.getSessionFactory());
+    }
+
+    public OrderRepositoryImpl(SessionFactory sessionFactory) {
+        this.sessionFactory = sessionFactory;
+    }
+
+    @Override
+    public List<OrderDto> findOrderSummaries(LocalDateTime from, LocalDateTime to) {
+        try (Session session = sessionFactory.openSession()) {
+            return session.createQuery(ORDER_SUMMARY_QUERY, OrderDto.class)
+                    .setParameter("from", from)
+                    .setParameter("to", to)
+                    .setReadOnly(true)
+                    .getResultList();
+        }
+    }
+
+    @Override
+    public Optional<OrderEntity> findForReceipt(Long orderId) {
+        return findWithGraph(orderId, OrderEntity.GRAPH_RECEIPT);
+    }
+
+    @Override
+    public Optional<OrderEntity> findForRefund(Long orderId) {
+        return findWithGraph(orderId, OrderEntity.GRAPH_REFUND);
+    }
+
+    private Optional<OrderEntity> findWithGraph(Long orderId, String graphName) {
+        if (orderId == null) {
+            return Optional.empty();
+        }
+        try (Session session = sessionFactory.openSession()) {
+            return Optional.ofNullable(session.find(OrderEntity.class, orderId,
+                    Map.of(FETCH_GRAPH_HINT, session.getEntityGraph(graphName))));
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package edu.icet.ecom.service;
+
+import edu.icet.ecom.model.dto.LoginResultDto;
+import edu.icet.ecom.model.dto.UserDTO;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+public interface AuthService {
+
+    // Verify credentials off the calling thread; completes with a session token on success
+    CompletableFuture<LoginResultDto> login(String email, String password);
+
+    // User of a live session token; extends the session, no password check
+    Optional<UserDTO> resume(String token);
+
+    void logout(String token);
+
+    // Ends every session of the user, e.g. after a bulk update that bypasses entity events
+    void invalidate(Long userId);
+
+    // Digest for storing a new or changed password
+    String hashPassword(String password);
+}
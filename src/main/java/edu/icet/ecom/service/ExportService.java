@@ -0,0 +1,17 @@
+package edu.icet.ecom.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+public interface ExportService {
+
+    // Orders created in [from, to) as an .xlsx stream; returns the number of rows written
+    long exportOrders(LocalDateTime from, LocalDateTime to, OutputStream out) throws IOException;
+
+    // Order lines of orders created in [from, to), one row per line item
+    long exportOrderItems(LocalDateTime from, LocalDateTime to, OutputStream out) throws IOException;
+
+    // Full product list with category and supplier names
+    long exportProducts(OutputStream out) throws IOException;
+}
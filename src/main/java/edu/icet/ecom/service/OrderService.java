@@ -0,0 +1,29 @@
+package edu.icet.ecom.service;
+
+import edu.icet.ecom.model.entity.OrderEntity;
+import edu.icet.ecom.model.entity.OrderItemEntity;
+import edu.icet.ecom.model.entity.ProductEntity;
+
+public interface OrderService {
+
+    // Hold stock for a scanned product in the cart's reservation and add it as a new line; false if none is free
+    boolean scanItem(OrderEntity order, ProductEntity product, int quantity);
+
+    // Remove a line from an open cart and release the stock it held
+    void removeItem(OrderEntity order, OrderItemEntity item);
+
+    // Cancel a cart that was never checked out and release all of its holds
+    void discardCart(OrderEntity order);
+
+    // Save a pending order, reduce stock for its lines and mark it completed; all or nothing
+    boolean completeOrder(OrderEntity order);
+
+    // Cancel a pending or completed order; stock taken by a completed order is put back
+    boolean cancelOrder(Long orderId);
+
+    // As above, also releasing the stock holds of the cart the order was rung up in
+    boolean cancelOrder(Long orderId, String reservationKey);
+
+    // Refund a completed order and put its stock back
+    boolean refundOrder(Long orderId);
+}
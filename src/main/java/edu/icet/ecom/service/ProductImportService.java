@@ -0,0 +1,12 @@
+package edu.icet.ecom.service;
+
+import edu.icet.ecom.model.dto.ImportReportDto;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+public interface ProductImportService {
+
+    // Import products from an .xlsx or .csv file; rejected rows are reported, not fatal
+    ImportReportDto importProducts(Path file) throws IOException;
+}
@@ -0,0 +1,14 @@
+package edu.icet.ecom.service;
+
+import edu.icet.ecom.model.dto.PurchaseListDto;
+
+import java.util.List;
+
+public interface ReorderSuggestionService {
+
+    // Recompute sales velocity over the last windowDays and build draft purchase lists per supplier
+    List<PurchaseListDto> suggestReorders(int windowDays, int coverDays);
+
+    // Fold in only the orders placed since the previous run, then rebuild the purchase lists
+    List<PurchaseListDto> refreshSuggestions(int coverDays);
+}
@@ -0,0 +1,19 @@
+package edu.icet.ecom.service;
+
+import net.sf.jasperreports.engine.JRException;
+import net.sf.jasperreports.engine.JasperReport;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public interface ReportService {
+
+    // Sales report over orders created in [from, to), streamed and written as PDF
+    void exportSalesReport(JasperReport report, LocalDateTime from, LocalDateTime to,
+                           Map<String, Object> parameters, OutputStream out) throws JRException;
+
+    // Inventory report over all active products, streamed and written as PDF
+    void exportInventoryReport(JasperReport report, Map<String, Object> parameters,
+                               OutputStream out) throws JRException;
+}
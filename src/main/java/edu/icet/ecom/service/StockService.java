@@ -0,0 +1,25 @@
+package edu.icet.ecom.service;
+
+import edu.icet.ecom.model.entity.OrderEntity;
+import org.hibernate.Session;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface StockService {
+
+    // Reduce stock for every line of the order in its own transaction; all or nothing
+    boolean reduceStock(OrderEntity order);
+
+    // Reduce stock by product id in its own transaction; all or nothing
+    boolean reduceStock(Map<Long, Integer> quantitiesByProductId);
+
+    // Reduce stock inside the caller's transaction; the caller must roll back on false
+    boolean reduceStock(Session session, Map<Long, Integer> quantitiesByProductId);
+
+    // Put stock back inside the caller's transaction, e.g. when a completed sale is cancelled; false if a product is gone
+    boolean restoreStock(Session session, Map<Long, Integer> quantitiesByProductId);
+
+    // Refresh the reservation ledger, stock monitor and inventory rollups from the committed quantities
+    void reconcile(Session session, Collection<Long> productIds);
+}
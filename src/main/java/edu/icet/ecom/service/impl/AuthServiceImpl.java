@@ -0,0 +1,288 @@
+package edu.icet.ecom.service.impl;
+
+import edu.icet.ecom.mapper.UserMapper;
+import edu.icet.ecom.model.dto.LoginResultDto;
+import edu.icet.ecom.model.dto.UserDTO;
+import edu.icet.ecom.model.entity.UserEntity;
+import edu.icet.ecom.service.AuthService;
+import edu.icet.ecom.util.AppConfig;
+import edu.icet.ecom.util.HibernateUtil;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.jasypt.digest.config.SimpleDigesterConfig;
+import org.jasypt.util.password.ConfigurablePasswordEncryptor;
+
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Password checks run on a small bounded pool so the JavaFX thread never
+ * hashes; when the queue is full further logins are refused instead of piling
+ * up. The digest is a jasypt {@link ConfigurablePasswordEncryptor} whose
+ * algorithm, iteration count and salt size come from configuration (the
+ * defaults match jasypt's StrongPasswordEncryptor). A successful login issues
+ * a random session token held in memory for {@code AUTH_SESSION_TTL_MINUTES}
+ * after its last use, and never longer than {@code AUTH_SESSION_MAX_MINUTES}
+ * after sign-in; resuming with the token skips the hash. A committed update or
+ * delete of a user through a Hibernate session ends that user's sessions, so a
+ * deactivated account or changed password takes effect at once. last_login is
+ * written in the background.
+ */
+public class AuthServiceImpl implements AuthService {
+
+    private static final System.Logger LOG = System.getLogger(AuthServiceImpl.class.getName());
+
+    // Emails are stored lower-case (UserEntity), so this is a plain lookup on the unique index
+    private static final String FIND_USER_QUERY = "from UserEntity u where u.email = :email";
+
+    private final SessionFactory sessionFactory;
+    private final ConfigurablePasswordEncryptor encryptor = new ConfigurablePasswordEncryptor();
+    private final String dummyDigest;
+    private final UserMapper userMapper = new UserMapper();
+    private final SecureRandom random = new SecureRandom();
+    private final long sessionTtlMinutes = Math.max(1, AppConfig.getLong("AUTH_SESSION_TTL_MINUTES", 600));
+    private final long sessionMaxMinutes = Math.max(1, AppConfig.getLong("AUTH_SESSION_MAX_MINUTES", 720));
+    private final ConcurrentMap<String, LoginSession> sessions = new ConcurrentHashMap<>();
+
+    private final ExecutorService hashPool;
+    private final ExecutorService lastLoginWriter = Executors.newSingleThreadExecutor(daemon("auth-last-login"));
+    private final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(daemon("auth-session-sweeper"));
+
+    public AuthServiceImpl() {
+        this(HibernateUtil.getSessionFactory());
+    }
+
+    public AuthServiceImpl(SessionFactory sessionFactory) {
+        this.sessionFactory = sessionFactory;
+
+        SimpleDigesterConfig config = new SimpleDigesterConfig();
+        config.setAlgorithm(AppConfig.get("AUTH_HASH_ALGORITHM", "SHA-256"));
+        config.setIterations(Math.max(1, AppConfig.getInt("AUTH_HASH_ITERATIONS", 100_000)));
+        config.setSaltSizeBytes(Math.max(0, AppConfig.getInt("AUTH_SALT_BYTES", 16)));
+        encryptor.setConfig(config);
+        // Unknown users are checked against this digest so both paths cost one hash
+        this.dummyDigest = encryptor.encryptPassword(Long.toHexString(random.nextLong()));
+
+        int threads = Math.max(1, AppConfig.getInt("AUTH_THREADS", 2));
+        this.hashPool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, AppConfig.getInt("AUTH_QUEUE_SIZE", 32))),
+                daemon("auth-hash"));
+        sweeper.scheduleWithFixedDelay(this::expireSessions, 1, 1, TimeUnit.MINUTES);
+
+        EventListenerRegistry registry = sessionFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().requireService(EventListenerRegistry.class);
+        UserChangeListener listener = new UserChangeListener(this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, listener);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, listener);
+    }
+
+    @Override
+    public CompletableFuture<LoginResultDto> login(String email, String password) {
+        if (email == null || email.trim().isEmpty() || password == null || password.isEmpty()) {
+            return CompletableFuture.completedFuture(LoginResultDto.failed("Email and password are required"));
+        }
+        try {
+            return CompletableFuture.supplyAsync(() -> authenticate(email.trim(), password), hashPool);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(LoginResultDto.failed("Too many sign-ins in progress, please try again"));
+        }
+    }
+
+    @Override
+    public Optional<UserDTO> resume(String token) {
+        LoginSession session = token != null ? sessions.get(token) : null;
+        if (session == null) {
+            return Optional.empty();
+        }
+        if (session.isExpired(System.currentTimeMillis())) {
+            sessions.remove(token, session);
+            return Optional.empty();
+        }
+        session.extend(TimeUnit.MINUTES.toMillis(sessionTtlMinutes));
+        return Optional.of(session.user);
+    }
+
+    @Override
+    public void logout(String token) {
+        if (token != null) {
+            sessions.remove(token);
+        }
+    }
+
+    @Override
+    public void invalidate(Long userId) {
+        if (userId != null) {
+            sessions.values().removeIf(session -> userId.equals(session.user.getUserId()));
+        }
+    }
+
+    @Override
+    public String hashPassword(String password) {
+        return encryptor.encryptPassword(password);
+    }
+
+    private LoginResultDto authenticate(String email, String password) {
+        UserEntity user;
+        try (Session session = sessionFactory.openSession()) {
+            user = session.createQuery(FIND_USER_QUERY, UserEntity.class)
+                    .setParameter("email", email.toLowerCase(Locale.ROOT))
+                    .setReadOnly(true)
+                    .uniqueResultOptional()
+                    .orElse(null);
+        }
+
+        boolean passwordMatches = checkPassword(password, user != null ? user.getPassword() : dummyDigest);
+        if (user == null || !passwordMatches) {
+            return LoginResultDto.failed("Invalid email or password");
+        }
+        if (user.getIsActive() == null || !user.getIsActive()) {
+            return LoginResultDto.failed("This account is disabled");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        UserDTO dto = userMapper.toDto(user);
+        dto.setPassword(null);
+        dto.setPasswordResetToken(null);
+        dto.setLastLogin(now);
+
+        String token = newToken();
+        long issuedAt = System.currentTimeMillis();
+        LoginSession session = new LoginSession(dto, issuedAt + TimeUnit.MINUTES.toMillis(sessionMaxMinutes));
+        session.extend(TimeUnit.MINUTES.toMillis(sessionTtlMinutes));
+        sessions.put(token, session);
+        recordLastLogin(user.getUserId(), now);
+        return new LoginResultDto(true, "Welcome, " + dto.getFullName(), token,
+                now.plusMinutes(Math.min(sessionTtlMinutes, sessionMaxMinutes)), dto);
+    }
+
+    private boolean checkPassword(String password, String digest) {
+        try {
+            return digest != null && encryptor.checkPassword(password, digest);
+        } catch (RuntimeException e) {
+            return false; // stored value is not a digest of this configuration
+        }
+    }
+
+    private void recordLastLogin(Long userId, LocalDateTime when) {
+        lastLoginWriter.execute(() -> {
+            try (StatelessSession session = sessionFactory.openStatelessSession()) {
+                Transaction transaction = session.beginTransaction();
+                try {
+                    session.createMutationQuery("update UserEntity u set u.lastLogin = :when where u.userId = :id")
+                            .setParameter("when", when)
+                            .setParameter("id", userId)
+                            .executeUpdate();
+                    transaction.commit();
+                } catch (RuntimeException e) {
+                    if (transaction.isActive()) {
+                        transaction.rollback();
+                    }
+                    LOG.log(System.Logger.Level.WARNING, "Failed to record last login", e);
+                }
+            }
+        });
+    }
+
+    private String newToken() {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private void expireSessions() {
+        long now = System.currentTimeMillis();
+        sessions.entrySet().removeIf(entry -> entry.getValue().isExpired(now));
+    }
+
+    private static ThreadFactory daemon(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class LoginSession {
+        private final UserDTO user;
+        private final long endsAt; // absolute limit, however often the session is resumed
+        private volatile long expiresAt;
+
+        private LoginSession(UserDTO user, long endsAt) {
+            this.user = user;
+            this.endsAt = endsAt;
+            this.expiresAt = endsAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+
+        private void extend(long ttlMillis) {
+            expiresAt = Math.min(System.currentTimeMillis() + ttlMillis, endsAt);
+        }
+    }
+
+    // Ends the sessions of a user whose row was changed or deleted in a committed transaction
+    private static final class UserChangeListener implements PostCommitUpdateEventListener,
+            PostCommitDeleteEventListener {
+
+        private final AuthService authService;
+
+        private UserChangeListener(AuthService authService) {
+            this.authService = authService;
+        }
+
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            return persister.getMappedClass() == UserEntity.class;
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            if (event.getEntity() instanceof UserEntity user) {
+                authService.invalidate(user.getUserId());
+            }
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            if (event.getEntity() instanceof UserEntity user) {
+                authService.invalidate(user.getUserId());
+            }
+        }
+
+        @Override
+        public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        }
+
+        @Override
+        public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        }
+    }
+}
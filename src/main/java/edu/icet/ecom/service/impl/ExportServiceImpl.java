@@ -0,0 +1,77 @@
+package edu.icet.ecom.service.impl;
+
+import edu.icet.ecom.report.StreamingExcelExporter;
+import edu.icet.ecom.service.ExportService;
+import edu.icet.ecom.util.AppConfig;
+import edu.icet.ecom.util.HibernateUtil;
+import org.hibernate.SessionFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public class ExportServiceImpl implements ExportService {
+
+    private static final String ORDERS_QUERY =
+            "select o.orderNumber, o.createdAt, o.customerName, o.customerEmail, o.customerPhone, " +
+                    "e.employeeCode, o.paymentMethod, o.orderStatus, o.isReturn, " +
+                    "o.subtotal, o.taxAmount, o.discountAmount, o.totalAmount " +
+                    "from OrderEntity o left join o.employee e " +
+                    "where o.createdAt >= :from and o.createdAt < :to order by o.createdAt";
+
+    private static final String[] ORDER_HEADERS = {
+            "Order Number", "Date", "Customer", "Email", "Phone", "Employee", "Payment Method", "Status",
+            "Return", "Subtotal", "Tax", "Discount", "Total"
+    };
+
+    private static final String ORDER_ITEMS_QUERY =
+            "select o.orderNumber, o.createdAt, p.productCode, p.productName, p.size, p.color, " +
+                    "i.quantity, i.unitPrice, i.discountAmount, i.subtotal " +
+                    "from OrderItemEntity i join i.order o join i.product p " +
+                    "where o.createdAt >= :from and o.createdAt < :to order by o.createdAt, i.orderItemId";
+
+    private static final String[] ORDER_ITEM_HEADERS = {
+            "Order Number", "Date", "Product Code", "Product", "Size", "Color",
+            "Quantity", "Unit Price", "Discount", "Subtotal"
+    };
+
+    private static final String PRODUCTS_QUERY =
+            "select p.productCode, p.barcode, p.productName, c.categoryName, s.supplierName, p.size, p.color, " +
+                    "p.price, p.costPrice, p.quantityOnHand, p.reorderLevel, p.maxStockLevel, p.status, p.isActive " +
+                    "from ProductEntity p left join p.category c left join p.supplier s order by p.productCode";
+
+    private static final String[] PRODUCT_HEADERS = {
+            "Product Code", "Barcode", "Product", "Category", "Supplier", "Size", "Color",
+            "Price", "Cost Price", "On Hand", "Reorder Level", "Max Stock", "Status", "Active"
+    };
+
+    private final StreamingExcelExporter exporter;
+
+    public ExportServiceImpl() {
+        this(HibernateUtil.getReportingSessionFactory());
+    }
+
+    public ExportServiceImpl(SessionFactory sessionFactory) {
+        this.exporter = new StreamingExcelExporter(sessionFactory,
+                AppConfig.getInt("EXPORT_ROW_WINDOW", 100),
+                AppConfig.getInt("EXPORT_FETCH_SIZE", 1000),
+                AppConfig.getInt("EXPORT_QUEUE_SIZE", 2048));
+    }
+
+    @Override
+    public long exportOrders(LocalDateTime from, LocalDateTime to, OutputStream out) throws IOException {
+        return exporter.export("Orders", ORDER_HEADERS, ORDERS_QUERY, Map.of("from", from, "to", to), out);
+    }
+
+    @Override
+    public long exportOrderItems(LocalDateTime from, LocalDateTime to, OutputStream out) throws IOException {
+        return exporter.export("Order Items", ORDER_ITEM_HEADERS, ORDER_ITEMS_QUERY,
+                Map.of("from", from, "to", to), out);
+    }
+
+    @Override
+    public long exportProducts(OutputStream out) throws IOException {
+        return exporter.export("Products", PRODUCT_HEADERS, PRODUCTS_QUERY, null, out);
+    }
+}
@@ -0,0 +1,240 @@
+package edu.icet.ecom.service.impl;
+
+import edu.icet.ecom.event.OrderEvent;
+import edu.icet.ecom.event.OrderEventBus;
+import edu.icet.ecom.inventory.StockReservationLedger;
+import edu.icet.ecom.model.entity.OrderEntity;
+import edu.icet.ecom.model.entity.OrderItemEntity;
+import edu.icet.ecom.model.entity.ProductEntity;
+import edu.icet.ecom.service.OrderService;
+import edu.icet.ecom.service.StockService;
+import edu.icet.ecom.util.HibernateUtil;
+import jakarta.persistence.LockModeType;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * Order status transitions. Each one commits in its own transaction and is
+ * then published on the {@link OrderEventBus}, so in-memory aggregates only
+ * ever see committed changes.
+ */
+public class OrderServiceImpl implements OrderService {
+
+    private static final String FETCH_GRAPH_HINT = "jakarta.persistence.fetchgraph";
+
+    private final SessionFactory sessionFactory;
+    private final StockService stockService;
+    private final OrderEventBus eventBus = OrderEventBus.getInstance();
+    private final StockReservationLedger ledger = StockReservationLedger.getInstance();
+
+    public OrderServiceImpl() {
+        this(HibernateUtil.getSessionFactory());
+    }
+
+    public OrderServiceImpl(SessionFactory sessionFactory) {
+        this(sessionFactory, new StockServiceImpl(sessionFactory));
+    }
+
+    public OrderServiceImpl(SessionFactory sessionFactory, StockService stockService) {
+        this.sessionFactory = sessionFactory;
+        this.stockService = stockService;
+    }
+
+    @Override
+    public boolean scanItem(OrderEntity order, ProductEntity product, int quantity) {
+        if (order == null || product == null || product.getProductId() == null || quantity <= 0) {
+            return false;
+        }
+        // Seeded from the database rather than the scanned entity, which may have been loaded long ago
+        Long productId = product.getProductId();
+        if (!ledger.reserve(order.getReservationKey(), productId, () -> quantityOnHand(productId), quantity)) {
+            return false;
+        }
+        order.addOrderItem(new OrderItemEntity(product, quantity, product.getPrice()));
+        return true;
+    }
+
+    @Override
+    public void removeItem(OrderEntity order, OrderItemEntity item) {
+        if (order == null || item == null || order.getOrderItems() == null || !order.getOrderItems().contains(item)) {
+            return;
+        }
+        order.removeOrderItem(item);
+        if (item.getProduct() != null && item.getQuantity() != null) {
+            ledger.release(order.getReservationKey(), item.getProduct().getProductId(), item.getQuantity());
+        }
+    }
+
+    @Override
+    public void discardCart(OrderEntity order) {
+        if (order == null || order.getOrderStatus() != OrderEntity.OrderStatus.PENDING) {
+            return;
+        }
+        order.markAsCancelled();
+        ledger.releaseAll(order.getReservationKey());
+    }
+
+    @Override
+    public boolean completeOrder(OrderEntity order) {
+        if (order == null || order.getOrderItems() == null || order.getOrderItems().isEmpty()
+                || order.getOrderStatus() != OrderEntity.OrderStatus.PENDING) {
+            return false;
+        }
+
+        Map<Long, Integer> quantities = quantitiesOf(order);
+        if (quantities == null) {
+            return false;
+        }
+
+        // Decided up front: persist assigns ids before the commit that may still fail
+        boolean isNew = order.getOrderId() == null;
+        String previousOrderNumber = order.getOrderNumber();
+        try (Session session = sessionFactory.openSession()) {
+            Transaction transaction = session.beginTransaction();
+            OrderEntity.OrderStatus previousStatus = order.getOrderStatus();
+            OrderEntity saved;
+            try {
+                // A saved order may have been completed or cancelled elsewhere since it was loaded
+                if (!isNew && !isPending(session, order.getOrderId())) {
+                    transaction.rollback();
+                    return false;
+                }
+                if (!stockService.reduceStock(session, quantities)) {
+                    transaction.rollback();
+                    return false;
+                }
+                order.markAsCompleted();
+                if (isNew) {
+                    session.persist(order);
+                    saved = order;
+                } else {
+                    saved = session.merge(order);
+                }
+                transaction.commit();
+            } catch (RuntimeException e) {
+                order.setOrderStatus(previousStatus);
+                order.setCompletedAt(null);
+                if (isNew) {
+                    // Nothing was written, so a retry must insert again rather than look up these ids
+                    order.setOrderId(null);
+                    order.setOrderNumber(previousOrderNumber);
+                    for (OrderItemEntity item : order.getOrderItems()) {
+                        item.setOrderItemId(null);
+                    }
+                }
+                if (transaction.isActive()) {
+                    transaction.rollback();
+                }
+                throw e;
+            }
+
+            ledger.commit(order.getReservationKey());
+            stockService.reconcile(session, quantities.keySet());
+            eventBus.publish(OrderEvent.of(OrderEvent.Type.COMPLETED, saved, previousStatus));
+            return true;
+        }
+    }
+
+    @Override
+    public boolean cancelOrder(Long orderId) {
+        return cancelOrder(orderId, null);
+    }
+
+    @Override
+    public boolean cancelOrder(Long orderId, String reservationKey) {
+        boolean cancelled = transition(orderId, OrderEvent.Type.CANCELLED,
+                status -> status == OrderEntity.OrderStatus.PENDING || status == OrderEntity.OrderStatus.COMPLETED);
+        if (cancelled) {
+            // The reloaded entity has no cart key of its own; releasing an already settled cart is a no-op
+            ledger.releaseAll(reservationKey);
+        }
+        return cancelled;
+    }
+
+    @Override
+    public boolean refundOrder(Long orderId) {
+        return transition(orderId, OrderEvent.Type.REFUNDED,
+                status -> status == OrderEntity.OrderStatus.COMPLETED);
+    }
+
+    private boolean transition(Long orderId, OrderEvent.Type type, Predicate<OrderEntity.OrderStatus> allowedFrom) {
+        if (orderId == null) {
+            return false;
+        }
+        try (Session session = sessionFactory.openSession()) {
+            Transaction transaction = session.beginTransaction();
+            OrderEntity order;
+            OrderEntity.OrderStatus previousStatus;
+            Map<Long, Integer> restocked = null;
+            try {
+                // Locked so two terminals cannot cancel or refund the same sale twice
+                order = session.find(OrderEntity.class, orderId, LockModeType.PESSIMISTIC_WRITE,
+                        Map.of(FETCH_GRAPH_HINT, session.getEntityGraph(OrderEntity.GRAPH_REFUND)));
+                if (order == null || !allowedFrom.test(order.getOrderStatus())) {
+                    transaction.rollback();
+                    return false;
+                }
+                previousStatus = order.getOrderStatus();
+                if (previousStatus == OrderEntity.OrderStatus.COMPLETED) {
+                    restocked = quantitiesOf(order);
+                    if (restocked == null || !stockService.restoreStock(session, restocked)) {
+                        transaction.rollback();
+                        return false;
+                    }
+                }
+                if (type == OrderEvent.Type.CANCELLED) {
+                    order.markAsCancelled();
+                } else {
+                    order.markAsRefunded();
+                }
+                transaction.commit();
+            } catch (RuntimeException e) {
+                if (transaction.isActive()) {
+                    transaction.rollback();
+                }
+                throw e;
+            }
+            if (restocked != null) {
+                stockService.reconcile(session, restocked.keySet());
+            }
+            eventBus.publish(OrderEvent.of(type, order, previousStatus));
+            return true;
+        }
+    }
+
+    private int quantityOnHand(Long productId) {
+        try (Session session = sessionFactory.openSession()) {
+            Integer onHand = session.createSelectionQuery(
+                            "select p.quantityOnHand from ProductEntity p where p.productId = :id", Integer.class)
+                    .setParameter("id", productId)
+                    .uniqueResult();
+            return onHand != null ? onHand : 0;
+        }
+    }
+
+    private static boolean isPending(Session session, Long orderId) {
+        OrderEntity.OrderStatus status = session.createSelectionQuery(
+                        "select o.orderStatus from OrderEntity o where o.orderId = :id", OrderEntity.OrderStatus.class)
+                .setParameter("id", orderId)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .uniqueResult();
+        return status == OrderEntity.OrderStatus.PENDING;
+    }
+
+    // Quantity per product over the order's lines, or null if a line has no product
+    private static Map<Long, Integer> quantitiesOf(OrderEntity order) {
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (OrderItemEntity item : order.getOrderItems()) {
+            if (item.getProduct() == null || item.getProduct().getProductId() == null) {
+                return null;
+            }
+            quantities.merge(item.getProduct().getProductId(), item.getQuantity(), Integer::sum);
+        }
+        return quantities;
+    }
+}
@@ -0,0 +1,446 @@
+package edu.icet.ecom.service.impl;
+
+import edu.icet.ecom.importer.CsvRowSource;
+import edu.icet.ecom.importer.RowSource;
+import edu.icet.ecom.importer.XlsxRowSource;
+import edu.icet.ecom.inventory.ProductEntityListener;
+import edu.icet.ecom.mapper.ProductMapper;
+import edu.icet.ecom.model.dto.ImportErrorDto;
+import edu.icet.ecom.model.dto.ImportReportDto;
+import edu.icet.ecom.model.dto.ProductDto;
+import edu.icet.ecom.model.entity.CategoryEntity;
+import edu.icet.ecom.model.entity.ProductEntity;
+import edu.icet.ecom.model.entity.SupplierEntity;
+import edu.icet.ecom.service.ProductImportService;
+import edu.icet.ecom.util.AppConfig;
+import edu.icet.ecom.util.HibernateUtil;
+import edu.icet.ecom.util.sequence.CodeAllocator;
+import edu.icet.ecom.util.validation.DtoValidators;
+import edu.icet.ecom.util.validation.Violation;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Catalog import from a supplier spreadsheet.
+ * <p>
+ * Rows are streamed from the file and processed in chunks: each chunk is parsed,
+ * normalised with {@link ProductDto#formatText()} and validated in parallel,
+ * then checked for duplicate product codes and barcodes against the database
+ * and the rest of the file, and finally inserted in one batched transaction on a
+ * stateless session. If a chunk insert fails, its rows are retried one by one
+ * so only the offending rows are rejected. Every rejected row is listed in the
+ * report with its row number.
+ */
+public class ProductImportServiceImpl implements ProductImportService {
+
+    private enum Column {
+        PRODUCT_NAME, DESCRIPTION, SIZE, COLOR, PRICE, COST_PRICE, QUANTITY, REORDER_LEVEL, MAX_STOCK_LEVEL,
+        BARCODE, PRODUCT_CODE, CATEGORY, SUPPLIER
+    }
+
+    private static final Map<String, Column> HEADER_ALIASES = new HashMap<>();
+
+    static {
+        alias(Column.PRODUCT_NAME, "productname", "name", "product");
+        alias(Column.DESCRIPTION, "description");
+        alias(Column.SIZE, "size");
+        alias(Column.COLOR, "color", "colour");
+        alias(Column.PRICE, "price", "sellingprice", "retailprice");
+        alias(Column.COST_PRICE, "costprice", "cost");
+        alias(Column.QUANTITY, "quantity", "quantityonhand", "qty", "stock");
+        alias(Column.REORDER_LEVEL, "reorderlevel");
+        alias(Column.MAX_STOCK_LEVEL, "maxstocklevel", "maxstock");
+        alias(Column.BARCODE, "barcode");
+        alias(Column.PRODUCT_CODE, "productcode", "code", "sku");
+        alias(Column.CATEGORY, "category", "categoryname");
+        alias(Column.SUPPLIER, "supplier", "suppliername");
+    }
+
+    private final SessionFactory sessionFactory;
+    private final ProductMapper productMapper = new ProductMapper();
+    private final int chunkSize = Math.max(1, AppConfig.getInt("IMPORT_CHUNK_SIZE", 1000));
+
+    public ProductImportServiceImpl() {
+        this(HibernateUtil.getSessionFactory());
+    }
+
+    public ProductImportServiceImpl(SessionFactory sessionFactory) {
+        this.sessionFactory = sessionFactory;
+    }
+
+    @Override
+    public ImportReportDto importProducts(Path file) throws IOException {
+        long started = System.currentTimeMillis();
+        String fileName = file.getFileName().toString();
+        String extension = fileName.toLowerCase(Locale.ROOT);
+        RowSource source;
+        if (extension.endsWith(".xlsx")) {
+            source = new XlsxRowSource(file);
+        } else if (extension.endsWith(".csv")) {
+            source = new CsvRowSource(file);
+        } else {
+            throw new IOException("Unsupported import file type: " + fileName);
+        }
+
+        ImportReportDto report = new ImportReportDto();
+        report.setFileName(fileName);
+        ImportRun run = new ImportRun(report);
+        source.read(run);
+        run.flush();
+        report.getErrors().sort(Comparator.comparing(ImportErrorDto::getRowNumber));
+        report.setElapsedMillis(System.currentTimeMillis() - started);
+        return report;
+    }
+
+    private static void alias(Column column, String... names) {
+        for (String name : names) {
+            HEADER_ALIASES.put(name, column);
+        }
+    }
+
+    // One import: reference data, duplicate sets and the pending chunk
+    private final class ImportRun implements RowSource.RowHandler {
+        private final ImportReportDto report;
+        private final Map<String, CategoryEntity> categories = new HashMap<>();
+        private final Map<String, SupplierEntity> suppliers = new HashMap<>();
+        private final Set<String> productCodes = new HashSet<>();
+        private final Set<String> barcodes = new HashSet<>();
+        private final List<RawRow> chunk = new ArrayList<>();
+        private Map<Column, Integer> columns;
+        private boolean aborted;
+
+        private ImportRun(ImportReportDto report) {
+            this.report = report;
+            loadReferenceData();
+        }
+
+        @Override
+        public void row(int rowNumber, List<String> cells) {
+            if (aborted) {
+                return;
+            }
+            if (columns == null) {
+                readHeader(rowNumber, cells);
+                return;
+            }
+            report.setTotalRows(report.getTotalRows() + 1);
+            chunk.add(new RawRow(rowNumber, cells));
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        private void readHeader(int rowNumber, List<String> cells) {
+            columns = new EnumMap<>(Column.class);
+            for (int i = 0; i < cells.size(); i++) {
+                Column column = HEADER_ALIASES.get(normaliseHeader(cells.get(i)));
+                if (column != null) {
+                    columns.putIfAbsent(column, i);
+                }
+            }
+            List<String> missing = Stream.of(Column.PRODUCT_NAME, Column.PRICE, Column.QUANTITY,
+                            Column.CATEGORY, Column.SUPPLIER)
+                    .filter(column -> !columns.containsKey(column))
+                    .map(column -> column.name().toLowerCase(Locale.ROOT).replace('_', ' '))
+                    .collect(Collectors.toList());
+            if (!missing.isEmpty()) {
+                report.getErrors().add(new ImportErrorDto(rowNumber, "Missing column(s): " + String.join(", ", missing)));
+                aborted = true;
+            }
+        }
+
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            // Parsing, normalisation and validation only read shared state, so they run in parallel
+            List<ParsedRow> parsed = chunk.parallelStream().map(this::parse).collect(Collectors.toList());
+            chunk.clear();
+
+            List<ParsedRow> accepted = new ArrayList<>(parsed.size());
+            for (ParsedRow row : parsed) {
+                if (row.error == null) {
+                    row.error = claimUniqueKeys(row.product);
+                }
+                if (row.error != null) {
+                    report.getErrors().add(new ImportErrorDto(row.rowNumber, row.error));
+                } else {
+                    accepted.add(row);
+                }
+            }
+            insert(accepted);
+        }
+
+        private ParsedRow parse(RawRow raw) {
+            ParsedRow row = new ParsedRow(raw.rowNumber);
+            try {
+                ProductDto dto = new ProductDto();
+                dto.setProductName(text(raw, Column.PRODUCT_NAME));
+                dto.setDescription(text(raw, Column.DESCRIPTION));
+                dto.setSize(text(raw, Column.SIZE));
+                dto.setColor(text(raw, Column.COLOR));
+                dto.setPrice(decimal(raw, Column.PRICE));
+                dto.setCostPrice(decimal(raw, Column.COST_PRICE));
+                dto.setQuantityOnHand(integer(raw, Column.QUANTITY));
+                dto.setReorderLevel(integer(raw, Column.REORDER_LEVEL));
+                dto.setMaxStockLevel(integer(raw, Column.MAX_STOCK_LEVEL));
+                dto.setBarcode(text(raw, Column.BARCODE));
+                String code = text(raw, Column.PRODUCT_CODE);
+                dto.setProductCode(code != null ? code.toUpperCase(Locale.ROOT) : null);
+                dto.setIsActive(true);
+
+                String categoryName = text(raw, Column.CATEGORY);
+                CategoryEntity category = categoryName != null ? categories.get(key(categoryName)) : null;
+                String supplierName = text(raw, Column.SUPPLIER);
+                SupplierEntity supplier = supplierName != null ? suppliers.get(key(supplierName)) : null;
+                if (category == null) {
+                    row.error = categoryName == null ? "Category is required" : "Unknown category '" + categoryName + "'";
+                    return row;
+                }
+                if (supplier == null) {
+                    row.error = supplierName == null ? "Supplier is required" : "Unknown supplier '" + supplierName + "'";
+                    return row;
+                }
+                dto.setCategoryId(category.getCategoryId());
+                dto.setSupplierId(supplier.getSupplierId());
+
+                dto.formatText();
+                List<Violation> violations = DtoValidators.PRODUCT.validate(dto);
+                if (!violations.isEmpty()) {
+                    row.error = describeInvalid(violations);
+                    return row;
+                }
+
+                ProductEntity product = productMapper.toEntity(dto);
+                product.setCategory(category);
+                product.setSupplier(supplier);
+                product.updateStock(product.getQuantityOnHand()); // sets the stock status
+                row.product = product;
+            } catch (NumberFormatException e) {
+                row.error = e.getMessage();
+            }
+            return row;
+        }
+
+        // Reserve the row's code and barcode; duplicates within the file or the database are rejected
+        private String claimUniqueKeys(ProductEntity product) {
+            String code = product.getProductCode();
+            String barcode = product.getBarcode();
+            if (code != null && productCodes.contains(code)) {
+                return "Duplicate product code " + code;
+            }
+            if (barcode != null && barcodes.contains(barcode)) {
+                return "Duplicate barcode " + barcode;
+            }
+            if (code != null) {
+                productCodes.add(code);
+            }
+            if (barcode != null) {
+                barcodes.add(barcode);
+            }
+            return null;
+        }
+
+        private void insert(List<ParsedRow> rows) {
+            if (rows.isEmpty()) {
+                return;
+            }
+            // Codes and timestamps are assigned up front because stateless inserts do not run entity callbacks
+            LocalDateTime now = LocalDateTime.now();
+            for (ParsedRow row : rows) {
+                ProductEntity product = row.product;
+                product.setCreatedAt(now);
+                product.setUpdatedAt(now);
+                if (product.getProductCode() == null) {
+                    String prefix = ProductEntity.codePrefix(product.getCategory().getCategoryName());
+                    String code;
+                    // Skip codes the database or earlier rows already use, and keep this one from later rows
+                    do {
+                        code = CodeAllocator.getDefault().nextCode(prefix, 6);
+                    } while (!productCodes.add(code));
+                    product.setProductCode(code);
+                }
+            }
+
+            try (StatelessSession session = sessionFactory.openStatelessSession()) {
+                session.setJdbcBatchSize(rows.size());
+                Transaction transaction = session.beginTransaction();
+                try {
+                    for (ParsedRow row : rows) {
+                        session.insert(row.product);
+                    }
+                    transaction.commit();
+                    report.setImportedCount(report.getImportedCount() + rows.size());
+                    // Stateless inserts bypass the entity listener
+                    ProductEntityListener.savedAll(rows.stream().map(row -> row.product).toList());
+                    return;
+                } catch (RuntimeException e) {
+                    if (transaction.isActive()) {
+                        transaction.rollback();
+                    }
+                }
+
+                // The batch failed as a whole; retry row by row to isolate the bad rows
+                session.setJdbcBatchSize(1);
+                for (ParsedRow row : rows) {
+                    row.product.setProductId(null);
+                    Transaction single = session.beginTransaction();
+                    try {
+                        session.insert(row.product);
+                        single.commit();
+                        imported(row.product);
+                    } catch (RuntimeException e) {
+                        if (single.isActive()) {
+                            single.rollback();
+                        }
+                        report.getErrors().add(new ImportErrorDto(row.rowNumber, "Insert failed: " + rootMessage(e)));
+                    }
+                }
+            }
+        }
+
+        private void imported(ProductEntity product) {
+            report.setImportedCount(report.getImportedCount() + 1);
+            ProductEntityListener.saved(product); // stateless inserts bypass the entity listener
+        }
+
+        private void loadReferenceData() {
+            try (StatelessSession session = sessionFactory.openStatelessSession()) {
+                for (CategoryEntity category : session.createSelectionQuery(
+                        "from CategoryEntity", CategoryEntity.class).getResultList()) {
+                    categories.put(key(category.getCategoryName()), category);
+                    categories.put(String.valueOf(category.getCategoryId()), category);
+                }
+                for (SupplierEntity supplier : session.createSelectionQuery(
+                        "from SupplierEntity", SupplierEntity.class).getResultList()) {
+                    suppliers.put(key(supplier.getSupplierName()), supplier);
+                    if (supplier.getCompany() != null) {
+                        suppliers.putIfAbsent(key(supplier.getCompany()), supplier);
+                    }
+                    suppliers.put(String.valueOf(supplier.getSupplierId()), supplier);
+                }
+                try (Stream<Object[]> rows = session.createSelectionQuery(
+                                "select p.productCode, p.barcode from ProductEntity p", Object[].class)
+                        .setFetchSize(1000)
+                        .getResultStream()) {
+                    rows.forEach(row -> {
+                        if (row[0] != null) {
+                            productCodes.add(((String) row[0]).toUpperCase(Locale.ROOT));
+                        }
+                        if (row[1] != null) {
+                            barcodes.add((String) row[1]);
+                        }
+                    });
+                }
+            }
+        }
+
+        private String text(RawRow raw, Column column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= raw.cells.size()) {
+                return null;
+            }
+            String value = raw.cells.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        private BigDecimal decimal(RawRow raw, Column column) {
+            String value = text(raw, column);
+            if (value == null) {
+                return null;
+            }
+            try {
+                return new BigDecimal(value.replace(",", "").replaceFirst("^(?i)rs\\.?\\s*", ""));
+            } catch (NumberFormatException e) {
+                throw new NumberFormatException("Invalid " + label(column) + " '" + value + "'");
+            }
+        }
+
+        private Integer integer(RawRow raw, Column column) {
+            BigDecimal value = decimal(raw, column);
+            if (value == null) {
+                return null;
+            }
+            try {
+                return value.intValueExact();
+            } catch (ArithmeticException e) {
+                throw new NumberFormatException("Invalid " + label(column) + " '" + value.toPlainString() + "'");
+            }
+        }
+    }
+
+    private static String describeInvalid(List<Violation> violations) {
+        StringBuilder description = new StringBuilder();
+        for (Violation violation : violations) {
+            if (description.length() > 0) {
+                description.append("; ");
+            }
+            description.append(violation.getMessage());
+        }
+        return description.toString();
+    }
+
+    private static String normaliseHeader(String header) {
+        StringBuilder normalised = new StringBuilder(header.length());
+        for (int i = 0; i < header.length(); i++) {
+            char c = header.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                normalised.append(Character.toLowerCase(c));
+            }
+        }
+        return normalised.toString();
+    }
+
+    private static String key(String name) {
+        return name != null ? name.trim().toLowerCase(Locale.ROOT) : "";
+    }
+
+    private static String label(Column column) {
+        return column.name().toLowerCase(Locale.ROOT).replace('_', ' ');
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage() != null ? root.getMessage() : root.getClass().getSimpleName();
+    }
+
+    private static final class RawRow {
+        private final int rowNumber;
+        private final List<String> cells;
+
+        private RawRow(int rowNumber, List<String> cells) {
+            this.rowNumber = rowNumber;
+            this.cells = cells;
+        }
+    }
+
+    private static final class ParsedRow {
+        private final int rowNumber;
+        private ProductEntity product;
+        private String error;
+
+        private ParsedRow(int rowNumber) {
+            this.rowNumber = rowNumber;
+        }
+    }
+}
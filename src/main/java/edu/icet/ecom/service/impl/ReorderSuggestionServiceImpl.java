@@ -0,0 +1,213 @@
+package edu.icet.ecom.service.impl;
+
+import edu.icet.ecom.model.dto.PurchaseListDto;
+import edu.icet.ecom.model.dto.ReorderSuggestionDto;
+import edu.icet.ecom.model.entity.OrderEntity;
+import edu.icet.ecom.service.ReorderSuggestionService;
+import edu.icet.ecom.util.AppConfig;
+import edu.icet.ecom.util.HibernateUtil;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+/**
+ * Reorder quantities from sell-through in order_items.
+ * <p>
+ * Units sold are summed in the database per product, one grouped query per
+ * supplier, and suppliers are processed in parallel, each on its own stateless
+ * session. The sums are kept between runs so {@link #refreshSuggestions} only
+ * aggregates the sales completed since the previous run, and subtracts sales
+ * counted earlier that were cancelled or refunded since; velocity is then the
+ * running total divided by the days elapsed since the window started. Sales
+ * are placed in the window by completion time, falling back to creation time
+ * for orders completed before completed_at was recorded.
+ * <p>
+ * A product is suggested when its projected stock after {@code coverDays} of
+ * sales falls to or below its reorder level. The quantity restores it to the
+ * reorder level plus {@code coverDays} of demand, capped at
+ * {@code maxStockLevel - quantityOnHand}.
+ */
+public class ReorderSuggestionServiceImpl implements ReorderSuggestionService {
+
+    private static final String SUPPLIER_QUERY =
+            "select distinct p.supplier.supplierId from ProductEntity p where p.isActive = true";
+
+    private static final String UNITS_SOLD_QUERY =
+            "select i.product.productId, sum(i.quantity) from OrderItemEntity i join i.order o " +
+                    "where i.product.supplier.supplierId = :supplierId " +
+                    "and o.orderStatus = :completed and o.isReturn = false " +
+                    "and coalesce(o.completedAt, o.createdAt) >= :from " +
+                    "and coalesce(o.completedAt, o.createdAt) < :to " +
+                    "group by i.product.productId";
+
+    // Sales counted by an earlier run (completed in [windowStart, from)) and reversed since
+    private static final String UNITS_REVERSED_QUERY =
+            "select i.product.productId, sum(i.quantity) from OrderItemEntity i join i.order o " +
+                    "where i.product.supplier.supplierId = :supplierId " +
+                    "and o.orderStatus in (:reversed) and o.isReturn = false " +
+                    "and o.completedAt >= :windowStart and o.completedAt < :from " +
+                    "and o.updatedAt >= :from and o.updatedAt < :to " +
+                    "group by i.product.productId";
+
+    private static final String PRODUCT_QUERY =
+            "select p.productId, p.productCode, p.productName, p.quantityOnHand, p.reorderLevel, " +
+                    "p.maxStockLevel, p.costPrice, s.supplierName " +
+                    "from ProductEntity p join p.supplier s " +
+                    "where s.supplierId = :supplierId and p.isActive = true";
+
+    private final SessionFactory sessionFactory;
+    private final ExecutorService executor;
+
+    // Incremental state: units sold per product since windowStart, folded up to lastRunAt
+    private final ConcurrentMap<Long, Long> unitsSold = new ConcurrentHashMap<>();
+    private LocalDateTime windowStart;
+    private LocalDateTime lastRunAt;
+
+    public ReorderSuggestionServiceImpl() {
+        this(HibernateUtil.getSessionFactory());
+    }
+
+    public ReorderSuggestionServiceImpl(SessionFactory sessionFactory) {
+        this.sessionFactory = sessionFactory;
+        int threads = AppConfig.getInt("REORDER_THREADS", Math.max(2, Runtime.getRuntime().availableProcessors()));
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "reorder-suggestions");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public synchronized List<PurchaseListDto> suggestReorders(int windowDays, int coverDays) {
+        LocalDateTime now = LocalDateTime.now();
+        unitsSold.clear();
+        windowStart = now.minusDays(Math.max(1, windowDays));
+        lastRunAt = null;
+        return run(windowStart, now, coverDays);
+    }
+
+    @Override
+    public synchronized List<PurchaseListDto> refreshSuggestions(int coverDays) {
+        if (lastRunAt == null) {
+            return suggestReorders(AppConfig.getInt("REORDER_VELOCITY_DAYS", 90), coverDays);
+        }
+        return run(lastRunAt, LocalDateTime.now(), coverDays);
+    }
+
+    private List<PurchaseListDto> run(LocalDateTime from, LocalDateTime to, int coverDays) {
+        List<Long> supplierIds;
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            supplierIds = session.createSelectionQuery(SUPPLIER_QUERY, Long.class).getResultList();
+        }
+
+        double windowDays = Math.max(1.0, Duration.between(windowStart, to).toMinutes() / (24.0 * 60.0));
+        List<CompletableFuture<PurchaseListDto>> futures = new ArrayList<>(supplierIds.size());
+        for (Long supplierId : supplierIds) {
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> buildPurchaseList(supplierId, from, to, windowDays, Math.max(0, coverDays), to),
+                    executor));
+        }
+
+        List<PurchaseListDto> purchaseLists = new ArrayList<>();
+        try {
+            for (CompletableFuture<PurchaseListDto> future : futures) {
+                PurchaseListDto purchaseList = future.join();
+                if (!purchaseList.getItems().isEmpty()) {
+                    purchaseLists.add(purchaseList);
+                }
+            }
+        } catch (CompletionException e) {
+            // Sums from this run may be partially folded in; start over on the next call
+            lastRunAt = null;
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+        lastRunAt = to;
+        purchaseLists.sort(Comparator.comparing(PurchaseListDto::getSupplierName,
+                Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)));
+        return purchaseLists;
+    }
+
+    private PurchaseListDto buildPurchaseList(Long supplierId, LocalDateTime from, LocalDateTime to,
+                                              double windowDays, int coverDays, LocalDateTime generatedAt) {
+        PurchaseListDto purchaseList = new PurchaseListDto();
+        purchaseList.setSupplierId(supplierId);
+        purchaseList.setGeneratedAt(generatedAt);
+
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            try (Stream<Object[]> rows = session.createSelectionQuery(UNITS_SOLD_QUERY, Object[].class)
+                    .setParameter("supplierId", supplierId)
+                    .setParameter("completed", OrderEntity.OrderStatus.COMPLETED)
+                    .setParameter("from", from)
+                    .setParameter("to", to)
+                    .getResultStream()) {
+                rows.forEach(row -> unitsSold.merge((Long) row[0], ((Number) row[1]).longValue(), Long::sum));
+            }
+            if (from.isAfter(windowStart)) {
+                try (Stream<Object[]> rows = session.createSelectionQuery(UNITS_REVERSED_QUERY, Object[].class)
+                        .setParameter("supplierId", supplierId)
+                        .setParameter("reversed",
+                                List.of(OrderEntity.OrderStatus.CANCELLED, OrderEntity.OrderStatus.REFUNDED))
+                        .setParameter("windowStart", windowStart)
+                        .setParameter("from", from)
+                        .setParameter("to", to)
+                        .getResultStream()) {
+                    rows.forEach(row -> {
+                        long reversed = ((Number) row[1]).longValue();
+                        unitsSold.computeIfPresent((Long) row[0], (id, sold) -> Math.max(sold - reversed, 0L));
+                    });
+                }
+            }
+
+            try (Stream<Object[]> rows = session.createSelectionQuery(PRODUCT_QUERY, Object[].class)
+                    .setParameter("supplierId", supplierId)
+                    .setFetchSize(500)
+                    .getResultStream()) {
+                rows.forEach(row -> {
+                    purchaseList.setSupplierName((String) row[7]);
+                    ReorderSuggestionDto suggestion = suggest(row, windowDays, coverDays);
+                    if (suggestion != null) {
+                        purchaseList.getItems().add(suggestion);
+                    }
+                });
+            }
+        }
+        purchaseList.getItems().sort(Comparator.comparing(ReorderSuggestionDto::getDailyVelocity).reversed());
+        return purchaseList;
+    }
+
+    private ReorderSuggestionDto suggest(Object[] row, double windowDays, int coverDays) {
+        Long productId = (Long) row[0];
+        int onHand = row[3] != null ? (Integer) row[3] : 0;
+        int reorderLevel = row[4] != null ? (Integer) row[4] : 0;
+        int maxStockLevel = row[5] != null ? (Integer) row[5] : Integer.MAX_VALUE;
+
+        long sold = unitsSold.getOrDefault(productId, 0L);
+        double velocity = sold / windowDays;
+        long demand = (long) Math.ceil(velocity * coverDays);
+        if (onHand - demand > reorderLevel) {
+            return null;
+        }
+
+        long needed = reorderLevel + demand - onHand;
+        long headroom = (long) maxStockLevel - onHand;
+        int quantity = (int) Math.min(Math.max(needed, 0L), Math.max(headroom, 0L));
+        if (quantity <= 0) {
+            return null;
+        }
+        return new ReorderSuggestionDto(productId, (String) row[1], (String) row[2], onHand, reorderLevel,
+                row[5] != null ? (Integer) row[5] : null, sold, velocity, quantity, (BigDecimal) row[6]);
+    }
+}
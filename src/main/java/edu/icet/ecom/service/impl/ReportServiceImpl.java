@@ -0,0 +1,106 @@
+package edu.icet.ecom.service.impl;
+
+import edu.icet.ecom.report.ScrollableReportDataSource;
+import edu.icet.ecom.service.ReportService;
+import edu.icet.ecom.util.AppConfig;
+import edu.icet.ecom.util.HibernateUtil;
+import net.sf.jasperreports.engine.JRException;
+import net.sf.jasperreports.engine.JRParameter;
+import net.sf.jasperreports.engine.JasperExportManager;
+import net.sf.jasperreports.engine.JasperFillManager;
+import net.sf.jasperreports.engine.JasperPrint;
+import net.sf.jasperreports.engine.JasperReport;
+import net.sf.jasperreports.engine.fill.JRSwapFileVirtualizer;
+import net.sf.jasperreports.engine.util.JRSwapFile;
+import org.hibernate.SessionFactory;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Fills reports from {@link ScrollableReportDataSource}s with a swap file
+ * virtualizer: once more than {@code REPORT_VIRTUALIZER_PAGES} filled pages are
+ * held in memory, the oldest are written to a swap file under
+ * {@code REPORT_SWAP_DIR}. The printed report is exported inside the same call
+ * so the virtualizer and its swap file can be released afterwards.
+ */
+public class ReportServiceImpl implements ReportService {
+
+    private static final String SALES_QUERY =
+            "select o.orderNumber, o.createdAt, o.customerName, concat(e.firstName, ' ', e.lastName), " +
+                    "o.paymentMethod, o.orderStatus, o.subtotal, o.taxAmount, o.discountAmount, o.totalAmount " +
+                    "from OrderEntity o left join o.employee e " +
+                    "where o.createdAt >= :from and o.createdAt < :to " +
+                    "order by o.createdAt";
+
+    private static final String[] SALES_FIELDS = {
+            "orderNumber", "createdAt", "customerName", "employeeName",
+            "paymentMethod", "orderStatus", "subtotal", "taxAmount", "discountAmount", "totalAmount"
+    };
+
+    private static final String INVENTORY_QUERY =
+            "select p.productCode, p.productName, c.categoryName, s.supplierName, p.size, p.color, " +
+                    "p.quantityOnHand, p.reorderLevel, p.price, p.costPrice, p.status " +
+                    "from ProductEntity p left join p.category c left join p.supplier s " +
+                    "where p.isActive = true " +
+                    "order by c.categoryName, p.productName";
+
+    private static final String[] INVENTORY_FIELDS = {
+            "productCode", "productName", "categoryName", "supplierName", "size", "color",
+            "quantityOnHand", "reorderLevel", "price", "costPrice", "status"
+    };
+
+    private final SessionFactory sessionFactory;
+    private final int pageSize = AppConfig.getInt("REPORT_PAGE_SIZE", 500);
+    private final int virtualizerPages = AppConfig.getInt("REPORT_VIRTUALIZER_PAGES", 50);
+    private final String swapDirectory = AppConfig.get("REPORT_SWAP_DIR", System.getProperty("java.io.tmpdir"));
+
+    public ReportServiceImpl() {
+        this(HibernateUtil.getReportingSessionFactory());
+    }
+
+    public ReportServiceImpl(SessionFactory sessionFactory) {
+        this.sessionFactory = sessionFactory;
+    }
+
+    @Override
+    public void exportSalesReport(JasperReport report, LocalDateTime from, LocalDateTime to,
+                                  Map<String, Object> parameters, OutputStream out) throws JRException {
+        Map<String, Object> queryParameters = new HashMap<>();
+        queryParameters.put("from", from);
+        queryParameters.put("to", to);
+        try (ScrollableReportDataSource dataSource = new ScrollableReportDataSource(
+                sessionFactory, SALES_QUERY, queryParameters, pageSize, SALES_FIELDS)) {
+            export(report, parameters, dataSource, out);
+        }
+    }
+
+    @Override
+    public void exportInventoryReport(JasperReport report, Map<String, Object> parameters,
+                                      OutputStream out) throws JRException {
+        try (ScrollableReportDataSource dataSource = new ScrollableReportDataSource(
+                sessionFactory, INVENTORY_QUERY, null, pageSize, INVENTORY_FIELDS)) {
+            export(report, parameters, dataSource, out);
+        }
+    }
+
+    private void export(JasperReport report, Map<String, Object> parameters,
+                        ScrollableReportDataSource dataSource, OutputStream out) throws JRException {
+        JRSwapFile swapFile = new JRSwapFile(swapDirectory, 4096, 100);
+        JRSwapFileVirtualizer virtualizer = new JRSwapFileVirtualizer(virtualizerPages, swapFile, true);
+        try {
+            Map<String, Object> fillParameters = new HashMap<>();
+            if (parameters != null) {
+                fillParameters.putAll(parameters);
+            }
+            fillParameters.put(JRParameter.REPORT_VIRTUALIZER, virtualizer);
+            JasperPrint print = JasperFillManager.fillReport(report, fillParameters, dataSource);
+            virtualizer.setReadOnly(true);
+            JasperExportManager.exportReportToPdfStream(print, out);
+        } finally {
+            virtualizer.cleanup();
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package edu.icet.ecom.service.impl;
+
+import edu.icet.ecom.inventory.InventoryRollups;
+import edu.icet.ecom.inventory.StockLevelMonitor;
+import edu.icet.ecom.inventory.StockReservationLedger;
+import edu.icet.ecom.model.entity.OrderEntity;
+import edu.icet.ecom.model.entity.OrderItemEntity;
+import edu.icet.ecom.service.StockService;
+import edu.icet.ecom.util.HibernateUtil;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Stock reduction with one guarded UPDATE per product, sent as a single JDBC
+ * batch. The WHERE clause makes the check and the decrement atomic, so no
+ * product rows are loaded or locked up front. The status CASE is assigned
+ * before quantity_on_hand because MySQL evaluates SET assignments left to
+ * right; it mirrors ProductEntity.updateStatus().
+ */
+public class StockServiceImpl implements StockService {
+
+    private static final String REDUCE_STOCK_SQL =
+            "UPDATE products SET " +
+                    "status = CASE " +
+                    "WHEN quantity_on_hand - ? <= 0 THEN 'OUT_OF_STOCK' " +
+                    "WHEN quantity_on_hand - ? <= reorder_level THEN 'LOW_STOCK' " +
+                    "ELSE 'AVAILABLE' END, " +
+                    "quantity_on_hand = quantity_on_hand - ?, " +
+                    "updated_at = CURRENT_TIMESTAMP " +
+                    "WHERE product_id = ? AND quantity_on_hand >= ?";
+
+    private static final String RESTORE_STOCK_SQL =
+            "UPDATE products SET " +
+                    "status = CASE " +
+                    "WHEN quantity_on_hand + ? <= 0 THEN 'OUT_OF_STOCK' " +
+                    "WHEN quantity_on_hand + ? <= reorder_level THEN 'LOW_STOCK' " +
+                    "ELSE 'AVAILABLE' END, " +
+                    "quantity_on_hand = quantity_on_hand + ?, " +
+                    "updated_at = CURRENT_TIMESTAMP " +
+                    "WHERE product_id = ?";
+
+    private final SessionFactory sessionFactory;
+    private final StockReservationLedger ledger = StockReservationLedger.getInstance();
+    private final StockLevelMonitor stockLevelMonitor = StockLevelMonitor.getInstance();
+    private final InventoryRollups inventoryRollups = InventoryRollups.getInstance();
+
+    public StockServiceImpl() {
+        this(HibernateUtil.getSessionFactory());
+    }
+
+    public StockServiceImpl(SessionFactory sessionFactory) {
+        this.sessionFactory = sessionFactory;
+    }
+
+    @Override
+    public boolean reduceStock(OrderEntity order) {
+        Map<Long, Integer> quantities = new TreeMap<>();
+        if (order != null && order.getOrderItems() != null) {
+            for (OrderItemEntity item : order.getOrderItems()) {
+                if (item.getProduct() == null || item.getProduct().getProductId() == null) {
+                    return false;
+                }
+                quantities.merge(item.getProduct().getProductId(), item.getQuantity(), Integer::sum);
+            }
+        }
+        return reduceStock(quantities, order != null ? order.getReservationKey() : null);
+    }
+
+    @Override
+    public boolean reduceStock(Map<Long, Integer> quantitiesByProductId) {
+        return reduceStock(quantitiesByProductId, null);
+    }
+
+    private boolean reduceStock(Map<Long, Integer> quantitiesByProductId, String reservationKey) {
+        try (Session session = sessionFactory.openSession()) {
+            Transaction transaction = session.beginTransaction();
+            try {
+                if (!reduceStock(session, quantitiesByProductId)) {
+                    transaction.rollback();
+                    return false;
+                }
+                transaction.commit();
+            } catch (RuntimeException e) {
+                if (transaction.isActive()) {
+                    transaction.rollback();
+                }
+                throw e;
+            }
+            // The cart's holds became sales; drop them before reconciling with the new quantities
+            ledger.commit(reservationKey);
+            if (quantitiesByProductId != null) {
+                reconcile(session, quantitiesByProductId.keySet());
+            }
+            return true;
+        }
+    }
+
+    @Override
+    public void reconcile(Session session, Collection<Long> productIds) {
+        if (productIds == null || productIds.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = session.createQuery(
+                        "select p.productId, p.quantityOnHand, p.reorderLevel from ProductEntity p " +
+                                "where p.productId in (:ids)",
+                        Object[].class)
+                .setParameter("ids", productIds)
+                .getResultList();
+        for (Object[] row : rows) {
+            ledger.reconcile((Long) row[0], row[1] != null ? (Integer) row[1] : 0);
+            stockLevelMonitor.record((Long) row[0], (Integer) row[1], (Integer) row[2]);
+            inventoryRollups.updateQuantity((Long) row[0], (Integer) row[1]);
+        }
+    }
+
+    @Override
+    public boolean reduceStock(Session session, Map<Long, Integer> quantitiesByProductId) {
+        return applyBatch(session, REDUCE_STOCK_SQL, quantitiesByProductId, true);
+    }
+
+    @Override
+    public boolean restoreStock(Session session, Map<Long, Integer> quantitiesByProductId) {
+        return applyBatch(session, RESTORE_STOCK_SQL, quantitiesByProductId, false);
+    }
+
+    // One guarded UPDATE per product in a single JDBC batch; false if any row was not updated
+    private boolean applyBatch(Session session, String sql, Map<Long, Integer> quantitiesByProductId,
+                               boolean guardOnHand) {
+        if (quantitiesByProductId == null || quantitiesByProductId.isEmpty()) {
+            return true;
+        }
+
+        // Sorted by product id so concurrent checkouts take row locks in the same order
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (Map.Entry<Long, Integer> entry : quantitiesByProductId.entrySet()) {
+            Integer quantity = entry.getValue();
+            if (entry.getKey() == null || quantity == null || quantity <= 0) {
+                return false;
+            }
+            quantities.merge(entry.getKey(), quantity, Integer::sum);
+        }
+
+        return session.doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+                    int quantity = entry.getValue();
+                    statement.setInt(1, quantity);
+                    statement.setInt(2, quantity);
+                    statement.setInt(3, quantity);
+                    statement.setLong(4, entry.getKey());
+                    if (guardOnHand) {
+                        statement.setInt(5, quantity);
+                    }
+                    statement.addBatch();
+                }
+                // Each guarded UPDATE must report exactly one row; 0 means insufficient stock or an
+                // unknown product, and SUCCESS_NO_INFO or EXECUTE_FAILED leave the guard unconfirmed
+                for (int updated : statement.executeBatch()) {
+                    if (updated != 1) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        });
+    }
+}
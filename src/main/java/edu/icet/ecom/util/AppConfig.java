@@ -0,0 +1,46 @@
+package edu.icet.ecom.util;
+
+import io.github.cdimascio.dotenv.Dotenv;
+
+/**
+ * Application settings read from system properties, the {@code .env} file
+ * or environment variables, in that order.
+ */
+public final class AppConfig {
+
+    private static final Dotenv DOTENV = Dotenv.configure().ignoreIfMissing().load();
+
+    private AppConfig() {
+    }
+
+    public static String get(String key, String defaultValue) {
+        String value = System.getProperty(key);
+        if (value == null) {
+            value = DOTENV.get(key);
+        }
+        return value != null && !value.trim().isEmpty() ? value.trim() : defaultValue;
+    }
+
+    public static int getInt(String key, int defaultValue) {
+        String value = get(key, null);
+        try {
+            return value != null ? Integer.parseInt(value) : defaultValue;
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    public static long getLong(String key, long defaultValue) {
+        String value = get(key, null);
+        try {
+            return value != null ? Long.parseLong(value) : defaultValue;
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        String value = get(key, null);
+        return value != null ? Boolean.parseBoolean(value) : defaultValue;
+    }
+}
@@ -0,0 +1,121 @@
+package edu.icet.ecom.util;
+
+import edu.icet.ecom.model.entity.*;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+
+/**
+ * Builds the application-wide {@link SessionFactory} from {@link AppConfig}, and
+ * a separate small one for reports and exports.
+ * <p>
+ * The reporting factory connects with {@code useCursorFetch=true}, so MySQL
+ * honours the fetch size of a scrolled query and streams large results.
+ * Cursor fetch would also turn every other query into a server-side prepared
+ * statement with extra round trips, so it stays off the main URL.
+ */
+public final class HibernateUtil {
+
+    private static final String DEFAULT_URL =
+            "jdbc:mysql://localhost:3306/clothify_store?createDatabaseIfNotExist=true&rewriteBatchedStatements=true";
+
+    private static volatile SessionFactory sessionFactory;
+    private static volatile SessionFactory reportingSessionFactory;
+
+    private HibernateUtil() {
+    }
+
+    public static SessionFactory getSessionFactory() {
+        SessionFactory factory = sessionFactory;
+        if (factory == null) {
+            synchronized (HibernateUtil.class) {
+                factory = sessionFactory;
+                if (factory == null) {
+                    factory = buildSessionFactory();
+                    sessionFactory = factory;
+                }
+            }
+        }
+        return factory;
+    }
+
+    // Read-only streaming for reports and exports; the schema is left to the main factory
+    public static SessionFactory getReportingSessionFactory() {
+        SessionFactory factory = reportingSessionFactory;
+        if (factory == null) {
+            synchronized (HibernateUtil.class) {
+                factory = reportingSessionFactory;
+                if (factory == null) {
+                    factory = buildReportingSessionFactory();
+                    reportingSessionFactory = factory;
+                }
+            }
+        }
+        return factory;
+    }
+
+    public static void shutdown() {
+        SessionFactory factory = sessionFactory;
+        if (factory != null) {
+            factory.close();
+            sessionFactory = null;
+        }
+        SessionFactory reporting = reportingSessionFactory;
+        if (reporting != null) {
+            reporting.close();
+            reportingSessionFactory = null;
+        }
+    }
+
+    private static SessionFactory buildSessionFactory() {
+        Configuration configuration = baseConfiguration(AppConfig.get("DB_URL", DEFAULT_URL),
+                AppConfig.get("DB_POOL_SIZE", "20"))
+                .setProperty("hibernate.hbm2ddl.auto", AppConfig.get("DB_SCHEMA_ACTION", "update"))
+                // JDBC batching; needs non-IDENTITY ids on the batched entities
+                .setProperty("hibernate.jdbc.batch_size", AppConfig.get("DB_BATCH_SIZE", "50"))
+                .setProperty("hibernate.order_inserts", "true")
+                .setProperty("hibernate.order_updates", "true")
+                .setProperty("hibernate.jdbc.batch_versioned_data", "true")
+                // Second-level cache for reference data; regions are sized in ehcache.xml
+                .setProperty("hibernate.cache.use_second_level_cache", "true")
+                .setProperty("hibernate.cache.region.factory_class", "jcache")
+                .setProperty("hibernate.javax.cache.provider", "org.ehcache.jsr107.EhcacheCachingProvider")
+                .setProperty("hibernate.javax.cache.uri", "ehcache.xml");
+        return configuration.buildSessionFactory();
+    }
+
+    private static SessionFactory buildReportingSessionFactory() {
+        String url = AppConfig.get("DB_REPORT_URL", null);
+        if (url == null) {
+            url = reportingUrl(AppConfig.get("DB_URL", DEFAULT_URL));
+        }
+        return baseConfiguration(url, AppConfig.get("DB_REPORT_POOL_SIZE", "2"))
+                .setProperty("hibernate.hbm2ddl.auto", "none")
+                .buildSessionFactory();
+    }
+
+    // The main URL with cursor fetch switched on
+    static String reportingUrl(String mainUrl) {
+        return mainUrl + (mainUrl.contains("?") ? "&" : "?") + "useCursorFetch=true";
+    }
+
+    private static Configuration baseConfiguration(String url, String poolSize) {
+        Configuration configuration = new Configuration()
+                .setProperty("hibernate.connection.driver_class", "com.mysql.cj.jdbc.Driver")
+                .setProperty("hibernate.connection.url", url)
+                .setProperty("hibernate.connection.username", AppConfig.get("DB_USERNAME", "root"))
+                .setProperty("hibernate.connection.password", AppConfig.get("DB_PASSWORD", ""))
+                .setProperty("hibernate.connection.pool_size", poolSize)
+                .setProperty("hibernate.show_sql", AppConfig.get("DB_SHOW_SQL", "false"))
+                .setProperty("hibernate.generate_statistics", "true");
+
+        configuration.addAnnotatedClass(UserEntity.class)
+                .addAnnotatedClass(EmployeeEntity.class)
+                .addAnnotatedClass(CategoryEntity.class)
+                .addAnnotatedClass(SupplierEntity.class)
+                .addAnnotatedClass(ProductEntity.class)
+                .addAnnotatedClass(OrderEntity.class)
+                .addAnnotatedClass(OrderItemEntity.class)
+                .addAnnotatedClass(CodeSequenceEntity.class);
+        return configuration;
+    }
+}
@@ -0,0 +1,107 @@
+package edu.icet.ecom.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point money arithmetic on {@code long} minor units (cents).
+ * The order model keeps its running amounts as cents and only converts
+ * to {@link BigDecimal} at the JPA column boundary, so callers should convert
+ * a {@link BigDecimal} once when it is set rather than on every calculation.
+ */
+public final class Money {
+
+    public static final int SCALE = 2;
+    public static final long CENTS_PER_UNIT = 100L;
+    public static final long BASIS_POINTS = 10_000L;
+
+    // Sales tax rate in basis points (800 = 8%)
+    public static final long TAX_RATE_BASIS_POINTS = 800L;
+
+    private static final BigDecimal ZERO_AMOUNT = BigDecimal.ZERO.setScale(SCALE);
+
+    private Money() {
+    }
+
+    // Primitive operations used on the hot path (no allocation)
+
+    public static long add(long a, long b) {
+        return Math.addExact(a, b);
+    }
+
+    public static long subtract(long a, long b) {
+        return Math.subtractExact(a, b);
+    }
+
+    public static long multiply(long cents, long quantity) {
+        return Math.multiplyExact(cents, quantity);
+    }
+
+    // Apply a rate expressed in basis points (800 = 8%) with an explicit rounding mode
+    public static long applyRate(long cents, long basisPoints, RoundingMode mode) {
+        return divide(Math.multiplyExact(cents, basisPoints), BASIS_POINTS, mode);
+    }
+
+    // Integer division with the same semantics as BigDecimal rounding modes
+    public static long divide(long dividend, long divisor, RoundingMode mode) {
+        if (divisor == 0L) {
+            throw new ArithmeticException("Division by zero");
+        }
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (remainder == 0L) {
+            return quotient;
+        }
+
+        int sign = (dividend < 0) == (divisor < 0) ? 1 : -1;
+        long twiceRemainder = Math.abs(remainder) * 2;
+        long absDivisor = Math.abs(divisor);
+
+        boolean increment;
+        switch (mode) {
+            case UP:
+                increment = true;
+                break;
+            case DOWN:
+                increment = false;
+                break;
+            case CEILING:
+                increment = sign > 0;
+                break;
+            case FLOOR:
+                increment = sign < 0;
+                break;
+            case HALF_UP:
+                increment = twiceRemainder >= absDivisor;
+                break;
+            case HALF_DOWN:
+                increment = twiceRemainder > absDivisor;
+                break;
+            case HALF_EVEN:
+                increment = twiceRemainder > absDivisor ||
+                        (twiceRemainder == absDivisor && (quotient & 1L) != 0L);
+                break;
+            case UNNECESSARY:
+            default:
+                throw new ArithmeticException("Rounding necessary");
+        }
+        return increment ? quotient + sign : quotient;
+    }
+
+    // Boundary conversions
+
+    public static long toCents(BigDecimal amount) {
+        return toCents(amount, RoundingMode.HALF_UP);
+    }
+
+    public static long toCents(BigDecimal amount, RoundingMode mode) {
+        if (amount == null || amount.signum() == 0) {
+            return 0L;
+        }
+        return amount.setScale(SCALE, mode).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toBigDecimal(long cents) {
+        return cents == 0L ? ZERO_AMOUNT : BigDecimal.valueOf(cents, SCALE);
+    }
+}
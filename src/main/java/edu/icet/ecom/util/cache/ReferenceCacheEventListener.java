@@ -0,0 +1,63 @@
+package edu.icet.ecom.util.cache;
+
+import org.ehcache.event.CacheEvent;
+import org.ehcache.event.CacheEventListener;
+import org.ehcache.event.EventType;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts evictions and expirations per reference-data region. Ehcache creates
+ * listeners by class name, so each region in {@code ehcache.xml} uses its own
+ * nested subclass.
+ */
+public abstract class ReferenceCacheEventListener implements CacheEventListener<Object, Object> {
+
+    private static final Map<String, LongAdder> EVICTIONS = new ConcurrentHashMap<>();
+    private static final Map<String, LongAdder> EXPIRATIONS = new ConcurrentHashMap<>();
+
+    private final String region;
+
+    protected ReferenceCacheEventListener(String region) {
+        this.region = region;
+    }
+
+    @Override
+    public void onEvent(CacheEvent<?, ?> event) {
+        if (event.getType() == EventType.EVICTED) {
+            EVICTIONS.computeIfAbsent(region, key -> new LongAdder()).increment();
+        } else if (event.getType() == EventType.EXPIRED) {
+            EXPIRATIONS.computeIfAbsent(region, key -> new LongAdder()).increment();
+        }
+    }
+
+    public static long getEvictionCount(String region) {
+        LongAdder counter = EVICTIONS.get(region);
+        return counter != null ? counter.sum() : 0L;
+    }
+
+    public static long getExpirationCount(String region) {
+        LongAdder counter = EXPIRATIONS.get(region);
+        return counter != null ? counter.sum() : 0L;
+    }
+
+    public static class Category extends ReferenceCacheEventListener {
+        public Category() {
+            super(ReferenceDataCache.CATEGORY_REGION);
+        }
+    }
+
+    public static class Supplier extends ReferenceCacheEventListener {
+        public Supplier() {
+            super(ReferenceDataCache.SUPPLIER_REGION);
+        }
+    }
+
+    public static class Employee extends ReferenceCacheEventListener {
+        public Employee() {
+            super(ReferenceDataCache.EMPLOYEE_REGION);
+        }
+    }
+}
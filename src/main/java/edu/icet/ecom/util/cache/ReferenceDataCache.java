@@ -0,0 +1,98 @@
+package edu.icet.ecom.util.cache;
+
+import edu.icet.ecom.model.dto.CacheStatsDto;
+import edu.icet.ecom.util.HibernateUtil;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+
+import javax.cache.Cache;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Second-level cache regions for categories, suppliers and employees:
+ * hit/miss/eviction counters for sizing, and explicit invalidation for
+ * writes that bypass the Hibernate session (bulk or native SQL).
+ */
+public final class ReferenceDataCache {
+
+    public static final String CATEGORY_REGION = "reference.category";
+    public static final String SUPPLIER_REGION = "reference.supplier";
+    public static final String EMPLOYEE_REGION = "reference.employee";
+
+    private static final String[] REGIONS = {CATEGORY_REGION, SUPPLIER_REGION, EMPLOYEE_REGION};
+
+    private ReferenceDataCache() {
+    }
+
+    public static CacheStatsDto getStats(String region) {
+        return getStats(HibernateUtil.getSessionFactory(), region);
+    }
+
+    public static CacheStatsDto getStats(SessionFactory sessionFactory, String region) {
+        CacheRegionStatistics statistics = sessionFactory.getStatistics().getCacheRegionStatistics(region);
+        if (statistics == null) {
+            return new CacheStatsDto(region, 0L, 0L, 0L,
+                    ReferenceCacheEventListener.getEvictionCount(region),
+                    ReferenceCacheEventListener.getExpirationCount(region), 0L);
+        }
+        return new CacheStatsDto(region,
+                statistics.getHitCount(),
+                statistics.getMissCount(),
+                statistics.getPutCount(),
+                ReferenceCacheEventListener.getEvictionCount(region),
+                ReferenceCacheEventListener.getExpirationCount(region),
+                countEntries(sessionFactory, region));
+    }
+
+    public static List<CacheStatsDto> getAllStats() {
+        return getAllStats(HibernateUtil.getSessionFactory());
+    }
+
+    public static List<CacheStatsDto> getAllStats(SessionFactory sessionFactory) {
+        List<CacheStatsDto> stats = new ArrayList<>(REGIONS.length);
+        for (String region : REGIONS) {
+            stats.add(getStats(sessionFactory, region));
+        }
+        return stats;
+    }
+
+    // Drop one cached entity after a write made outside the session
+    public static void invalidate(Class<?> entityClass, Object id) {
+        invalidate(HibernateUtil.getSessionFactory(), entityClass, id);
+    }
+
+    public static void invalidate(SessionFactory sessionFactory, Class<?> entityClass, Object id) {
+        sessionFactory.getCache().evictEntityData(entityClass, id);
+    }
+
+    // Drop every cached instance of an entity type, e.g. after a bulk update
+    public static void invalidateAll(Class<?> entityClass) {
+        invalidateAll(HibernateUtil.getSessionFactory(), entityClass);
+    }
+
+    public static void invalidateAll(SessionFactory sessionFactory, Class<?> entityClass) {
+        sessionFactory.getCache().evictEntityData(entityClass);
+    }
+
+    // Hibernate's region statistics cannot count JCache entries; the regions are small enough to walk
+    private static long countEntries(SessionFactory sessionFactory, String region) {
+        RegionFactory regionFactory = sessionFactory.unwrap(SessionFactoryImplementor.class)
+                .getCache().getRegionFactory();
+        if (!(regionFactory instanceof JCacheRegionFactory jcache)) {
+            return 0L;
+        }
+        Cache<Object, Object> cache = jcache.getCacheManager().getCache(region);
+        if (cache == null) {
+            return 0L;
+        }
+        long count = 0L;
+        for (Cache.Entry<Object, Object> ignored : cache) {
+            count++;
+        }
+        return count;
+    }
+}
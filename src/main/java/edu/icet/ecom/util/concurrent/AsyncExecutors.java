@@ -0,0 +1,85 @@
+package edu.icet.ecom.util.concurrent;
+
+import edu.icet.ecom.util.AppConfig;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor for blocking data access started from screens. On JDK 21 and later
+ * every task gets its own virtual thread (looked up reflectively, the build
+ * targets 17); on older runtimes a pool of {@code ASYNC_THREADS} daemon
+ * threads, sized to the connection pool by default, stands in. Futures from
+ * {@link #supply} interrupt their worker when cancelled.
+ */
+public final class AsyncExecutors {
+
+    private static final ExecutorService EXECUTOR = createExecutor();
+
+    private AsyncExecutors() {
+    }
+
+    public static ExecutorService executor() {
+        return EXECUTOR;
+    }
+
+    public static boolean usesVirtualThreads() {
+        return !(EXECUTOR instanceof ThreadPoolExecutor);
+    }
+
+    public static <T> CompletableFuture<T> supply(Callable<T> task) {
+        InterruptibleFuture<T> result = new InterruptibleFuture<>();
+        result.worker = EXECUTOR.submit(() -> {
+            if (result.isDone()) {
+                return; // cancelled before it started
+            }
+            try {
+                result.complete(task.call());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    private static ExecutorService createExecutor() {
+        if (AppConfig.getBoolean("ASYNC_VIRTUAL_THREADS", true)) {
+            try {
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // Runtime without virtual threads
+            }
+        }
+        int threads = Math.max(1, AppConfig.getInt("ASYNC_THREADS", AppConfig.getInt("DB_POOL_SIZE", 20)));
+        AtomicInteger count = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 30L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "async-data-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    private static final class InterruptibleFuture<T> extends CompletableFuture<T> {
+        private volatile Future<?> worker;
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            Future<?> running = worker;
+            if (cancelled && running != null) {
+                running.cancel(true);
+            }
+            return cancelled;
+        }
+    }
+}
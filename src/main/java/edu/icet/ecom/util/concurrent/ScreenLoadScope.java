@@ -0,0 +1,137 @@
+package edu.icet.ecom.util.concurrent;
+
+import javafx.application.Platform;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+/**
+ * The data loads of one screen, run in parallel and delivered together. Each
+ * {@link #fork} starts a load and names the JavaFX-thread consumer for its
+ * result; {@link #join} waits, without blocking, for all of them and then
+ * runs every consumer in fork order inside a single {@code Platform.runLater}.
+ * The first failure cancels the other loads and only the failure handler
+ * runs. Closing the scope, typically when the user leaves the screen, cancels
+ * whatever is still running and suppresses delivery.
+ */
+public final class ScreenLoadScope implements AutoCloseable {
+
+    private static final System.Logger LOG = System.getLogger(ScreenLoadScope.class.getName());
+
+    private final List<Fork<?>> forks = new ArrayList<>();
+    private Consumer<Throwable> onFailure = error -> LOG.log(System.Logger.Level.WARNING, "Screen load failed", error);
+    private volatile boolean closed;
+    private boolean joined;
+
+    public <T> void fork(Callable<T> task, Consumer<? super T> onLoaded) {
+        fork(AsyncExecutors.supply(task), onLoaded);
+    }
+
+    public synchronized <T> void fork(CompletableFuture<T> load, Consumer<? super T> onLoaded) {
+        if (joined) {
+            throw new IllegalStateException("Scope already joined");
+        }
+        forks.add(new Fork<>(load, onLoaded));
+        // Shut down on the first failure rather than waiting for the slowest sibling
+        load.whenComplete((ignored, error) -> {
+            if (error != null && !(unwrap(error) instanceof CancellationException)) {
+                cancelAll();
+            }
+        });
+        if (closed) {
+            load.cancel(true);
+        }
+    }
+
+    // Runs on the JavaFX thread in place of the consumers when a load fails
+    public synchronized void onFailure(Consumer<Throwable> onFailure) {
+        this.onFailure = onFailure;
+    }
+
+    // Completes after the batch was delivered (or the failure handled) on the JavaFX thread
+    public synchronized CompletableFuture<Void> join() {
+        joined = true;
+        List<Fork<?>> loads = new ArrayList<>(forks);
+        Consumer<Throwable> failureHandler = onFailure;
+        CompletableFuture<Void> delivered = new CompletableFuture<>();
+        CompletableFuture.allOf(loads.stream().map(fork -> fork.load).toArray(CompletableFuture[]::new))
+                .whenComplete((ignored, error) -> Platform.runLater(() -> {
+                    if (closed) {
+                        delivered.cancel(false);
+                        return;
+                    }
+                    Throwable failure = error != null ? firstFailure(loads) : null;
+                    try {
+                        if (failure != null) {
+                            failureHandler.accept(failure);
+                        } else {
+                            loads.forEach(Fork::deliver);
+                        }
+                        delivered.complete(null);
+                    } catch (RuntimeException e) {
+                        delivered.completeExceptionally(e);
+                    }
+                }));
+        return delivered;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        cancelAll();
+    }
+
+    private synchronized void cancelAll() {
+        for (Fork<?> fork : forks) {
+            fork.load.cancel(true);
+        }
+    }
+
+    // The failure that caused the shutdown, not the cancellations it triggered
+    private static Throwable firstFailure(List<Fork<?>> loads) {
+        Throwable cancellation = null;
+        for (Fork<?> fork : loads) {
+            if (fork.load.isCompletedExceptionally()) {
+                try {
+                    fork.load.join();
+                } catch (CancellationException e) {
+                    cancellation = e;
+                } catch (CompletionException e) {
+                    Throwable cause = unwrap(e);
+                    if (!(cause instanceof CancellationException)) {
+                        return cause;
+                    }
+                    cancellation = cause;
+                }
+            }
+        }
+        return cancellation;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private static final class Fork<T> {
+        private final CompletableFuture<T> load;
+        private final Consumer<? super T> onLoaded;
+
+        private Fork(CompletableFuture<T> load, Consumer<? super T> onLoaded) {
+            this.load = load;
+            this.onLoaded = onLoaded;
+        }
+
+        private void deliver() {
+            onLoaded.accept(load.join());
+        }
+    }
+}
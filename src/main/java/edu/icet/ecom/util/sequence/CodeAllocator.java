@@ -0,0 +1,46 @@
+package edu.icet.ecom.util.sequence;
+
+import edu.icet.ecom.util.AppConfig;
+import edu.icet.ecom.util.HibernateUtil;
+
+/**
+ * Hands out unique sequence numbers per code prefix (product and employee codes).
+ */
+public interface CodeAllocator {
+
+    long next(String prefix);
+
+    // Formatted code such as "SHI-000042"
+    default String nextCode(String prefix, int digits) {
+        return prefix + "-" + String.format("%0" + digits + "d", next(prefix));
+    }
+
+    static CodeAllocator getDefault() {
+        CodeAllocator allocator = Holder.instance;
+        if (allocator == null) {
+            synchronized (Holder.class) {
+                allocator = Holder.instance;
+                if (allocator == null) {
+                    allocator = new TableCodeAllocator(HibernateUtil.getSessionFactory(),
+                            AppConfig.getInt("CODE_BLOCK_SIZE", 100));
+                    Holder.instance = allocator;
+                }
+            }
+        }
+        return allocator;
+    }
+
+    static void setDefault(CodeAllocator allocator) {
+        if (allocator == null) {
+            throw new IllegalArgumentException("Code allocator cannot be null");
+        }
+        Holder.instance = allocator;
+    }
+
+    final class Holder {
+        private static volatile CodeAllocator instance;
+
+        private Holder() {
+        }
+    }
+}
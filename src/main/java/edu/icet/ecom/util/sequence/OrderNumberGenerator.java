@@ -0,0 +1,43 @@
+package edu.icet.ecom.util.sequence;
+
+/**
+ * Produces receipt numbers for new orders. The active generator can be
+ * replaced at startup, e.g. with a generator for a specific terminal.
+ */
+public interface OrderNumberGenerator {
+
+    String nextOrderNumber();
+
+    // The configured terminal's generator unless one was set; fails when TERMINAL_ID is missing on a multi-till install
+    static OrderNumberGenerator getDefault() {
+        return Holder.get();
+    }
+
+    static void setDefault(OrderNumberGenerator generator) {
+        if (generator == null) {
+            throw new IllegalArgumentException("Order number generator cannot be null");
+        }
+        Holder.instance = generator;
+    }
+
+    final class Holder {
+        private static volatile OrderNumberGenerator instance;
+
+        private Holder() {
+        }
+
+        private static OrderNumberGenerator get() {
+            OrderNumberGenerator generator = instance;
+            if (generator == null) {
+                synchronized (Holder.class) {
+                    generator = instance;
+                    if (generator == null) {
+                        generator = TerminalOrderNumberGenerator.fromConfig();
+                        instance = generator;
+                    }
+                }
+            }
+            return generator;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package edu.icet.ecom.util.sequence;
+
+import edu.icet.ecom.model.entity.CodeSequenceEntity;
+import jakarta.persistence.LockModeType;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.exception.ConstraintViolationException;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Hi/lo code allocator. Each prefix reserves a block of numbers from the
+ * {@code code_sequences} table in its own short transaction and then serves
+ * the block from memory, so parallel inserts never collide on codes and only
+ * touch the table once per block.
+ */
+public class TableCodeAllocator implements CodeAllocator {
+
+    private static final int MAX_RESERVE_ATTEMPTS = 3;
+
+    private final SessionFactory sessionFactory;
+    private final int blockSize;
+    private final ConcurrentMap<String, Block> blocks = new ConcurrentHashMap<>();
+
+    public TableCodeAllocator(SessionFactory sessionFactory, int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be positive");
+        }
+        this.sessionFactory = sessionFactory;
+        this.blockSize = blockSize;
+    }
+
+    @Override
+    public long next(String prefix) {
+        Block block = blocks.computeIfAbsent(prefix, key -> new Block());
+        synchronized (block) {
+            if (block.next >= block.limit) {
+                block.next = reserveBlock(prefix);
+                block.limit = block.next + blockSize;
+            }
+            return block.next++;
+        }
+    }
+
+    // Advance the stored high value by one block and return the first number of the block
+    private long reserveBlock(String prefix) {
+        for (int attempt = 1; ; attempt++) {
+            try (Session session = sessionFactory.openSession()) {
+                Transaction transaction = session.beginTransaction();
+                try {
+                    CodeSequenceEntity sequence =
+                            session.find(CodeSequenceEntity.class, prefix, LockModeType.PESSIMISTIC_WRITE);
+                    long start;
+                    if (sequence == null) {
+                        start = 1L;
+                        session.persist(new CodeSequenceEntity(prefix, start + blockSize));
+                    } else {
+                        start = sequence.getNextValue();
+                        sequence.setNextValue(start + blockSize);
+                    }
+                    transaction.commit();
+                    return start;
+                } catch (RuntimeException e) {
+                    if (transaction.isActive()) {
+                        transaction.rollback();
+                    }
+                    throw e;
+                }
+            } catch (ConstraintViolationException e) {
+                // Another process created the row first; read it again
+                if (attempt >= MAX_RESERVE_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private static final class Block {
+        private long next;
+        private long limit;
+    }
+}
@@ -0,0 +1,114 @@
+package edu.icet.ecom.util.sequence;
+
+import edu.icet.ecom.util.AppConfig;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free order number generator combining a monotonic millisecond clock,
+ * the terminal id and a per-millisecond sequence.
+ * <p>
+ * The clock and sequence share one {@link AtomicLong} updated by CAS. When the
+ * sequence overflows, or the wall clock moves backwards, the generator keeps
+ * counting from the last issued millisecond so numbers never repeat.
+ * Numbers look like {@code ORD-003-02T31PYXMGOIY}: the terminal id followed by
+ * the base-36 encoded timestamp and sequence.
+ * <p>
+ * Every till needs its own {@code TERMINAL_ID}. When {@code TERMINAL_COUNT}
+ * says more than one till shares the database, {@link #fromConfig()} refuses
+ * to fall back to terminal 0.
+ */
+public class TerminalOrderNumberGenerator implements OrderNumberGenerator {
+
+    public static final int TERMINAL_BITS = 10;
+    public static final int SEQUENCE_BITS = 12;
+    public static final int MAX_TERMINAL_ID = (1 << TERMINAL_BITS) - 1;
+
+    // 2024-01-01T00:00:00Z
+    private static final long EPOCH_MILLIS = 1704067200000L;
+    private static final int ENCODED_LENGTH = 12;
+
+    private static final System.Logger LOG = System.getLogger(TerminalOrderNumberGenerator.class.getName());
+
+    private final int terminalId;
+    private final String prefix;
+    private final LongSupplier clock;
+
+    // (millis since epoch << SEQUENCE_BITS) | sequence of the last issued number
+    private final AtomicLong lastState = new AtomicLong();
+
+    public TerminalOrderNumberGenerator(int terminalId) {
+        this(terminalId, System::currentTimeMillis);
+    }
+
+    public TerminalOrderNumberGenerator(int terminalId, LongSupplier clock) {
+        if (terminalId < 0 || terminalId > MAX_TERMINAL_ID) {
+            throw new IllegalArgumentException("Terminal id must be between 0 and " + MAX_TERMINAL_ID);
+        }
+        this.terminalId = terminalId;
+        this.prefix = String.format("ORD-%03d-", terminalId);
+        this.clock = clock;
+    }
+
+    // Generator for this till, from TERMINAL_ID and TERMINAL_COUNT
+    public static TerminalOrderNumberGenerator fromConfig() {
+        String terminalId = AppConfig.get("TERMINAL_ID", null);
+        int terminalCount = AppConfig.getInt("TERMINAL_COUNT", 1);
+        if (terminalId == null) {
+            if (terminalCount > 1) {
+                throw new IllegalStateException("TERMINAL_ID must be set on every till when TERMINAL_COUNT is " +
+                        terminalCount + "; tills without one would issue clashing order numbers");
+            }
+            LOG.log(System.Logger.Level.WARNING,
+                    "TERMINAL_ID is not set, using terminal 0. Give each till its own TERMINAL_ID before adding another");
+            return new TerminalOrderNumberGenerator(0);
+        }
+        try {
+            return new TerminalOrderNumberGenerator(Integer.parseInt(terminalId));
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("TERMINAL_ID must be a number, was " + terminalId, e);
+        }
+    }
+
+    @Override
+    public String nextOrderNumber() {
+        return format(nextId());
+    }
+
+    // Unique 63-bit id: timestamp | terminal | sequence
+    public long nextId() {
+        long state = nextState();
+        long timestamp = state >>> SEQUENCE_BITS;
+        long sequence = state & ((1L << SEQUENCE_BITS) - 1);
+        return (timestamp << (TERMINAL_BITS + SEQUENCE_BITS))
+                | ((long) terminalId << SEQUENCE_BITS)
+                | sequence;
+    }
+
+    private long nextState() {
+        while (true) {
+            long current = lastState.get();
+            long now = clock.getAsLong() - EPOCH_MILLIS;
+            long candidate = now > (current >>> SEQUENCE_BITS)
+                    ? now << SEQUENCE_BITS
+                    : current + 1; // same or earlier millisecond; overflow carries into the next one
+            if (lastState.compareAndSet(current, candidate)) {
+                return candidate;
+            }
+        }
+    }
+
+    private String format(long id) {
+        String encoded = Long.toString(id, 36).toUpperCase();
+        StringBuilder number = new StringBuilder(prefix.length() + ENCODED_LENGTH).append(prefix);
+        for (int i = encoded.length(); i < ENCODED_LENGTH; i++) {
+            number.append('0');
+        }
+        return number.append(encoded).toString();
+    }
+
+    public int getTerminalId() {
+        return terminalId;
+    }
+}
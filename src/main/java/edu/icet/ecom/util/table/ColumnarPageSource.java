@@ -0,0 +1,166 @@
+package edu.icet.ecom.util.table;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.stream.IntStream;
+
+/**
+ * In-memory source for sets small enough to hold. Sort keys are copied once
+ * into primitive columns ({@code long[]} or lower-cased {@code String[]}) and a
+ * search column, so sorting and filtering never touch the DTOs; both run as
+ * parallel array operations. The sorted permutation per sort key is cached and
+ * the last filtered view is reused while the table scrolls.
+ */
+public final class ColumnarPageSource<T> implements PageSource<T> {
+
+    private final List<T> rows;
+    private final Map<String, Comparator<Integer>> columns;
+    private final String defaultSortKey;
+    private final boolean defaultAscending;
+    private final String[] search;
+    private final Map<String, int[]> sortedIndexes = new ConcurrentHashMap<>();
+
+    private TableQuery viewQuery;
+    private int[] view;
+
+    private ColumnarPageSource(Builder<T> builder) {
+        this.rows = builder.rows;
+        this.columns = Collections.unmodifiableMap(new HashMap<>(builder.columns));
+        this.defaultSortKey = builder.defaultSortKey;
+        this.defaultAscending = builder.defaultAscending;
+        this.search = builder.search;
+    }
+
+    public static <T> Builder<T> builder(List<T> rows) {
+        return new Builder<>(rows);
+    }
+
+    public int size() {
+        return rows.size();
+    }
+
+    @Override
+    public int count(TableQuery query) {
+        return viewFor(query).length;
+    }
+
+    @Override
+    public List<T> fetch(TableQuery query, T previous, int offset, int limit) {
+        int[] indexes = viewFor(query);
+        int end = Math.min(indexes.length, offset + limit);
+        if (offset >= end) {
+            return Collections.emptyList();
+        }
+        List<T> page = new ArrayList<>(end - offset);
+        for (int i = offset; i < end; i++) {
+            page.add(rows.get(indexes[i]));
+        }
+        return page;
+    }
+
+    private synchronized int[] viewFor(TableQuery query) {
+        if (!query.equals(viewQuery)) {
+            int[] sorted = sortedFor(query);
+            if (query.hasFilter() && search != null) {
+                String filter = query.getFilter().toLowerCase(Locale.ROOT);
+                // An ordered parallel stream keeps the sorted order of the matches
+                view = Arrays.stream(sorted).parallel()
+                        .filter(index -> search[index].contains(filter))
+                        .toArray();
+            } else {
+                view = sorted;
+            }
+            viewQuery = query;
+        }
+        return view;
+    }
+
+    private int[] sortedFor(TableQuery query) {
+        String key = query.getSortKey() != null && columns.containsKey(query.getSortKey()) ?
+                query.getSortKey() : defaultSortKey;
+        boolean ascending = key != null && key.equals(query.getSortKey()) ? query.isAscending() : defaultAscending;
+        if (key == null) {
+            return sortedIndexes.computeIfAbsent("", ignored -> IntStream.range(0, rows.size()).toArray());
+        }
+        return sortedIndexes.computeIfAbsent(key + (ascending ? "+" : "-"), ignored -> {
+            Integer[] order = new Integer[rows.size()];
+            Arrays.setAll(order, i -> i);
+            Comparator<Integer> comparator = columns.get(key);
+            // Stable, so equal keys keep the load order as their tie-break
+            Arrays.parallelSort(order, ascending ? comparator : comparator.reversed());
+            return Arrays.stream(order).mapToInt(Integer::intValue).toArray();
+        });
+    }
+
+    public static final class Builder<T> {
+        private final List<T> rows;
+        private final Map<String, Comparator<Integer>> columns = new HashMap<>();
+        private final List<Function<T, String>> searchFields = new ArrayList<>();
+        private String defaultSortKey;
+        private boolean defaultAscending = true;
+        private String[] search;
+
+        private Builder(List<T> rows) {
+            this.rows = Collections.unmodifiableList(new ArrayList<>(rows));
+        }
+
+        // Numeric or temporal key, stored as long (money in cents, times in epoch seconds)
+        public Builder<T> longColumn(String key, ToLongFunction<T> value) {
+            long[] values = new long[rows.size()];
+            Arrays.parallelSetAll(values, i -> value.applyAsLong(rows.get(i)));
+            columns.put(key, (a, b) -> Long.compare(values[a], values[b]));
+            return this;
+        }
+
+        // Text key compared case-insensitively, like the database collation
+        public Builder<T> textColumn(String key, Function<T, String> value) {
+            String[] values = new String[rows.size()];
+            Arrays.parallelSetAll(values, i -> lower(value.apply(rows.get(i))));
+            columns.put(key, (a, b) -> values[a].compareTo(values[b]));
+            return this;
+        }
+
+        public Builder<T> defaultSort(String key, boolean ascending) {
+            this.defaultSortKey = key;
+            this.defaultAscending = ascending;
+            return this;
+        }
+
+        // Text matched against the filter as a case-insensitive substring
+        public Builder<T> filterOn(Function<T, String> value) {
+            searchFields.add(value);
+            return this;
+        }
+
+        public ColumnarPageSource<T> build() {
+            if (defaultSortKey != null && !columns.containsKey(defaultSortKey)) {
+                throw new IllegalStateException("Unknown default sort key: " + defaultSortKey);
+            }
+            if (!searchFields.isEmpty()) {
+                search = new String[rows.size()];
+                Arrays.parallelSetAll(search, i -> {
+                    StringBuilder text = new StringBuilder();
+                    for (Function<T, String> field : searchFields) {
+                        // Separator keeps a match from spanning two fields
+                        text.append(lower(field.apply(rows.get(i)))).append('\u0000');
+                    }
+                    return text.toString();
+                });
+            }
+            return new ColumnarPageSource<>(this);
+        }
+
+        private static String lower(String text) {
+            return text != null ? text.toLowerCase(Locale.ROOT) : "";
+        }
+    }
+}
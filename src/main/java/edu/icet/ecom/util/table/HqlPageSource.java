@@ -0,0 +1,230 @@
+package edu.icet.ecom.util.table;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.query.SelectionQuery;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Pages of a DTO projection, sorted and filtered in the database. Every order
+ * ends with the id as a tie-break, so when the caller passes the previous row
+ * the next page is read with a keyset predicate ({@code (sort, id) > (:v, :id)})
+ * instead of an OFFSET that scans and discards every row before it. Sort
+ * expressions must be non-null (coalesce nullable columns); a row whose sort
+ * value is still null falls back to the offset.
+ */
+public final class HqlPageSource<T> implements PageSource<T> {
+
+    private final SessionFactory sessionFactory;
+    private final Class<T> rowType;
+    private final String select;
+    private final String from;
+    private final String where;
+    private final String idExpression;
+    private final Function<T, Object> idOf;
+    private final Map<String, SortKey<T>> sortKeys;
+    private final String defaultSortKey;
+    private final boolean defaultAscending;
+    private final String filterCondition;
+    private final Map<String, Object> parameters;
+
+    private HqlPageSource(Builder<T> builder) {
+        this.sessionFactory = builder.sessionFactory;
+        this.rowType = builder.rowType;
+        this.select = builder.select;
+        this.from = builder.from;
+        this.where = builder.where;
+        this.idExpression = builder.idExpression;
+        this.idOf = builder.idOf;
+        this.sortKeys = Collections.unmodifiableMap(new HashMap<>(builder.sortKeys));
+        this.defaultSortKey = builder.defaultSortKey;
+        this.defaultAscending = builder.defaultAscending;
+        this.filterCondition = builder.filterExpressions.isEmpty() ? null :
+                builder.filterExpressions.stream()
+                        .map(expression -> expression + " like :filter escape '!'")
+                        .reduce((a, b) -> a + " or " + b)
+                        .map(condition -> "(" + condition + ")")
+                        .orElse(null);
+        this.parameters = Collections.unmodifiableMap(new HashMap<>(builder.parameters));
+    }
+
+    public static <T> Builder<T> builder(SessionFactory sessionFactory, Class<T> rowType) {
+        return new Builder<>(sessionFactory, rowType);
+    }
+
+    @Override
+    public int count(TableQuery query) {
+        String hql = "select count(" + idExpression + ") " + from + whereClause(query, null);
+        try (Session session = sessionFactory.openSession()) {
+            SelectionQuery<Long> count = session.createSelectionQuery(hql, Long.class);
+            bind(count, query, null, null);
+            return (int) Math.min(Integer.MAX_VALUE, count.getSingleResult());
+        }
+    }
+
+    @Override
+    public List<T> fetch(TableQuery query, T previous, int offset, int limit) {
+        SortKey<T> sortKey = sortKeyOf(query);
+        boolean ascending = isAscending(query);
+
+        Object[] keyset = null;
+        if (previous != null && offset > 0) {
+            Object id = idOf.apply(previous);
+            Object value = sortKey != null ? sortKey.value.apply(previous) : null;
+            if (id != null && (sortKey == null || value != null)) {
+                keyset = new Object[]{value, id};
+            }
+        }
+
+        String direction = ascending ? " asc" : " desc";
+        String hql = select + " " + from + whereClause(query, keyset == null ? null : keysetCondition(sortKey, ascending)) +
+                " order by " + (sortKey != null ? sortKey.expression + direction + ", " : "") + idExpression + direction;
+
+        try (Session session = sessionFactory.openSession()) {
+            SelectionQuery<T> page = session.createSelectionQuery(hql, rowType);
+            bind(page, query, sortKey, keyset);
+            if (keyset == null) {
+                page.setFirstResult(offset);
+            }
+            return page.setMaxResults(limit)
+                    .setReadOnly(true)
+                    .getResultList();
+        }
+    }
+
+    private SortKey<T> sortKeyOf(TableQuery query) {
+        SortKey<T> sortKey = query.getSortKey() != null ? sortKeys.get(query.getSortKey()) : null;
+        return sortKey != null ? sortKey : defaultSortKey != null ? sortKeys.get(defaultSortKey) : null;
+    }
+
+    private boolean isAscending(TableQuery query) {
+        return query.getSortKey() != null && sortKeys.containsKey(query.getSortKey()) ?
+                query.isAscending() : defaultAscending;
+    }
+
+    private String keysetCondition(SortKey<T> sortKey, boolean ascending) {
+        String op = ascending ? " > " : " < ";
+        if (sortKey == null) {
+            return idExpression + op + ":keyId";
+        }
+        return "(" + sortKey.expression + op + ":keyValue or (" + sortKey.expression + " = :keyValue and " +
+                idExpression + op + ":keyId))";
+    }
+
+    private String whereClause(TableQuery query, String keysetCondition) {
+        List<String> conditions = new ArrayList<>(3);
+        if (where != null) {
+            conditions.add("(" + where + ")");
+        }
+        if (filterCondition != null && query.hasFilter()) {
+            conditions.add(filterCondition);
+        }
+        if (keysetCondition != null) {
+            conditions.add(keysetCondition);
+        }
+        return conditions.isEmpty() ? "" : " where " + String.join(" and ", conditions);
+    }
+
+    private void bind(SelectionQuery<?> hqlQuery, TableQuery query, SortKey<T> sortKey, Object[] keyset) {
+        parameters.forEach(hqlQuery::setParameter);
+        if (filterCondition != null && query.hasFilter()) {
+            hqlQuery.setParameter("filter", "%" + escapeLike(query.getFilter().toLowerCase(Locale.ROOT)) + "%");
+        }
+        if (keyset != null) {
+            if (sortKey != null) {
+                hqlQuery.setParameter("keyValue", keyset[0]);
+            }
+            hqlQuery.setParameter("keyId", keyset[1]);
+        }
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+
+    private static final class SortKey<T> {
+        private final String expression;
+        private final Function<T, Object> value;
+
+        private SortKey(String expression, Function<T, Object> value) {
+            this.expression = expression;
+            this.value = value;
+        }
+    }
+
+    public static final class Builder<T> {
+        private final SessionFactory sessionFactory;
+        private final Class<T> rowType;
+        private final Map<String, SortKey<T>> sortKeys = new HashMap<>();
+        private final List<String> filterExpressions = new ArrayList<>();
+        private final Map<String, Object> parameters = new HashMap<>();
+        private String select;
+        private String from;
+        private String where;
+        private String idExpression;
+        private Function<T, Object> idOf;
+        private String defaultSortKey;
+        private boolean defaultAscending = true;
+
+        private Builder(SessionFactory sessionFactory, Class<T> rowType) {
+            this.sessionFactory = sessionFactory;
+            this.rowType = rowType;
+        }
+
+        // Projection ("select new ...(...)") and the from clause with its joins
+        public Builder<T> query(String select, String from) {
+            this.select = select;
+            this.from = from;
+            return this;
+        }
+
+        // Fixed condition; its named parameters are bound on every query
+        public Builder<T> where(String condition, Map<String, Object> parameters) {
+            this.where = condition;
+            this.parameters.putAll(parameters);
+            return this;
+        }
+
+        // Unique row key, used as the final tie-break of every order
+        public Builder<T> id(String expression, Function<T, Object> idOf) {
+            this.idExpression = expression;
+            this.idOf = idOf;
+            return this;
+        }
+
+        // Sort key as shown on the table column; value must read the same value from a row
+        public Builder<T> sort(String key, String expression, Function<T, Object> value) {
+            sortKeys.put(key, new SortKey<>(expression, value));
+            return this;
+        }
+
+        public Builder<T> defaultSort(String key, boolean ascending) {
+            this.defaultSortKey = key;
+            this.defaultAscending = ascending;
+            return this;
+        }
+
+        // Lower-cased text expression matched against the filter as a substring
+        public Builder<T> filterOn(String expression) {
+            filterExpressions.add(expression);
+            return this;
+        }
+
+        public HqlPageSource<T> build() {
+            if (select == null || from == null || idExpression == null || idOf == null) {
+                throw new IllegalStateException("Query and id are required");
+            }
+            if (defaultSortKey != null && !sortKeys.containsKey(defaultSortKey)) {
+                throw new IllegalStateException("Unknown default sort key: " + defaultSortKey);
+            }
+            return new HqlPageSource<>(this);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package edu.icet.ecom.util.table;
+
+import java.util.List;
+
+/**
+ * Rows of a table in the order and filter of a {@link TableQuery}. Called off
+ * the JavaFX thread.
+ */
+public interface PageSource<T> {
+
+    int count(TableQuery query);
+
+    // Rows [offset, offset + limit); previous is the row at offset - 1 when the caller has it, for keyset paging
+    List<T> fetch(TableQuery query, T previous, int offset, int limit);
+
+    // Re-read the rows for sources that hold a snapshot of them; sources that query every time need nothing
+    default void reload() {
+    }
+}
@@ -0,0 +1,159 @@
+package edu.icet.ecom.util.table;
+
+import edu.icet.ecom.model.dto.OrderDto;
+import edu.icet.ecom.model.dto.ProductDto;
+import edu.icet.ecom.util.AppConfig;
+import edu.icet.ecom.util.Money;
+import org.hibernate.SessionFactory;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Page sources for the product and order grids. Sort keys are the ids of the
+ * table columns. {@link #productsFor} and {@link #ordersFor} count first and
+ * load sets of up to {@code TABLE_IN_MEMORY_ROWS} rows into a
+ * {@link ColumnarPageSource}; larger sets stay paged in the database. The
+ * choice is made again, with fresh rows, on every {@link PageSource#reload}.
+ * Both block, so call them off the JavaFX thread.
+ */
+public final class PageSources {
+
+    // Grid projection of a product, shared with other product list queries
+    public static final String PRODUCT_SELECT =
+            "select new edu.icet.ecom.model.dto.ProductDto(" +
+                    "p.productId, p.productCode, p.barcode, p.productName, p.size, p.color, " +
+                    "p.price, p.costPrice, p.quantityOnHand, p.reorderLevel, p.maxStockLevel, " +
+                    "str(p.status), p.isActive, c.categoryId, c.categoryName, s.supplierId, s.supplierName, s.company)";
+
+    public static final String PRODUCT_FROM = "from ProductEntity p join p.category c join p.supplier s";
+
+    private static final String ORDER_SELECT =
+            "select new edu.icet.ecom.model.dto.OrderDto(" +
+                    "o.orderId, o.orderNumber, o.customerName, o.customerEmail, o.customerPhone, " +
+                    "o.subtotal, o.taxAmount, o.discountAmount, o.totalAmount, " +
+                    "str(o.paymentMethod), str(o.orderStatus), o.isReturn, o.createdAt, " +
+                    "e.employeeId, e.firstName, e.lastName, e.employeeCode, " +
+                    "(select coalesce(sum(i.quantity), 0L) from OrderItemEntity i where i.order = o), " +
+                    "(select count(i) from OrderItemEntity i where i.order = o))";
+
+    private static final String ORDER_FROM = "from OrderEntity o join o.employee e";
+
+    private PageSources() {
+    }
+
+    public static HqlPageSource<ProductDto> products(SessionFactory sessionFactory) {
+        return HqlPageSource.builder(sessionFactory, ProductDto.class)
+                .query(PRODUCT_SELECT, PRODUCT_FROM)
+                .id("p.productId", ProductDto::getProductId)
+                .sort("productName", "p.productName", ProductDto::getProductName)
+                .sort("productCode", "coalesce(p.productCode, '')",
+                        product -> product.getProductCode() != null ? product.getProductCode() : "")
+                .sort("categoryName", "c.categoryName", ProductDto::getCategoryName)
+                .sort("supplierName", "s.supplierName", ProductDto::getSupplierName)
+                .sort("price", "p.price", ProductDto::getPrice)
+                .sort("quantityOnHand", "p.quantityOnHand", ProductDto::getQuantityOnHand)
+                .defaultSort("productName", true)
+                .filterOn("lower(p.productName)")
+                .filterOn("lower(p.productCode)")
+                .filterOn("lower(p.barcode)")
+                .build();
+    }
+
+    public static ColumnarPageSource<ProductDto> products(List<ProductDto> rows) {
+        return ColumnarPageSource.builder(rows)
+                .textColumn("productName", ProductDto::getProductName)
+                .textColumn("productCode", ProductDto::getProductCode)
+                .textColumn("categoryName", ProductDto::getCategoryName)
+                .textColumn("supplierName", ProductDto::getSupplierName)
+                .longColumn("price", product -> Money.toCents(product.getPrice()))
+                .longColumn("quantityOnHand", product -> product.getQuantityOnHand() != null ?
+                        product.getQuantityOnHand() : 0)
+                .defaultSort("productName", true)
+                .filterOn(ProductDto::getProductName)
+                .filterOn(ProductDto::getProductCode)
+                .filterOn(ProductDto::getBarcode)
+                .build();
+    }
+
+    // Orders created in [from, to); either bound may be null
+    public static HqlPageSource<OrderDto> orders(SessionFactory sessionFactory, LocalDateTime from, LocalDateTime to) {
+        return HqlPageSource.builder(sessionFactory, OrderDto.class)
+                .query(ORDER_SELECT, ORDER_FROM)
+                .where("o.createdAt >= :from and o.createdAt < :to", Map.of(
+                        "from", from != null ? from : LocalDateTime.of(1970, 1, 1, 0, 0),
+                        "to", to != null ? to : LocalDateTime.of(9999, 1, 1, 0, 0)))
+                .id("o.orderId", OrderDto::getOrderId)
+                .sort("createdAt", "o.createdAt", OrderDto::getCreatedAt)
+                .sort("orderNumber", "o.orderNumber", OrderDto::getOrderNumber)
+                .sort("totalAmount", "o.totalAmount", OrderDto::getTotalAmount)
+                .sort("customerName", "coalesce(o.customerName, '')",
+                        order -> order.getCustomerName() != null ? order.getCustomerName() : "")
+                .defaultSort("createdAt", false)
+                .filterOn("lower(o.orderNumber)")
+                .filterOn("lower(o.customerName)")
+                .build();
+    }
+
+    public static ColumnarPageSource<OrderDto> orders(List<OrderDto> rows) {
+        return ColumnarPageSource.builder(rows)
+                .longColumn("createdAt", order -> order.getCreatedAt() != null ?
+                        order.getCreatedAt().toEpochSecond(ZoneOffset.UTC) : Long.MIN_VALUE)
+                .textColumn("orderNumber", OrderDto::getOrderNumber)
+                .longColumn("totalAmount", order -> Money.toCents(order.getTotalAmount()))
+                .textColumn("customerName", OrderDto::getCustomerName)
+                .defaultSort("createdAt", false)
+                .filterOn(OrderDto::getOrderNumber)
+                .filterOn(OrderDto::getCustomerName)
+                .build();
+    }
+
+    public static PageSource<ProductDto> productsFor(SessionFactory sessionFactory) {
+        return inMemoryIfSmall(products(sessionFactory), PageSources::products);
+    }
+
+    public static PageSource<OrderDto> ordersFor(SessionFactory sessionFactory, LocalDateTime from, LocalDateTime to) {
+        return inMemoryIfSmall(orders(sessionFactory, from, to), PageSources::orders);
+    }
+
+    private static <T> PageSource<T> inMemoryIfSmall(HqlPageSource<T> source,
+                                                     Function<List<T>, ColumnarPageSource<T>> columnar) {
+        InMemoryIfSmall<T> pageSource = new InMemoryIfSmall<>(source, columnar);
+        pageSource.reload();
+        return pageSource;
+    }
+
+    // A snapshot of the rows while there are few enough, otherwise the database
+    private static final class InMemoryIfSmall<T> implements PageSource<T> {
+        private final HqlPageSource<T> database;
+        private final Function<List<T>, ColumnarPageSource<T>> columnar;
+        private volatile PageSource<T> current;
+
+        private InMemoryIfSmall(HqlPageSource<T> database, Function<List<T>, ColumnarPageSource<T>> columnar) {
+            this.database = database;
+            this.columnar = columnar;
+        }
+
+        @Override
+        public int count(TableQuery query) {
+            return current.count(query);
+        }
+
+        @Override
+        public List<T> fetch(TableQuery query, T previous, int offset, int limit) {
+            return current.fetch(query, previous, offset, limit);
+        }
+
+        @Override
+        public void reload() {
+            int limit = AppConfig.getInt("TABLE_IN_MEMORY_ROWS", 20_000);
+            int count = database.count(TableQuery.DEFAULT);
+            current = count > limit
+                    ? database
+                    : columnar.apply(database.fetch(TableQuery.DEFAULT, null, 0, limit + 1));
+        }
+    }
+}
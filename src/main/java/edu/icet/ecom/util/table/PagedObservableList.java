@@ -0,0 +1,212 @@
+package edu.icet.ecom.util.table;
+
+import edu.icet.ecom.util.AppConfig;
+import javafx.application.Platform;
+import javafx.collections.ObservableListBase;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Read-only TableView items backed by a {@link PageSource}. The list reports
+ * the full row count but holds only the last {@code TABLE_CACHED_PAGES} pages
+ * in an LRU; {@link #get} returns null for a row whose page is not loaded yet
+ * and queues the page on a background thread, then fires a replace change when
+ * it arrives so the visible cells refresh. Pages are requested with the last
+ * row of the page before them when that page is cached, so scrolling down
+ * reads by keyset. Pages that scrolled far out of view before their turn on
+ * the loader thread are dropped. All state is confined to the JavaFX thread.
+ */
+public class PagedObservableList<T> extends ObservableListBase<T> {
+
+    private static final System.Logger LOG = System.getLogger(PagedObservableList.class.getName());
+
+    private static final ExecutorService LOADER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "table-pages");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final PageSource<T> source;
+    private final int pageSize;
+    private final int maxPages;
+    private final Map<Integer, List<T>> pages;
+    private final Set<Integer> loading = new HashSet<>();
+
+    private TableQuery query = TableQuery.DEFAULT;
+    private int size;
+    private long generation;
+    private volatile int lastRequestedPage;
+
+    public PagedObservableList(PageSource<T> source) {
+        this(source, AppConfig.getInt("TABLE_PAGE_SIZE", 100), AppConfig.getInt("TABLE_CACHED_PAGES", 20));
+    }
+
+    public PagedObservableList(PageSource<T> source, int pageSize, int maxPages) {
+        this.source = source;
+        this.pageSize = Math.max(1, pageSize);
+        this.maxPages = Math.max(2, maxPages);
+        this.pages = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<T>> eldest) {
+                return size() > PagedObservableList.this.maxPages;
+            }
+        };
+    }
+
+    // Use as the table's items and sort in the source; column ids are the sort keys
+    public void attach(TableView<T> table) {
+        table.setItems(this);
+        table.setSortPolicy(view -> {
+            if (view.getSortOrder().isEmpty()) {
+                setQuery(query.withSort(null, true));
+            } else {
+                TableColumn<T, ?> column = view.getSortOrder().get(0);
+                setQuery(query.withSort(column.getId(), column.getSortType() == TableColumn.SortType.ASCENDING));
+            }
+            return true;
+        });
+        load(false);
+    }
+
+    public TableQuery getQuery() {
+        return query;
+    }
+
+    public void setFilter(String filter) {
+        setQuery(query.withFilter(filter));
+    }
+
+    public void setQuery(TableQuery query) {
+        if (!query.equals(this.query)) {
+            this.query = query;
+            load(false);
+        }
+    }
+
+    // Re-read the rows from the source, e.g. after an edit; drops every cached page
+    public void refresh() {
+        load(true);
+    }
+
+    // Drop every cached page and recount; the first page is loaded with the count
+    private void load(boolean reload) {
+        long requestGeneration = ++generation;
+        pages.clear();
+        loading.clear();
+        loading.add(0);
+        lastRequestedPage = 0;
+        TableQuery requestQuery = query;
+        LOADER.execute(() -> {
+            try {
+                if (reload) {
+                    source.reload();
+                }
+                int count = source.count(requestQuery);
+                List<T> first = count > 0 ? source.fetch(requestQuery, null, 0, pageSize) : Collections.emptyList();
+                Platform.runLater(() -> reset(requestGeneration, count, first));
+            } catch (RuntimeException e) {
+                LOG.log(System.Logger.Level.WARNING, "Failed to load table rows", e);
+                Platform.runLater(() -> reset(requestGeneration, 0, Collections.emptyList()));
+            }
+        });
+    }
+
+    // True when the row is in a loaded page; get() returns null otherwise
+    public boolean isLoaded(int index) {
+        return pages.containsKey(index / pageSize);
+    }
+
+    @Override
+    public T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+        int page = index / pageSize;
+        List<T> rows = pages.get(page);
+        if (rows == null) {
+            request(page);
+            return null;
+        }
+        int offset = index - page * pageSize;
+        // Read ahead once the user is past the middle of a page
+        if (offset > pageSize / 2 && (page + 1) * pageSize < size && !pages.containsKey(page + 1)) {
+            request(page + 1);
+        }
+        return offset < rows.size() ? rows.get(offset) : null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private void request(int page) {
+        lastRequestedPage = page;
+        if (!loading.add(page)) {
+            return;
+        }
+        long requestGeneration = generation;
+        TableQuery requestQuery = query;
+        List<T> before = page > 0 ? pages.get(page - 1) : null;
+        T previous = before != null && before.size() == pageSize ? before.get(pageSize - 1) : null;
+        LOADER.execute(() -> {
+            List<T> rows = null;
+            if (Math.abs(page - lastRequestedPage) <= maxPages) {
+                try {
+                    rows = source.fetch(requestQuery, previous, page * pageSize, pageSize);
+                } catch (RuntimeException e) {
+                    LOG.log(System.Logger.Level.WARNING, "Failed to load table page " + page, e);
+                }
+            }
+            List<T> loaded = rows;
+            Platform.runLater(() -> pageLoaded(requestGeneration, page, loaded));
+        });
+    }
+
+    private void reset(long requestGeneration, int count, List<T> first) {
+        if (requestGeneration != generation) {
+            return;
+        }
+        loading.remove(0);
+        if (!first.isEmpty()) {
+            pages.put(0, first);
+        }
+        int previousSize = size;
+        size = count;
+        beginChange();
+        if (previousSize > 0) {
+            nextRemove(0, Collections.nCopies(previousSize, null));
+        }
+        if (count > 0) {
+            nextAdd(0, count);
+        }
+        endChange();
+    }
+
+    private void pageLoaded(long requestGeneration, int page, List<T> rows) {
+        if (requestGeneration != generation) {
+            return;
+        }
+        loading.remove(page);
+        if (rows == null) {
+            return; // skipped or failed; requested again if it comes back into view
+        }
+        pages.put(page, rows);
+        int from = page * pageSize;
+        int to = Math.min(size, from + rows.size());
+        if (from < to) {
+            beginChange();
+            nextReplace(from, to, Collections.nCopies(to - from, null));
+            endChange();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package edu.icet.ecom.util.table;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Sort column and filter text of a paged table. A null sort key means the
+ * source's default order.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode
+public final class TableQuery {
+
+    public static final TableQuery DEFAULT = new TableQuery(null, true, null);
+
+    private final String sortKey;
+    private final boolean ascending;
+    private final String filter;
+
+    public TableQuery withSort(String sortKey, boolean ascending) {
+        return new TableQuery(sortKey, ascending, filter);
+    }
+
+    public TableQuery withFilter(String filter) {
+        return new TableQuery(sortKey, ascending, filter != null && !filter.trim().isEmpty() ? filter.trim() : null);
+    }
+
+    public boolean hasFilter() {
+        return filter != null;
+    }
+}
@@ -0,0 +1,94 @@
+package edu.icet.ecom.util.validation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * An immutable list of field rules for one DTO type. Rules are built once and
+ * shared; {@link #isValid} and a passing {@link #validate} allocate nothing.
+ */
+public final class DtoValidator<T> {
+
+    private final Rule<T>[] rules;
+
+    private DtoValidator(List<Rule<T>> rules) {
+        @SuppressWarnings("unchecked")
+        Rule<T>[] array = (Rule<T>[]) rules.toArray(new Rule<?>[0]);
+        this.rules = array;
+    }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    public boolean isValid(T dto) {
+        if (dto == null) {
+            return false;
+        }
+        for (Rule<T> rule : rules) {
+            if (!rule.check.test(dto)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Every failing rule, in declaration order; an empty shared list when the DTO is valid
+    public List<Violation> validate(T dto) {
+        if (dto == null) {
+            return Collections.singletonList(new Violation(null, "Value is required"));
+        }
+        List<Violation> violations = null;
+        for (Rule<T> rule : rules) {
+            if (!rule.check.test(dto)) {
+                if (violations == null) {
+                    violations = new ArrayList<>(2);
+                }
+                violations.add(rule.violation);
+            }
+        }
+        return violations != null ? violations : Collections.emptyList();
+    }
+
+    // Violations per list index; valid entries are left out
+    public Map<Integer, List<Violation>> validateAll(List<? extends T> dtos) {
+        Map<Integer, List<Violation>> violations = new LinkedHashMap<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            List<Violation> found = validate(dtos.get(i));
+            if (!found.isEmpty()) {
+                violations.put(i, found);
+            }
+        }
+        return violations;
+    }
+
+    public static final class Builder<T> {
+        private final List<Rule<T>> rules = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        public Builder<T> rule(String field, String message, Predicate<T> check) {
+            rules.add(new Rule<>(check, new Violation(field, message)));
+            return this;
+        }
+
+        public DtoValidator<T> build() {
+            return new DtoValidator<>(rules);
+        }
+    }
+
+    private static final class Rule<T> {
+        private final Predicate<T> check;
+        private final Violation violation;
+
+        private Rule(Predicate<T> check, Violation violation) {
+            this.check = check;
+            this.violation = violation;
+        }
+    }
+}
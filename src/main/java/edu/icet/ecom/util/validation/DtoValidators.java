@@ -0,0 +1,77 @@
+package edu.icet.ecom.util.validation;
+
+import edu.icet.ecom.model.dto.CategoryDto;
+import edu.icet.ecom.model.dto.EmployeeDto;
+import edu.icet.ecom.model.dto.OrderDto;
+import edu.icet.ecom.model.dto.OrderItemDto;
+import edu.icet.ecom.model.dto.ProductDto;
+import edu.icet.ecom.model.dto.SupplierDto;
+
+import java.math.BigDecimal;
+
+/**
+ * Shared validators for the form and import DTOs, one violation per field
+ * check. The DTOs' {@code isValid()} methods and the bulk import delegate
+ * here, so forms and imports accept and report exactly the same things.
+ */
+public final class DtoValidators {
+
+    public static final DtoValidator<CategoryDto> CATEGORY = DtoValidator.<CategoryDto>builder()
+            .rule("categoryName", "Category name is required", dto -> Validators.hasText(dto.getCategoryName()))
+            .build();
+
+    public static final DtoValidator<SupplierDto> SUPPLIER = DtoValidator.<SupplierDto>builder()
+            .rule("supplierName", "Supplier name is required", dto -> Validators.hasText(dto.getSupplierName()))
+            .rule("company", "Company is required", dto -> Validators.hasText(dto.getCompany()))
+            .rule("email", "Email is required", dto -> Validators.hasText(dto.getEmail()))
+            .rule("email", "Email is not valid",
+                    dto -> !Validators.hasText(dto.getEmail()) || Validators.isEmail(dto.getEmail()))
+            .rule("phone", "Phone number is not valid", SupplierDto::isValidPhone)
+            .build();
+
+    public static final DtoValidator<EmployeeDto> EMPLOYEE = DtoValidator.<EmployeeDto>builder()
+            .rule("firstName", "First name is required", dto -> Validators.hasText(dto.getFirstName()))
+            .rule("lastName", "Last name is required", dto -> Validators.hasText(dto.getLastName()))
+            .rule("email", "Email is required", dto -> Validators.hasText(dto.getEmail()))
+            .rule("email", "Email is not valid",
+                    dto -> !Validators.hasText(dto.getEmail()) || Validators.isEmail(dto.getEmail()))
+            .rule("hireDate", "Hire date is required and cannot be in the future", EmployeeDto::isHireDateValid)
+            .rule("position", "Position is required", dto -> Validators.hasText(dto.getPosition()))
+            .rule("phone", "Phone number is not valid", EmployeeDto::isValidPhone)
+            .rule("emergencyPhone", "Emergency phone number is not valid", EmployeeDto::isValidEmergencyPhone)
+            .rule("dateOfBirth", "Employee must be between 16 and 80 years old", EmployeeDto::isDateOfBirthValid)
+            .rule("salary", "Salary cannot be negative", EmployeeDto::isSalaryValid)
+            .rule("nationalId", "National ID must be 5 to 20 letters or digits", EmployeeDto::isNationalIdValid)
+            .build();
+
+    public static final DtoValidator<ProductDto> PRODUCT = DtoValidator.<ProductDto>builder()
+            .rule("productName", "Product name is required", dto -> Validators.hasText(dto.getProductName()))
+            .rule("price", "Price must be greater than zero", ProductDto::isPriceValid)
+            .rule("costPrice", "Cost price cannot be negative", ProductDto::isCostPriceValid)
+            .rule("quantityOnHand", "Quantity must be zero or more", ProductDto::isQuantityValid)
+            .rule("reorderLevel", "Reorder level cannot be negative", ProductDto::isReorderLevelValid)
+            .rule("categoryId", "Category is required", dto -> dto.getCategoryId() != null)
+            .rule("supplierId", "Supplier is required", dto -> dto.getSupplierId() != null)
+            .build();
+
+    public static final DtoValidator<OrderItemDto> ORDER_ITEM = DtoValidator.<OrderItemDto>builder()
+            .rule("productId", "Product is required", dto -> dto.getProductId() != null)
+            .rule("quantity", "Quantity must be greater than zero", OrderItemDto::isQuantityValid)
+            .rule("unitPrice", "Unit price cannot be negative", OrderItemDto::isUnitPriceValid)
+            .rule("discountAmount", "Discount must be between zero and the line total", OrderItemDto::isDiscountValid)
+            .build();
+
+    public static final DtoValidator<OrderDto> ORDER = DtoValidator.<OrderDto>builder()
+            .rule("paymentMethod", "Payment method is required", dto -> Validators.hasText(dto.getPaymentMethod()))
+            .rule("employeeId", "Employee is required", dto -> dto.getEmployeeId() != null)
+            .rule("totalAmount", "Total amount cannot be negative",
+                    dto -> dto.getTotalAmount() != null && dto.getTotalAmount().compareTo(BigDecimal.ZERO) >= 0)
+            .rule("customerEmail", "Customer email is not valid", OrderDto::isCustomerEmailValid)
+            .rule("customerPhone", "Customer phone number is not valid", OrderDto::isCustomerPhoneValid)
+            .rule("amountPaid", "Amount paid cannot be negative", OrderDto::isAmountPaidValid)
+            .rule("discountAmount", "Discount must be between zero and the subtotal", OrderDto::isDiscountAmountValid)
+            .build();
+
+    private DtoValidators() {
+    }
+}
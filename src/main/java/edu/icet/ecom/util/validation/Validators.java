@@ -0,0 +1,148 @@
+package edu.icet.ecom.util.validation;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * Allocation-free format checks. Each method scans the characters once and
+ * accepts exactly what the regular expression in its comment accepts, so it
+ * can replace {@code String.matches} without changing behaviour.
+ */
+public final class Validators {
+
+    private static volatile Today today = Today.now();
+
+    private Validators() {
+    }
+
+    // LocalDate.now() in the default zone, looked up once per day instead of on every check
+    public static LocalDate today() {
+        Today current = today;
+        if (System.currentTimeMillis() >= current.endsAtMillis) {
+            current = Today.now();
+            today = current;
+        }
+        return current.date;
+    }
+
+    // Same as value != null && !value.trim().isEmpty(), without the substring
+    public static boolean hasText(CharSequence value) {
+        if (value == null) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > ' ') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ^[A-Za-z0-9+_.-]+@([A-Za-z0-9.-]+\.[A-Za-z]{2,})$
+    public static boolean isEmail(CharSequence value) {
+        if (value == null) {
+            return false;
+        }
+        int length = value.length();
+        int at = -1;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == '@') {
+                at = i;
+                break;
+            }
+            if (!isAsciiLetterOrDigit(c) && c != '+' && c != '_' && c != '.' && c != '-') {
+                return false;
+            }
+        }
+        if (at < 1) {
+            return false;
+        }
+
+        // Domain: [A-Za-z0-9.-]+ then a final dot followed by at least two letters
+        int lastDot = -1;
+        for (int i = at + 1; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == '.') {
+                lastDot = i;
+            } else if (!isAsciiLetterOrDigit(c) && c != '-') {
+                return false;
+            }
+        }
+        if (lastDot < at + 2 || length - lastDot - 1 < 2) {
+            return false;
+        }
+        for (int i = lastDot + 1; i < length; i++) {
+            if (!isAsciiLetter(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ^[+]?[0-9\s\-\(\)]{7,20}$
+    public static boolean isPhone(CharSequence value) {
+        if (value == null) {
+            return false;
+        }
+        int start = value.length() > 0 && value.charAt(0) == '+' ? 1 : 0;
+        int digits = value.length() - start;
+        if (digits < 7 || digits > 20) {
+            return false;
+        }
+        for (int i = start; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!(c >= '0' && c <= '9') && !isRegexWhitespace(c) && c != '-' && c != '(' && c != ')') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ^[A-Za-z0-9]{min,max}$
+    public static boolean isAlphanumeric(CharSequence value, int minLength, int maxLength) {
+        if (value == null || value.length() < minLength || value.length() > maxLength) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (!isAsciiLetterOrDigit(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ^[A-Za-z0-9]{5,20}$
+    public static boolean isNationalId(CharSequence value) {
+        return isAlphanumeric(value, 5, 20);
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z');
+    }
+
+    private static boolean isAsciiLetterOrDigit(char c) {
+        return isAsciiLetter(c) || (c >= '0' && c <= '9');
+    }
+
+    // \s in java.util.regex: [ \t\n\x0B\f\r]
+    private static boolean isRegexWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    private static final class Today {
+        private final LocalDate date;
+        private final long endsAtMillis;
+
+        private Today(LocalDate date, long endsAtMillis) {
+            this.date = date;
+            this.endsAtMillis = endsAtMillis;
+        }
+
+        private static Today now() {
+            ZoneId zone = ZoneId.systemDefault();
+            LocalDate date = LocalDate.now(zone);
+            return new Today(date, date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli());
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package edu.icet.ecom.util.validation;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@AllArgsConstructor
+@ToString
+public final class Violation {
+
+    private final String field;
+    private final String message;
+}
@@ -0,0 +1,30 @@
+-- Moves orders, order_items and products from AUTO_INCREMENT identity columns
+-- to the pooled table generator used by Hibernate (allocationSize = 50).
+-- Run once with the tills offline, before starting the new build.
+
+CREATE TABLE IF NOT EXISTS id_generators (
+    sequence_name VARCHAR(255) NOT NULL PRIMARY KEY,
+    next_val      BIGINT
+) ENGINE = InnoDB;
+
+-- The pooled optimizer hands out (next_val - 49) .. next_val for each value it reads,
+-- so seed every row one block above the current maximum id.
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'orders', COALESCE(MAX(order_id), 0) + 50 FROM orders
+ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val));
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'order_items', COALESCE(MAX(order_item_id), 0) + 50 FROM order_items
+ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val));
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'products', COALESCE(MAX(product_id), 0) + 50 FROM products
+ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val));
+
+-- Ids are now always supplied by the application; drop AUTO_INCREMENT so a stray
+-- insert without an id fails instead of taking a value from a reserved block.
+SET FOREIGN_KEY_CHECKS = 0;
+ALTER TABLE orders MODIFY order_id BIGINT NOT NULL;
+ALTER TABLE order_items MODIFY order_item_id BIGINT NOT NULL;
+ALTER TABLE products MODIFY product_id BIGINT NOT NULL;
+SET FOREIGN_KEY_CHECKS = 1;
@@ -0,0 +1,5 @@
+-- Index for the stock level monitor's warm-up, which reads LOW_STOCK and
+-- OUT_OF_STOCK products by their stored status instead of scanning the table.
+-- hbm2ddl "update" creates it too; run this where the schema is managed by hand.
+
+CREATE INDEX idx_products_status ON products (status);
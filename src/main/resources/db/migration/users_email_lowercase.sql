@@ -0,0 +1,6 @@
+-- Sign-in compares emails directly on the unique index, so stored emails must be
+-- trimmed and lower-case; UserEntity normalises new and updated rows. Accounts
+-- whose emails differ only in case fail the unique constraint here and must be
+-- merged by hand first.
+
+UPDATE users SET email = LOWER(TRIM(email)) WHERE email <> LOWER(TRIM(email));
@@ -0,0 +1,99 @@
+package edu.icet.ecom.analytics;
+
+import edu.icet.ecom.event.OrderEvent;
+import edu.icet.ecom.event.OrderEventBus;
+import edu.icet.ecom.model.entity.EmployeeEntity;
+import edu.icet.ecom.model.entity.OrderEntity;
+import edu.icet.ecom.model.entity.OrderItemEntity;
+import edu.icet.ecom.model.entity.ProductEntity;
+import edu.icet.ecom.service.impl.OrderServiceImpl;
+import edu.icet.ecom.support.TestDatabase;
+import edu.icet.ecom.util.Money;
+import edu.icet.ecom.util.sequence.OrderNumberGenerator;
+import edu.icet.ecom.util.sequence.TerminalOrderNumberGenerator;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EmployeeSalesTrackerTest {
+
+    private static SessionFactory sessionFactory;
+    private static OrderServiceImpl orderService;
+
+    // Runs once, just before the warm-up's grouped query is prepared
+    private static volatile Runnable hook;
+
+    private final EmployeeSalesTracker tracker = EmployeeSalesTracker.getInstance();
+
+    @BeforeAll
+    static void setUp() {
+        OrderNumberGenerator.setDefault(new TerminalOrderNumberGenerator(1));
+        sessionFactory = TestDatabase.createInspected(sql -> {
+            Runnable action = hook;
+            if (action != null && sql.contains("case when")) {
+                hook = null;
+                action.run();
+            }
+            return sql;
+        });
+        TestDatabase.seed(sessionFactory, 1, 1_000);
+        orderService = new OrderServiceImpl(sessionFactory);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Test
+    void eventsPublishedDuringWarmUpAreCountedOnce() {
+        OrderEntity refundedBeforeQuery = completedOrder(2);
+        OrderEntity refundedAfterQuery = completedOrder(3);
+        tracker.warmUp(sessionFactory);
+        BigDecimal sales = tracker.getTotalSales(1L, EmployeeSalesTracker.Period.LIFETIME);
+        long orders = tracker.getTotalOrders(1L, EmployeeSalesTracker.Period.LIFETIME);
+
+        OrderEntity[] completedBeforeQuery = new OrderEntity[1];
+        hook = () -> {
+            // Committed before the query reads, but published while the warm-up is under way
+            completedBeforeQuery[0] = completedOrder(4);
+            assertTrue(orderService.refundOrder(refundedBeforeQuery.getOrderId()));
+            // Stands in for a refund committed after the query read: the row stays completed in the snapshot
+            OrderEventBus.getInstance().publish(new OrderEvent(OrderEvent.Type.REFUNDED,
+                    refundedAfterQuery.getOrderId(), OrderEntity.OrderStatus.COMPLETED,
+                    refundedAfterQuery.getCreatedAt(), refundedAfterQuery.getCompletedAt(), 1L,
+                    OrderEntity.PaymentMethod.CASH, false, Money.toCents(refundedAfterQuery.getTotalAmount()),
+                    List.of()));
+        };
+        tracker.warmUp(sessionFactory);
+
+        assertNull(hook);
+        assertEquals(sales.add(completedBeforeQuery[0].getTotalAmount())
+                        .subtract(refundedBeforeQuery.getTotalAmount())
+                        .subtract(refundedAfterQuery.getTotalAmount()),
+                tracker.getTotalSales(1L, EmployeeSalesTracker.Period.LIFETIME));
+        assertEquals(orders - 1, tracker.getTotalOrders(1L, EmployeeSalesTracker.Period.LIFETIME));
+        assertEquals(orders - 1, tracker.getTotalOrders(1L, EmployeeSalesTracker.Period.TODAY));
+    }
+
+    private static OrderEntity completedOrder(int quantity) {
+        OrderEntity order;
+        try (Session session = sessionFactory.openSession()) {
+            ProductEntity product = session.find(ProductEntity.class, 1L);
+            EmployeeEntity employee = session.find(EmployeeEntity.class, 1L);
+            order = new OrderEntity("Customer", null, OrderEntity.PaymentMethod.CASH, employee);
+            order.addOrderItem(new OrderItemEntity(product, quantity, product.getPrice()));
+        }
+        assertTrue(orderService.completeOrder(order));
+        return order;
+    }
+}
@@ -0,0 +1,139 @@
+package edu.icet.ecom.analytics;
+
+import edu.icet.ecom.model.entity.EmployeeEntity;
+import edu.icet.ecom.model.entity.OrderEntity;
+import edu.icet.ecom.model.entity.OrderItemEntity;
+import edu.icet.ecom.model.entity.ProductEntity;
+import edu.icet.ecom.service.impl.OrderServiceImpl;
+import edu.icet.ecom.support.TestDatabase;
+import edu.icet.ecom.util.sequence.OrderNumberGenerator;
+import edu.icet.ecom.util.sequence.TerminalOrderNumberGenerator;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SalesCubeTest {
+
+    private static SessionFactory sessionFactory;
+    private static OrderServiceImpl orderService;
+
+    // Runs once on the rebuild thread, just before the first statement containing hookedSql is prepared;
+    // every query of a day load filters on order_status, so that hooks the start of the load
+    private static volatile String hookedSql;
+    private static volatile Runnable hook;
+
+    private final SalesCube cube = SalesCube.getInstance();
+    private final LocalDate today = LocalDate.now();
+
+    @BeforeAll
+    static void setUp() {
+        OrderNumberGenerator.setDefault(new TerminalOrderNumberGenerator(1));
+        sessionFactory = TestDatabase.createInspected(sql -> {
+            Runnable action = hook;
+            if (action != null && sql.contains(hookedSql)
+                    && Thread.currentThread().getName().equals("sales-cube-rebuild")) {
+                hook = null;
+                action.run();
+            }
+            return sql;
+        });
+        TestDatabase.seed(sessionFactory, 1, 1_000);
+        orderService = new OrderServiceImpl(sessionFactory);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Test
+    void salesFallOnTheDayTheyCompleted() {
+        OrderEntity order = completedOrder(2);
+        LocalDate created = today.minusDays(3);
+        TestDatabase.inTransaction(sessionFactory, session -> session.createNativeMutationQuery(
+                        "update orders set created_at = ?1 where order_id = ?2")
+                .setParameter(1, created.atTime(10, 0))
+                .setParameter(2, order.getOrderId())
+                .executeUpdate());
+        cube.rebuild(sessionFactory, 7);
+        BigDecimal revenue = cube.getRevenue(today, today);
+        assertEquals(BigDecimal.ZERO.setScale(2), cube.getRevenue(created, created));
+
+        // The refund reloads the order with its old creation date and takes the sale off the day it completed
+        assertTrue(orderService.refundOrder(order.getOrderId()));
+        assertEquals(revenue.subtract(order.getTotalAmount()), cube.getRevenue(today, today));
+        assertEquals(BigDecimal.ZERO.setScale(2), cube.getRevenue(created, created));
+    }
+
+    @Test
+    void saleCommittedBeforeTheSnapshotButPublishedDuringTheLoadCountsOnce() {
+        cube.rebuild(sessionFactory, 1);
+        BigDecimal revenue = cube.getRevenue(today, today);
+        long orders = cube.getOrderCount(today, today);
+
+        OrderEntity[] order = new OrderEntity[1];
+        duringRebuild("order_status", () -> order[0] = completedOrder(3));
+        cube.rebuild(sessionFactory, 1);
+
+        assertNull(hook);
+        assertEquals(revenue.add(order[0].getTotalAmount()), cube.getRevenue(today, today));
+        assertEquals(orders + 1, cube.getOrderCount(today, today));
+    }
+
+    @Test
+    void refundCommittedBeforeTheSnapshotButPublishedDuringTheLoadIsNotSubtractedTwice() {
+        OrderEntity order = completedOrder(4);
+        cube.rebuild(sessionFactory, 1);
+        BigDecimal revenue = cube.getRevenue(today, today);
+        long orders = cube.getOrderCount(today, today);
+
+        duringRebuild("order_status", () -> assertTrue(orderService.refundOrder(order.getOrderId())));
+        cube.rebuild(sessionFactory, 1);
+
+        assertNull(hook);
+        assertEquals(revenue.subtract(order.getTotalAmount()), cube.getRevenue(today, today));
+        assertEquals(orders - 1, cube.getOrderCount(today, today));
+    }
+
+    @Test
+    void refundCommittedAfterTheSnapshotIsReplayed() {
+        OrderEntity order = completedOrder(5);
+        cube.rebuild(sessionFactory, 1);
+        BigDecimal revenue = cube.getRevenue(today, today);
+        long units = cube.getUnitsByCategory(today, today).get(1L);
+
+        // The order query is the day's last read, so the snapshot was taken before the refund
+        duringRebuild("total_amount", () -> assertTrue(orderService.refundOrder(order.getOrderId())));
+        cube.rebuild(sessionFactory, 1);
+
+        assertNull(hook);
+        assertEquals(revenue.subtract(order.getTotalAmount()), cube.getRevenue(today, today));
+        assertEquals(units - 5, cube.getUnitsByCategory(today, today).get(1L));
+    }
+
+    private static void duringRebuild(String sql, Runnable action) {
+        hookedSql = sql;
+        hook = action;
+    }
+
+    private static OrderEntity completedOrder(int quantity) {
+        OrderEntity order;
+        try (Session session = sessionFactory.openSession()) {
+            ProductEntity product = session.find(ProductEntity.class, 1L);
+            EmployeeEntity employee = session.find(EmployeeEntity.class, 1L);
+            order = new OrderEntity("Customer", null, OrderEntity.PaymentMethod.CASH, employee);
+            order.addOrderItem(new OrderItemEntity(product, quantity, product.getPrice()));
+        }
+        assertTrue(orderService.completeOrder(order));
+        return order;
+    }
+}
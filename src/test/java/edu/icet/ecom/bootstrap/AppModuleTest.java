@@ -0,0 +1,177 @@
+package edu.icet.ecom.bootstrap;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.name.Names;
+import com.google.inject.util.Modules;
+import edu.icet.ecom.service.ExportService;
+import edu.icet.ecom.service.ReportService;
+import edu.icet.ecom.support.TestDatabase;
+import net.sf.jasperreports.engine.JasperCompileManager;
+import net.sf.jasperreports.engine.JasperReport;
+import net.sf.jasperreports.engine.design.JRDesignBand;
+import net.sf.jasperreports.engine.design.JRDesignExpression;
+import net.sf.jasperreports.engine.design.JRDesignField;
+import net.sf.jasperreports.engine.design.JRDesignSection;
+import net.sf.jasperreports.engine.design.JRDesignTextField;
+import net.sf.jasperreports.engine.design.JasperDesign;
+import org.h2.jdbcx.JdbcDataSource;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AppModuleTest {
+
+    private static final List<Prepared> reportingStatements = new CopyOnWriteArrayList<>();
+
+    private static SessionFactory sessionFactory;
+    private static SessionFactory reportingSessionFactory;
+    private static Injector injector;
+
+    @BeforeAll
+    static void setUp() {
+        // The main database stays empty, so rows can only come from the reporting one
+        sessionFactory = TestDatabase.create();
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        reportingSessionFactory = TestDatabase.createOn(recording(dataSource));
+        TestDatabase.seed(reportingSessionFactory, 5, 10);
+
+        injector = Guice.createInjector(Modules.override(new AppModule()).with(new AbstractModule() {
+            @Override
+            protected void configure() {
+                bind(SessionFactory.class).toInstance(sessionFactory);
+                bind(SessionFactory.class).annotatedWith(Names.named(AppModule.REPORTING))
+                        .toInstance(reportingSessionFactory);
+            }
+        }));
+    }
+
+    @AfterAll
+    static void tearDown() {
+        sessionFactory.close();
+        reportingSessionFactory.close();
+    }
+
+    @BeforeEach
+    void clearStatements() {
+        reportingStatements.clear();
+    }
+
+    @Test
+    void exportsStreamFromTheReportingFactory() throws Exception {
+        long rows = injector.getInstance(ExportService.class).exportProducts(OutputStream.nullOutputStream());
+
+        assertEquals(5, rows);
+        assertEquals(1000, fetchSizeOf("from products"), "EXPORT_FETCH_SIZE rows per round trip");
+        assertEquals(0, sessionFactory.getStatistics().getQueryExecutionCount());
+    }
+
+    @Test
+    void reportsStreamFromTheReportingFactory() throws Exception {
+        injector.getInstance(ReportService.class)
+                .exportInventoryReport(productCodeReport(), null, OutputStream.nullOutputStream());
+
+        assertEquals(500, fetchSizeOf("from products"), "REPORT_PAGE_SIZE rows per round trip");
+        assertEquals(0, sessionFactory.getStatistics().getQueryExecutionCount());
+    }
+
+    private static int fetchSizeOf(String sqlFragment) {
+        return reportingStatements.stream()
+                .filter(statement -> statement.sql.contains(sqlFragment))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("no reporting statement " + sqlFragment))
+                .fetchSize;
+    }
+
+    private static JasperReport productCodeReport() throws Exception {
+        JasperDesign design = new JasperDesign();
+        design.setName("inventory");
+        JRDesignField field = new JRDesignField();
+        field.setName("productCode");
+        field.setValueClass(String.class);
+        design.addField(field);
+
+        JRDesignTextField text = new JRDesignTextField();
+        text.setWidth(200);
+        text.setHeight(20);
+        text.setExpression(new JRDesignExpression("$F{productCode}"));
+        JRDesignBand band = new JRDesignBand();
+        band.setHeight(20);
+        band.addElement(text);
+        ((JRDesignSection) design.getDetailSection()).addBand(band);
+        return JasperCompileManager.compileReport(design);
+    }
+
+    // Records every prepared statement and the fetch size set on it
+    private static DataSource recording(DataSource dataSource) {
+        return proxy(DataSource.class, (method, args) -> {
+            Object result = invoke(dataSource, method, args);
+            return result instanceof Connection ? recording((Connection) result) : result;
+        });
+    }
+
+    private static Connection recording(Connection connection) {
+        return proxy(Connection.class, (method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (method.getName().equals("prepareStatement")) {
+                Prepared prepared = new Prepared((String) args[0]);
+                reportingStatements.add(prepared);
+                return recording((PreparedStatement) result, prepared);
+            }
+            return result;
+        });
+    }
+
+    private static PreparedStatement recording(PreparedStatement statement, Prepared prepared) {
+        return proxy(PreparedStatement.class, (method, args) -> {
+            if (method.getName().equals("setFetchSize")) {
+                prepared.fetchSize = (Integer) args[0];
+            }
+            return invoke(statement, method, args);
+        });
+    }
+
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        return type.cast(Proxy.newProxyInstance(AppModuleTest.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> handler.handle(method, args)));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private interface Handler {
+        Object handle(Method method, Object[] args) throws Throwable;
+    }
+
+    private static final class Prepared {
+        private final String sql;
+        private volatile int fetchSize;
+
+        private Prepared(String sql) {
+            this.sql = sql;
+        }
+    }
+}
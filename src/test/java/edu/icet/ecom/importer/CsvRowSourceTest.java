@@ -0,0 +1,60 @@
+package edu.icet.ecom.importer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CsvRowSourceTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void plainFieldsSplitOnCommas() throws Exception {
+        Map<Integer, List<String>> rows = read("name,price,quantity\nLinen Shirt,2500,10\n");
+
+        assertEquals(List.of("name", "price", "quantity"), rows.get(1));
+        assertEquals(List.of("Linen Shirt", "2500", "10"), rows.get(2));
+    }
+
+    @Test
+    void quotedFieldsKeepCommasQuotesAndLineBreaks() throws Exception {
+        Map<Integer, List<String>> rows = read("name,description,price\n" +
+                "\"Shirt, Linen\",\"The \"\"summer\"\" cut\nwith two pockets\",\"2,500\"\n" +
+                "\"\",\"\"\"\",9\n");
+
+        assertEquals(List.of("Shirt, Linen", "The \"summer\" cut\nwith two pockets", "2,500"), rows.get(2));
+        assertEquals(List.of("", "\"", "9"), rows.get(3), "empty and quote-only fields");
+    }
+
+    @Test
+    void rowsAreNumberedAsRecordsAndBlankRowsAreSkipped() throws Exception {
+        Map<Integer, List<String>> rows = read("﻿name,price\n" +
+                "\"Two\nlines\",1\n" +
+                "\n" +
+                " , \n" +
+                "Last,2\n" +
+                "Trailing,\n");
+
+        assertEquals(List.of(1, 2, 5, 6), List.copyOf(rows.keySet()));
+        assertEquals(List.of("name", "price"), rows.get(1), "byte order mark dropped");
+        assertEquals(List.of("Last", "2"), rows.get(5));
+        assertEquals(List.of("Trailing", ""), rows.get(6));
+    }
+
+    private Map<Integer, List<String>> read(String content) throws Exception {
+        Path file = directory.resolve("rows.csv");
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        Map<Integer, List<String>> rows = new LinkedHashMap<>();
+        new CsvRowSource(file).read(rows::put);
+        return rows;
+    }
+}
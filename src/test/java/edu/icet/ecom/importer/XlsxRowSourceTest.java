@@ -0,0 +1,65 @@
+package edu.icet.ecom.importer;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class XlsxRowSourceTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsTheFirstSheetRowByRow() throws Exception {
+        Path file = directory.resolve("rows.xlsx");
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet("Products");
+            Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("name");
+            header.createCell(1).setCellValue("size");
+            header.createCell(2).setCellValue("price");
+            header.createCell(3).setCellValue("quantity");
+            Row shirt = sheet.createRow(1);
+            shirt.createCell(0).setCellValue("Linen Shirt");
+            shirt.createCell(2).setCellValue(2500.5);
+            shirt.createCell(3).setCellValue(10);
+            sheet.createRow(2).createCell(0).setCellValue(" ");
+            Row trousers = sheet.createRow(4);
+            trousers.createCell(1).setCellValue("32");
+            trousers.createCell(3).setCellValue(4);
+            workbook.createSheet("Ignored").createRow(0).createCell(0).setCellValue("other");
+            try (OutputStream out = Files.newOutputStream(file)) {
+                workbook.write(out);
+            }
+        }
+
+        Map<Integer, List<String>> rows = new LinkedHashMap<>();
+        new XlsxRowSource(file).read(rows::put);
+
+        assertEquals(List.of(1, 2, 5), List.copyOf(rows.keySet()), "blank and missing rows are skipped");
+        assertEquals(List.of("name", "size", "price", "quantity"), rows.get(1));
+        assertEquals(List.of("Linen Shirt", "", "2500.5", "10"), rows.get(2), "empty cells are filled in");
+        assertEquals(List.of("", "32", "", "4"), rows.get(5));
+    }
+
+    @Test
+    void aFileThatIsNotASpreadsheetIsReportedAsIoError() throws Exception {
+        Path file = directory.resolve("broken.xlsx");
+        Files.writeString(file, "name,price\n");
+
+        assertThrows(IOException.class, () -> new XlsxRowSource(file).read((rowNumber, cells) -> { }));
+    }
+}
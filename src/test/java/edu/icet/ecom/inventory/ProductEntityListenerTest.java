@@ -0,0 +1,61 @@
+package edu.icet.ecom.inventory;
+
+import edu.icet.ecom.model.entity.ProductEntity;
+import edu.icet.ecom.support.TestDatabase;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ProductEntityListenerTest {
+
+    private static SessionFactory sessionFactory;
+
+    private final ProductLookupIndex lookupIndex = ProductLookupIndex.getInstance();
+
+    @BeforeAll
+    static void setUp() {
+        sessionFactory = TestDatabase.create();
+        TestDatabase.seed(sessionFactory, 2, 10);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Test
+    void aRolledBackSaveIsNotPublished() {
+        String barcode = "RB-" + UUID.randomUUID();
+        try (Session session = sessionFactory.openSession()) {
+            Transaction transaction = session.beginTransaction();
+            session.find(ProductEntity.class, 1L).setBarcode(barcode);
+            session.flush();
+            transaction.rollback();
+        }
+        assertNull(lookupIndex.findByBarcode(barcode));
+    }
+
+    @Test
+    void aCommittedSaveIsPublished() {
+        String barcode = "OK-" + UUID.randomUUID();
+        TestDatabase.inTransaction(sessionFactory, session -> {
+            session.find(ProductEntity.class, 2L).setBarcode(barcode);
+            session.flush();
+            // Flushed but not yet committed
+            assertNull(lookupIndex.findByBarcode(barcode));
+        });
+        ProductLookupRecord record = lookupIndex.findByBarcode(barcode);
+        assertNotNull(record);
+        assertEquals(2L, record.getProductId());
+        lookupIndex.remove(2L);
+    }
+}
@@ -0,0 +1,84 @@
+package edu.icet.ecom.inventory;
+
+import edu.icet.ecom.model.entity.ProductEntity;
+import edu.icet.ecom.support.Benchmarks;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Scan lookups by barcode and product code against a one-million-SKU index.
+ */
+@Tag(Benchmarks.TAG)
+class ProductLookupIndexBenchmarkTest {
+
+    private static final int CATALOG = 1_000_000;
+    private static final int LOOKUPS = 2_000_000;
+    private static final long FIRST_ID = 10_000_000L;
+
+    private final ProductLookupIndex index = ProductLookupIndex.getInstance();
+
+    @AfterEach
+    void clear() {
+        index.clear();
+    }
+
+    @Test
+    void lookupsOnAMillionSkuCatalog() {
+        ProductEntity product = new ProductEntity();
+        product.setIsActive(true);
+        product.setProductName("Denim shirt");
+        product.setSize("M");
+        product.setColor("Blue");
+        product.setPrice(new BigDecimal("2499.00"));
+        for (int i = 0; i < CATALOG; i++) {
+            product.setProductId(FIRST_ID + i);
+            product.setProductCode(code(i));
+            product.setBarcode(barcode(i));
+            index.update(product);
+        }
+        assertTrue(index.size() >= CATALOG);
+
+        String[] scans = new String[LOOKUPS];
+        SplittableRandom random = new SplittableRandom(11);
+        for (int i = 0; i < LOOKUPS; i++) {
+            int sku = random.nextInt(CATALOG);
+            scans[i] = i % 4 == 0 ? code(sku) : barcode(sku);
+        }
+        Benchmarks.warmUp(LOOKUPS, () -> index.findByScan(scans[random.nextInt(LOOKUPS)]));
+
+        long[] latencies = new long[LOOKUPS];
+        int found = 0;
+        long begin = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) {
+            long start = System.nanoTime();
+            ProductLookupRecord record = index.findByScan(scans[i]);
+            latencies[i] = System.nanoTime() - start;
+            if (record != null) {
+                found++;
+            }
+        }
+        double seconds = (System.nanoTime() - begin) / 1e9;
+
+        long p99 = Benchmarks.percentile(latencies, 99);
+        Benchmarks.report("product lookup", "%d SKUs, %.0f lookups/s, p50 %d ns, p99 %d ns",
+                CATALOG, LOOKUPS / seconds, Benchmarks.percentile(latencies, 50), p99);
+        assertEquals(LOOKUPS, found);
+        assertTrue(p99 < TimeUnit.MILLISECONDS.toNanos(1), "p99 " + p99 + " ns");
+    }
+
+    private static String code(int sku) {
+        return String.format("BEN%07d", sku);
+    }
+
+    private static String barcode(int sku) {
+        return Long.toString(4_790_000_000_000L + sku);
+    }
+}
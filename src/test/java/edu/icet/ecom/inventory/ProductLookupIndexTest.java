@@ -0,0 +1,64 @@
+package edu.icet.ecom.inventory;
+
+import edu.icet.ecom.model.entity.ProductEntity;
+import edu.icet.ecom.support.TestDatabase;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class ProductLookupIndexTest {
+
+    private static final int CATALOG = 20_000;
+
+    private static SessionFactory sessionFactory;
+
+    private final ProductLookupIndex lookupIndex = ProductLookupIndex.getInstance();
+
+    @BeforeAll
+    static void setUp() {
+        sessionFactory = TestDatabase.create();
+        TestDatabase.seed(sessionFactory, 1, 10);
+        TestDatabase.seedCatalog(sessionFactory, 2, CATALOG);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Test
+    void scansResolveBarcodesAndCodes() {
+        lookupIndex.warmUp(sessionFactory);
+
+        assertEquals(CATALOG + 1, lookupIndex.size());
+        assertEquals(1L, lookupIndex.findByScan("BC1").getProductId());
+        assertEquals(2L, lookupIndex.findByScan("cat2").getProductId());
+    }
+
+    @Test
+    void priceSavedDuringWarmUpIsNotOverwrittenByTheStream() throws Exception {
+        lookupIndex.warmUp(sessionFactory);
+        String barcode = "CB" + (CATALOG + 1); // the last row the warm-up streams
+        assertNotNull(lookupIndex.findByBarcode(barcode));
+
+        CompletableFuture<Void> warmUp = CompletableFuture.runAsync(() -> lookupIndex.warmUp(sessionFactory));
+        TestDatabase.inTransaction(sessionFactory, session ->
+                session.find(ProductEntity.class, (long) CATALOG + 1).setPrice(new BigDecimal("99.00")));
+        while (!warmUp.isDone()) {
+            assertNotNull(lookupIndex.findByBarcode("BC1"), "scan during warm-up");
+        }
+        warmUp.get(1, TimeUnit.MINUTES);
+
+        // Committed while the rebuild was streaming rows; either the stream or the replay carries it
+        assertEquals(new BigDecimal("99.00"), lookupIndex.findByBarcode(barcode).getPrice());
+        assertEquals(CATALOG + 1, lookupIndex.size());
+    }
+}
@@ -0,0 +1,66 @@
+package edu.icet.ecom.inventory;
+
+import edu.icet.ecom.support.Benchmarks;
+import edu.icet.ecom.support.TestDatabase;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Typeahead queries, one per keystroke, against a 500k-product catalog.
+ */
+@Tag(Benchmarks.TAG)
+class ProductSearchIndexBenchmarkTest {
+
+    private static final int CATALOG = 500_000;
+    private static final int ROUNDS = 200;
+    private static final String[] KEYSTROKES = {
+            "d", "de", "den", "deni", "denim", "denim s", "denim sl", "denim sl 3", "denim sl 32",
+            "denim sl 32 b", "denim sl 32 bl", "denim sl 32 blue", "shirt", "oxford jacket navy"
+    };
+
+    @Test
+    void keystrokeSearchOnFiveHundredThousandProducts() {
+        SessionFactory sessionFactory = TestDatabase.create();
+        try {
+            TestDatabase.seed(sessionFactory, 1, 10);
+            TestDatabase.seedCatalog(sessionFactory, 2, CATALOG - 1);
+            ProductSearchIndex searchIndex = ProductSearchIndex.getInstance();
+
+            long warmUpStart = System.nanoTime();
+            searchIndex.warmUp(sessionFactory);
+            long warmUpMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - warmUpStart);
+            assertEquals(CATALOG, searchIndex.size());
+            assertFalse(searchIndex.search("denim sl 32 blue", 20).isEmpty());
+
+            Benchmarks.warmUp(20, () -> {
+                for (String keystroke : KEYSTROKES) {
+                    searchIndex.search(keystroke, 20);
+                }
+            });
+            long[] latencies = new long[ROUNDS * KEYSTROKES.length];
+            int sample = 0;
+            for (int round = 0; round < ROUNDS; round++) {
+                for (String keystroke : KEYSTROKES) {
+                    long start = System.nanoTime();
+                    searchIndex.search(keystroke, 20);
+                    latencies[sample++] = System.nanoTime() - start;
+                }
+            }
+
+            long p99 = Benchmarks.percentile(latencies, 99);
+            Benchmarks.report("product search", "%d products, warm-up %d ms, p50 %.2f ms, p99 %.2f ms, max %.2f ms",
+                    CATALOG, warmUpMillis, Benchmarks.percentile(latencies, 50) / 1e6, p99 / 1e6,
+                    Benchmarks.percentile(latencies, 100) / 1e6);
+            assertTrue(p99 < TimeUnit.MILLISECONDS.toNanos(10), "p99 " + p99 / 1e6 + " ms");
+        } finally {
+            sessionFactory.close();
+        }
+    }
+}
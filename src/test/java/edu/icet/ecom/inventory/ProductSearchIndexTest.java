@@ -0,0 +1,96 @@
+package edu.icet.ecom.inventory;
+
+import edu.icet.ecom.model.entity.ProductEntity;
+import edu.icet.ecom.support.TestDatabase;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProductSearchIndexTest {
+
+    private static final int CATALOG = 20_000;
+
+    private static SessionFactory sessionFactory;
+
+    private final ProductSearchIndex searchIndex = ProductSearchIndex.getInstance();
+
+    @BeforeAll
+    static void setUp() {
+        sessionFactory = TestDatabase.create();
+        TestDatabase.seed(sessionFactory, 1, 10);
+        TestDatabase.seedCatalog(sessionFactory, 2, CATALOG);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Test
+    void wordsMatchAsPrefixesAcrossFields() {
+        searchIndex.warmUp(sessionFactory);
+
+        List<ProductSearchResult> results = searchIndex.search("denim sl 32 blue", 20);
+        assertFalse(results.isEmpty());
+        for (ProductSearchResult result : results) {
+            assertTrue(result.getDisplayName().startsWith("Slim Denim"), result.getDisplayName());
+            assertTrue(result.getDisplayName().endsWith(" - 32 (Blue)"), result.getDisplayName());
+        }
+    }
+
+    @Test
+    void searchesKeepWorkingWhileTheIndexIsRebuilt() throws Exception {
+        searchIndex.warmUp(sessionFactory);
+        int expected = searchIndex.search("oxford jacket", 10).size();
+        assertEquals(10, expected);
+
+        CompletableFuture<Void> warmUp = CompletableFuture.runAsync(() -> searchIndex.warmUp(sessionFactory));
+        TestDatabase.inTransaction(sessionFactory, session ->
+                session.find(ProductEntity.class, 2L).setProductName("Zebra Print Scarf"));
+        while (!warmUp.isDone()) {
+            assertEquals(expected, searchIndex.search("oxford jacket", 10).size(), "search during warm-up");
+        }
+        warmUp.get(1, TimeUnit.MINUTES);
+
+        // Committed while the rebuild was streaming rows; either the stream or the replay carries it
+        assertEquals(1, searchIndex.search("zebra", 10).size());
+        assertEquals(CATALOG + 1, searchIndex.size());
+    }
+
+    @Test
+    void bulkUpdatesMatchOneByOneUpdates() {
+        searchIndex.warmUp(sessionFactory);
+        ProductEntity renamed = product(2L, "Quokka Parka");
+        ProductEntity first = product(900_001L, "Quokka Vest");
+        ProductEntity retired = product(900_002L, "Quokka Tee");
+        ProductEntity again = product(900_001L, "Quokka Cardigan");
+        retired.setIsActive(false);
+
+        searchIndex.updateAll(List.of(product(900_002L, "Quokka Tee"), first, renamed, retired, again,
+                product(900_003L, "Quokka Gilet")));
+
+        assertEquals(List.of("Quokka Cardigan", "Quokka Gilet", "Quokka Parka"), searchIndex.search("quokka", 10)
+                .stream().map(ProductSearchResult::getDisplayName).sorted().toList());
+        assertTrue(searchIndex.search("vest", 10).isEmpty(), "refreshed in the same batch");
+        assertEquals(CATALOG + 3, searchIndex.size());
+        searchIndex.warmUp(sessionFactory);
+    }
+
+    private static ProductEntity product(long productId, String name) {
+        ProductEntity product = new ProductEntity();
+        product.setProductId(productId);
+        product.setProductName(name);
+        product.setProductCode("BLK-" + productId);
+        product.setIsActive(true);
+        return product;
+    }
+}
@@ -0,0 +1,98 @@
+package edu.icet.ecom.inventory;
+
+import edu.icet.ecom.model.entity.ProductEntity;
+import edu.icet.ecom.model.entity.ProductEntity.ProductStatus;
+import edu.icet.ecom.support.TestDatabase;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StockLevelMonitorTest {
+
+    private static final int CATALOG = 20_000;
+
+    private static SessionFactory sessionFactory;
+
+    private final StockLevelMonitor monitor = StockLevelMonitor.getInstance();
+
+    @BeforeAll
+    static void setUp() {
+        sessionFactory = TestDatabase.create();
+        TestDatabase.seed(sessionFactory, 3, 10);
+        TestDatabase.seedCatalog(sessionFactory, 4, CATALOG);
+        execute("update products set quantity_on_hand = 0, status = 'OUT_OF_STOCK' where product_id = 1");
+        // Stored as low stock although the quantity says otherwise
+        execute("update products set status = 'LOW_STOCK' where product_id = 2");
+        execute("update products set quantity_on_hand = 1, status = 'LOW_STOCK' where product_id >= 4");
+    }
+
+    @AfterAll
+    static void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Test
+    void warmUpLoadsFlaggedProductsAndCorrectsStaleStatuses() {
+        monitor.warmUp(sessionFactory);
+
+        assertEquals(ProductStatus.OUT_OF_STOCK, monitor.getStatus(1L));
+        assertFalse(monitor.needsReorder(2L));
+        assertEquals(ProductStatus.AVAILABLE, storedStatus(2L));
+        assertEquals(ProductStatus.LOW_STOCK, monitor.getStatus(4L));
+        assertEquals(CATALOG + 1, monitor.size());
+    }
+
+    @Test
+    void stockChangesDuringWarmUpSurviveTheSwap() throws Exception {
+        monitor.warmUp(sessionFactory);
+
+        CompletableFuture<Void> warmUp = CompletableFuture.runAsync(() -> monitor.warmUp(sessionFactory));
+        // What StockServiceImpl does after a checkout commits: write, then record the committed quantity
+        execute("update products set quantity_on_hand = 0, status = 'OUT_OF_STOCK' where product_id = 3");
+        monitor.record(3L, 0, 2);
+        while (!warmUp.isDone()) {
+            assertTrue(monitor.needsReorder(1L), "flagged set emptied during warm-up");
+        }
+        warmUp.get(1, TimeUnit.MINUTES);
+
+        assertEquals(ProductStatus.OUT_OF_STOCK, monitor.getStatus(3L));
+        assertTrue(monitor.needsReorder(1L));
+        monitor.record(3L, 10, 2);
+        execute("update products set quantity_on_hand = 10, status = 'AVAILABLE' where product_id = 3");
+    }
+
+    @Test
+    void reorderLevelRaisedThroughASetterSurvivesARestart() {
+        TestDatabase.inTransaction(sessionFactory, session ->
+                session.find(ProductEntity.class, 2L).setReorderLevel(20));
+        assertEquals(ProductStatus.LOW_STOCK, storedStatus(2L));
+
+        // A restart rebuilds the set from the stored status alone
+        monitor.warmUp(sessionFactory);
+        assertEquals(ProductStatus.LOW_STOCK, monitor.getStatus(2L));
+
+        TestDatabase.inTransaction(sessionFactory, session ->
+                session.find(ProductEntity.class, 2L).setReorderLevel(2));
+        assertEquals(ProductStatus.AVAILABLE, storedStatus(2L));
+        assertFalse(monitor.needsReorder(2L));
+    }
+
+    private static void execute(String sql) {
+        TestDatabase.inTransaction(sessionFactory, session -> session.createNativeMutationQuery(sql).executeUpdate());
+    }
+
+    private static ProductStatus storedStatus(Long productId) {
+        try (Session session = sessionFactory.openSession()) {
+            return session.find(ProductEntity.class, productId).getStatus();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package edu.icet.ecom.inventory;
+
+import edu.icet.ecom.support.Benchmarks;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 32 terminals scanning and voiding lines against the same few hot products,
+ * each through its own cart. Reports throughput and the p99 latency of a scan.
+ */
+@Tag(Benchmarks.TAG)
+class StockReservationLedgerBenchmarkTest {
+
+    private static final int TERMINALS = 32;
+    private static final int HOT_PRODUCTS = 4;
+    private static final int SCANS_PER_TERMINAL = 50_000;
+    private static final int ON_HAND = 40;
+
+    private final StockReservationLedger ledger = StockReservationLedger.getInstance();
+
+    @Test
+    void thirtyTwoTerminalsContendingForHotProducts() throws Exception {
+        long firstProductId = 2_000_000L;
+        ExecutorService pool = Executors.newFixedThreadPool(TERMINALS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<long[]>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < TERMINALS; t++) {
+                String cartKey = "bench-terminal-" + t;
+                int terminal = t;
+                futures.add(pool.submit(() -> {
+                    long[] latencies = new long[SCANS_PER_TERMINAL];
+                    start.await();
+                    for (int i = 0; i < SCANS_PER_TERMINAL; i++) {
+                        Long productId = firstProductId + (terminal + i) % HOT_PRODUCTS;
+                        long begin = System.nanoTime();
+                        boolean held = ledger.reserve(cartKey, productId, ON_HAND, 1);
+                        latencies[i] = System.nanoTime() - begin;
+                        if (held) {
+                            int reserved = ledger.getReserved(productId);
+                            if (reserved > ON_HAND) {
+                                throw new AssertionError("Oversold: " + reserved + " reserved of " + ON_HAND);
+                            }
+                            ledger.release(cartKey, productId, 1);
+                        }
+                    }
+                    return latencies;
+                }));
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            long[] all = new long[TERMINALS * SCANS_PER_TERMINAL];
+            int offset = 0;
+            for (Future<long[]> future : futures) {
+                long[] latencies = future.get(5, TimeUnit.MINUTES);
+                System.arraycopy(latencies, 0, all, offset, latencies.length);
+                offset += latencies.length;
+            }
+            double seconds = (System.nanoTime() - begin) / 1e9;
+
+            long p99 = Benchmarks.percentile(all, 99);
+            Benchmarks.report("reservation ledger", "%d terminals, %.0f scans/s, p50 %d ns, p99 %d ns",
+                    TERMINALS, all.length / seconds, Benchmarks.percentile(all, 50), p99);
+            // A scan must never wait on another terminal for anything close to a keystroke
+            assertTrue(p99 < TimeUnit.MILLISECONDS.toNanos(1), "p99 " + p99 + " ns");
+        } finally {
+            pool.shutdownNow();
+        }
+        for (int p = 0; p < HOT_PRODUCTS; p++) {
+            assertEquals(0, ledger.getReserved(firstProductId + p));
+        }
+    }
+}
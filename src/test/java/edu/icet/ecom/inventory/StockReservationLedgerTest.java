@@ -0,0 +1,168 @@
+package edu.icet.ecom.inventory;
+
+import edu.icet.ecom.model.entity.ProductEntity;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StockReservationLedgerTest {
+
+    // The ledger is a process-wide singleton, so every test uses product ids of its own
+    private static final AtomicLong NEXT_PRODUCT_ID = new AtomicLong(1_000_000);
+
+    private final StockReservationLedger ledger = StockReservationLedger.getInstance();
+
+    @Test
+    void productsAreTrackedOnlyWhileHeld() {
+        Long productId = NEXT_PRODUCT_ID.incrementAndGet();
+        assertTrue(ledger.reserve("cart-a", productId, 5, 2));
+        assertEquals(3, ledger.getAvailable(productId));
+
+        ledger.releaseAll("cart-a");
+        assertEquals(-1, ledger.getAvailable(productId));
+        assertEquals(0, ledger.getReserved(productId));
+    }
+
+    @Test
+    void aRefusedReservationLeavesNothingBehind() {
+        Long productId = NEXT_PRODUCT_ID.incrementAndGet();
+        assertFalse(ledger.reserve("cart-b", productId, 1, 2));
+        assertEquals(-1, ledger.getAvailable(productId));
+    }
+
+    @Test
+    void checkoutRetiresTheEntry() {
+        Long productId = NEXT_PRODUCT_ID.incrementAndGet();
+        assertTrue(ledger.reserve("cart-c", productId, 4, 4));
+        ledger.commit("cart-c");
+        assertEquals(-1, ledger.getAvailable(productId));
+
+        // The next cart seeds the entry again from its own figure
+        assertTrue(ledger.reserve("cart-d", productId, 6, 1));
+        assertEquals(5, ledger.getAvailable(productId));
+        ledger.releaseAll("cart-d");
+    }
+
+    @Test
+    void savingAProductReconcilesTheHeldQuantity() {
+        Long productId = NEXT_PRODUCT_ID.incrementAndGet();
+        assertTrue(ledger.reserve("cart-e", productId, 10, 3));
+
+        ProductEntity product = new ProductEntity();
+        product.setProductId(productId);
+        product.setProductName("Reconciled");
+        product.setQuantityOnHand(4);
+        product.setReorderLevel(1);
+        ProductEntityListener.saved(product);
+
+        assertEquals(1, ledger.getAvailable(productId));
+        assertEquals(3, ledger.getReserved(productId));
+        ledger.releaseAll("cart-e");
+        ProductEntityListener.removed(productId);
+    }
+
+    @Test
+    void theOnHandSourceIsOnlyAskedWhenTheProductIsNotTracked() {
+        Long productId = NEXT_PRODUCT_ID.incrementAndGet();
+        AtomicInteger lookups = new AtomicInteger();
+        assertTrue(ledger.reserve("cart-f", productId, () -> lookups.incrementAndGet() * 5, 2));
+        assertTrue(ledger.reserve("cart-g", productId, () -> lookups.incrementAndGet() * 5, 2));
+        assertEquals(1, lookups.get());
+        assertEquals(1, ledger.getAvailable(productId));
+        ledger.releaseAll("cart-f");
+        ledger.releaseAll("cart-g");
+    }
+
+    @Test
+    void aSettledCartCannotHoldStockAgain() {
+        Long productId = NEXT_PRODUCT_ID.incrementAndGet();
+        assertTrue(ledger.reserve("cart-h", productId, 5, 1));
+        ledger.releaseAll("cart-h");
+        assertFalse(ledger.reserve("cart-h", productId, 5, 1));
+        assertEquals(-1, ledger.getAvailable(productId));
+
+        // Also when the release arrives before the cart's first scan
+        ledger.commit("cart-i");
+        assertFalse(ledger.reserve("cart-i", productId, 5, 1));
+        assertEquals(0, ledger.getReserved(productId));
+    }
+
+    @Test
+    void scansRacingReleaseAllLeakNoHolds() throws Exception {
+        Long productId = NEXT_PRODUCT_ID.incrementAndGet();
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < 500; round++) {
+                String cartKey = "release-race-" + productId + "-" + round;
+                CountDownLatch start = new CountDownLatch(1);
+                Future<?> scanner = pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 20; i++) {
+                        ledger.reserve(cartKey, productId, 1_000, 1);
+                    }
+                    return null;
+                });
+                Future<?> canceller = pool.submit(() -> {
+                    start.await();
+                    ledger.releaseAll(cartKey);
+                    return null;
+                });
+                start.countDown();
+                scanner.get(30, TimeUnit.SECONDS);
+                canceller.get(30, TimeUnit.SECONDS);
+                assertEquals(0, ledger.getReserved(productId), "round " + round + " leaked a hold");
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(-1, ledger.getAvailable(productId));
+    }
+
+    @Test
+    void concurrentCartsNeverOversellAndLeaveNoEntries() throws Exception {
+        Long productId = NEXT_PRODUCT_ID.incrementAndGet();
+        int carts = 8;
+        int attemptsPerCart = 2_000;
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int c = 0; c < carts; c++) {
+                String cartKey = "race-" + productId + "-" + c;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < attemptsPerCart; i++) {
+                        if (ledger.reserve(cartKey, productId, 3, 1)) {
+                            int reserved = ledger.getReserved(productId);
+                            if (reserved > 3) {
+                                throw new AssertionError("Oversold: " + reserved + " reserved of 3");
+                            }
+                            ledger.release(cartKey, productId, 1);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(-1, ledger.getAvailable(productId));
+        assertEquals(0, ledger.getReserved(productId));
+    }
+}
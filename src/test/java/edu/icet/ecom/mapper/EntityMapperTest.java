@@ -0,0 +1,231 @@
+package edu.icet.ecom.mapper;
+
+import edu.icet.ecom.model.dto.CategoryDto;
+import edu.icet.ecom.model.dto.EmployeeDto;
+import edu.icet.ecom.model.dto.OrderDto;
+import edu.icet.ecom.model.dto.OrderItemDto;
+import edu.icet.ecom.model.dto.ProductDto;
+import edu.icet.ecom.model.dto.SupplierDto;
+import edu.icet.ecom.model.dto.UserDTO;
+import edu.icet.ecom.model.entity.CategoryEntity;
+import edu.icet.ecom.model.entity.EmployeeEntity;
+import edu.icet.ecom.model.entity.OrderEntity;
+import edu.icet.ecom.model.entity.OrderItemEntity;
+import edu.icet.ecom.model.entity.ProductEntity;
+import edu.icet.ecom.model.entity.SupplierEntity;
+import edu.icet.ecom.model.entity.UserEntity;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Every mapper carries each field from entity to DTO and back: mapping an
+ * entity, converting the DTO back and mapping again gives the same DTO. The
+ * associations a service re-attaches by id are re-attached here the same way.
+ */
+class EntityMapperTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2024, 3, 1, 9, 30);
+    private static final LocalDateTime UPDATED = LocalDateTime.of(2024, 3, 2, 17, 45);
+
+    @Test
+    void categoryRoundTrips() {
+        CategoryMapper mapper = new CategoryMapper();
+        CategoryEntity entity = category();
+
+        CategoryDto dto = mapper.toDto(entity);
+
+        assertEquals("Shirts", dto.getCategoryName());
+        assertEquals(dto, mapper.toDto(mapper.toEntity(dto)));
+    }
+
+    @Test
+    void supplierRoundTrips() {
+        SupplierMapper mapper = new SupplierMapper();
+        SupplierEntity entity = supplier();
+
+        SupplierDto dto = mapper.toDto(entity);
+
+        assertEquals("Net 30", dto.getPaymentTerms());
+        assertEquals(dto, mapper.toDto(mapper.toEntity(dto)));
+    }
+
+    @Test
+    void employeeRoundTrips() {
+        EmployeeMapper mapper = new EmployeeMapper();
+        EmployeeEntity entity = employee();
+
+        EmployeeDto dto = mapper.toDto(entity);
+
+        assertEquals("STORE_MANAGER", dto.getPosition());
+        assertEquals("MANAGEMENT", dto.getDepartment());
+        assertEquals("PROBATION", dto.getEmploymentStatus());
+        assertEquals(dto, mapper.toDto(mapper.toEntity(dto)));
+    }
+
+    @Test
+    void userRoundTrips() {
+        UserMapper mapper = new UserMapper();
+        UserEntity entity = new UserEntity("Nimal", "Perera", "nimal@example.com", "hash", UserEntity.UserRole.ADMIN);
+        entity.setUserId(4L);
+        entity.setPhone("0771234567");
+        entity.setAddress("Kandy");
+        entity.setIsActive(false);
+        entity.setLastLogin(UPDATED);
+        entity.setPasswordResetToken("token");
+        entity.setPasswordResetExpires(UPDATED.plusHours(1));
+        entity.setCreatedAt(CREATED);
+        entity.setUpdatedAt(UPDATED);
+        entity.setCreatedBy(1L);
+
+        UserDTO dto = mapper.toDto(entity);
+
+        assertEquals("ADMIN", dto.getRole());
+        assertEquals(dto, mapper.toDto(mapper.toEntity(dto)));
+    }
+
+    @Test
+    void productRoundTripsWithFlattenedCategoryAndSupplier() {
+        ProductMapper mapper = new ProductMapper();
+        ProductEntity entity = product(11L);
+
+        ProductDto dto = mapper.toDto(entity);
+
+        assertEquals("Shirts", dto.getCategoryName());
+        assertEquals("Supplier", dto.getSupplierName());
+        assertEquals("Company", dto.getSupplierCompany());
+        assertEquals("LOW_STOCK", dto.getStatus());
+        ProductEntity back = mapper.toEntity(dto);
+        assertNull(back.getCategory());
+        back.setCategory(entity.getCategory());
+        back.setSupplier(entity.getSupplier());
+        assertEquals(dto, mapper.toDto(back));
+    }
+
+    @Test
+    void orderRoundTripsWithItems() {
+        OrderMapper mapper = new OrderMapper();
+        OrderEntity entity = new OrderEntity("Customer", "customer@example.com",
+                OrderEntity.PaymentMethod.DEBIT_CARD, employee());
+        entity.setOrderId(21L);
+        entity.setOrderNumber("ORD-21");
+        entity.setCustomerPhone("0112345678");
+        entity.setDiscountAmount(new BigDecimal("5.00"));
+        entity.setOrderStatus(OrderEntity.OrderStatus.COMPLETED);
+        entity.setNotes("Gift wrap");
+        entity.setReceiptSent(true);
+        entity.setIsReturn(false);
+        entity.setCreatedAt(CREATED);
+        entity.setUpdatedAt(UPDATED);
+        entity.addOrderItem(item(31L, product(11L), 2, "25.00", "0.00"));
+        entity.addOrderItem(item(32L, product(12L), 1, "40.00", "4.00"));
+        entity.setAmountPaid(new BigDecimal("100.00"));
+        entity.calculateChange();
+
+        OrderDto dto = mapper.toDto(entity);
+
+        assertEquals("Test Employee", dto.getEmployeeName());
+        assertEquals(3, dto.getTotalItems());
+        assertEquals(2, dto.getUniqueProductsCount());
+        assertEquals(2, dto.getOrderItems().size());
+        OrderItemDto line = dto.getOrderItems().get(1);
+        assertEquals("ORD-21", line.getOrderNumber());
+        assertEquals("Product 12", line.getProductName());
+        assertEquals(new BigDecimal("36.00"), line.getSubtotal());
+
+        OrderEntity back = mapper.toEntity(dto);
+        back.setEmployee(entity.getEmployee());
+        for (int i = 0; i < back.getOrderItems().size(); i++) {
+            back.getOrderItems().get(i).setProduct(entity.getOrderItems().get(i).getProduct());
+        }
+        assertEquals(dto, mapper.toDto(back));
+    }
+
+    @Test
+    void unknownEnumNamesFallBackToDefaults() {
+        ProductDto product = new ProductMapper().toDto(product(11L));
+        product.setStatus("SOLD_OUT");
+        OrderDto order = new OrderDto();
+        order.setOrderStatus("LOST");
+
+        assertEquals(ProductEntity.ProductStatus.AVAILABLE, new ProductMapper().toEntity(product).getStatus());
+        assertEquals(OrderEntity.OrderStatus.PENDING, new OrderMapper().toEntity(order).getOrderStatus());
+    }
+
+    private static CategoryEntity category() {
+        CategoryEntity category = new CategoryEntity("Shirts", "Casual and formal shirts");
+        category.setCategoryId(1L);
+        category.setIsActive(true);
+        category.setCreatedAt(CREATED);
+        category.setUpdatedAt(UPDATED);
+        return category;
+    }
+
+    private static SupplierEntity supplier() {
+        SupplierEntity supplier = new SupplierEntity("Supplier", "Company", "supplier@example.com",
+                "0112223334", "Colombo");
+        supplier.setSupplierId(2L);
+        supplier.setContactPerson("Kamal");
+        supplier.setTaxNumber("TAX-1");
+        supplier.setPaymentTerms("Net 30");
+        supplier.setIsActive(true);
+        supplier.setCreatedAt(CREATED);
+        supplier.setUpdatedAt(UPDATED);
+        return supplier;
+    }
+
+    private static EmployeeEntity employee() {
+        EmployeeEntity employee = new EmployeeEntity("Test", "Employee", "employee@example.com",
+                LocalDate.of(2020, 1, 6), EmployeeEntity.Position.STORE_MANAGER);
+        employee.setEmployeeId(3L);
+        employee.setEmployeeCode("EMP0003");
+        employee.setPhone("0779998887");
+        employee.setAddress("Galle");
+        employee.setDateOfBirth(LocalDate.of(1990, 5, 17));
+        employee.setSalary(new BigDecimal("85000.00"));
+        employee.setDepartment(EmployeeEntity.Department.MANAGEMENT);
+        employee.setEmploymentStatus(EmployeeEntity.EmploymentStatus.PROBATION);
+        employee.setManagerId(1L);
+        employee.setEmergencyContact("Sunil");
+        employee.setEmergencyPhone("0771112223");
+        employee.setNationalId("NIC12345");
+        employee.setBankAccount("ACC-1");
+        employee.setNotes("Night shift");
+        employee.setIsActive(true);
+        employee.setCreatedAt(CREATED);
+        employee.setUpdatedAt(UPDATED);
+        return employee;
+    }
+
+    private static ProductEntity product(long id) {
+        ProductEntity product = new ProductEntity("Product " + id, "Everyday wear", "M", "Blue",
+                new BigDecimal("25.00"), 3, category(), supplier());
+        product.setProductId(id);
+        product.setCostPrice(new BigDecimal("12.50"));
+        product.setReorderLevel(5);
+        product.setMaxStockLevel(60);
+        product.setProductCode("SHI-" + id);
+        product.setBarcode("BC" + id);
+        product.setImagePath("/images/" + id + ".png");
+        product.setStatus(ProductEntity.ProductStatus.LOW_STOCK);
+        product.setCreatedAt(CREATED);
+        product.setUpdatedAt(UPDATED);
+        return product;
+    }
+
+    private static OrderItemEntity item(long id, ProductEntity product, int quantity, String unitPrice,
+                                        String discount) {
+        OrderItemEntity item = new OrderItemEntity(product, quantity, new BigDecimal(unitPrice),
+                new BigDecimal(discount));
+        item.setOrderItemId(id);
+        item.setNotes("Line " + id);
+        item.setCreatedAt(CREATED);
+        item.setUpdatedAt(UPDATED);
+        return item;
+    }
+}
@@ -0,0 +1,96 @@
+package edu.icet.ecom.model.entity;
+
+import edu.icet.ecom.support.TestDatabase;
+import edu.icet.ecom.util.sequence.OrderNumberGenerator;
+import edu.icet.ecom.util.sequence.TerminalOrderNumberGenerator;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderEntityTest {
+
+    private static SessionFactory sessionFactory;
+
+    @BeforeAll
+    static void setUp() {
+        OrderNumberGenerator.setDefault(new TerminalOrderNumberGenerator(2));
+        sessionFactory = TestDatabase.create();
+        TestDatabase.seed(sessionFactory, 2, 10);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Test
+    void runningTotalsFollowItemChanges() {
+        OrderEntity order = new OrderEntity("Customer", null, OrderEntity.PaymentMethod.CASH, null);
+        OrderItemEntity shirt = new OrderItemEntity(null, 2, new BigDecimal("12.50"));
+        OrderItemEntity socks = new OrderItemEntity(null, 3, new BigDecimal("1.99"));
+        order.addOrderItem(shirt);
+        order.addOrderItem(socks);
+        assertEquals(new BigDecimal("30.97"), order.getSubtotal());
+
+        shirt.updateQuantity(4);
+        socks.applyFixedDiscount(new BigDecimal("0.97"));
+        order.removeOrderItem(socks);
+        assertEquals(new BigDecimal("50.00"), order.getSubtotal());
+        assertEquals(new BigDecimal("4.00"), order.getTaxAmount());
+        assertEquals(new BigDecimal("54.00"), order.getTotalAmount());
+        assertEquals(4, order.getTotalItems());
+        assertEquals(1, order.getUniqueProductsCount());
+    }
+
+    @Test
+    void persistingAConsistentOrderSucceeds() {
+        try (Session session = sessionFactory.openSession()) {
+            Transaction transaction = session.beginTransaction();
+            OrderEntity order = newOrder(session);
+            session.persist(order);
+            transaction.commit();
+            assertNotNull(order.getOrderId());
+        }
+    }
+
+    @Test
+    void driftedTotalsFailAtCommit() {
+        try (Session session = sessionFactory.openSession()) {
+            Transaction transaction = session.beginTransaction();
+            OrderEntity order = newOrder(session);
+            // Adding to the list directly bypasses the delta path, so the running totals no longer match
+            ProductEntity product = session.find(ProductEntity.class, 1L);
+            OrderItemEntity extra = new OrderItemEntity(product, 5, product.getPrice());
+            extra.setOrder(order);
+            order.getOrderItems().add(extra);
+            RuntimeException error = assertThrows(RuntimeException.class, () -> {
+                session.persist(order);
+                session.flush();
+            });
+            transaction.rollback();
+            Throwable cause = error;
+            while (!(cause instanceof IllegalStateException) && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            assertTrue(cause.getMessage().contains("do not match its items"), cause.toString());
+        }
+    }
+
+    private static OrderEntity newOrder(Session session) {
+        ProductEntity product = session.find(ProductEntity.class, 1L);
+        OrderEntity order = new OrderEntity("Customer", null, OrderEntity.PaymentMethod.CASH,
+                session.find(EmployeeEntity.class, 1L));
+        order.addOrderItem(new OrderItemEntity(product, 2, product.getPrice()));
+        return order;
+    }
+}
@@ -0,0 +1,109 @@
+package edu.icet.ecom.repository.impl;
+
+import edu.icet.ecom.model.dto.OrderDto;
+import edu.icet.ecom.model.entity.EmployeeEntity;
+import edu.icet.ecom.model.entity.OrderEntity;
+import edu.icet.ecom.model.entity.OrderItemEntity;
+import edu.icet.ecom.model.entity.ProductEntity;
+import edu.icet.ecom.support.TestDatabase;
+import edu.icet.ecom.util.sequence.OrderNumberGenerator;
+import edu.icet.ecom.util.sequence.TerminalOrderNumberGenerator;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Each screen's fetch plan loads what the screen shows in one statement, however
+ * many orders or lines there are, and nothing is left to lazy-load afterwards.
+ */
+class OrderRepositoryImplTest {
+
+    private static final int ORDERS = 5;
+    private static final int LINES = 4;
+
+    private static SessionFactory sessionFactory;
+    private static OrderRepositoryImpl repository;
+    private static Long orderId;
+
+    private Statistics statistics;
+
+    @BeforeAll
+    static void setUp() {
+        OrderNumberGenerator.setDefault(new TerminalOrderNumberGenerator(2));
+        sessionFactory = TestDatabase.create();
+        TestDatabase.seed(sessionFactory, LINES, 100);
+        TestDatabase.inTransaction(sessionFactory, session -> {
+            EmployeeEntity employee = session.find(EmployeeEntity.class, 1L);
+            for (int o = 0; o < ORDERS; o++) {
+                OrderEntity order = new OrderEntity("Customer " + o, null, OrderEntity.PaymentMethod.CASH, employee);
+                for (long id = 1; id <= LINES; id++) {
+                    ProductEntity product = session.find(ProductEntity.class, id);
+                    order.addOrderItem(new OrderItemEntity(product, 2, product.getPrice()));
+                }
+                session.persist(order);
+                orderId = order.getOrderId();
+            }
+        });
+        repository = new OrderRepositoryImpl(sessionFactory);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        sessionFactory.close();
+    }
+
+    @BeforeEach
+    void clearStatistics() {
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void orderSummariesTakeOneStatement() {
+        List<OrderDto> summaries = repository.findOrderSummaries(
+                LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(ORDERS, summaries.size());
+        OrderDto summary = summaries.get(0);
+        assertEquals("CASH", summary.getPaymentMethod());
+        assertEquals("PENDING", summary.getOrderStatus());
+        assertEquals(LINES * 2, summary.getTotalItems());
+        assertEquals(LINES, summary.getUniqueProductsCount());
+        assertEquals("Test Employee", summary.getEmployeeName());
+    }
+
+    @Test
+    void receiptLoadsEmployeeLinesAndProductsInOneStatement() {
+        OrderEntity order = repository.findForReceipt(orderId).orElseThrow();
+
+        // Read after the session closed: anything the graph missed would throw here
+        assertEquals("EMP0001", order.getEmployee().getEmployeeCode());
+        assertEquals(LINES, order.getOrderItems().size());
+        for (OrderItemEntity item : order.getOrderItems()) {
+            assertNotNull(item.getProduct().getProductName());
+        }
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void refundLoadsLinesAndProductsInOneStatement() {
+        OrderEntity order = repository.findForRefund(orderId).orElseThrow();
+
+        assertEquals(LINES, order.getOrderItems().size());
+        for (OrderItemEntity item : order.getOrderItems()) {
+            assertNotNull(item.getProduct().getProductId());
+            assertNotNull(item.getProduct().getQuantityOnHand());
+        }
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
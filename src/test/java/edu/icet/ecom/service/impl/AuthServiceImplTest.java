@@ -0,0 +1,76 @@
+package edu.icet.ecom.service.impl;
+
+import edu.icet.ecom.model.dto.LoginResultDto;
+import edu.icet.ecom.model.entity.UserEntity;
+import edu.icet.ecom.support.TestDatabase;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuthServiceImplTest {
+
+    private static final String PASSWORD = "secret-123";
+
+    private static SessionFactory sessionFactory;
+    private static AuthServiceImpl authService;
+
+    @BeforeAll
+    static void setUp() {
+        System.setProperty("AUTH_HASH_ITERATIONS", "1");
+        sessionFactory = TestDatabase.create();
+        authService = new AuthServiceImpl(sessionFactory);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        System.clearProperty("AUTH_HASH_ITERATIONS");
+        sessionFactory.close();
+    }
+
+    @Test
+    void emailsAreStoredLowerCaseAndMatchedWhateverTheCase() {
+        Long userId = newUser(" Cashier.One@Example.COM ");
+        assertEquals("cashier.one@example.com", storedEmail(userId));
+
+        LoginResultDto result = authService.login("CASHIER.one@example.com", PASSWORD).join();
+        assertTrue(result.isSuccess(), result.getMessage());
+        assertFalse(authService.login("cashier.one@example.com", "wrong").join().isSuccess());
+    }
+
+    @Test
+    void savingTheUserEndsTheirSessions() {
+        Long userId = newUser("cashier.two@example.com");
+        Long otherId = newUser("cashier.three@example.com");
+        String token = authService.login("cashier.two@example.com", PASSWORD).join().getToken();
+        String otherToken = authService.login("cashier.three@example.com", PASSWORD).join().getToken();
+        assertTrue(authService.resume(token).isPresent());
+
+        TestDatabase.inTransaction(sessionFactory, session ->
+                session.find(UserEntity.class, userId).setIsActive(false));
+
+        assertFalse(authService.resume(token).isPresent());
+        assertTrue(authService.resume(otherToken).isPresent());
+        assertFalse(authService.login("cashier.two@example.com", PASSWORD).join().isSuccess());
+
+        authService.invalidate(otherId);
+        assertFalse(authService.resume(otherToken).isPresent());
+    }
+
+    private static Long newUser(String email) {
+        UserEntity user = new UserEntity("Test", "Cashier", email, authService.hashPassword(PASSWORD),
+                UserEntity.UserRole.EMPLOYEE);
+        TestDatabase.inTransaction(sessionFactory, session -> session.persist(user));
+        return user.getUserId();
+    }
+
+    private static String storedEmail(Long userId) {
+        try (var session = sessionFactory.openSession()) {
+            return session.find(UserEntity.class, userId).getEmail();
+        }
+    }
+}
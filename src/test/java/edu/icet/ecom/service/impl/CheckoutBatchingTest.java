@@ -0,0 +1,71 @@
+package edu.icet.ecom.service.impl;
+
+import edu.icet.ecom.model.entity.EmployeeEntity;
+import edu.icet.ecom.model.entity.OrderEntity;
+import edu.icet.ecom.model.entity.OrderItemEntity;
+import edu.icet.ecom.model.entity.ProductEntity;
+import edu.icet.ecom.support.TestDatabase;
+import edu.icet.ecom.util.sequence.OrderNumberGenerator;
+import edu.icet.ecom.util.sequence.TerminalOrderNumberGenerator;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pooled table ids and callback-assigned timestamps let Hibernate batch the
+ * inserts of a checkout, so a 40-line order no longer costs one statement per line.
+ */
+class CheckoutBatchingTest {
+
+    private static final int LINES = 40;
+
+    private static SessionFactory sessionFactory;
+    private static OrderServiceImpl orderService;
+
+    @BeforeAll
+    static void setUp() {
+        OrderNumberGenerator.setDefault(new TerminalOrderNumberGenerator(3));
+        sessionFactory = TestDatabase.create();
+        TestDatabase.seed(sessionFactory, LINES, 100);
+        orderService = new OrderServiceImpl(sessionFactory);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Test
+    void statementCountDoesNotGrowWithTheNumberOfLines() {
+        long single = statementsFor(newOrder(1));
+        long forty = statementsFor(newOrder(LINES));
+        System.getLogger(CheckoutBatchingTest.class.getName()).log(System.Logger.Level.INFO,
+                "checkout prepared " + single + " statements for 1 line, " + forty + " for " + LINES + " lines");
+        assertEquals(single, forty);
+    }
+
+    private static long statementsFor(OrderEntity order) {
+        Statistics statistics = sessionFactory.getStatistics();
+        statistics.clear();
+        assertTrue(orderService.completeOrder(order));
+        return statistics.getPrepareStatementCount();
+    }
+
+    private static OrderEntity newOrder(int lines) {
+        try (Session session = sessionFactory.openSession()) {
+            OrderEntity order = new OrderEntity("Customer", null, OrderEntity.PaymentMethod.CASH,
+                    session.find(EmployeeEntity.class, 1L));
+            for (long id = 1; id <= lines; id++) {
+                ProductEntity product = session.find(ProductEntity.class, id);
+                order.addOrderItem(new OrderItemEntity(product, 1, product.getPrice()));
+            }
+            return order;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package edu.icet.ecom.service.impl;
+
+import edu.icet.ecom.support.Benchmarks;
+import edu.icet.ecom.support.TestDatabase;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Exports a million order lines to .xlsx and checks that the live heap stays
+ * flat while they go through.
+ */
+@Tag(Benchmarks.TAG)
+class ExportServiceImplBenchmarkTest {
+
+    private static final int ORDERS = 100_000;
+    private static final int LINES_PER_ORDER = 10;
+    private static final long MAX_HEAP_GROWTH = 64L * 1024 * 1024;
+
+    private static SessionFactory sessionFactory;
+
+    @BeforeAll
+    static void setUp(@TempDir Path directory) {
+        // On disk, so H2's copy of the rows and its sorted results are not counted as export heap
+        sessionFactory = TestDatabase.createOnDisk(directory);
+        TestDatabase.seed(sessionFactory, LINES_PER_ORDER, 100);
+        TestDatabase.inTransaction(sessionFactory, session -> {
+            session.createNativeMutationQuery("insert into orders(order_id, order_number, customer_name, " +
+                            "subtotal, tax_amount, discount_amount, total_amount, payment_method, order_status, " +
+                            "is_return, created_at, employee_id) " +
+                            "select x, concat('BEN', x), 'Customer', 100.00, 0, 0, 100.00, 'CASH', 'COMPLETED', " +
+                            "false, dateadd(second, x, current_timestamp - 1), 1 from system_range(1, ?1)")
+                    .setParameter(1, ORDERS)
+                    .executeUpdate();
+            session.createNativeMutationQuery("insert into order_items(order_item_id, quantity, unit_price, " +
+                            "discount_amount, subtotal, order_id, product_id) " +
+                            "select x, 1, 10.00, 0, 10.00, (x - 1) / ?1 + 1, mod(x, ?1) + 1 " +
+                            "from system_range(1, ?2)")
+                    .setParameter(1, LINES_PER_ORDER)
+                    .setParameter(2, ORDERS * LINES_PER_ORDER)
+                    .executeUpdate();
+        });
+    }
+
+    @AfterAll
+    static void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Test
+    void exportsAMillionOrderLinesInFlatMemory() throws Exception {
+        ExportServiceImpl exports = new ExportServiceImpl(sessionFactory);
+        LocalDateTime from = LocalDateTime.now().minusDays(2);
+        LocalDateTime to = LocalDateTime.now().plusDays(2);
+
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        long baseline = runtime.totalMemory() - runtime.freeMemory();
+        AtomicLong peak = new AtomicLong(baseline);
+        // Live heap only: sampled right after a collection, so garbage from the export is not counted
+        Thread sampler = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    Thread.sleep(1000);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                System.gc();
+                peak.accumulateAndGet(runtime.totalMemory() - runtime.freeMemory(), Math::max);
+            }
+        });
+        sampler.setDaemon(true);
+        sampler.start();
+
+        CountingOutputStream out = new CountingOutputStream();
+        long begin = System.nanoTime();
+        long rows = exports.exportOrderItems(from, to, out);
+        double seconds = (System.nanoTime() - begin) / 1e9;
+        sampler.interrupt();
+        sampler.join();
+
+        long growth = peak.get() - baseline;
+        Benchmarks.report("excel export", "%d rows in %.1f s (%.0f rows/s), %.1f MB written, heap +%d MB",
+                rows, seconds, rows / seconds, out.count / 1e6, growth / (1024 * 1024));
+        assertEquals(0, Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().equals("excel-export-reader")).count());
+        assertEquals((long) ORDERS * LINES_PER_ORDER, rows);
+        assertTrue(growth < MAX_HEAP_GROWTH, "heap grew by " + growth + " bytes");
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) throws IOException {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
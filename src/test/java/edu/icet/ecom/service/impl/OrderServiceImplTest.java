@@ -0,0 +1,156 @@
+package edu.icet.ecom.service.impl;
+
+import edu.icet.ecom.inventory.StockReservationLedger;
+import edu.icet.ecom.model.entity.EmployeeEntity;
+import edu.icet.ecom.model.entity.OrderEntity;
+import edu.icet.ecom.model.entity.OrderItemEntity;
+import edu.icet.ecom.model.entity.ProductEntity;
+import edu.icet.ecom.repository.impl.OrderRepositoryImpl;
+import edu.icet.ecom.support.TestDatabase;
+import edu.icet.ecom.util.sequence.OrderNumberGenerator;
+import edu.icet.ecom.util.sequence.TerminalOrderNumberGenerator;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderServiceImplTest {
+
+    private static SessionFactory sessionFactory;
+    private static OrderServiceImpl orderService;
+
+    @BeforeAll
+    static void setUp() {
+        OrderNumberGenerator.setDefault(new TerminalOrderNumberGenerator(1));
+        sessionFactory = TestDatabase.create();
+        TestDatabase.seed(sessionFactory, 5, 10);
+        orderService = new OrderServiceImpl(sessionFactory);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Test
+    void cancellingACompletedOrderPutsTheStockBack() {
+        OrderEntity order = newOrder(1L, 3);
+        assertTrue(orderService.completeOrder(order));
+        assertEquals(7, quantityOnHand(1L));
+
+        assertTrue(orderService.cancelOrder(order.getOrderId()));
+        assertEquals(10, quantityOnHand(1L));
+        assertEquals(OrderEntity.OrderStatus.CANCELLED, statusOf(order.getOrderId()));
+    }
+
+    @Test
+    void refundingACompletedOrderPutsTheStockBackOnce() {
+        OrderEntity order = newOrder(2L, 4);
+        assertTrue(orderService.completeOrder(order));
+        assertEquals(6, quantityOnHand(2L));
+
+        assertTrue(orderService.refundOrder(order.getOrderId()));
+        assertFalse(orderService.refundOrder(order.getOrderId()));
+        assertFalse(orderService.cancelOrder(order.getOrderId()));
+        assertEquals(10, quantityOnHand(2L));
+    }
+
+    @Test
+    void onlyPendingOrdersCanBeCompleted() {
+        OrderEntity order = newOrder(3L, 2);
+        assertTrue(orderService.completeOrder(order));
+        assertFalse(orderService.completeOrder(order));
+
+        assertTrue(orderService.cancelOrder(order.getOrderId()));
+        OrderEntity reloaded = loadForRefund(order.getOrderId());
+        assertFalse(orderService.completeOrder(reloaded));
+        assertEquals(10, quantityOnHand(3L));
+    }
+
+    @Test
+    void aNewOrderWhoseCommitFailedCanBeCompletedOnRetry() {
+        OrderEntity first = newOrder(5L, 1);
+        assertTrue(orderService.completeOrder(first));
+        int onHand = quantityOnHand(5L);
+
+        // The insert clashes on the unique order number, so the commit fails after persist assigned ids
+        OrderEntity order = newOrder(5L, 2);
+        order.setOrderNumber(first.getOrderNumber());
+        assertThrows(RuntimeException.class, () -> orderService.completeOrder(order));
+        assertNull(order.getOrderId());
+        assertNull(order.getOrderItems().get(0).getOrderItemId());
+        assertEquals(OrderEntity.OrderStatus.PENDING, order.getOrderStatus());
+        assertEquals(onHand, quantityOnHand(5L));
+
+        order.setOrderNumber(null);
+        assertTrue(orderService.completeOrder(order));
+        assertEquals(OrderEntity.OrderStatus.COMPLETED, statusOf(order.getOrderId()));
+        assertEquals(onHand - 2, quantityOnHand(5L));
+    }
+
+    @Test
+    void scanningHoldsStockSeededFromTheDatabaseUntilTheLineIsRemoved() {
+        StockReservationLedger ledger = StockReservationLedger.getInstance();
+        ProductEntity stale = product(4L);
+        TestDatabase.inTransaction(sessionFactory, session -> session.createNativeMutationQuery(
+                "update products set quantity_on_hand = 2 where product_id = 4").executeUpdate());
+
+        OrderEntity cart = newOrder(1L, 1);
+        assertFalse(orderService.scanItem(cart, stale, 3), "the entity still says 10 on hand");
+        assertTrue(orderService.scanItem(cart, stale, 2));
+        assertEquals(2, cart.getOrderItems().size());
+        assertEquals(0, ledger.getAvailable(4L));
+
+        OrderEntity otherCart = newOrder(1L, 1);
+        assertFalse(orderService.scanItem(otherCart, stale, 1));
+
+        orderService.removeItem(cart, cart.getOrderItems().get(1));
+        assertEquals(1, cart.getOrderItems().size());
+        assertEquals(-1, ledger.getAvailable(4L));
+        assertTrue(orderService.scanItem(otherCart, stale, 1));
+
+        orderService.discardCart(otherCart);
+        assertEquals(OrderEntity.OrderStatus.CANCELLED, otherCart.getOrderStatus());
+        assertEquals(0, ledger.getReserved(4L));
+        assertFalse(orderService.scanItem(otherCart, stale, 1), "a discarded cart cannot hold stock again");
+    }
+
+    private static ProductEntity product(Long productId) {
+        try (Session session = sessionFactory.openSession()) {
+            return session.find(ProductEntity.class, productId);
+        }
+    }
+
+    private static OrderEntity newOrder(Long productId, int quantity) {
+        try (Session session = sessionFactory.openSession()) {
+            ProductEntity product = session.find(ProductEntity.class, productId);
+            EmployeeEntity employee = session.find(EmployeeEntity.class, 1L);
+            OrderEntity order = new OrderEntity("Customer", null, OrderEntity.PaymentMethod.CASH, employee);
+            order.addOrderItem(new OrderItemEntity(product, quantity, product.getPrice()));
+            return order;
+        }
+    }
+
+    private static OrderEntity loadForRefund(Long orderId) {
+        return new OrderRepositoryImpl(sessionFactory).findForRefund(orderId).orElseThrow();
+    }
+
+    private static int quantityOnHand(Long productId) {
+        try (Session session = sessionFactory.openSession()) {
+            return session.find(ProductEntity.class, productId).getQuantityOnHand();
+        }
+    }
+
+    private static OrderEntity.OrderStatus statusOf(Long orderId) {
+        try (Session session = sessionFactory.openSession()) {
+            return session.find(OrderEntity.class, orderId).getOrderStatus();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package edu.icet.ecom.service.impl;
+
+import edu.icet.ecom.model.dto.ImportReportDto;
+import edu.icet.ecom.support.Benchmarks;
+import edu.icet.ecom.support.TestDatabase;
+import edu.icet.ecom.util.sequence.CodeAllocator;
+import edu.icet.ecom.util.sequence.TableCodeAllocator;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Imports a 100k row supplier CSV, every row needing a generated product
+ * code, and checks it finishes within a minute.
+ */
+@Tag(Benchmarks.TAG)
+class ProductImportServiceImplBenchmarkTest {
+
+    private static final int ROWS = 100_000;
+    private static final long MAX_MILLIS = 60_000;
+
+    private static SessionFactory sessionFactory;
+
+    @TempDir
+    Path directory;
+
+    @BeforeAll
+    static void setUp() {
+        sessionFactory = TestDatabase.create();
+        TestDatabase.seed(sessionFactory, 0, 0);
+        CodeAllocator.setDefault(new TableCodeAllocator(sessionFactory, 100));
+    }
+
+    @AfterAll
+    static void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Test
+    void importsAHundredThousandRowsWithinAMinute() throws Exception {
+        Path file = directory.resolve("catalog.csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("Product Name,Description,Size,Colour,Price,Cost Price,Qty,Reorder Level,Category,Supplier," +
+                    "Barcode\n");
+            for (int i = 1; i <= ROWS; i++) {
+                writer.write("slim linen shirt " + i + ",\"Relaxed fit, short sleeves\",m,sky blue,\"2,500.00\"," +
+                        "1200,25,5,Shirts,Supplier,IMP" + i + "\n");
+            }
+        }
+
+        long begin = System.nanoTime();
+        ImportReportDto report = new ProductImportServiceImpl(sessionFactory).importProducts(file);
+        long millis = (System.nanoTime() - begin) / 1_000_000;
+
+        Benchmarks.report("product import", "%d rows in %d ms (%.0f rows/s), %d rejected",
+                report.getTotalRows(), millis, report.getTotalRows() * 1000.0 / millis, report.getRejectedCount());
+        assertEquals(ROWS, report.getImportedCount(), report.getSummary());
+        assertTrue(millis < MAX_MILLIS, "took " + millis + " ms");
+    }
+}
@@ -0,0 +1,172 @@
+package edu.icet.ecom.service.impl;
+
+import edu.icet.ecom.model.dto.ImportErrorDto;
+import edu.icet.ecom.model.dto.ImportReportDto;
+import edu.icet.ecom.model.entity.ProductEntity;
+import edu.icet.ecom.support.TestDatabase;
+import edu.icet.ecom.util.sequence.CodeAllocator;
+import edu.icet.ecom.util.sequence.TableCodeAllocator;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Catalog import end to end against H2: rows go in through a stateless
+ * session and come back with everything the entity callbacks would have set.
+ */
+class ProductImportServiceImplTest {
+
+    private static SessionFactory sessionFactory;
+    private static ProductImportServiceImpl importService;
+
+    @TempDir
+    Path directory;
+
+    @BeforeAll
+    static void setUp() {
+        sessionFactory = TestDatabase.create();
+        TestDatabase.seed(sessionFactory, 0, 0);
+        TestDatabase.inTransaction(sessionFactory, session -> {
+            session.createNativeMutationQuery("insert into categories(category_id, category_name, is_active) " +
+                    "values (2, 'Knitwear', true)").executeUpdate();
+            session.createNativeMutationQuery("insert into products(product_id, product_name, price, " +
+                    "quantity_on_hand, product_code, barcode, category_id, supplier_id, status, is_active) " +
+                    "values (1, 'Stocked Shirt', 10.00, 5, 'SHI-STOCKED', 'DB-1', 1, 1, 'AVAILABLE', true)")
+                    .executeUpdate();
+        });
+        CodeAllocator.setDefault(new TableCodeAllocator(sessionFactory, 10));
+        importService = new ProductImportServiceImpl(sessionFactory);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Test
+    void importedProductsHaveTimestamps() throws Exception {
+        ImportReportDto report = importService.importProducts(csv("timestamps.csv",
+                "name,price,quantity,category,supplier,barcode",
+                "Linen Shirt,2500,10,Shirts,Supplier,TS-1"));
+
+        assertEquals(1, report.getImportedCount(), report.getErrors().toString());
+        ProductEntity product = findByBarcode("TS-1");
+        assertNotNull(product.getCreatedAt());
+        assertNotNull(product.getUpdatedAt());
+        assertNotNull(product.getProductCode());
+    }
+
+    @Test
+    void rejectedRowsAreReportedWithTheirRowNumbers() throws Exception {
+        ImportReportDto report = importService.importProducts(csv("rejected.csv",
+                "Product Name,Price,Qty,Category,Supplier,Barcode,Code",
+                "Oxford Shirt,\"Rs. 3,200\",4,shirts,Supplier,RJ-1,",
+                "Wool Scarf,900,2,Scarves,Supplier,RJ-2,",
+                "Denim Shirt,cheap,2,Shirts,Supplier,RJ-3,",
+                "Chino Shirt,1500,1.5,Shirts,Supplier,RJ-4,",
+                "Twill Shirt,1500,1,Shirts,Supplier,RJ-1,",
+                "Stocked Again,1500,1,Shirts,Supplier,DB-1,",
+                "Coded Shirt,1500,1,Shirts,Supplier,RJ-5,shi-stocked",
+                ",1500,1,Shirts,Supplier,RJ-6,",
+                "Poplin Shirt,0,1,Shirts,Supplier,RJ-7,",
+                "Cord Shirt,1500,1,Shirts,Nobody,RJ-8,",
+                "Flannel Shirt,1200,3,1,1,RJ-9,"));
+
+        assertEquals(11, report.getTotalRows());
+        assertEquals(2, report.getImportedCount(), report.getErrors().toString());
+        assertEquals(new BigDecimal("3200.00"), findByBarcode("RJ-1").getPrice());
+        assertEquals("Flannel Shirt", findByBarcode("RJ-9").getProductName(), "category and supplier by id");
+        assertEquals(List.of(
+                new ImportErrorDto(3, "Unknown category 'Scarves'"),
+                new ImportErrorDto(4, "Invalid price 'cheap'"),
+                new ImportErrorDto(5, "Invalid quantity '1.5'"),
+                new ImportErrorDto(6, "Duplicate barcode RJ-1"),
+                new ImportErrorDto(7, "Duplicate barcode DB-1"),
+                new ImportErrorDto(8, "Duplicate product code SHI-STOCKED"),
+                new ImportErrorDto(9, "Product name is required"),
+                new ImportErrorDto(10, "Price must be greater than zero"),
+                new ImportErrorDto(11, "Unknown supplier 'Nobody'")), report.getErrors());
+    }
+
+    @Test
+    void missingRequiredColumnsStopTheImport() throws Exception {
+        ImportReportDto report = importService.importProducts(csv("columns.csv",
+                "name,colour,category",
+                "Linen Shirt,Blue,Shirts"));
+
+        assertEquals(0, report.getTotalRows());
+        assertEquals(List.of(new ImportErrorDto(1, "Missing column(s): price, quantity, supplier")),
+                report.getErrors());
+    }
+
+    @Test
+    void aFailedBatchIsRetriedRowByRow() throws Exception {
+        // Sizes are not validated before the insert, but the column only holds ten characters
+        ImportReportDto report = importService.importProducts(csv("retry.csv",
+                "name,size,price,quantity,category,supplier,barcode",
+                "Retry One,M,1000,1,Shirts,Supplier,RT-1",
+                "Retry Two,EXTRA EXTRA LARGE,1000,1,Shirts,Supplier,RT-2",
+                "Retry Three,L,1000,1,Shirts,Supplier,RT-3"));
+
+        assertEquals(2, report.getImportedCount(), report.getErrors().toString());
+        assertEquals(1, report.getErrors().size());
+        assertEquals(3, report.getErrors().get(0).getRowNumber());
+        assertTrue(report.getErrors().get(0).getMessage().startsWith("Insert failed: "));
+        assertEquals("M", findByBarcode("RT-1").getSize());
+        assertEquals("L", findByBarcode("RT-3").getSize());
+    }
+
+    @Test
+    void generatedCodesAreKeptApartFromCodesInTheFile() throws Exception {
+        String chunkSize = System.getProperty("IMPORT_CHUNK_SIZE");
+        System.setProperty("IMPORT_CHUNK_SIZE", "1");
+        ProductImportServiceImpl rowAtATime;
+        try {
+            rowAtATime = new ProductImportServiceImpl(sessionFactory);
+        } finally {
+            if (chunkSize != null) {
+                System.setProperty("IMPORT_CHUNK_SIZE", chunkSize);
+            } else {
+                System.clearProperty("IMPORT_CHUNK_SIZE");
+            }
+        }
+
+        // Knitwear codes are only ever allocated here, so the allocator starts at KNI-000001
+        ImportReportDto report = rowAtATime.importProducts(csv("codes.csv",
+                "name,price,quantity,category,supplier,barcode,code",
+                "Knit One,1000,1,Knitwear,Supplier,KN-1,KNI-000001",
+                "Knit Two,1000,1,Knitwear,Supplier,KN-2,",
+                "Knit Three,1000,1,Knitwear,Supplier,KN-3,KNI-000002"));
+
+        assertEquals(List.of(new ImportErrorDto(4, "Duplicate product code KNI-000002")), report.getErrors());
+        assertEquals(2, report.getImportedCount());
+        assertEquals("KNI-000002", findByBarcode("KN-2").getProductCode());
+    }
+
+    private Path csv(String name, String... lines) throws Exception {
+        Path file = directory.resolve(name);
+        Files.writeString(file, String.join("\n", lines) + "\n", StandardCharsets.UTF_8);
+        return file;
+    }
+
+    private static ProductEntity findByBarcode(String barcode) {
+        try (Session session = sessionFactory.openSession()) {
+            return session.createSelectionQuery("from ProductEntity where barcode = :barcode", ProductEntity.class)
+                    .setParameter("barcode", barcode)
+                    .getSingleResult();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package edu.icet.ecom.service.impl;
+
+import edu.icet.ecom.model.dto.PurchaseListDto;
+import edu.icet.ecom.model.dto.ReorderSuggestionDto;
+import edu.icet.ecom.model.entity.EmployeeEntity;
+import edu.icet.ecom.model.entity.OrderEntity;
+import edu.icet.ecom.model.entity.OrderItemEntity;
+import edu.icet.ecom.model.entity.ProductEntity;
+import edu.icet.ecom.support.TestDatabase;
+import edu.icet.ecom.util.sequence.OrderNumberGenerator;
+import edu.icet.ecom.util.sequence.TerminalOrderNumberGenerator;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * An incremental refresh counts a sale in the run that sees it complete, and takes
+ * back a sale counted earlier once it is cancelled or refunded.
+ */
+class ReorderSuggestionServiceImplTest {
+
+    private static SessionFactory sessionFactory;
+    private static OrderServiceImpl orderService;
+
+    @BeforeAll
+    static void setUp() {
+        OrderNumberGenerator.setDefault(new TerminalOrderNumberGenerator(3));
+        sessionFactory = TestDatabase.create();
+        TestDatabase.seed(sessionFactory, 2, 20);
+        // Always below the reorder level, so every product shows up with its units sold
+        TestDatabase.inTransaction(sessionFactory, session -> session.createNativeMutationQuery(
+                "update products set reorder_level = 50").executeUpdate());
+        orderService = new OrderServiceImpl(sessionFactory);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Test
+    void cancellingACountedSaleTakesItBackOnRefresh() {
+        ReorderSuggestionServiceImpl service = new ReorderSuggestionServiceImpl(sessionFactory);
+        OrderEntity order = newOrder(1L, 5);
+        assertTrue(orderService.completeOrder(order));
+        assertEquals(5, unitsSold(service.suggestReorders(30, 30), 1L));
+
+        assertTrue(orderService.cancelOrder(order.getOrderId()));
+        assertEquals(0, unitsSold(service.refreshSuggestions(30), 1L));
+    }
+
+    @Test
+    void orderCreatedBeforeARunAndCompletedAfterIsCounted() {
+        ReorderSuggestionServiceImpl service = new ReorderSuggestionServiceImpl(sessionFactory);
+        OrderEntity order = newOrder(2L, 3);
+        TestDatabase.inTransaction(sessionFactory, session -> session.persist(order));
+        assertEquals(0, unitsSold(service.suggestReorders(30, 30), 2L));
+
+        assertTrue(orderService.completeOrder(order));
+        assertEquals(3, unitsSold(service.refreshSuggestions(30), 2L));
+        assertEquals(3, unitsSold(service.refreshSuggestions(30), 2L), "counted once");
+    }
+
+    private static long unitsSold(List<PurchaseListDto> purchaseLists, Long productId) {
+        return purchaseLists.stream()
+                .flatMap(purchaseList -> purchaseList.getItems().stream())
+                .filter(suggestion -> suggestion.getProductId().equals(productId))
+                .map(ReorderSuggestionDto::getUnitsSold)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static OrderEntity newOrder(Long productId, int quantity) {
+        try (Session session = sessionFactory.openSession()) {
+            ProductEntity product = session.find(ProductEntity.class, productId);
+            EmployeeEntity employee = session.find(EmployeeEntity.class, 1L);
+            OrderEntity order = new OrderEntity("Customer", null, OrderEntity.PaymentMethod.CASH, employee);
+            order.addOrderItem(new OrderItemEntity(product, quantity, product.getPrice()));
+            return order;
+        }
+    }
+}
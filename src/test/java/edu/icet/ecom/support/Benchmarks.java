@@ -0,0 +1,63 @@
+package edu.icet.ecom.support;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+/**
+ * Timing helpers for the JUnit benchmarks tagged {@code benchmark}, which run
+ * only with {@code mvn test -Pbenchmarks}. Results are logged, and each
+ * benchmark asserts the target its request set.
+ */
+public final class Benchmarks {
+
+    public static final String TAG = "benchmark";
+
+    private static final System.Logger LOG = System.getLogger(Benchmarks.class.getName());
+
+    private Benchmarks() {
+    }
+
+    // Run the operation untimed so the JIT has compiled it before measuring
+    public static void warmUp(int iterations, Runnable operation) {
+        for (int i = 0; i < iterations; i++) {
+            operation.run();
+        }
+    }
+
+    public static double nanosPerOperation(int iterations, Runnable operation) {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            operation.run();
+        }
+        return (System.nanoTime() - start) / (double) iterations;
+    }
+
+    // Bytes allocated by the current thread so far, or -1 when the JVM cannot tell
+    public static long allocatedBytes() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1L;
+    }
+
+    public static double bytesPerOperation(int iterations, Runnable operation) {
+        long before = allocatedBytes();
+        for (int i = 0; i < iterations; i++) {
+            operation.run();
+        }
+        long after = allocatedBytes();
+        return before >= 0 ? (after - before) / (double) iterations : Double.NaN;
+    }
+
+    // Percentile (0..100) of the samples; sorts them in place
+    public static long percentile(long[] samples, double percentile) {
+        Arrays.sort(samples);
+        int index = (int) Math.ceil(percentile / 100.0 * samples.length) - 1;
+        return samples[Math.max(0, Math.min(index, samples.length - 1))];
+    }
+
+    public static void report(String benchmark, String format, Object... args) {
+        LOG.log(System.Logger.Level.INFO, () -> benchmark + ": " + String.format(format, args));
+    }
+}
@@ -0,0 +1,146 @@
+package edu.icet.ecom.support;
+
+import edu.icet.ecom.model.entity.CategoryEntity;
+import edu.icet.ecom.model.entity.CodeSequenceEntity;
+import edu.icet.ecom.model.entity.EmployeeEntity;
+import edu.icet.ecom.model.entity.OrderEntity;
+import edu.icet.ecom.model.entity.OrderItemEntity;
+import edu.icet.ecom.model.entity.ProductEntity;
+import edu.icet.ecom.model.entity.SupplierEntity;
+import edu.icet.ecom.model.entity.UserEntity;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Private in-memory H2 database (MySQL mode) with the application's entities,
+ * one per test class.
+ */
+public final class TestDatabase {
+
+    private TestDatabase() {
+    }
+
+    public static SessionFactory create() {
+        return create("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+    }
+
+    // Database files under the directory, for benchmarks whose data should not sit in the test heap
+    public static SessionFactory createOnDisk(Path directory) {
+        return create("jdbc:h2:file:" + directory.resolve("test").toAbsolutePath() + ";MODE=MySQL");
+    }
+
+    // Second-level cache on, with the application's ehcache.xml regions
+    public static SessionFactory createWithCache() {
+        return configuration("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1")
+                .setProperty("hibernate.cache.use_second_level_cache", "true")
+                .setProperty("hibernate.cache.region.factory_class", "jcache")
+                .setProperty("hibernate.javax.cache.provider", "org.ehcache.jsr107.EhcacheCachingProvider")
+                .setProperty("hibernate.javax.cache.uri", "ehcache.xml")
+                .buildSessionFactory();
+    }
+
+    // Every SQL statement passes the inspector before it is prepared, for tests that act at a given point of a read
+    public static SessionFactory createInspected(StatementInspector inspector) {
+        return configuration("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1")
+                .setStatementInspector(inspector)
+                .buildSessionFactory();
+    }
+
+    // Connections come from the data source, for tests that watch what reaches JDBC
+    public static SessionFactory createOn(DataSource dataSource) {
+        Configuration configuration = configuration();
+        configuration.getProperties().put("hibernate.connection.datasource", dataSource);
+        return configuration.buildSessionFactory();
+    }
+
+    private static SessionFactory create(String url) {
+        return configuration(url).buildSessionFactory();
+    }
+
+    private static Configuration configuration(String url) {
+        return configuration()
+                .setProperty("hibernate.connection.url", url)
+                .setProperty("hibernate.connection.username", "sa")
+                .setProperty("hibernate.connection.password", "");
+    }
+
+    private static Configuration configuration() {
+        return new Configuration()
+                .setProperty("hibernate.hbm2ddl.auto", "create-drop")
+                .setProperty("hibernate.jdbc.batch_size", "50")
+                .setProperty("hibernate.generate_statistics", "true")
+                .addAnnotatedClass(UserEntity.class)
+                .addAnnotatedClass(EmployeeEntity.class)
+                .addAnnotatedClass(CategoryEntity.class)
+                .addAnnotatedClass(SupplierEntity.class)
+                .addAnnotatedClass(ProductEntity.class)
+                .addAnnotatedClass(OrderEntity.class)
+                .addAnnotatedClass(OrderItemEntity.class)
+                .addAnnotatedClass(CodeSequenceEntity.class);
+    }
+
+    public static void inTransaction(SessionFactory sessionFactory, Consumer<Session> work) {
+        try (Session session = sessionFactory.openSession()) {
+            Transaction transaction = session.beginTransaction();
+            work.accept(session);
+            transaction.commit();
+        }
+    }
+
+    // One category, supplier and employee with id 1, and products 1..count with the given quantity on hand
+    public static void seed(SessionFactory sessionFactory, int productCount, int quantityOnHand) {
+        inTransaction(sessionFactory, session -> {
+            session.createNativeMutationQuery("insert into categories(category_id, category_name, is_active) " +
+                    "values (1, 'Shirts', true)").executeUpdate();
+            session.createNativeMutationQuery("insert into suppliers(supplier_id, supplier_name, company, email, " +
+                    "is_active) values (1, 'Supplier', 'Company', 'supplier@example.com', true)").executeUpdate();
+            session.createNativeMutationQuery("insert into employees(employee_id, employee_code, first_name, " +
+                    "last_name, email, hire_date, is_active) values (1, 'EMP0001', 'Test', 'Employee', " +
+                    "'employee@example.com', CURRENT_DATE, true)").executeUpdate();
+            for (long id = 1; id <= productCount; id++) {
+                session.createNativeMutationQuery("insert into products(product_id, product_name, price, " +
+                                "quantity_on_hand, reorder_level, max_stock_level, product_code, barcode, category_id, " +
+                                "supplier_id, status, is_active) values (?1, ?2, 10.00, ?3, 2, 100, ?4, ?5, 1, 1, " +
+                                "'AVAILABLE', true)")
+                        .setParameter(1, id)
+                        .setParameter(2, "Product " + id)
+                        .setParameter(3, quantityOnHand)
+                        .setParameter(4, "SHI" + String.format("%06d", id))
+                        .setParameter(5, "BC" + id)
+                        .executeUpdate();
+            }
+        });
+    }
+
+    // Products firstId onwards in one statement, e.g. a Blue "Slim Denim Shirt" in size 32; needs seed() first
+    public static void seedCatalog(SessionFactory sessionFactory, int firstId, int productCount) {
+        inTransaction(sessionFactory, session -> session.createNativeMutationQuery(
+                        "insert into products(product_id, product_name, size, color, description, price, " +
+                                "quantity_on_hand, reorder_level, max_stock_level, product_code, barcode, " +
+                                "category_id, supplier_id, status, is_active) " +
+                                "select x, " +
+                                "concat(case mod(x, 4) when 0 then 'Slim ' when 1 then 'Relaxed ' " +
+                                "when 2 then 'Classic ' else 'Tapered ' end, " +
+                                "case mod(x / 4, 5) when 0 then 'Denim ' when 1 then 'Linen ' " +
+                                "when 2 then 'Cotton ' when 3 then 'Oxford ' else 'Chino ' end, " +
+                                "case mod(x / 20, 3) when 0 then 'Shirt' when 1 then 'Trousers' " +
+                                "else 'Jacket' end), " +
+                                "cast(28 + mod(x / 60, 10) * 2 as varchar), " +
+                                "case mod(x / 600, 6) when 0 then 'Blue' when 1 then 'Black' when 2 then 'White' " +
+                                "when 3 then 'Olive' when 4 then 'Grey' else 'Navy' end, " +
+                                "'Everyday wear', 10.00, 50, 2, 100, concat('CAT', x), concat('CB', x), 1, 1, " +
+                                "'AVAILABLE', true " +
+                                "from system_range(?1, ?2)")
+                .setParameter(1, firstId)
+                .setParameter(2, firstId + productCount - 1)
+                .executeUpdate());
+    }
+}
@@ -0,0 +1,16 @@
+package edu.icet.ecom.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class HibernateUtilTest {
+
+    @Test
+    void reportingUrlTurnsOnCursorFetch() {
+        assertEquals("jdbc:mysql://db:3306/store?rewriteBatchedStatements=true&useCursorFetch=true",
+                HibernateUtil.reportingUrl("jdbc:mysql://db:3306/store?rewriteBatchedStatements=true"));
+        assertEquals("jdbc:mysql://db:3306/store?useCursorFetch=true",
+                HibernateUtil.reportingUrl("jdbc:mysql://db:3306/store"));
+    }
+}
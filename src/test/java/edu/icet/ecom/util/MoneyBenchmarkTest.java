@@ -0,0 +1,65 @@
+package edu.icet.ecom.util;
+
+import edu.icet.ecom.model.dto.OrderDto;
+import edu.icet.ecom.model.dto.OrderItemDto;
+import edu.icet.ecom.support.Benchmarks;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Order totals on the cents path against the BigDecimal arithmetic it replaced,
+ * for a 100-line cart.
+ */
+@Tag(Benchmarks.TAG)
+class MoneyBenchmarkTest {
+
+    private static final int LINES = 100;
+    private static final int ITERATIONS = 200_000;
+
+    @Test
+    void centsTotalsAreFasterAndDoNotAllocatePerLine() {
+        OrderDto order = new OrderDto("Customer", null, "CASH", 1L);
+        List<OrderItemDto> items = new ArrayList<>();
+        for (int i = 0; i < LINES; i++) {
+            items.add(new OrderItemDto((long) i, 1 + i % 5, BigDecimal.valueOf(199 + i * 37L, 2),
+                    BigDecimal.valueOf(i % 3 * 25L, 2)));
+        }
+        order.setOrderItems(items);
+
+        order.calculateTotals();
+        assertEquals(bigDecimalTotal(items, order.getDiscountAmount()), order.getTotalAmount());
+
+        Benchmarks.warmUp(ITERATIONS, order::calculateTotals);
+        Benchmarks.warmUp(ITERATIONS, () -> bigDecimalTotal(items, BigDecimal.ZERO));
+        double centsNanos = Benchmarks.nanosPerOperation(ITERATIONS, order::calculateTotals);
+        double decimalNanos = Benchmarks.nanosPerOperation(ITERATIONS, () -> bigDecimalTotal(items, BigDecimal.ZERO));
+        double centsBytes = Benchmarks.bytesPerOperation(ITERATIONS, order::calculateTotals);
+        double decimalBytes = Benchmarks.bytesPerOperation(ITERATIONS, () -> bigDecimalTotal(items, BigDecimal.ZERO));
+
+        Benchmarks.report("order totals", "cents %.0f ns/op %.0f B/op, BigDecimal %.0f ns/op %.0f B/op",
+                centsNanos, centsBytes, decimalNanos, decimalBytes);
+        assertTrue(centsNanos < decimalNanos, "cents path should be faster");
+        // Only the three result columns are allocated, whatever the number of lines
+        assertTrue(Double.isNaN(centsBytes) || centsBytes < 512, "allocated " + centsBytes + " B/op");
+    }
+
+    // The per-call BigDecimal arithmetic of the original calculateSubtotal/calculateTotals
+    private static BigDecimal bigDecimalTotal(List<OrderItemDto> items, BigDecimal discountAmount) {
+        BigDecimal subtotal = BigDecimal.ZERO;
+        for (OrderItemDto item : items) {
+            BigDecimal line = item.getUnitPrice().multiply(BigDecimal.valueOf(item.getQuantity()))
+                    .subtract(item.getDiscountAmount()).max(BigDecimal.ZERO);
+            subtotal = subtotal.add(line);
+        }
+        BigDecimal tax = subtotal.multiply(BigDecimal.valueOf(0.08)).setScale(2, RoundingMode.HALF_UP);
+        return subtotal.add(tax).subtract(discountAmount).setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,58 @@
+package edu.icet.ecom.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MoneyTest {
+
+    private static final RoundingMode[] MODES = {
+            RoundingMode.UP, RoundingMode.DOWN, RoundingMode.CEILING, RoundingMode.FLOOR,
+            RoundingMode.HALF_UP, RoundingMode.HALF_DOWN, RoundingMode.HALF_EVEN
+    };
+
+    @Test
+    void divideRoundsLikeBigDecimal() {
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            long dividend = random.nextInt(2_000_001) - 1_000_000;
+            long divisor = random.nextInt(999) + 1;
+            if (random.nextBoolean()) {
+                divisor = -divisor;
+            }
+            for (RoundingMode mode : MODES) {
+                long expected = BigDecimal.valueOf(dividend)
+                        .divide(BigDecimal.valueOf(divisor), 0, mode).longValueExact();
+                assertEquals(expected, Money.divide(dividend, divisor, mode),
+                        dividend + " / " + divisor + " " + mode);
+            }
+        }
+    }
+
+    @Test
+    void applyRateMatchesTheBigDecimalTaxCalculation() {
+        for (long cents = 0; cents < 100_000; cents++) {
+            BigDecimal expected = BigDecimal.valueOf(cents, 2)
+                    .multiply(BigDecimal.valueOf(0.08)).setScale(2, RoundingMode.HALF_UP);
+            assertEquals(expected, Money.toBigDecimal(
+                    Money.applyRate(cents, Money.TAX_RATE_BASIS_POINTS, RoundingMode.HALF_UP)));
+        }
+    }
+
+    @Test
+    void convertsAtTheColumnBoundary() {
+        assertEquals(0L, Money.toCents(null));
+        assertEquals(0L, Money.toCents(BigDecimal.ZERO));
+        assertEquals(1050L, Money.toCents(new BigDecimal("10.5")));
+        assertEquals(1051L, Money.toCents(new BigDecimal("10.505")));
+        assertEquals(new BigDecimal("10.50"), Money.toBigDecimal(1050L));
+        assertEquals(new BigDecimal("0.00"), Money.toBigDecimal(0L));
+        assertThrows(ArithmeticException.class, () -> Money.divide(1L, 2L, RoundingMode.UNNECESSARY));
+        assertThrows(ArithmeticException.class, () -> Money.add(Long.MAX_VALUE, 1L));
+    }
+}
@@ -0,0 +1,104 @@
+package edu.icet.ecom.util.cache;
+
+import edu.icet.ecom.model.dto.CacheStatsDto;
+import edu.icet.ecom.model.entity.CategoryEntity;
+import edu.icet.ecom.model.entity.SupplierEntity;
+import edu.icet.ecom.support.TestDatabase;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The reference-data regions from ehcache.xml behind a real session factory:
+ * repeat reads hit, invalidation forces a miss, and overflowing a region's
+ * heap is counted by {@link ReferenceCacheEventListener}.
+ */
+class ReferenceDataCacheTest {
+
+    // One more than the category region's heap in ehcache.xml
+    private static final int CATEGORIES = 501;
+
+    private static SessionFactory sessionFactory;
+
+    @BeforeAll
+    static void setUp() {
+        sessionFactory = TestDatabase.createWithCache();
+        TestDatabase.seed(sessionFactory, 0, 0);
+        TestDatabase.inTransaction(sessionFactory, session -> session.createNativeMutationQuery(
+                        "insert into categories(category_id, category_name, is_active) " +
+                                "select x, concat('Category ', x), true from system_range(2, ?1)")
+                .setParameter(1, CATEGORIES)
+                .executeUpdate());
+    }
+
+    @AfterAll
+    static void tearDown() {
+        sessionFactory.close();
+    }
+
+    @BeforeEach
+    void clearCache() {
+        sessionFactory.getCache().evictAllRegions();
+        sessionFactory.getStatistics().clear();
+    }
+
+    @Test
+    void secondReadIsACacheHit() {
+        find(SupplierEntity.class, 1L);
+        find(SupplierEntity.class, 1L);
+
+        CacheStatsDto stats = ReferenceDataCache.getStats(sessionFactory, ReferenceDataCache.SUPPLIER_REGION);
+        assertEquals(1, stats.getMissCount());
+        assertEquals(1, stats.getPutCount());
+        assertEquals(1, stats.getHitCount());
+        assertEquals(1, stats.getElementCount());
+        assertEquals(50.0, stats.getHitRatio());
+    }
+
+    @Test
+    void invalidatedEntityIsReadAgain() {
+        find(SupplierEntity.class, 1L);
+        ReferenceDataCache.invalidate(sessionFactory, SupplierEntity.class, 1L);
+        find(SupplierEntity.class, 1L);
+
+        CacheStatsDto stats = ReferenceDataCache.getStats(sessionFactory, ReferenceDataCache.SUPPLIER_REGION);
+        assertEquals(2, stats.getMissCount());
+        assertEquals(0, stats.getHitCount());
+    }
+
+    @Test
+    void overflowingTheRegionIsCountedAsEvictions() throws InterruptedException {
+        long evictionsBefore = ReferenceCacheEventListener.getEvictionCount(ReferenceDataCache.CATEGORY_REGION);
+        for (long id = 1; id <= CATEGORIES; id++) {
+            find(CategoryEntity.class, id);
+        }
+
+        // The listener fires asynchronously
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (ReferenceCacheEventListener.getEvictionCount(ReferenceDataCache.CATEGORY_REGION) == evictionsBefore
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        List<CacheStatsDto> all = ReferenceDataCache.getAllStats(sessionFactory);
+        CacheStatsDto stats = all.get(0);
+        assertEquals(ReferenceDataCache.CATEGORY_REGION, stats.getRegion());
+        assertEquals(CATEGORIES, stats.getMissCount());
+        assertTrue(stats.getEvictionCount() > evictionsBefore, stats.toString());
+        assertTrue(stats.getElementCount() > 0 && stats.getElementCount() < CATEGORIES, stats.toString());
+    }
+
+    private static void find(Class<?> type, long id) {
+        try (Session session = sessionFactory.openSession()) {
+            session.find(type, id);
+        }
+    }
+}
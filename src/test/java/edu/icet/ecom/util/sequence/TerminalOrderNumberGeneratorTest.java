@@ -0,0 +1,134 @@
+package edu.icet.ecom.util.sequence;
+
+import edu.icet.ecom.support.Benchmarks;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TerminalOrderNumberGeneratorTest {
+
+    private static final int TERMINALS = 4;
+    private static final int THREADS_PER_TERMINAL = 4;
+    private static final int NUMBERS_PER_THREAD = 50_000;
+
+    @AfterEach
+    void clearConfig() {
+        System.clearProperty("TERMINAL_ID");
+        System.clearProperty("TERMINAL_COUNT");
+    }
+
+    @Test
+    void concurrentTerminalsNeverRepeatOrGoBackwards() throws Exception {
+        List<List<String>> perThread = generate(TERMINALS, THREADS_PER_TERMINAL, NUMBERS_PER_THREAD);
+
+        Set<String> seen = new HashSet<>();
+        for (List<String> numbers : perThread) {
+            for (int i = 0; i < numbers.size(); i++) {
+                assertTrue(seen.add(numbers.get(i)), "duplicate " + numbers.get(i));
+                // Fixed-width encoding, so text order is issue order within a terminal
+                if (i > 0) {
+                    assertTrue(numbers.get(i).compareTo(numbers.get(i - 1)) > 0,
+                            numbers.get(i - 1) + " then " + numbers.get(i));
+                }
+            }
+        }
+        assertEquals(TERMINALS * THREADS_PER_TERMINAL * NUMBERS_PER_THREAD, seen.size());
+    }
+
+    @Test
+    void aClockGoingBackwardsDoesNotRepeatNumbers() {
+        AtomicLong now = new AtomicLong(1_750_000_000_000L);
+        TerminalOrderNumberGenerator generator = new TerminalOrderNumberGenerator(7, now::get);
+        long previous = generator.nextId();
+        for (int i = 0; i < 10_000; i++) {
+            if (i % 100 == 0) {
+                now.addAndGet(i % 200 == 0 ? -5 : 3);
+            }
+            long id = generator.nextId();
+            assertTrue(id > previous, "id went backwards after a clock step");
+            previous = id;
+        }
+    }
+
+    @Test
+    void numbersAreReadableReceiptNumbers() {
+        String number = new TerminalOrderNumberGenerator(3).nextOrderNumber();
+        assertTrue(number.matches("ORD-003-[0-9A-Z]{12}"), number);
+    }
+
+    @Test
+    void aMultiTillInstallRequiresATerminalId() {
+        System.setProperty("TERMINAL_COUNT", "3");
+        assertThrows(IllegalStateException.class, TerminalOrderNumberGenerator::fromConfig);
+
+        System.setProperty("TERMINAL_ID", "2");
+        assertEquals(2, TerminalOrderNumberGenerator.fromConfig().getTerminalId());
+    }
+
+    @Test
+    void aSingleTillFallsBackToTerminalZero() {
+        assertEquals(0, TerminalOrderNumberGenerator.fromConfig().getTerminalId());
+    }
+
+    @Test
+    @Tag(Benchmarks.TAG)
+    void throughput() throws Exception {
+        int threads = 8;
+        int perThread = 1_000_000;
+        generate(1, threads, 100_000);
+        long start = System.nanoTime();
+        generate(1, threads, perThread);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        double perSecond = threads * (double) perThread / seconds;
+        Benchmarks.report("order numbers", "%d threads on one terminal: %.0f numbers/s", threads, perSecond);
+        // Each terminal can issue 4096 numbers per millisecond before borrowing from the next one
+        assertTrue(perSecond > 500_000, perSecond + " numbers/s");
+    }
+
+    // Numbers issued by each thread, in issue order
+    private static List<List<String>> generate(int terminals, int threadsPerTerminal, int perThread) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(terminals * threadsPerTerminal);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<List<String>>> futures = new ArrayList<>();
+            for (int t = 0; t < terminals; t++) {
+                TerminalOrderNumberGenerator generator = new TerminalOrderNumberGenerator(t + 1);
+                for (int i = 0; i < threadsPerTerminal; i++) {
+                    Callable<List<String>> task = () -> {
+                        List<String> numbers = new ArrayList<>(perThread);
+                        start.await();
+                        for (int n = 0; n < perThread; n++) {
+                            numbers.add(generator.nextOrderNumber());
+                        }
+                        return numbers;
+                    };
+                    futures.add(pool.submit(task));
+                }
+            }
+            start.countDown();
+            List<List<String>> results = new ArrayList<>();
+            for (Future<List<String>> future : futures) {
+                results.add(future.get(60, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
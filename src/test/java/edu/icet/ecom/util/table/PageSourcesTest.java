@@ -0,0 +1,43 @@
+package edu.icet.ecom.util.table;
+
+import edu.icet.ecom.model.dto.ProductDto;
+import edu.icet.ecom.support.TestDatabase;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * A small product set is served from a snapshot, and a reload picks up rows
+ * written since the snapshot was taken.
+ */
+class PageSourcesTest {
+
+    private static SessionFactory sessionFactory;
+
+    @BeforeAll
+    static void setUp() {
+        sessionFactory = TestDatabase.create();
+        TestDatabase.seed(sessionFactory, 3, 10);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Test
+    void reloadPicksUpNewRows() {
+        PageSource<ProductDto> source = PageSources.productsFor(sessionFactory);
+        assertEquals(3, source.count(TableQuery.DEFAULT));
+        assertEquals("AVAILABLE", source.fetch(TableQuery.DEFAULT, null, 0, 1).get(0).getStatus());
+
+        TestDatabase.seedCatalog(sessionFactory, 4, 2);
+        assertEquals(3, source.count(TableQuery.DEFAULT));
+
+        source.reload();
+        assertEquals(5, source.count(TableQuery.DEFAULT));
+    }
+}
@@ -0,0 +1,100 @@
+package edu.icet.ecom.util.validation;
+
+import edu.icet.ecom.model.dto.EmployeeDto;
+import edu.icet.ecom.model.dto.SupplierDto;
+import edu.icet.ecom.support.Benchmarks;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Validating a batch of employee and supplier forms with the shared validators
+ * against the String.matches checks the DTOs used before, which compiled each
+ * pattern on every call.
+ */
+@Tag(Benchmarks.TAG)
+class DtoValidatorsBenchmarkTest {
+
+    private static final int RECORDS = 10_000;
+    private static final int ITERATIONS = 50;
+
+    private static final String EMAIL_REGEX = "^[A-Za-z0-9+_.-]+@([A-Za-z0-9.-]+\\.[A-Za-z]{2,})$";
+    private static final String PHONE_REGEX = "^[+]?[0-9\\s\\-\\(\\)]{7,20}$";
+    private static final String NATIONAL_ID_REGEX = "^[A-Za-z0-9]{5,20}$";
+
+    @Test
+    void sharedValidatorsAreFasterAndDoNotAllocateOnValidRecords() {
+        List<EmployeeDto> employees = new ArrayList<>(RECORDS);
+        List<SupplierDto> suppliers = new ArrayList<>(RECORDS);
+        for (int i = 0; i < RECORDS; i++) {
+            EmployeeDto employee = new EmployeeDto("First" + i, "Last" + i, "employee" + i + "@example.com",
+                    LocalDate.now().minusYears(1), "CASHIER");
+            employee.setPhone("+94 77 " + (1000000 + i));
+            employee.setEmergencyPhone("(011) " + (2000000 + i));
+            employee.setNationalId("NIC" + (100000 + i));
+            if (i % 2 == 0) {
+                employee.setDateOfBirth(LocalDate.of(1970 + i % 30, 1 + i % 12, 1 + i % 28));
+            }
+            employees.add(employee);
+            suppliers.add(new SupplierDto("Supplier " + i, "Company " + i, "orders" + i + "@supplier.lk",
+                    "011-" + (3000000 + i), "Colombo"));
+        }
+        assertTrue(validateShared(employees, suppliers));
+        assertTrue(validateLegacy(employees, suppliers));
+
+        Benchmarks.warmUp(ITERATIONS, () -> validateShared(employees, suppliers));
+        Benchmarks.warmUp(ITERATIONS, () -> validateLegacy(employees, suppliers));
+        double sharedNanos = Benchmarks.nanosPerOperation(ITERATIONS, () -> validateShared(employees, suppliers));
+        double legacyNanos = Benchmarks.nanosPerOperation(ITERATIONS, () -> validateLegacy(employees, suppliers));
+        double sharedBytes = Benchmarks.bytesPerOperation(ITERATIONS, () -> validateShared(employees, suppliers));
+        double legacyBytes = Benchmarks.bytesPerOperation(ITERATIONS, () -> validateLegacy(employees, suppliers));
+
+        int records = 2 * RECORDS;
+        Benchmarks.report("dto validation", "shared %.0f ns/record %.1f B/record, String.matches %.0f ns/record "
+                        + "%.0f B/record", sharedNanos / records, sharedBytes / records,
+                legacyNanos / records, legacyBytes / records);
+        assertTrue(sharedNanos * 10 < legacyNanos, "shared validators should be at least 10x faster");
+        assertTrue(Double.isNaN(sharedBytes) || sharedBytes / records < 1, "allocated " + sharedBytes + " B/pass");
+    }
+
+    // The full form check: every rule, reporting violations, as the import and the screens run it
+    private static boolean validateShared(List<EmployeeDto> employees, List<SupplierDto> suppliers) {
+        boolean valid = true;
+        for (EmployeeDto employee : employees) {
+            valid &= DtoValidators.EMPLOYEE.validate(employee).isEmpty();
+        }
+        for (SupplierDto supplier : suppliers) {
+            valid &= DtoValidators.SUPPLIER.validate(supplier).isEmpty();
+        }
+        return valid;
+    }
+
+    // The same checks as the DTOs made them before the shared validators
+    private static boolean validateLegacy(List<EmployeeDto> employees, List<SupplierDto> suppliers) {
+        boolean valid = true;
+        for (EmployeeDto e : employees) {
+            valid &= hasText(e.getFirstName()) && hasText(e.getLastName())
+                    && hasText(e.getEmail()) && e.getEmail().matches(EMAIL_REGEX)
+                    && e.isHireDateValid() && hasText(e.getPosition())
+                    && (!hasText(e.getPhone()) || e.getPhone().matches(PHONE_REGEX))
+                    && (!hasText(e.getEmergencyPhone()) || e.getEmergencyPhone().matches(PHONE_REGEX))
+                    && e.isDateOfBirthValid() && e.isSalaryValid()
+                    && (!hasText(e.getNationalId()) || e.getNationalId().matches(NATIONAL_ID_REGEX));
+        }
+        for (SupplierDto s : suppliers) {
+            valid &= hasText(s.getSupplierName()) && hasText(s.getCompany())
+                    && hasText(s.getEmail()) && s.getEmail().matches(EMAIL_REGEX)
+                    && (!hasText(s.getPhone()) || s.getPhone().matches(PHONE_REGEX));
+        }
+        return valid;
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+}
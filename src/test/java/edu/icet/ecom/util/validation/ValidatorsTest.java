@@ -0,0 +1,98 @@
+package edu.icet.ecom.util.validation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Each character check accepts exactly what the regular expression it replaced
+ * accepts, compared over a million random inputs per check. Inputs are drawn
+ * from the characters the patterns care about plus whitespace and non-ASCII
+ * letters and digits, and are shaped like the value roughly half of the time.
+ */
+class ValidatorsTest {
+
+    private static final int INPUTS = 1_000_000;
+
+    private static final Pattern EMAIL = Pattern.compile("^[A-Za-z0-9+_.-]+@([A-Za-z0-9.-]+\\.[A-Za-z]{2,})$");
+    private static final Pattern PHONE = Pattern.compile("^[+]?[0-9\\s\\-\\(\\)]{7,20}$");
+    private static final Pattern NATIONAL_ID = Pattern.compile("^[A-Za-z0-9]{5,20}$");
+
+    private static final String NOISE = "aZ09+_.-@() \t\n\u000B\f\r é٣#";
+
+    @Test
+    void emailMatchesItsRegex() {
+        assertMatchesRegex(EMAIL, Validators::isEmail, random -> {
+            if (random.nextBoolean()) {
+                return random(random, "ab9+_.-", 0, 6) + "@" + random(random, "xy7.-", 0, 8) + "."
+                        + random(random, "comZ1", 0, 4);
+            }
+            return random(random, NOISE, 0, 24);
+        });
+    }
+
+    @Test
+    void phoneMatchesItsRegex() {
+        assertMatchesRegex(PHONE, Validators::isPhone, random -> {
+            if (random.nextBoolean()) {
+                return (random.nextBoolean() ? "+" : "") + random(random, "0123456789 -()\t", 5, 22);
+            }
+            return random(random, NOISE, 0, 24);
+        });
+    }
+
+    @Test
+    void nationalIdMatchesItsRegex() {
+        assertMatchesRegex(NATIONAL_ID, Validators::isNationalId, random -> random.nextBoolean()
+                ? random(random, "AZaz0189", 3, 22)
+                : random(random, NOISE, 0, 24));
+    }
+
+    @Test
+    void hasTextMatchesTrim() {
+        SplittableRandom random = new SplittableRandom(4);
+        for (int i = 0; i < INPUTS; i++) {
+            String value = random(random, " \t\n\u0000\u001F x", 0, 4);
+            assertEquals(!value.trim().isEmpty(), Validators.hasText(value), () -> escape(value));
+        }
+    }
+
+    private static void assertMatchesRegex(Pattern pattern, Predicate<String> check,
+                                           Function<SplittableRandom, String> inputs) {
+        SplittableRandom random = new SplittableRandom(pattern.pattern().hashCode());
+        int accepted = 0;
+        for (int i = 0; i < INPUTS; i++) {
+            String value = inputs.apply(random);
+            boolean expected = pattern.matcher(value).matches();
+            assertEquals(expected, check.test(value), () -> pattern + " on \"" + escape(value) + "\"");
+            if (expected) {
+                accepted++;
+            }
+        }
+        // Both outcomes must be well represented for the comparison to mean anything
+        assertTrue(accepted > INPUTS / 100 && accepted < INPUTS - INPUTS / 100, "accepted " + accepted);
+    }
+
+    private static String random(SplittableRandom random, String alphabet, int minLength, int maxLength) {
+        int length = random.nextInt(minLength, maxLength + 1);
+        StringBuilder value = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            value.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return value.toString();
+    }
+
+    private static String escape(String value) {
+        StringBuilder escaped = new StringBuilder();
+        for (char c : value.toCharArray()) {
+            escaped.append(c >= ' ' && c < 0x7F ? String.valueOf(c) : String.format("\\u%04X", (int) c));
+        }
+        return escaped.toString();
+    }
+}